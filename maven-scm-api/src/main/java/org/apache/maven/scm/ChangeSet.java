@@ -18,10 +18,17 @@
  */
 package org.apache.maven.scm;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedHashSet;
@@ -29,8 +36,8 @@
 import java.util.Set;
 
 import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.util.DateParser;
 import org.apache.maven.scm.util.FilenameUtils;
-import org.apache.maven.scm.util.ThreadSafeDateFormat;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -72,25 +79,21 @@ public class ChangeSet implements Serializable {
     /**
      * Formatter used by the getDateFormatted method.
      */
-    private static final ThreadSafeDateFormat DATE_FORMAT = new ThreadSafeDateFormat(DATE_PATTERN);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern(DATE_PATTERN);
 
     private static final String TIME_PATTERN = "HH:mm:ss";
 
     /**
      * Formatter used by the getTimeFormatted method.
      */
-    private static final ThreadSafeDateFormat TIME_FORMAT = new ThreadSafeDateFormat(TIME_PATTERN);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern(TIME_PATTERN);
 
     /**
-     * Formatter used to parse date/timestamp.
+     * Patterns used to parse date/timestamp, in the order they are tried.
      */
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_1 = new ThreadSafeDateFormat("yyyy/MM/dd HH:mm:ss");
-
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_2 = new ThreadSafeDateFormat("yyyy-MM-dd HH:mm:ss");
-
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_3 = new ThreadSafeDateFormat("yyyy/MM/dd HH:mm:ss z");
-
-    private static final ThreadSafeDateFormat TIMESTAMP_FORMAT_4 = new ThreadSafeDateFormat("yyyy-MM-dd HH:mm:ss z");
+    private static final String[] TIMESTAMP_PATTERNS = {
+        "yyyy/MM/dd HH:mm:ss z", "yyyy-MM-dd HH:mm:ss z", "yyyy/MM/dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss"
+    };
 
     /**
      * Date the changes were committed
@@ -300,63 +303,41 @@ public void setDate(String date) {
      * @param userDatePattern - pattern of date
      */
     public void setDate(String date, String userDatePattern) {
-        try {
-            if (!(userDatePattern == null || userDatePattern.isEmpty())) {
-                SimpleDateFormat format = new SimpleDateFormat(userDatePattern);
-
-                this.date = format.parse(date);
-            } else {
-                this.date = TIMESTAMP_FORMAT_3.parse(date);
+        if (!(userDatePattern == null || userDatePattern.isEmpty())) {
+            try {
+                this.date = DateParser.parse(date, userDatePattern, null);
+                return;
+            } catch (ParseException e) {
+                // try the default patterns
             }
-        } catch (ParseException e) {
-            if (!(userDatePattern == null || userDatePattern.isEmpty())) {
-                try {
-                    this.date = TIMESTAMP_FORMAT_3.parse(date);
-                } catch (ParseException pe) {
-                    try {
-                        this.date = TIMESTAMP_FORMAT_4.parse(date);
-                    } catch (ParseException pe1) {
-                        try {
-                            this.date = TIMESTAMP_FORMAT_1.parse(date);
-                        } catch (ParseException pe2) {
-                            try {
-                                this.date = TIMESTAMP_FORMAT_2.parse(date);
-                            } catch (ParseException pe3) {
-                                throw new IllegalArgumentException("Unable to parse date: " + date);
-                            }
-                        }
-                    }
-                }
-            } else {
-                try {
-                    this.date = TIMESTAMP_FORMAT_4.parse(date);
-                } catch (ParseException pe1) {
-                    try {
-                        this.date = TIMESTAMP_FORMAT_1.parse(date);
-                    } catch (ParseException pe2) {
-                        try {
-                            this.date = TIMESTAMP_FORMAT_2.parse(date);
-                        } catch (ParseException pe3) {
-                            throw new IllegalArgumentException("Unable to parse date: " + date);
-                        }
-                    }
-                }
+        }
+        for (String pattern : TIMESTAMP_PATTERNS) {
+            try {
+                this.date = DateParser.parse(date, pattern, null);
+                return;
+            } catch (ParseException e) {
+                // try the next pattern
             }
         }
+        throw new IllegalArgumentException("Unable to parse date: " + date);
     }
 
     /**
      * @return date in yyyy-mm-dd format
      */
     public String getDateFormatted() {
-        return DATE_FORMAT.format(getDate());
+        return DATE_FORMAT.format(toLocalDateTime(date));
     }
 
     /**
      * @return time in HH:mm:ss format
      */
     public String getTimeFormatted() {
-        return TIME_FORMAT.format(getDate());
+        return TIME_FORMAT.format(toLocalDateTime(date));
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
     }
 
     /**
@@ -471,63 +452,214 @@ public String toString() {
      *
      * @return a changelog-entry in xml format
      * TODO make sure comment doesn't contain CDATA tags - MAVEN114
+     * @see #writeXML(Writer)
      */
     public String toXML() {
-        StringBuilder buffer = new StringBuilder("\t<changelog-entry>\n");
+        StringWriter writer = new StringWriter();
+        try {
+            writeXML(writer);
+        } catch (IOException e) {
+            // a StringWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the changelog entry as an XML snippet, like {@link #toXML()}.
+     *
+     * @param writer the writer, which is neither flushed nor closed
+     * @throws IOException if the writer fails
+     * @since 2.1.1
+     */
+    public void writeXML(Writer writer) throws IOException {
+        writer.write("\t<changelog-entry>\n");
 
         if (getDate() != null) {
-            buffer.append("\t\t<date pattern=\"" + DATE_PATTERN + "\">")
-                    .append(getDateFormatted())
-                    .append("</date>\n")
-                    .append("\t\t<time pattern=\"" + TIME_PATTERN + "\">")
-                    .append(getTimeFormatted())
-                    .append("</time>\n");
+            writer.write("\t\t<date pattern=\"" + DATE_PATTERN + "\">");
+            writer.write(getDateFormatted());
+            writer.write("</date>\n\t\t<time pattern=\"" + TIME_PATTERN + "\">");
+            writer.write(getTimeFormatted());
+            writer.write("</time>\n");
         }
 
-        buffer.append("\t\t<author><![CDATA[").append(author).append("]]></author>\n");
+        writer.write("\t\t<author><![CDATA[");
+        writer.write(String.valueOf(author));
+        writer.write("]]></author>\n");
 
         if (parentRevision != null) {
-            buffer.append("\t\t<parent>").append(getParentRevision()).append("</parent>\n");
+            writer.write("\t\t<parent>");
+            writer.write(getParentRevision());
+            writer.write("</parent>\n");
         }
         for (String mergedRevision : getMergedRevisions()) {
-            buffer.append("\t\t<merge>").append(mergedRevision).append("</merge>\n");
+            writer.write("\t\t<merge>");
+            writer.write(String.valueOf(mergedRevision));
+            writer.write("</merge>\n");
         }
 
         if (files != null) {
             for (ChangeFile file : files) {
-                buffer.append("\t\t<file>\n");
+                writer.write("\t\t<file>\n");
                 if (file.getAction() != null) {
-                    buffer.append("\t\t\t<action>").append(file.getAction()).append("</action>\n");
+                    writer.write("\t\t\t<action>");
+                    writer.write(file.getAction().toString());
+                    writer.write("</action>\n");
                 }
-                buffer.append("\t\t\t<name>")
-                        .append(escapeValue(file.getName()))
-                        .append("</name>\n");
-                buffer.append("\t\t\t<revision>").append(file.getRevision()).append("</revision>\n");
+                writer.write("\t\t\t<name>");
+                escapeValue(file.getName(), writer);
+                writer.write("</name>\n\t\t\t<revision>");
+                writer.write(String.valueOf(file.getRevision()));
+                writer.write("</revision>\n");
                 if (file.getOriginalName() != null) {
-                    buffer.append("\t\t\t<orig-name>");
-                    buffer.append(escapeValue(file.getOriginalName()));
-                    buffer.append("</orig-name>\n");
+                    writer.write("\t\t\t<orig-name>");
+                    escapeValue(file.getOriginalName(), writer);
+                    writer.write("</orig-name>\n");
                 }
                 if (file.getOriginalRevision() != null) {
-                    buffer.append("\t\t\t<orig-revision>");
-                    buffer.append(file.getOriginalRevision());
-                    buffer.append("</orig-revision>\n");
+                    writer.write("\t\t\t<orig-revision>");
+                    writer.write(file.getOriginalRevision());
+                    writer.write("</orig-revision>\n");
                 }
-                buffer.append("\t\t</file>\n");
+                writer.write("\t\t</file>\n");
             }
         }
-        buffer.append("\t\t<msg><![CDATA[").append(removeCDataEnd(comment)).append("]]></msg>\n");
+        writer.write("\t\t<msg><![CDATA[");
+        writeWithoutCDataEnd(comment, writer);
+        writer.write("]]></msg>\n");
         List<String> tags = getTags();
         if (!tags.isEmpty()) {
-            buffer.append("\t\t<tags>\n");
+            writer.write("\t\t<tags>\n");
             for (String tag : tags) {
-                buffer.append("\t\t\t<tag>").append(escapeValue(tag)).append("</tag>\n");
+                writer.write("\t\t\t<tag>");
+                escapeValue(tag, writer);
+                writer.write("</tag>\n");
             }
-            buffer.append("\t\t</tags>\n");
+            writer.write("\t\t</tags>\n");
         }
-        buffer.append("\t</changelog-entry>\n");
+        writer.write("\t</changelog-entry>\n");
+    }
 
-        return buffer.toString();
+    /**
+     * Writes the changelog entry as a single line JSON object, terminated by a line feed. Dates are written in
+     * ISO-8601 format in UTC, absent values are omitted.
+     *
+     * @param writer the writer, which is neither flushed nor closed
+     * @throws IOException if the writer fails
+     * @since 2.1.1
+     */
+    public void writeJson(Writer writer) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        if (date != null) {
+            first = writeJsonMember("date", DateTimeFormatter.ISO_INSTANT.format(date.toInstant()), first, writer);
+        }
+        first = writeJsonMember("author", author, first, writer);
+        first = writeJsonMember("comment", comment, first, writer);
+        first = writeJsonMember("parent", parentRevision, first, writer);
+        if (!getMergedRevisions().isEmpty()) {
+            writeJsonArray("merges", getMergedRevisions(), first, writer);
+            first = false;
+        }
+        if (!getTags().isEmpty()) {
+            writeJsonArray("tags", getTags(), first, writer);
+            first = false;
+        }
+        if (files != null && !files.isEmpty()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write("\"files\":[");
+            for (int i = 0; i < files.size(); i++) {
+                ChangeFile file = files.get(i);
+                writer.write(i == 0 ? "{" : ",{");
+                boolean firstMember = writeJsonMember("name", file.getName(), true, writer);
+                firstMember = writeJsonMember("revision", file.getRevision(), firstMember, writer);
+                firstMember = writeJsonMember(
+                        "action",
+                        file.getAction() == null ? null : file.getAction().toString(),
+                        firstMember,
+                        writer);
+                firstMember = writeJsonMember("originalName", file.getOriginalName(), firstMember, writer);
+                writeJsonMember("originalRevision", file.getOriginalRevision(), firstMember, writer);
+                writer.write('}');
+            }
+            writer.write(']');
+        }
+        writer.write("}\n");
+    }
+
+    /**
+     * @return <code>first</code> if nothing has been written
+     */
+    private static boolean writeJsonMember(String name, String value, boolean first, Writer writer) throws IOException {
+        if (value == null) {
+            return first;
+        }
+        if (!first) {
+            writer.write(',');
+        }
+        writer.write('"');
+        writer.write(name);
+        writer.write("\":");
+        writeJsonString(value, writer);
+        return false;
+    }
+
+    private static void writeJsonArray(String name, Collection<String> values, boolean first, Writer writer)
+            throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        writer.write('"');
+        writer.write(name);
+        writer.write("\":[");
+        boolean firstValue = true;
+        for (String value : values) {
+            if (!firstValue) {
+                writer.write(',');
+            }
+            writeJsonString(value, writer);
+            firstValue = false;
+        }
+        writer.write(']');
+    }
+
+    private static void writeJsonString(String value, Writer writer) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20 || c == '\u2028' || c == '\u2029') {
+                writer.write(value, start, i - start);
+                switch (c) {
+                    case '"':
+                        writer.write("\\\"");
+                        break;
+                    case '\\':
+                        writer.write("\\\\");
+                        break;
+                    case '\n':
+                        writer.write("\\n");
+                        break;
+                    case '\r':
+                        writer.write("\\r");
+                        break;
+                    case '\t':
+                        writer.write("\\t");
+                        break;
+                    default:
+                        writer.write(String.format("\\u%04x", (int) c));
+                }
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
     }
 
     /** {@inheritDoc} */
@@ -557,18 +689,25 @@ public int hashCode() {
     }
 
     /**
-     * remove a <code>]]></code> from comments (replace it with <code>] ] ></code>).
+     * Writes the message with each <code>]]></code> replaced by <code>] ] ></code>, so it can be placed in a CDATA
+     * section.
      *
-     * @param message The message to modify
-     * @return a clean string
+     * @param message The message to write
+     * @param writer the writer
      */
-    private String removeCDataEnd(String message) {
-        // check for invalid sequence ]]>
+    private static void writeWithoutCDataEnd(String message, Writer writer) throws IOException {
+        if (message == null) {
+            writer.write("null");
+            return;
+        }
+        int start = 0;
         int endCdata;
-        while (message != null && (endCdata = message.indexOf("]]>")) > -1) {
-            message = message.substring(0, endCdata) + "] ] >" + message.substring(endCdata + 3, message.length());
+        while ((endCdata = message.indexOf("]]>", start)) > -1) {
+            writer.write(message, start, endCdata - start);
+            writer.write("] ] >");
+            start = endCdata + 3;
         }
-        return message;
+        writer.write(message, start, message.length() - start);
     }
 
     /**
@@ -581,37 +720,53 @@ private String removeCDataEnd(String message) {
      * @return text with characters restricted (for use in attributes) escaped
      */
     public static String escapeValue(Object value) {
-        StringBuilder buffer = new StringBuilder(value.toString());
-        for (int i = 0, size = buffer.length(); i < size; i++) {
-            switch (buffer.charAt(i)) {
+        String text = value.toString();
+        StringWriter writer = new StringWriter(text.length() + 16);
+        try {
+            escapeValue(text, writer);
+        } catch (IOException e) {
+            // a StringWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the value with the characters restricted in attributes escaped, in a single pass.
+     *
+     * @param value the value to escape
+     * @param writer the writer
+     * @throws IOException if the writer fails
+     * @since 2.1.1
+     * @see #escapeValue(Object)
+     */
+    public static void escapeValue(String value, Writer writer) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity;
+            switch (value.charAt(i)) {
                 case '<':
-                    buffer.replace(i, i + 1, LESS_THAN_ENTITY);
-                    size += 3;
-                    i += 3;
+                    entity = LESS_THAN_ENTITY;
                     break;
                 case '>':
-                    buffer.replace(i, i + 1, GREATER_THAN_ENTITY);
-                    size += 3;
-                    i += 3;
+                    entity = GREATER_THAN_ENTITY;
                     break;
                 case '&':
-                    buffer.replace(i, i + 1, AMPERSAND_ENTITY);
-                    size += 4;
-                    i += 4;
+                    entity = AMPERSAND_ENTITY;
                     break;
                 case '\'':
-                    buffer.replace(i, i + 1, APOSTROPHE_ENTITY);
-                    size += 5;
-                    i += 5;
+                    entity = APOSTROPHE_ENTITY;
                     break;
                 case '\"':
-                    buffer.replace(i, i + 1, QUOTE_ENTITY);
-                    size += 5;
-                    i += 5;
+                    entity = QUOTE_ENTITY;
                     break;
                 default:
+                    continue;
             }
+            writer.write(value, start, i - start);
+            writer.write(entity);
+            start = i + 1;
         }
-        return buffer.toString();
+        writer.write(value, start, value.length() - start);
     }
 }
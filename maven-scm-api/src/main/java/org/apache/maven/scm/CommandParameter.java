@@ -93,6 +93,67 @@ public class CommandParameter implements Serializable {
      */
     public static final CommandParameter IGNORE_WHITESPACE = new CommandParameter("ignoreWhitespace");
 
+    /**
+     * Receives the change sets of a changelog while they are parsed.
+     * @since 2.1.1
+     */
+    public static final CommandParameter CHANGESET_CONSUMER = new CommandParameter("changeSetConsumer");
+
+    /**
+     * Receives the patch of a diff instead of the result.
+     * @since 2.1.1
+     */
+    public static final CommandParameter DIFF_OUTPUT = new CommandParameter("diffOutput");
+
+    /**
+     * The line ranges of a blame.
+     * @since 2.1.1
+     */
+    public static final CommandParameter LINE_RANGES = new CommandParameter("lineRanges");
+
+    /**
+     * Receives the lines of a blame while they are resolved.
+     * @since 2.1.1
+     */
+    public static final CommandParameter BLAME_LINE_CONSUMER = new CommandParameter("blameLineConsumer");
+
+    /**
+     * Receives the blame of each file of a blame of several files.
+     * @since 2.1.1
+     */
+    public static final CommandParameter BLAME_FILE_CONSUMER = new CommandParameter("blameFileConsumer");
+
+    /**
+     * The number of commits a checkout fetches from the tip of the history, all of them if 0.
+     * @since 2.1.1
+     */
+    public static final CommandParameter DEPTH = new CommandParameter("depth");
+
+    /**
+     * The object filter of a partial checkout, which fetches the filtered objects on demand, e.g.
+     * <code>blob:none</code> or <code>tree:0</code> for git.
+     * @since 2.1.1
+     */
+    public static final CommandParameter CLONE_FILTER = new CommandParameter("cloneFilter");
+
+    /**
+     * contains true or false: whether a checkout only populates the directories of the file set.
+     * @since 2.1.1
+     */
+    public static final CommandParameter SPARSE_CHECKOUT = new CommandParameter("sparseCheckout");
+
+    /**
+     * contains true or false: whether a status reports the untracked files.
+     * @since 2.1.1
+     */
+    public static final CommandParameter STATUS_UNTRACKED = new CommandParameter("statusUntracked");
+
+    /**
+     * contains true or false: whether a status reporting the untracked files reports the ignored ones too.
+     * @since 2.1.1
+     */
+    public static final CommandParameter STATUS_IGNORED = new CommandParameter("statusIgnored");
+
     /**
      * Parameter name
      */
@@ -19,11 +19,17 @@
 package org.apache.maven.scm;
 
 import java.io.File;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.maven.scm.command.blame.BlameFileConsumer;
+import org.apache.maven.scm.command.blame.BlameLineConsumer;
+import org.apache.maven.scm.command.blame.LineRange;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
+
 /**
  * @author <a href="mailto:trygvis@inamo.no">Trygve Laugst&oslash;l</a>
  * @author Olivier Lamy
@@ -269,6 +275,137 @@ public ScmBranchParameters getScmBranchParameters(CommandParameter parameter) th
         return (ScmBranchParameters) getObject(ScmBranchParameters.class, parameter, new ScmBranchParameters());
     }
 
+    // ----------------------------------------------------------------------
+    // ChangeSetConsumer
+    // ----------------------------------------------------------------------
+
+    /**
+     * @param parameter    not null
+     * @param defaultValue could be null
+     * @return the change set consumer
+     * @throws ScmException if the value is in the wrong type
+     * @since 2.1.1
+     */
+    public ChangeSetConsumer getChangeSetConsumer(CommandParameter parameter, ChangeSetConsumer defaultValue)
+            throws ScmException {
+        return (ChangeSetConsumer) getObject(ChangeSetConsumer.class, parameter, defaultValue);
+    }
+
+    /**
+     * @param parameter         not null
+     * @param changeSetConsumer the change set consumer
+     * @throws ScmException if the parameter already exist
+     * @since 2.1.1
+     */
+    public void setChangeSetConsumer(CommandParameter parameter, ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        setObject(parameter, changeSetConsumer);
+    }
+
+    // ----------------------------------------------------------------------
+    // OutputStream
+    // ----------------------------------------------------------------------
+
+    /**
+     * @param parameter    not null
+     * @param defaultValue could be null
+     * @return the output stream
+     * @throws ScmException if the value is in the wrong type
+     * @since 2.1.1
+     */
+    public OutputStream getOutputStream(CommandParameter parameter, OutputStream defaultValue) throws ScmException {
+        return (OutputStream) getObject(OutputStream.class, parameter, defaultValue);
+    }
+
+    /**
+     * @param parameter    not null
+     * @param outputStream the output stream
+     * @throws ScmException if the parameter already exist
+     * @since 2.1.1
+     */
+    public void setOutputStream(CommandParameter parameter, OutputStream outputStream) throws ScmException {
+        setObject(parameter, outputStream);
+    }
+
+    // ----------------------------------------------------------------------
+    // LineRange[]
+    // ----------------------------------------------------------------------
+
+    /**
+     * @param parameter    not null
+     * @param defaultValue could be null
+     * @return the line ranges
+     * @throws ScmException if the value is in the wrong type
+     * @since 2.1.1
+     */
+    public LineRange[] getLineRanges(CommandParameter parameter, LineRange[] defaultValue) throws ScmException {
+        return (LineRange[]) getObject(LineRange[].class, parameter, defaultValue);
+    }
+
+    /**
+     * @param parameter  not null
+     * @param lineRanges the line ranges
+     * @throws ScmException if the parameter already exist
+     * @since 2.1.1
+     */
+    public void setLineRanges(CommandParameter parameter, LineRange[] lineRanges) throws ScmException {
+        setObject(parameter, lineRanges);
+    }
+
+    // ----------------------------------------------------------------------
+    // BlameLineConsumer
+    // ----------------------------------------------------------------------
+
+    /**
+     * @param parameter    not null
+     * @param defaultValue could be null
+     * @return the blame line consumer
+     * @throws ScmException if the value is in the wrong type
+     * @since 2.1.1
+     */
+    public BlameLineConsumer getBlameLineConsumer(CommandParameter parameter, BlameLineConsumer defaultValue)
+            throws ScmException {
+        return (BlameLineConsumer) getObject(BlameLineConsumer.class, parameter, defaultValue);
+    }
+
+    /**
+     * @param parameter         not null
+     * @param blameLineConsumer the blame line consumer
+     * @throws ScmException if the parameter already exist
+     * @since 2.1.1
+     */
+    public void setBlameLineConsumer(CommandParameter parameter, BlameLineConsumer blameLineConsumer)
+            throws ScmException {
+        setObject(parameter, blameLineConsumer);
+    }
+
+    // ----------------------------------------------------------------------
+    // BlameFileConsumer
+    // ----------------------------------------------------------------------
+
+    /**
+     * @param parameter    not null
+     * @param defaultValue could be null
+     * @return the blame file consumer
+     * @throws ScmException if the value is in the wrong type
+     * @since 2.1.1
+     */
+    public BlameFileConsumer getBlameFileConsumer(CommandParameter parameter, BlameFileConsumer defaultValue)
+            throws ScmException {
+        return (BlameFileConsumer) getObject(BlameFileConsumer.class, parameter, defaultValue);
+    }
+
+    /**
+     * @param parameter         not null
+     * @param blameFileConsumer the blame file consumer
+     * @throws ScmException if the parameter already exist
+     * @since 2.1.1
+     */
+    public void setBlameFileConsumer(CommandParameter parameter, BlameFileConsumer blameFileConsumer)
+            throws ScmException {
+        setObject(parameter, blameFileConsumer);
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
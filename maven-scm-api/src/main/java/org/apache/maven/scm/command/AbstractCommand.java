@@ -22,6 +22,8 @@
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmMetrics;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,10 +50,18 @@ public final ScmResult execute(ScmProviderRepository repository, ScmFileSet file
             throw new NullPointerException("fileSet cannot be null");
         }
 
+        ScmMetrics scmMetrics = ScmMetrics.getActive();
+        ScmCommandMetrics metrics = scmMetrics != null ? scmMetrics.start(this) : null;
+        ScmResult result = null;
         try {
-            return executeCommand(repository, fileSet, parameters);
+            result = executeCommand(repository, fileSet, parameters);
+            return result;
         } catch (Exception ex) {
             throw new ScmException("Exception while executing SCM command.", ex);
+        } finally {
+            if (metrics != null) {
+                scmMetrics.stop(metrics, result);
+            }
         }
     }
 }
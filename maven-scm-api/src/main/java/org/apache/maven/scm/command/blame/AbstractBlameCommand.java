@@ -18,6 +18,20 @@
  */
 package org.apache.maven.scm.command.blame;
 
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
@@ -25,6 +39,7 @@
 import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.command.AbstractCommand;
 import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.util.FilenameUtils;
 
 /**
  * @author Evgeny Mandrikov
@@ -37,8 +52,202 @@ public abstract BlameScmResult executeBlameCommand(
     protected ScmResult executeCommand(
             ScmProviderRepository repository, ScmFileSet workingDirectory, CommandParameters parameters)
             throws ScmException {
+        BlameFileConsumer fileConsumer = parameters.getBlameFileConsumer(CommandParameter.BLAME_FILE_CONSUMER, null);
+        if (fileConsumer != null) {
+            return executeBlameFilesCommand(repository, workingDirectory, parameters, fileConsumer);
+        }
+
         String file = parameters.getString(CommandParameter.FILE);
 
-        return executeBlameCommand(repository, workingDirectory, file);
+        BlameScmResult result = executeBlameCommand(repository, workingDirectory, file);
+
+        return applyLineRanges(
+                result,
+                parameters.getLineRanges(CommandParameter.LINE_RANGES, null),
+                parameters.getBlameLineConsumer(CommandParameter.BLAME_LINE_CONSUMER, null));
+    }
+
+    /**
+     * Blames the files of the file set one after the other with
+     * {@link #executeBlameCommand(ScmProviderRepository, ScmFileSet, String)}, for providers which cannot blame
+     * several files at once.
+     *
+     * @param repository the repository
+     * @param workingDirectory the file set holding the files to blame
+     * @param parameters the parameters of the blame
+     * @param consumer the consumer of the blame of each file
+     * @return a result without lines, the blames are passed to the consumer
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    protected BlameScmResult executeBlameFilesCommand(
+            ScmProviderRepository repository,
+            ScmFileSet workingDirectory,
+            CommandParameters parameters,
+            BlameFileConsumer consumer)
+            throws ScmException {
+        if (parameters.getScmVersion(CommandParameter.SCM_VERSION, null) != null) {
+            return new BlameScmResult(null, "This provider cannot blame the files of a revision.", null, false);
+        }
+        blameFiles(
+                getFilenames(workingDirectory),
+                1,
+                filename -> executeBlameCommand(repository, workingDirectory, filename),
+                consumer);
+        return new BlameScmResult(null, new ArrayList<>());
+    }
+
+    /**
+     * Blames one file of a blame of several files.
+     *
+     * @since 2.1.1
+     */
+    @FunctionalInterface
+    protected interface FileBlamer {
+        /**
+         * @param filename the file, relative to the base directory of the file set
+         * @return the blame of all the lines of the file
+         * @throws Exception if the file cannot be blamed
+         */
+        BlameScmResult blame(String filename) throws Exception;
+    }
+
+    /**
+     * Blames the files with at most the given number of threads, and passes the blame of each file to the consumer in
+     * the calling thread as soon as it is complete. Only a few blames are run ahead of the consumer, so a slow
+     * consumer does not make the blames of many files pile up. A file which cannot be blamed gets a failed result.
+     *
+     * @param filenames the files to blame
+     * @param threads the number of threads, the files are blamed in the calling thread if not more than one
+     * @param blamer blames a file, called concurrently if there are several threads
+     * @param consumer the consumer of the blame of each file
+     * @throws ScmException if the calling thread is interrupted
+     * @since 2.1.1
+     */
+    protected static void blameFiles(List<String> filenames, int threads, FileBlamer blamer, BlameFileConsumer consumer)
+            throws ScmException {
+        if (threads <= 1 || filenames.size() <= 1) {
+            for (String filename : filenames) {
+                consumer.consumeBlameResult(filename, blame(blamer, filename));
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, filenames.size()));
+        CompletionService<Map.Entry<String, BlameScmResult>> completionService =
+                new ExecutorCompletionService<>(executor);
+        try {
+            Iterator<String> remaining = filenames.iterator();
+            int pending = 0;
+            while (remaining.hasNext() || pending > 0) {
+                while (remaining.hasNext() && pending < threads * 2) {
+                    String filename = remaining.next();
+                    completionService.submit(
+                            () -> new AbstractMap.SimpleImmutableEntry<>(filename, blame(blamer, filename)));
+                    pending++;
+                }
+                Map.Entry<String, BlameScmResult> blamed =
+                        completionService.take().get();
+                pending--;
+                consumer.consumeBlameResult(blamed.getKey(), blamed.getValue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScmException("Interrupted while blaming the files", e);
+        } catch (ExecutionException e) {
+            throw new ScmException("Cannot blame the files", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static BlameScmResult blame(FileBlamer blamer, String filename) {
+        try {
+            BlameScmResult result = blamer.blame(filename);
+            return result != null ? result : new BlameScmResult(null, "Cannot blame " + filename, null, false);
+        } catch (Exception e) {
+            return new BlameScmResult(null, "Cannot blame " + filename, e.getMessage(), false);
+        }
+    }
+
+    /**
+     * @param fileSet the file set
+     * @return the files of the file set, relative to its base directory and with forward slashes
+     * @since 2.1.1
+     */
+    protected static List<String> getFilenames(ScmFileSet fileSet) {
+        List<String> filenames = new ArrayList<>();
+        for (File file : fileSet.getFileList()) {
+            if (file.isAbsolute()) {
+                file = fileSet.getBasedir().toPath().relativize(file.toPath()).toFile();
+            }
+            filenames.add(FilenameUtils.normalizeFilename(file));
+        }
+        return filenames;
+    }
+
+    /**
+     * Restricts a result holding all lines of the file to the requested line ranges and passes the lines to the
+     * consumer, for providers which cannot do so themselves.
+     *
+     * @param result the result with all lines of the file
+     * @param lineRanges the line ranges, <code>null</code> for all lines
+     * @param consumer the consumer of the lines, <code>null</code> to keep them in the result
+     * @return the result holding the requested lines, or none if they have been passed to the consumer
+     * @since 2.1.1
+     */
+    protected static BlameScmResult applyLineRanges(
+            BlameScmResult result, LineRange[] lineRanges, BlameLineConsumer consumer) {
+        if (result == null || !result.isSuccess() || (lineRanges == null && consumer == null)) {
+            return result;
+        }
+
+        List<BlameLine> allLines = result.getLines();
+        if (lineRanges == null) {
+            lineRanges = new LineRange[] {new LineRange(1, Math.max(1, allLines.size()))};
+        }
+
+        List<BlameLine> lines = new ArrayList<>();
+        for (LineRange lineRange : mergeLineRanges(lineRanges)) {
+            int endLine = Math.min(lineRange.getEndLine(), allLines.size());
+            for (int lineNumber = lineRange.getStartLine(); lineNumber <= endLine; lineNumber++) {
+                BlameLine line = allLines.get(lineNumber - 1);
+                if (consumer != null) {
+                    consumer.consumeBlameLine(lineNumber, line);
+                } else {
+                    lines.add(line);
+                }
+            }
+        }
+        return new BlameScmResult(result.getCommandLine(), lines);
+    }
+
+    /**
+     * @param lineRanges the line ranges in any order
+     * @return the line ranges in file order, overlapping or adjacent ranges merged
+     * @since 2.1.1
+     */
+    protected static List<LineRange> mergeLineRanges(LineRange[] lineRanges) {
+        LineRange[] sorted = lineRanges.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(LineRange::getStartLine));
+
+        List<LineRange> merged = new ArrayList<>();
+        LineRange current = null;
+        for (LineRange lineRange : sorted) {
+            if (current == null) {
+                current = lineRange;
+            } else if (lineRange.getStartLine() <= current.getEndLine() + 1) {
+                if (lineRange.getEndLine() > current.getEndLine()) {
+                    current = new LineRange(current.getStartLine(), lineRange.getEndLine());
+                }
+            } else {
+                merged.add(current);
+                current = lineRange;
+            }
+        }
+        if (current != null) {
+            merged.add(current);
+        }
+        return merged;
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.blame;
+
+/**
+ * Receives the blame of each file of a blame of several files, as soon as it is complete.
+ * <p>
+ * The files are passed in the order their blame completes, which is not the order of the file set when the provider
+ * blames several files at once.
+ *
+ * @since 2.1.1
+ */
+public interface BlameFileConsumer {
+    /**
+     * Called once for each file of the file set, always from the thread which runs the blame command.
+     *
+     * @param filename the file, relative to the base directory of the file set
+     * @param result the blame of all the lines of the file, or a failed result if it could not be blamed
+     */
+    void consumeBlameResult(String filename, BlameScmResult result);
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.blame;
+
+/**
+ * Receives the lines of a blame one by one, as soon as the provider has resolved them.
+ * <p>
+ * When a consumer is set on the {@link BlameScmRequest}, the provider does not collect the lines, so the
+ * {@link BlameScmResult} contains no lines. Depending on the provider, the lines are not emitted in file order.
+ *
+ * @since 2.1.1
+ */
+public interface BlameLineConsumer {
+    /**
+     * Called once for each line of the file, or of the requested line ranges.
+     *
+     * @param lineNumber the number of the line in the file, starting with 1
+     * @param blameLine the blame information of the line, never <code>null</code>
+     */
+    void consumeBlameLine(int lineNumber, BlameLine blameLine);
+}
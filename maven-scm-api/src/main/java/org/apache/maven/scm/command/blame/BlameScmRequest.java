@@ -18,10 +18,16 @@
  */
 package org.apache.maven.scm.command.blame;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.repository.ScmRepository;
 
 /**
@@ -61,4 +67,94 @@ public void setIgnoreWhitespace(boolean ignoreWhitespace) throws ScmException {
             this.getCommandParameters().setString(CommandParameter.IGNORE_WHITESPACE, "FALSE");
         }
     }
+
+    /**
+     * Restricts the blame to the given lines, the result then only contains the lines of the ranges in file order.
+     * May be called several times, overlapping ranges are merged.
+     *
+     * @param startLine the first line, starting with 1
+     * @param endLine the last line, inclusive
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public void addLineRange(int startLine, int endLine) throws ScmException {
+        List<LineRange> lineRanges = new ArrayList<>(getLineRanges());
+        lineRanges.add(new LineRange(startLine, endLine));
+
+        this.getCommandParameters().remove(CommandParameter.LINE_RANGES);
+        this.getCommandParameters().setLineRanges(CommandParameter.LINE_RANGES, lineRanges.toArray(new LineRange[0]));
+    }
+
+    /**
+     * @return the line ranges, empty for the whole file
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public List<LineRange> getLineRanges() throws ScmException {
+        LineRange[] lineRanges = this.getCommandParameters().getLineRanges(CommandParameter.LINE_RANGES, null);
+        return lineRanges == null ? Collections.emptyList() : Arrays.asList(lineRanges);
+    }
+
+    /**
+     * Makes the provider pass each line to the consumer as soon as it is resolved instead of collecting them in the
+     * result, for git using <code>git blame --incremental</code>.
+     *
+     * @param blameLineConsumer the consumer of the lines
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public void setBlameLineConsumer(BlameLineConsumer blameLineConsumer) throws ScmException {
+        this.getCommandParameters().setBlameLineConsumer(CommandParameter.BLAME_LINE_CONSUMER, blameLineConsumer);
+    }
+
+    /**
+     * @return the consumer of the lines, <code>null</code> if the lines are collected in the result
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public BlameLineConsumer getBlameLineConsumer() throws ScmException {
+        return this.getCommandParameters().getBlameLineConsumer(CommandParameter.BLAME_LINE_CONSUMER, null);
+    }
+
+    /**
+     * Blames all the files of the file set instead of the file name, and passes the blame of each file to the
+     * consumer as soon as it is complete. Providers able to do so blame several files at once. The line ranges and the
+     * line consumer do not apply, the result of each file holds all its lines.
+     *
+     * @param blameFileConsumer the consumer of the blames of the files
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public void setBlameFileConsumer(BlameFileConsumer blameFileConsumer) throws ScmException {
+        this.getCommandParameters().setBlameFileConsumer(CommandParameter.BLAME_FILE_CONSUMER, blameFileConsumer);
+    }
+
+    /**
+     * @return the consumer of the blames of the files, <code>null</code> to blame the file name only
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public BlameFileConsumer getBlameFileConsumer() throws ScmException {
+        return this.getCommandParameters().getBlameFileConsumer(CommandParameter.BLAME_FILE_CONSUMER, null);
+    }
+
+    /**
+     * Blames the files as they are in the given revision instead of the current one. Not supported by all providers.
+     *
+     * @param scmVersion the revision
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public void setScmVersion(ScmVersion scmVersion) throws ScmException {
+        this.getCommandParameters().setScmVersion(CommandParameter.SCM_VERSION, scmVersion);
+    }
+
+    /**
+     * @return the revision to blame, <code>null</code> for the current one
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public ScmVersion getScmVersion() throws ScmException {
+        return this.getCommandParameters().getScmVersion(CommandParameter.SCM_VERSION, null);
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.blame;
+
+import java.io.Serializable;
+
+/**
+ * A range of lines of a file, see {@link BlameScmRequest#addLineRange(int, int)}.
+ *
+ * @since 2.1.1
+ */
+public class LineRange implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int startLine;
+
+    private final int endLine;
+
+    /**
+     * @param startLine the first line, starting with 1
+     * @param endLine the last line, inclusive
+     */
+    public LineRange(int startLine, int endLine) {
+        if (startLine < 1 || endLine < startLine) {
+            throw new IllegalArgumentException("Invalid line range " + startLine + "-" + endLine);
+        }
+        this.startLine = startLine;
+        this.endLine = endLine;
+    }
+
+    /**
+     * @return the first line, starting with 1
+     */
+    public int getStartLine() {
+        return startLine;
+    }
+
+    /**
+     * @return the last line, inclusive
+     */
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * @param line the line number, starting with 1
+     * @return <code>true</code> if the line is part of the range
+     */
+    public boolean contains(int line) {
+        return line >= startLine && line <= endLine;
+    }
+
+    @Override
+    public String toString() {
+        return startLine + "-" + endLine;
+    }
+}
@@ -18,8 +18,10 @@
  */
 package org.apache.maven.scm.command.changelog;
 
+import java.util.ArrayList;
 import java.util.Date;
 
+import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
@@ -90,12 +92,16 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
 
         String datePattern = parameters.getString(CommandParameter.CHANGELOG_DATE_PATTERN, null);
 
+        ChangeSetConsumer changeSetConsumer =
+                parameters.getChangeSetConsumer(CommandParameter.CHANGESET_CONSUMER, null);
+
         boolean versionOnly = startVersion == null && endVersion == null && version != null;
 
         if (versionOnly) {
-            return executeChangeLogCommand(repository, fileSet, version, datePattern);
+            return executeChangeLogCommand(repository, fileSet, version, datePattern, changeSetConsumer);
         } else if (startVersion != null || endVersion != null) {
-            return executeChangeLogCommand(repository, fileSet, startVersion, endVersion, datePattern);
+            return executeChangeLogCommand(
+                    repository, fileSet, startVersion, endVersion, datePattern, changeSetConsumer);
         } else {
             if (numDays != 0 && (startDate != null || endDate != null)) {
                 throw new ScmException("Start or end date cannot be set if num days is set.");
@@ -115,11 +121,90 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
                 endDate = new Date();
             }
 
-            return executeChangeLogCommand(repository, fileSet, startDate, endDate, branch, datePattern);
+            return executeChangeLogCommand(
+                    repository, fileSet, startDate, endDate, branch, datePattern, changeSetConsumer);
         }
     }
 
     protected ChangeLogScmResult executeChangeLogCommand(ChangeLogScmRequest request) throws ScmException {
         throw new ScmException("Unsupported method for this provider.");
     }
+
+    /**
+     * Runs the change log between two dates. The default implementation collects the change sets and then passes them
+     * to the consumer, if any.
+     *
+     * @param changeSetConsumer the consumer the change sets must be streamed to, or <code>null</code> if they are
+     *                          collected in the {@link ChangeLogSet} of the result
+     * @since 2.1.1
+     */
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repository,
+            ScmFileSet fileSet,
+            Date startDate,
+            Date endDate,
+            ScmBranch branch,
+            String datePattern,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        return consume(
+                executeChangeLogCommand(repository, fileSet, startDate, endDate, branch, datePattern),
+                changeSetConsumer);
+    }
+
+    /**
+     * Runs the change log between two versions. The default implementation collects the change sets and then passes
+     * them to the consumer, if any.
+     *
+     * @param changeSetConsumer the consumer the change sets must be streamed to, or <code>null</code> if they are
+     *                          collected in the {@link ChangeLogSet} of the result
+     * @since 2.1.1
+     */
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repository,
+            ScmFileSet fileSet,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            String datePattern,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        return consume(
+                executeChangeLogCommand(repository, fileSet, startVersion, endVersion, datePattern), changeSetConsumer);
+    }
+
+    /**
+     * Runs the change log of a version. The default implementation collects the change sets and then passes them to
+     * the consumer, if any.
+     *
+     * @param changeSetConsumer the consumer the change sets must be streamed to, or <code>null</code> if they are
+     *                          collected in the {@link ChangeLogSet} of the result
+     * @since 2.1.1
+     */
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repository,
+            ScmFileSet fileSet,
+            ScmVersion version,
+            String datePattern,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        return consume(executeChangeLogCommand(repository, fileSet, version, datePattern), changeSetConsumer);
+    }
+
+    /**
+     * Passes the collected change sets of the result to the consumer and removes them from the result, as if the
+     * provider had streamed them.
+     */
+    private static ChangeLogScmResult consume(ChangeLogScmResult result, ChangeSetConsumer changeSetConsumer) {
+        if (changeSetConsumer == null || result == null || result.getChangeLog() == null) {
+            return result;
+        }
+        ChangeLogSet changeLog = result.getChangeLog();
+        if (changeLog.getChangeSets() != null) {
+            for (ChangeSet changeSet : changeLog.getChangeSets()) {
+                changeSetConsumer.consumeChangeSet(changeSet);
+            }
+        }
+        changeLog.setChangeSets(new ArrayList<>());
+        return result;
+    }
 }
@@ -148,4 +148,24 @@ public void setRevision(ScmVersion revision) throws ScmException {
     public ScmVersion getRevision() throws ScmException {
         return parameters.getScmVersion(CommandParameter.SCM_VERSION, null);
     }
+
+    public ChangeSetConsumer getChangeSetConsumer() throws ScmException {
+        return parameters.getChangeSetConsumer(CommandParameter.CHANGESET_CONSUMER, null);
+    }
+
+    /**
+     * Streams the change sets to the given consumer while the provider parses them, instead of collecting all of
+     * them in memory. The {@link ChangeLogSet} of the result then contains no change sets.
+     *
+     * @param changeSetConsumer the consumer receiving each change set
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    public void setChangeSetConsumer(ChangeSetConsumer changeSetConsumer) throws ScmException {
+        if (changeSetConsumer != null) {
+            parameters.setChangeSetConsumer(CommandParameter.CHANGESET_CONSUMER, changeSetConsumer);
+        } else {
+            parameters.remove(CommandParameter.CHANGESET_CONSUMER);
+        }
+    }
 }
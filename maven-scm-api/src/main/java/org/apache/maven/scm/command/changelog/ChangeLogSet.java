@@ -18,6 +18,14 @@
  */
 package org.apache.maven.scm.command.changelog;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
@@ -136,44 +144,116 @@ public String toXML() {
      *
      * @param encoding encoding of output
      * @return TODO
+     * @see #writeXML(Writer, String)
      */
     public String toXML(String encoding) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeXML(writer, encoding);
+        } catch (IOException e) {
+            // a StringWriter does not throw
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes an XML representation of this change log set declaring the default encoding (ISO-8859-1), like
+     * {@link #toXML()}.
+     *
+     * @param writer the writer, which is neither flushed nor closed
+     * @throws IOException if the writer fails
+     * @since 2.1.1
+     */
+    public void writeXML(Writer writer) throws IOException {
+        writeXML(writer, DEFAULT_ENCODING);
+    }
+
+    /**
+     * Writes an XML representation of this change log set in the given charset. The stream is flushed, but not
+     * closed.
+     *
+     * @param out the stream
+     * @param charset the charset of the document
+     * @throws IOException if the stream fails
+     * @since 2.1.1
+     */
+    public void writeXML(OutputStream out, Charset charset) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        writeXML(writer, charset.name());
+        writer.flush();
+    }
+
+    /**
+     * Writes an XML representation of this change log set, entry by entry.
+     *
+     * @param writer the writer, which is neither flushed nor closed
+     * @param encoding the encoding to declare, <code>null</code> for the default encoding (ISO-8859-1)
+     * @throws IOException if the writer fails
+     * @since 2.1.1
+     */
+    public void writeXML(Writer writer, String encoding) throws IOException {
         String encodingString = encoding;
 
         if (encodingString == null) {
             encodingString = DEFAULT_ENCODING;
         }
 
-        StringBuilder buffer = new StringBuilder();
         String pattern = "yyyyMMdd HH:mm:ss z";
         SimpleDateFormat formatter = new SimpleDateFormat(pattern);
 
-        buffer.append("<?xml version=\"1.0\" encoding=\"" + encodingString + "\"?>\n");
-        buffer.append("<changeset datePattern=\"").append(pattern).append("\"");
+        writer.write("<?xml version=\"1.0\" encoding=\"" + encodingString + "\"?>\n");
+        writer.write("<changeset datePattern=\"" + pattern + "\"");
 
         if (startDate != null) {
-            buffer.append(" start=\"").append(formatter.format(getStartDate())).append("\"");
+            writer.write(" start=\"" + formatter.format(getStartDate()) + "\"");
         }
         if (endDate != null) {
-            buffer.append(" end=\"").append(formatter.format(getEndDate())).append("\"");
+            writer.write(" end=\"" + formatter.format(getEndDate()) + "\"");
         }
 
         if (startVersion != null) {
-            buffer.append(" startVersion=\"").append(getStartVersion()).append("\"");
+            writer.write(" startVersion=\"" + getStartVersion() + "\"");
         }
         if (endVersion != null) {
-            buffer.append(" endVersion=\"").append(getEndVersion()).append("\"");
+            writer.write(" endVersion=\"" + getEndVersion() + "\"");
         }
 
-        buffer.append(">\n");
+        writer.write(">\n");
 
         //  Write out the entries
         for (ChangeSet changeSet : getChangeSets()) {
-            buffer.append(changeSet.toXML());
+            changeSet.writeXML(writer);
         }
 
-        buffer.append("</changeset>\n");
+        writer.write("</changeset>\n");
+    }
 
-        return buffer.toString();
+    /**
+     * Writes the entries as JSON lines, one object per change set.
+     *
+     * @param writer the writer, which is neither flushed nor closed
+     * @throws IOException if the writer fails
+     * @since 2.1.1
+     * @see ChangeSet#writeJson(Writer)
+     */
+    public void writeJsonLines(Writer writer) throws IOException {
+        for (ChangeSet changeSet : getChangeSets()) {
+            changeSet.writeJson(writer);
+        }
+    }
+
+    /**
+     * Writes the entries as JSON lines in the given charset. The stream is flushed, but not closed.
+     *
+     * @param out the stream
+     * @param charset the charset, usually UTF-8
+     * @throws IOException if the stream fails
+     * @since 2.1.1
+     */
+    public void writeJsonLines(OutputStream out, Charset charset) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        writeJsonLines(writer);
+        writer.flush();
     }
 }
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.changelog;
+
+import org.apache.maven.scm.ChangeSet;
+
+/**
+ * Receives the change sets of a changelog one by one, as soon as the provider has parsed them.
+ * <p>
+ * When a consumer is set on the {@link ChangeLogScmRequest}, the provider does not collect the change sets, so the
+ * {@link ChangeLogSet} of the result contains no entries.
+ *
+ * @since 2.1.1
+ */
+public interface ChangeSetConsumer {
+    /**
+     * Called once for each change set, in the order the provider emits them.
+     *
+     * @param changeSet the change set, never <code>null</code>
+     */
+    void consumeChangeSet(ChangeSet changeSet);
+}
@@ -18,6 +18,11 @@
  */
 package org.apache.maven.scm.command.diff;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
@@ -49,6 +54,40 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
 
         ScmVersion endRevision = parameters.getScmVersion(CommandParameter.END_SCM_VERSION, null);
 
+        String patchFile = parameters.getString(CommandParameter.OUTPUT_FILE, null);
+        if (patchFile != null) {
+            try (OutputStream out = Files.newOutputStream(Paths.get(patchFile))) {
+                return executeDiffCommand(repository, fileSet, startRevision, endRevision, out);
+            } catch (IOException e) {
+                throw new ScmException("Cannot write the patch to " + patchFile, e);
+            }
+        }
+
+        OutputStream patchOutput = parameters.getOutputStream(CommandParameter.DIFF_OUTPUT, null);
+        if (patchOutput != null) {
+            return executeDiffCommand(repository, fileSet, startRevision, endRevision, patchOutput);
+        }
+
         return executeDiffCommand(repository, fileSet, startRevision, endRevision);
     }
+
+    /**
+     * Writes the patch to the given stream instead of the result. Providers able to stream the patch should override
+     * this, the default collects the whole patch with
+     * {@link #executeDiffCommand(ScmProviderRepository, ScmFileSet, ScmVersion, ScmVersion)} and writes it
+     * afterwards, without any {@link DiffScmResult#getFileOffsets() file offsets}.
+     *
+     * @param patchOutput the stream to write the patch to, it must be flushed but not closed
+     * @since 2.1.1
+     */
+    protected DiffScmResult executeDiffCommand(
+            ScmProviderRepository repository,
+            ScmFileSet fileSet,
+            ScmVersion startRevision,
+            ScmVersion endRevision,
+            OutputStream patchOutput)
+            throws ScmException {
+        return DiffScmRequest.writePatch(
+                executeDiffCommand(repository, fileSet, startRevision, endRevision), patchOutput);
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.diff;
+
+import java.io.Serializable;
+
+/**
+ * The location of the differences of a single file within a patch written to a stream, see
+ * {@link DiffScmRequest#setPatchOutput(java.io.OutputStream)}.
+ *
+ * @since 2.1.1
+ */
+public class DiffFileOffset implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+
+    private final long offset;
+
+    private final long length;
+
+    private final int lineCount;
+
+    public DiffFileOffset(String path, long offset, long length, int lineCount) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * @return the path of the file, as reported by the provider
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the byte offset of the first line of the file's differences, including their header
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the number of bytes of the file's differences
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the number of lines of the file's differences
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    @Override
+    public String toString() {
+        return path + "@" + offset + "+" + length + " (" + lineCount + " lines)";
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.diff;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a patch to a stream while recording where the differences of each file are, so the stream holds the only
+ * copy of the patch. The bytes are either written directly or as lines, which are encoded as UTF-8 and terminated by
+ * a line feed. Each file starts with {@link #startFile(String)}, bytes before the first file are not assigned to any
+ * file.
+ * <p>
+ * {@link #finish()} completes the last file and flushes the stream, but does not close the underlying stream, which
+ * belongs to the caller.
+ *
+ * @since 2.1.1
+ */
+public class DiffOutputStream extends FilterOutputStream {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<DiffFileOffset> fileOffsets = new ArrayList<>();
+
+    private byte[] lineBuffer = new byte[256];
+
+    private long count;
+
+    private int lineCount;
+
+    private String currentPath;
+
+    private long currentOffset;
+
+    private int currentLineCount;
+
+    /**
+     * @param out the stream receiving the patch, it is buffered by this stream
+     */
+    public DiffOutputStream(OutputStream out) {
+        super(new BufferedOutputStream(out, BUFFER_SIZE));
+    }
+
+    /**
+     * Completes the current file and starts the next one at the current position.
+     *
+     * @param path the path of the file
+     */
+    public void startFile(String path) {
+        endFile();
+        currentPath = path;
+        currentOffset = count;
+        currentLineCount = lineCount;
+    }
+
+    /**
+     * Writes the line in UTF-8 followed by a line feed.
+     *
+     * @param line the line without its terminator
+     * @throws IOException if the line could not be written
+     */
+    public void writeLine(CharSequence line) throws IOException {
+        int length = line.length();
+        int size = ensureLineBuffer(length);
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                lineBuffer[size++] = (byte) c;
+            } else {
+                size = encode(c, i + 1 < length ? line.charAt(i + 1) : 0, size);
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(line.charAt(i + 1))) {
+                    i++;
+                }
+            }
+        }
+        writeLineBuffer(size);
+    }
+
+    /**
+     * Writes a line given as a slice of a buffer in UTF-8 followed by a line feed.
+     *
+     * @param buffer the characters
+     * @param offset the index of the first character of the line
+     * @param length the length of the line without its terminator
+     * @throws IOException if the line could not be written
+     */
+    public void writeLine(char[] buffer, int offset, int length) throws IOException {
+        writeLine(CharBuffer.wrap(buffer, offset, length));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+        if (b == '\n') {
+            lineCount++;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count += len;
+        for (int i = off; i < off + len; i++) {
+            if (b[i] == '\n') {
+                lineCount++;
+            }
+        }
+    }
+
+    /**
+     * Completes the last file and flushes the stream.
+     *
+     * @return the locations of the differences of all files
+     * @throws IOException if the stream could not be flushed
+     */
+    public List<DiffFileOffset> finish() throws IOException {
+        endFile();
+        flush();
+        return fileOffsets;
+    }
+
+    /**
+     * @return the number of bytes written so far
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void endFile() {
+        if (currentPath != null) {
+            fileOffsets.add(new DiffFileOffset(
+                    currentPath, currentOffset, count - currentOffset, lineCount - currentLineCount));
+            currentPath = null;
+        }
+    }
+
+    /**
+     * @return the start index, the buffer can take the line in the worst case
+     */
+    private int ensureLineBuffer(int length) {
+        // up to three bytes per char plus the line feed
+        int capacity = length * 3 + 1;
+        if (lineBuffer.length < capacity) {
+            lineBuffer = new byte[Math.max(capacity, lineBuffer.length * 2)];
+        }
+        return 0;
+    }
+
+    private void writeLineBuffer(int size) throws IOException {
+        lineBuffer[size++] = '\n';
+        out.write(lineBuffer, 0, size);
+        count += size;
+        lineCount++;
+    }
+
+    /**
+     * Encodes a non ASCII char, surrogate pairs are encoded as one code point, lone surrogates as <code>?</code>.
+     *
+     * @param next the char following <code>c</code>, <code>0</code> at the end of the line
+     * @return the new size of the line buffer
+     */
+    private int encode(char c, char next, int size) {
+        if (c < 0x800) {
+            lineBuffer[size++] = (byte) (0xc0 | (c >> 6));
+            lineBuffer[size++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+            // four bytes, which fit into the six bytes reserved for the two chars
+            int codePoint = Character.toCodePoint(c, next);
+            lineBuffer[size++] = (byte) (0xf0 | (codePoint >> 18));
+            lineBuffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            lineBuffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            lineBuffer[size++] = (byte) (0x80 | (codePoint & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+            lineBuffer[size++] = '?';
+        } else {
+            lineBuffer[size++] = (byte) (0xe0 | (c >> 12));
+            lineBuffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            lineBuffer[size++] = (byte) (0x80 | (c & 0x3f));
+        }
+        return size;
+    }
+}
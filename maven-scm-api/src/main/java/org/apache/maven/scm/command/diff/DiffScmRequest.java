@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.diff;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.repository.ScmRepository;
+
+/**
+ * A diff between two branches, tags or revisions.
+ * <p>
+ * If a patch file or output stream is set, the patch is written there instead of being kept in the
+ * {@link DiffScmResult}, which then only carries the changed files and the
+ * {@link DiffScmResult#getFileOffsets() location} of each file's differences within the written patch. Providers
+ * supporting this keep only a bounded part of the patch in memory, others write the patch once it is
+ * complete and report no offsets.
+ *
+ * @since 2.1.1
+ */
+public class DiffScmRequest extends ScmRequest {
+    private static final long serialVersionUID = 1L;
+
+    public DiffScmRequest(ScmRepository scmRepository, ScmFileSet scmFileSet) {
+        super(scmRepository, scmFileSet);
+    }
+
+    public ScmVersion getStartVersion() throws ScmException {
+        return parameters.getScmVersion(CommandParameter.START_SCM_VERSION, null);
+    }
+
+    /**
+     * @param startVersion the start branch/tag/revision
+     * @throws ScmException if any
+     */
+    public void setStartVersion(ScmVersion startVersion) throws ScmException {
+        parameters.setScmVersion(CommandParameter.START_SCM_VERSION, startVersion);
+    }
+
+    public ScmVersion getEndVersion() throws ScmException {
+        return parameters.getScmVersion(CommandParameter.END_SCM_VERSION, null);
+    }
+
+    /**
+     * @param endVersion the end branch/tag/revision
+     * @throws ScmException if any
+     */
+    public void setEndVersion(ScmVersion endVersion) throws ScmException {
+        parameters.setScmVersion(CommandParameter.END_SCM_VERSION, endVersion);
+    }
+
+    public Path getPatchFile() throws ScmException {
+        String patchFile = parameters.getString(CommandParameter.OUTPUT_FILE, null);
+        return patchFile == null ? null : Paths.get(patchFile);
+    }
+
+    /**
+     * @param patchFile the file to write the patch to, it is created or replaced
+     * @throws ScmException if any
+     */
+    public void setPatchFile(Path patchFile) throws ScmException {
+        parameters.setString(CommandParameter.OUTPUT_FILE, patchFile.toString());
+    }
+
+    public OutputStream getPatchOutput() throws ScmException {
+        return parameters.getOutputStream(CommandParameter.DIFF_OUTPUT, null);
+    }
+
+    /**
+     * @param patchOutput the stream to write the patch to, it is flushed but not closed
+     * @throws ScmException if any
+     */
+    public void setPatchOutput(OutputStream patchOutput) throws ScmException {
+        parameters.setOutputStream(CommandParameter.DIFF_OUTPUT, patchOutput);
+    }
+
+    /**
+     * Writes the patch of a diff collected in memory to the patch file or stream of this request, if any, for
+     * providers not able to stream it.
+     *
+     * @param result the result of the diff, with the whole patch
+     * @return the result of the request, without any {@link DiffScmResult#getFileOffsets() file offsets} if the patch
+     *         has been written
+     * @throws ScmException if the patch cannot be written
+     * @since 2.1.1
+     */
+    public DiffScmResult writePatch(DiffScmResult result) throws ScmException {
+        Path patchFile = getPatchFile();
+        if (patchFile != null) {
+            try (OutputStream out = Files.newOutputStream(patchFile)) {
+                return writePatch(result, out);
+            } catch (IOException e) {
+                throw new ScmException("Cannot write the patch to " + patchFile, e);
+            }
+        }
+
+        OutputStream patchOutput = getPatchOutput();
+        return patchOutput != null ? writePatch(result, patchOutput) : result;
+    }
+
+    static DiffScmResult writePatch(DiffScmResult result, OutputStream patchOutput) throws ScmException {
+        if (!result.isSuccess()) {
+            return result;
+        }
+
+        DiffOutputStream out = new DiffOutputStream(patchOutput);
+        try {
+            if (result.getPatch() != null) {
+                out.write(result.getPatch().getBytes(StandardCharsets.UTF_8));
+            }
+            out.finish();
+        } catch (IOException e) {
+            throw new ScmException("Cannot write the patch", e);
+        }
+        return new DiffScmResult(result.getCommandLine(), result.getChangedFiles(), Collections.emptyList());
+    }
+}
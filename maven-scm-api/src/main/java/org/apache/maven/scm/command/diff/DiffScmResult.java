@@ -37,6 +37,8 @@ public class DiffScmResult extends ScmResult {
 
     private String patch;
 
+    private List<DiffFileOffset> fileOffsets;
+
     public DiffScmResult(
             String commandLine, List<ScmFile> changedFiles, Map<String, CharSequence> differences, String patch) {
         this(commandLine, null, null, true);
@@ -45,6 +47,20 @@ public DiffScmResult(
         this.patch = patch;
     }
 
+    /**
+     * Creates the result of a diff which has written its patch to a stream.
+     *
+     * @param commandLine the command line
+     * @param changedFiles the changed files
+     * @param fileOffsets the location of each file's differences within the patch
+     * @since 2.1.1
+     */
+    public DiffScmResult(String commandLine, List<ScmFile> changedFiles, List<DiffFileOffset> fileOffsets) {
+        this(commandLine, null, null, true);
+        this.changedFiles = changedFiles;
+        this.fileOffsets = fileOffsets;
+    }
+
     public DiffScmResult(String commandLine, String providerMessage, String commandOutput, boolean success) {
         super(commandLine, providerMessage, commandOutput, success);
     }
@@ -71,4 +87,14 @@ public Map<String, CharSequence> getDifferences() {
     public String getPatch() {
         return patch;
     }
+
+    /**
+     * @return the location of each file's differences if the patch has been written to a stream, see
+     *         {@link DiffScmRequest#setPatchOutput(java.io.OutputStream)}, <code>null</code> otherwise. Empty if the
+     *         provider does not support streaming the patch.
+     * @since 2.1.1
+     */
+    public List<DiffFileOffset> getFileOffsets() {
+        return fileOffsets;
+    }
 }
@@ -33,9 +33,20 @@ public abstract class AbstractStatusCommand extends AbstractCommand {
     protected abstract StatusScmResult executeStatusCommand(ScmProviderRepository repository, ScmFileSet fileSet)
             throws ScmException;
 
+    /**
+     * Runs the status with the options of a {@link StatusScmRequest}. The default implementation ignores them.
+     *
+     * @param parameters the options, could be <code>null</code>
+     * @since 2.1.1
+     */
+    protected StatusScmResult executeStatusCommand(
+            ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters) throws ScmException {
+        return executeStatusCommand(repository, fileSet);
+    }
+
     /** {@inheritDoc} */
     public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
             throws ScmException {
-        return executeStatusCommand(repository, fileSet);
+        return executeStatusCommand(repository, fileSet, parameters);
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.status;
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRequest;
+import org.apache.maven.scm.repository.ScmRepository;
+
+/**
+ * The status of a working copy with options, providers ignore the options they do not support.
+ *
+ * @since 2.1.1
+ */
+public class StatusScmRequest extends ScmRequest {
+    private static final long serialVersionUID = 1L;
+
+    public StatusScmRequest(ScmRepository scmRepository, ScmFileSet scmFileSet) {
+        super(scmRepository, scmFileSet);
+    }
+
+    public boolean isIncludeUntracked() throws ScmException {
+        return parameters.getBoolean(CommandParameter.STATUS_UNTRACKED, false);
+    }
+
+    /**
+     * @param includeUntracked whether the untracked files are reported
+     * @throws ScmException if any
+     */
+    public void setIncludeUntracked(boolean includeUntracked) throws ScmException {
+        parameters.remove(CommandParameter.STATUS_UNTRACKED);
+        parameters.setString(CommandParameter.STATUS_UNTRACKED, Boolean.toString(includeUntracked));
+    }
+
+    public boolean isIncludeIgnored() throws ScmException {
+        return parameters.getBoolean(CommandParameter.STATUS_IGNORED, false);
+    }
+
+    /**
+     * @param includeIgnored whether the ignored files are reported with the untracked ones
+     * @throws ScmException if any
+     */
+    public void setIncludeIgnored(boolean includeIgnored) throws ScmException {
+        parameters.remove(CommandParameter.STATUS_IGNORED);
+        parameters.setString(CommandParameter.STATUS_IGNORED, Boolean.toString(includeIgnored));
+    }
+}
@@ -22,6 +22,7 @@
 import java.util.Date;
 import java.util.List;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
@@ -29,6 +30,7 @@
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.ScmRevision;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.AbstractCommand;
 import org.apache.maven.scm.command.changelog.ChangeLogCommand;
@@ -64,8 +66,8 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
         ChangeLogCommand changeLogCmd = getChangeLogCommand();
 
         if (filesList != null && filesList.size() > 0 && changeLogCmd != null) {
-            ChangeLogScmResult changeLogScmResult =
-                    (ChangeLogScmResult) changeLogCmd.executeCommand(repository, fileSet, parameters);
+            ChangeLogScmResult changeLogScmResult = (ChangeLogScmResult) changeLogCmd.executeCommand(
+                    repository, fileSet, getChangeLogParameters(updateScmResult, parameters));
 
             List<ChangeSet> changes = new ArrayList<>();
 
@@ -80,6 +82,8 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
                     // Do nothing, startDate isn't define.
                 }
 
+                UpdatedFileIndex updatedFiles = new UpdatedFileIndex(filesList);
+
                 for (ChangeSet change : changeLogSet.getChangeSets()) {
                     if (startDate != null && change.getDate() != null) {
                         if (startDate.after(change.getDate())) {
@@ -87,12 +91,8 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
                         }
                     }
 
-                    for (ScmFile currentFile : filesList) {
-                        if (change.containsFilename(currentFile.getPath())) {
-                            changes.add(change);
-
-                            break;
-                        }
+                    if (updatedFiles.containsAny(change)) {
+                        changes.add(change);
                     }
                 }
             }
@@ -104,4 +104,31 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
     }
 
     protected abstract ChangeLogCommand getChangeLogCommand();
+
+    /**
+     * Scopes the changelog to the revisions before and after the update if the provider reports them, instead of
+     * reading the whole changelog.
+     */
+    private static CommandParameters getChangeLogParameters(UpdateScmResult result, CommandParameters parameters)
+            throws ScmException {
+        if (!(result instanceof UpdateScmResultWithRevision)) {
+            return parameters;
+        }
+        UpdateScmResultWithRevision resultWithRevision = (UpdateScmResultWithRevision) result;
+        if (StringUtils.isEmpty(resultWithRevision.getPreviousRevision())
+                || StringUtils.isEmpty(resultWithRevision.getRevision())) {
+            return parameters;
+        }
+
+        CommandParameters changeLogParameters = new CommandParameters();
+        changeLogParameters.setScmVersion(
+                CommandParameter.START_SCM_VERSION, new ScmRevision(resultWithRevision.getPreviousRevision()));
+        changeLogParameters.setScmVersion(
+                CommandParameter.END_SCM_VERSION, new ScmRevision(resultWithRevision.getRevision()));
+        String datePattern = parameters.getString(CommandParameter.CHANGELOG_DATE_PATTERN, null);
+        if (datePattern != null) {
+            changeLogParameters.setString(CommandParameter.CHANGELOG_DATE_PATTERN, datePattern);
+        }
+        return changeLogParameters;
+    }
 }
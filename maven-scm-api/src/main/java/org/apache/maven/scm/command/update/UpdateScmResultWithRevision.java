@@ -35,6 +35,8 @@ public class UpdateScmResultWithRevision extends UpdateScmResult {
 
     private String revision;
 
+    private String previousRevision;
+
     public UpdateScmResultWithRevision(
             String commandLine, String providerMessage, String commandOutput, String revision, boolean success) {
         super(commandLine, providerMessage, commandOutput, success);
@@ -48,6 +50,20 @@ public UpdateScmResultWithRevision(String commandLine, List<ScmFile> updatedFile
         this.revision = revision;
     }
 
+    /**
+     * @param commandLine the command line of the update
+     * @param updatedFiles the files updated
+     * @param previousRevision the revision before the update
+     * @param revision the revision after the update
+     * @since 2.1.1
+     */
+    public UpdateScmResultWithRevision(
+            String commandLine, List<ScmFile> updatedFiles, String previousRevision, String revision) {
+        this(commandLine, updatedFiles, revision);
+
+        this.previousRevision = previousRevision;
+    }
+
     public UpdateScmResultWithRevision(
             List<ScmFile> updatedFiles, List<ChangeSet> changes, String revision, ScmResult result) {
         super(updatedFiles, changes, result);
@@ -58,4 +74,12 @@ public UpdateScmResultWithRevision(
     public String getRevision() {
         return revision;
     }
+
+    /**
+     * @return the revision before the update, <code>null</code> if unknown
+     * @since 2.1.1
+     */
+    public String getPreviousRevision() {
+        return previousRevision;
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.update;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.util.FilenameUtils;
+
+/**
+ * The normalized paths of the updated files, to find the changes touching them without comparing each changed file
+ * with each updated file.
+ * <p>
+ * A changed file matches an updated file if the path of the updated file is made of whole segments of its path, so
+ * <code>src/A.java</code> matches <code>/trunk/src/A.java</code> in the changelog of a provider reporting repository
+ * paths, but not <code>src/AB.java</code>.
+ *
+ * @since 2.1.1
+ */
+final class UpdatedFileIndex {
+    private final Set<String> paths = new HashSet<>();
+
+    UpdatedFileIndex(List<ScmFile> updatedFiles) {
+        for (ScmFile file : updatedFiles) {
+            String path = normalize(file.getPath());
+            if (!path.isEmpty()) {
+                paths.add(path);
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if one of the files of the change is an updated file or is in an updated directory
+     */
+    boolean containsAny(ChangeSet change) {
+        for (ChangeFile file : change.getFiles()) {
+            if (file.getName() != null && contains(normalize(file.getName()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Looks up every sequence of whole segments of the name, which are few compared to the updated files.
+     */
+    private boolean contains(String name) {
+        int start = 0;
+        while (true) {
+            for (int end = name.indexOf('/', start); end > start; end = name.indexOf('/', end + 1)) {
+                if (paths.contains(name.substring(start, end))) {
+                    return true;
+                }
+            }
+            if (paths.contains(name.substring(start))) {
+                return true;
+            }
+
+            int slash = name.indexOf('/', start);
+            if (slash < 0) {
+                return false;
+            }
+            start = slash + 1;
+        }
+    }
+
+    private static String normalize(String path) {
+        String normalized = FilenameUtils.normalizeFilename(path);
+        int start = 0;
+        int end = normalized.length();
+        while (start < end && (normalized.charAt(start) == '/' || normalized.startsWith("./", start))) {
+            start += normalized.charAt(start) == '/' ? 1 : 2;
+        }
+        while (end > start && normalized.charAt(end - 1) == '/') {
+            end--;
+        }
+        return normalized.substring(start, end);
+    }
+}
@@ -39,16 +39,21 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
 import org.apache.maven.scm.command.list.ListScmResult;
 import org.apache.maven.scm.command.mkdir.MkdirScmResult;
 import org.apache.maven.scm.command.remove.RemoveScmResult;
+import org.apache.maven.scm.command.status.StatusScmRequest;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.command.tag.TagScmResult;
 import org.apache.maven.scm.command.unedit.UnEditScmResult;
 import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.metrics.ScmMetrics;
+import org.apache.maven.scm.metrics.ScmMetricsListener;
+import org.apache.maven.scm.metrics.ScmMetricsRegistry;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.ScmUrlUtils;
@@ -72,6 +77,8 @@ public abstract class AbstractScmManager implements ScmManager {
 
     private final Map<String, String> userProviderTypes = new ConcurrentHashMap<>();
 
+    private final ScmMetrics metrics = new ScmMetrics();
+
     protected void setScmProviders(Map<String, ScmProvider> providers) {
         requireNonNull(providers);
         this.scmProviders.clear();
@@ -107,6 +114,48 @@ public void setScmProvider(String providerType, ScmProvider provider) {
     // ScmManager Implementation
     // ----------------------------------------------------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ScmMetricsRegistry getMetricsRegistry() {
+        return metrics.getRegistry();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addMetricsListener(ScmMetricsListener listener) {
+        metrics.addListener(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeMetricsListener(ScmMetricsListener listener) {
+        metrics.removeListener(listener);
+    }
+
+    /**
+     * Runs a provider call with the metrics of this manager active, so its commands report to the listeners of this
+     * manager.
+     */
+    private <T> T execute(ProviderCall<T> call) throws ScmException {
+        ScmMetrics previous = metrics.activate();
+        try {
+            return call.call();
+        } finally {
+            ScmMetrics.restore(previous);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ProviderCall<T> {
+        T call() throws ScmException;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -280,7 +329,7 @@ public List<String> validateScmRepository(String scmUrl) {
      */
     @Override
     public AddScmResult add(ScmRepository repository, ScmFileSet fileSet) throws ScmException {
-        return this.getProviderByRepository(repository).add(repository, fileSet);
+        return execute(() -> this.getProviderByRepository(repository).add(repository, fileSet));
     }
 
     /**
@@ -288,7 +337,7 @@ public AddScmResult add(ScmRepository repository, ScmFileSet fileSet) throws Scm
      */
     @Override
     public AddScmResult add(ScmRepository repository, ScmFileSet fileSet, String message) throws ScmException {
-        return this.getProviderByRepository(repository).add(repository, fileSet, message);
+        return execute(() -> this.getProviderByRepository(repository).add(repository, fileSet, message));
     }
 
     /**
@@ -297,7 +346,8 @@ public AddScmResult add(ScmRepository repository, ScmFileSet fileSet, String mes
     @Override
     public BranchScmResult branch(ScmRepository repository, ScmFileSet fileSet, String branchName) throws ScmException {
         ScmBranchParameters scmBranchParameters = new ScmBranchParameters("");
-        return this.getProviderByRepository(repository).branch(repository, fileSet, branchName, scmBranchParameters);
+        return execute(() ->
+                this.getProviderByRepository(repository).branch(repository, fileSet, branchName, scmBranchParameters));
     }
 
     /**
@@ -307,7 +357,8 @@ public BranchScmResult branch(ScmRepository repository, ScmFileSet fileSet, Stri
     public BranchScmResult branch(ScmRepository repository, ScmFileSet fileSet, String branchName, String message)
             throws ScmException {
         ScmBranchParameters scmBranchParameters = new ScmBranchParameters(message);
-        return this.getProviderByRepository(repository).branch(repository, fileSet, branchName, scmBranchParameters);
+        return execute(() ->
+                this.getProviderByRepository(repository).branch(repository, fileSet, branchName, scmBranchParameters));
     }
 
     /**
@@ -317,8 +368,8 @@ public BranchScmResult branch(ScmRepository repository, ScmFileSet fileSet, Stri
     public ChangeLogScmResult changeLog(
             ScmRepository repository, ScmFileSet fileSet, Date startDate, Date endDate, int numDays, ScmBranch branch)
             throws ScmException {
-        return this.getProviderByRepository(repository)
-                .changeLog(repository, fileSet, startDate, endDate, numDays, branch);
+        return execute(() -> this.getProviderByRepository(repository)
+                .changeLog(repository, fileSet, startDate, endDate, numDays, branch));
     }
 
     /**
@@ -334,8 +385,8 @@ public ChangeLogScmResult changeLog(
             ScmBranch branch,
             String datePattern)
             throws ScmException {
-        return this.getProviderByRepository(repository)
-                .changeLog(repository, fileSet, startDate, endDate, numDays, branch, datePattern);
+        return execute(() -> this.getProviderByRepository(repository)
+                .changeLog(repository, fileSet, startDate, endDate, numDays, branch, datePattern));
     }
 
     /**
@@ -343,7 +394,8 @@ public ChangeLogScmResult changeLog(
      */
     @Override
     public ChangeLogScmResult changeLog(ChangeLogScmRequest scmRequest) throws ScmException {
-        return this.getProviderByRepository(scmRequest.getScmRepository()).changeLog(scmRequest);
+        return execute(() ->
+                this.getProviderByRepository(scmRequest.getScmRepository()).changeLog(scmRequest));
     }
 
     /**
@@ -353,7 +405,8 @@ public ChangeLogScmResult changeLog(ChangeLogScmRequest scmRequest) throws ScmEx
     public ChangeLogScmResult changeLog(
             ScmRepository repository, ScmFileSet fileSet, ScmVersion startVersion, ScmVersion endVersion)
             throws ScmException {
-        return this.getProviderByRepository(repository).changeLog(repository, fileSet, startVersion, endVersion);
+        return execute(() ->
+                this.getProviderByRepository(repository).changeLog(repository, fileSet, startVersion, endVersion));
     }
 
     /**
@@ -367,8 +420,8 @@ public ChangeLogScmResult changeLog(
             ScmVersion endRevision,
             String datePattern)
             throws ScmException {
-        return this.getProviderByRepository(repository)
-                .changeLog(repository, fileSet, startRevision, endRevision, datePattern);
+        return execute(() -> this.getProviderByRepository(repository)
+                .changeLog(repository, fileSet, startRevision, endRevision, datePattern));
     }
 
     /**
@@ -376,7 +429,7 @@ public ChangeLogScmResult changeLog(
      */
     @Override
     public CheckInScmResult checkIn(ScmRepository repository, ScmFileSet fileSet, String message) throws ScmException {
-        return this.getProviderByRepository(repository).checkIn(repository, fileSet, message);
+        return execute(() -> this.getProviderByRepository(repository).checkIn(repository, fileSet, message));
     }
 
     /**
@@ -385,7 +438,7 @@ public CheckInScmResult checkIn(ScmRepository repository, ScmFileSet fileSet, St
     @Override
     public CheckInScmResult checkIn(ScmRepository repository, ScmFileSet fileSet, ScmVersion revision, String message)
             throws ScmException {
-        return this.getProviderByRepository(repository).checkIn(repository, fileSet, revision, message);
+        return execute(() -> this.getProviderByRepository(repository).checkIn(repository, fileSet, revision, message));
     }
 
     /**
@@ -393,7 +446,7 @@ public CheckInScmResult checkIn(ScmRepository repository, ScmFileSet fileSet, Sc
      */
     @Override
     public CheckOutScmResult checkOut(ScmRepository repository, ScmFileSet fileSet) throws ScmException {
-        return this.getProviderByRepository(repository).checkOut(repository, fileSet);
+        return execute(() -> this.getProviderByRepository(repository).checkOut(repository, fileSet));
     }
 
     /**
@@ -402,7 +455,7 @@ public CheckOutScmResult checkOut(ScmRepository repository, ScmFileSet fileSet)
     @Override
     public CheckOutScmResult checkOut(ScmRepository repository, ScmFileSet fileSet, ScmVersion version)
             throws ScmException {
-        return this.getProviderByRepository(repository).checkOut(repository, fileSet, version);
+        return execute(() -> this.getProviderByRepository(repository).checkOut(repository, fileSet, version));
     }
 
     /**
@@ -411,7 +464,7 @@ public CheckOutScmResult checkOut(ScmRepository repository, ScmFileSet fileSet,
     @Override
     public CheckOutScmResult checkOut(ScmRepository repository, ScmFileSet fileSet, boolean recursive)
             throws ScmException {
-        return this.getProviderByRepository(repository).checkOut(repository, fileSet, recursive);
+        return execute(() -> this.getProviderByRepository(repository).checkOut(repository, fileSet, recursive));
     }
 
     /**
@@ -420,7 +473,8 @@ public CheckOutScmResult checkOut(ScmRepository repository, ScmFileSet fileSet,
     @Override
     public CheckOutScmResult checkOut(
             ScmRepository repository, ScmFileSet fileSet, ScmVersion version, boolean recursive) throws ScmException {
-        return this.getProviderByRepository(repository).checkOut(repository, fileSet, version, recursive);
+        return execute(
+                () -> this.getProviderByRepository(repository).checkOut(repository, fileSet, version, recursive));
     }
 
     /**
@@ -430,7 +484,17 @@ public CheckOutScmResult checkOut(
     public DiffScmResult diff(
             ScmRepository repository, ScmFileSet fileSet, ScmVersion startVersion, ScmVersion endVersion)
             throws ScmException {
-        return this.getProviderByRepository(repository).diff(repository, fileSet, startVersion, endVersion);
+        return execute(
+                () -> this.getProviderByRepository(repository).diff(repository, fileSet, startVersion, endVersion));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffScmResult diff(DiffScmRequest diffScmRequest) throws ScmException {
+        return execute(() ->
+                this.getProviderByRepository(diffScmRequest.getScmRepository()).diff(diffScmRequest));
     }
 
     /**
@@ -438,7 +502,7 @@ public DiffScmResult diff(
      */
     @Override
     public EditScmResult edit(ScmRepository repository, ScmFileSet fileSet) throws ScmException {
-        return this.getProviderByRepository(repository).edit(repository, fileSet);
+        return execute(() -> this.getProviderByRepository(repository).edit(repository, fileSet));
     }
 
     /**
@@ -446,7 +510,7 @@ public EditScmResult edit(ScmRepository repository, ScmFileSet fileSet) throws S
      */
     @Override
     public ExportScmResult export(ScmRepository repository, ScmFileSet fileSet) throws ScmException {
-        return this.getProviderByRepository(repository).export(repository, fileSet);
+        return execute(() -> this.getProviderByRepository(repository).export(repository, fileSet));
     }
 
     /**
@@ -455,7 +519,7 @@ public ExportScmResult export(ScmRepository repository, ScmFileSet fileSet) thro
     @Override
     public ExportScmResult export(ScmRepository repository, ScmFileSet fileSet, ScmVersion version)
             throws ScmException {
-        return this.getProviderByRepository(repository).export(repository, fileSet, version);
+        return execute(() -> this.getProviderByRepository(repository).export(repository, fileSet, version));
     }
 
     /**
@@ -464,7 +528,8 @@ public ExportScmResult export(ScmRepository repository, ScmFileSet fileSet, ScmV
     @Override
     public ExportScmResult export(ScmRepository repository, ScmFileSet fileSet, String outputDirectory)
             throws ScmException {
-        return this.getProviderByRepository(repository).export(repository, fileSet, (ScmVersion) null, outputDirectory);
+        return execute(() -> this.getProviderByRepository(repository)
+                .export(repository, fileSet, (ScmVersion) null, outputDirectory));
     }
 
     /**
@@ -474,7 +539,8 @@ public ExportScmResult export(ScmRepository repository, ScmFileSet fileSet, Stri
     public ExportScmResult export(
             ScmRepository repository, ScmFileSet fileSet, ScmVersion version, String outputDirectory)
             throws ScmException {
-        return this.getProviderByRepository(repository).export(repository, fileSet, version, outputDirectory);
+        return execute(
+                () -> this.getProviderByRepository(repository).export(repository, fileSet, version, outputDirectory));
     }
 
     /**
@@ -483,7 +549,7 @@ public ExportScmResult export(
     @Override
     public ListScmResult list(ScmRepository repository, ScmFileSet fileSet, boolean recursive, ScmVersion version)
             throws ScmException {
-        return this.getProviderByRepository(repository).list(repository, fileSet, recursive, version);
+        return execute(() -> this.getProviderByRepository(repository).list(repository, fileSet, recursive, version));
     }
 
     /**
@@ -492,7 +558,8 @@ public ListScmResult list(ScmRepository repository, ScmFileSet fileSet, boolean
     @Override
     public MkdirScmResult mkdir(ScmRepository repository, ScmFileSet fileSet, String message, boolean createInLocal)
             throws ScmException {
-        return this.getProviderByRepository(repository).mkdir(repository, fileSet, message, createInLocal);
+        return execute(
+                () -> this.getProviderByRepository(repository).mkdir(repository, fileSet, message, createInLocal));
     }
 
     /**
@@ -500,7 +567,7 @@ public MkdirScmResult mkdir(ScmRepository repository, ScmFileSet fileSet, String
      */
     @Override
     public RemoveScmResult remove(ScmRepository repository, ScmFileSet fileSet, String message) throws ScmException {
-        return this.getProviderByRepository(repository).remove(repository, fileSet, message);
+        return execute(() -> this.getProviderByRepository(repository).remove(repository, fileSet, message));
     }
 
     /**
@@ -508,7 +575,16 @@ public RemoveScmResult remove(ScmRepository repository, ScmFileSet fileSet, Stri
      */
     @Override
     public StatusScmResult status(ScmRepository repository, ScmFileSet fileSet) throws ScmException {
-        return this.getProviderByRepository(repository).status(repository, fileSet);
+        return execute(() -> this.getProviderByRepository(repository).status(repository, fileSet));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusScmResult status(StatusScmRequest statusScmRequest) throws ScmException {
+        return execute(() -> this.getProviderByRepository(statusScmRequest.getScmRepository())
+                .status(statusScmRequest));
     }
 
     /**
@@ -526,7 +602,8 @@ public TagScmResult tag(ScmRepository repository, ScmFileSet fileSet, String tag
     public TagScmResult tag(ScmRepository repository, ScmFileSet fileSet, String tagName, String message)
             throws ScmException {
         ScmTagParameters scmTagParameters = new ScmTagParameters(message);
-        return this.getProviderByRepository(repository).tag(repository, fileSet, tagName, scmTagParameters);
+        return execute(
+                () -> this.getProviderByRepository(repository).tag(repository, fileSet, tagName, scmTagParameters));
     }
 
     /**
@@ -534,7 +611,7 @@ public TagScmResult tag(ScmRepository repository, ScmFileSet fileSet, String tag
      */
     @Override
     public UnEditScmResult unedit(ScmRepository repository, ScmFileSet fileSet) throws ScmException {
-        return this.getProviderByRepository(repository).unedit(repository, fileSet);
+        return execute(() -> this.getProviderByRepository(repository).unedit(repository, fileSet));
     }
 
     /**
@@ -542,7 +619,7 @@ public UnEditScmResult unedit(ScmRepository repository, ScmFileSet fileSet) thro
      */
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet) throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet);
+        return execute(() -> this.getProviderByRepository(repository).update(repository, fileSet));
     }
 
     /**
@@ -551,7 +628,7 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet) thro
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, ScmVersion version)
             throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, version);
+        return execute(() -> this.getProviderByRepository(repository).update(repository, fileSet, version));
     }
 
     /**
@@ -560,7 +637,7 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, ScmV
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, boolean runChangelog)
             throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, runChangelog);
+        return execute(() -> this.getProviderByRepository(repository).update(repository, fileSet, runChangelog));
     }
 
     /**
@@ -570,7 +647,8 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, bool
     public UpdateScmResult update(
             ScmRepository repository, ScmFileSet fileSet, ScmVersion version, boolean runChangelog)
             throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, version, runChangelog);
+        return execute(
+                () -> this.getProviderByRepository(repository).update(repository, fileSet, version, runChangelog));
     }
 
     /**
@@ -579,7 +657,8 @@ public UpdateScmResult update(
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, String datePattern)
             throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, (ScmVersion) null, datePattern);
+        return execute(() ->
+                this.getProviderByRepository(repository).update(repository, fileSet, (ScmVersion) null, datePattern));
     }
 
     /**
@@ -588,7 +667,8 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, Stri
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, ScmVersion version, String datePattern)
             throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, version, datePattern);
+        return execute(
+                () -> this.getProviderByRepository(repository).update(repository, fileSet, version, datePattern));
     }
 
     /**
@@ -596,7 +676,8 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, ScmV
      */
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, Date lastUpdate) throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, (ScmVersion) null, lastUpdate);
+        return execute(() ->
+                this.getProviderByRepository(repository).update(repository, fileSet, (ScmVersion) null, lastUpdate));
     }
 
     /**
@@ -605,7 +686,7 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, Date
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, ScmVersion version, Date lastUpdate)
             throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, version, lastUpdate);
+        return execute(() -> this.getProviderByRepository(repository).update(repository, fileSet, version, lastUpdate));
     }
 
     /**
@@ -614,8 +695,8 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, ScmV
     @Override
     public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, Date lastUpdate, String datePattern)
             throws ScmException {
-        return this.getProviderByRepository(repository)
-                .update(repository, fileSet, (ScmVersion) null, lastUpdate, datePattern);
+        return execute(() -> this.getProviderByRepository(repository)
+                .update(repository, fileSet, (ScmVersion) null, lastUpdate, datePattern));
     }
 
     /**
@@ -625,7 +706,8 @@ public UpdateScmResult update(ScmRepository repository, ScmFileSet fileSet, Date
     public UpdateScmResult update(
             ScmRepository repository, ScmFileSet fileSet, ScmVersion version, Date lastUpdate, String datePattern)
             throws ScmException {
-        return this.getProviderByRepository(repository).update(repository, fileSet, version, lastUpdate, datePattern);
+        return execute(() ->
+                this.getProviderByRepository(repository).update(repository, fileSet, version, lastUpdate, datePattern));
     }
 
     /**
@@ -633,11 +715,12 @@ public UpdateScmResult update(
      */
     @Override
     public BlameScmResult blame(ScmRepository repository, ScmFileSet fileSet, String filename) throws ScmException {
-        return this.getProviderByRepository(repository).blame(repository, fileSet, filename);
+        return execute(() -> this.getProviderByRepository(repository).blame(repository, fileSet, filename));
     }
 
     @Override
     public BlameScmResult blame(BlameScmRequest blameScmRequest) throws ScmException {
-        return this.getProviderByRepository(blameScmRequest.getScmRepository()).blame(blameScmRequest);
+        return execute(() ->
+                this.getProviderByRepository(blameScmRequest.getScmRepository()).blame(blameScmRequest));
     }
 }
@@ -34,16 +34,20 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
 import org.apache.maven.scm.command.list.ListScmResult;
 import org.apache.maven.scm.command.mkdir.MkdirScmResult;
 import org.apache.maven.scm.command.remove.RemoveScmResult;
+import org.apache.maven.scm.command.status.StatusScmRequest;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.command.tag.TagScmResult;
 import org.apache.maven.scm.command.unedit.UnEditScmResult;
 import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.metrics.ScmMetricsListener;
+import org.apache.maven.scm.metrics.ScmMetricsRegistry;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
@@ -115,6 +119,37 @@ ScmRepository makeProviderScmRepository(String providerType, File path)
      */
     void setScmProviderImplementation(String providerType, String providerImplementation);
 
+    // ----------------------------------------------------------------------
+    // Metrics
+    // ----------------------------------------------------------------------
+
+    /**
+     * Returns the registry aggregating the metrics of the commands executed through this manager, per provider and
+     * command. Metrics are collected from the first call on.
+     *
+     * @return the in-memory metrics registry, an empty one unless the implementation collects metrics
+     * @since 2.1.1
+     */
+    default ScmMetricsRegistry getMetricsRegistry() {
+        return new ScmMetricsRegistry();
+    }
+
+    /**
+     * Registers a listener receiving the metrics of each command executed through this manager.
+     *
+     * Does nothing unless the implementation collects metrics.
+     *
+     * @param listener the listener
+     * @since 2.1.1
+     */
+    default void addMetricsListener(ScmMetricsListener listener) {}
+
+    /**
+     * @param listener the listener to remove
+     * @since 2.1.1
+     */
+    default void removeMetricsListener(ScmMetricsListener listener) {}
+
     /**
      * Adds the given files to the source control system
      *
@@ -359,6 +394,22 @@ DiffScmResult diff(
             ScmRepository scmRepository, ScmFileSet scmFileSet, ScmVersion startVersion, ScmVersion endVersion)
             throws ScmException;
 
+    /**
+     * Create a diff between two branch/tag/revision, optionally writing the patch to a file or stream.
+     *
+     * @param diffScmRequest the diff request
+     * @return the changed files and either the patch or the location of each file's differences within it
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    default DiffScmResult diff(DiffScmRequest diffScmRequest) throws ScmException {
+        return diffScmRequest.writePatch(diff(
+                diffScmRequest.getScmRepository(),
+                diffScmRequest.getScmFileSet(),
+                diffScmRequest.getStartVersion(),
+                diffScmRequest.getEndVersion()));
+    }
+
     /**
      * Make a file editable. This is used in source control systems where you look at read-only files and you need to
      * make them not read-only anymore before you can edit them. This can also mean that no other user in the system can
@@ -466,6 +517,19 @@ MkdirScmResult mkdir(ScmRepository repository, ScmFileSet fileSet, String messag
      */
     StatusScmResult status(ScmRepository repository, ScmFileSet fileSet) throws ScmException;
 
+    /**
+     * Returns the status of the files in the source control system, with the options of the request. The default
+     * implementation ignores the options.
+     *
+     * @param statusScmRequest the status request
+     * @return the changed files
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    default StatusScmResult status(StatusScmRequest statusScmRequest) throws ScmException {
+        return status(statusScmRequest.getScmRepository(), statusScmRequest.getScmFileSet());
+    }
+
     /**
      * Tag (or label in some systems) will tag the source file with a certain tag
      *
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.add.AddScmResult;
+import org.apache.maven.scm.command.blame.BlameScmResult;
+import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmResult;
+import org.apache.maven.scm.command.export.ExportScmResult;
+import org.apache.maven.scm.command.info.InfoScmResult;
+import org.apache.maven.scm.command.list.ListScmResult;
+import org.apache.maven.scm.command.remove.RemoveScmResult;
+import org.apache.maven.scm.command.status.StatusScmResult;
+import org.apache.maven.scm.command.tag.TagScmResult;
+import org.apache.maven.scm.command.update.UpdateScmResult;
+import org.apache.maven.scm.process.BinaryStreamConsumer;
+import org.apache.maven.scm.util.LineSliceConsumer;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * The metrics of a single command execution. Process related values are accumulated over all processes the command
+ * started through {@link org.apache.maven.scm.process.ProcessRunners}, they are updated from the stream pumping
+ * threads as well.
+ *
+ * @since 2.1.1
+ */
+public class ScmCommandMetrics {
+    private final String provider;
+
+    private final String command;
+
+    private final long startNanos = System.nanoTime();
+
+    private long wallTimeNanos;
+
+    private boolean success;
+
+    private int resultSize = -1;
+
+    private final AtomicLong processCount = new AtomicLong();
+
+    private final AtomicLong processSpawnNanos = new AtomicLong();
+
+    private final AtomicLong stdoutBytes = new AtomicLong();
+
+    private final AtomicLong stderrBytes = new AtomicLong();
+
+    private final AtomicLong linesConsumed = new AtomicLong();
+
+    private final AtomicLong parseNanos = new AtomicLong();
+
+    /**
+     * The metrics of the command executing this one, if any
+     */
+    ScmCommandMetrics outer;
+
+    public ScmCommandMetrics(String provider, String command) {
+        this.provider = provider;
+        this.command = command;
+    }
+
+    /**
+     * @return the provider which executed the command, like <code>gitexe</code> or <code>jgit</code>
+     */
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * @return the command, like <code>changelog</code> or <code>status</code>
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * @return the wall time of the whole command in nanoseconds
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * @return <code>true</code> if the command returned a successful result
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * @return the number of files, change sets, lines or items of the result, <code>-1</code> if unknown
+     */
+    public int getResultSize() {
+        return resultSize;
+    }
+
+    /**
+     * @return the number of processes started by the command
+     */
+    public long getProcessCount() {
+        return processCount.get();
+    }
+
+    /**
+     * @return the time spent starting processes in nanoseconds
+     */
+    public long getProcessSpawnNanos() {
+        return processSpawnNanos.get();
+    }
+
+    /**
+     * @return the UTF-8 size of the lines read from the standard output, including line terminators
+     */
+    public long getStdoutBytes() {
+        return stdoutBytes.get();
+    }
+
+    /**
+     * @return the UTF-8 size of the lines read from the standard error, including line terminators
+     */
+    public long getStderrBytes() {
+        return stderrBytes.get();
+    }
+
+    /**
+     * @return the number of lines passed to the consumers
+     */
+    public long getLinesConsumed() {
+        return linesConsumed.get();
+    }
+
+    /**
+     * @return the time spent in the consumers parsing the output in nanoseconds
+     */
+    public long getParseNanos() {
+        return parseNanos.get();
+    }
+
+    /**
+     * Records a started process.
+     *
+     * @param spawnNanos the time it took to start the process
+     */
+    public void recordProcessSpawn(long spawnNanos) {
+        processCount.incrementAndGet();
+        processSpawnNanos.addAndGet(spawnNanos);
+    }
+
+    /**
+     * @param consumer the consumer of the standard output
+     * @return a consumer which counts and times the lines passed to the given one
+     */
+    public StreamConsumer wrapStdout(StreamConsumer consumer) {
+        return new MeasuringConsumer(consumer, stdoutBytes);
+    }
+
+    /**
+     * @param consumer the consumer of the binary standard output
+     * @return a consumer which counts the bytes read and times the given one
+     */
+    public BinaryStreamConsumer wrapBinaryStdout(BinaryStreamConsumer consumer) {
+        return stream -> {
+            long start = System.nanoTime();
+            try {
+                consumer.consume(new CountingInputStream(stream, stdoutBytes));
+            } finally {
+                parseNanos.addAndGet(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * @param consumer the consumer of the standard error
+     * @return a consumer which counts and times the lines passed to the given one
+     */
+    public StreamConsumer wrapStderr(StreamConsumer consumer) {
+        return new MeasuringConsumer(consumer, stderrBytes);
+    }
+
+    void complete(ScmResult result) {
+        wallTimeNanos = System.nanoTime() - startNanos;
+        if (result != null) {
+            success = result.isSuccess();
+            resultSize = getResultSize(result);
+        }
+    }
+
+    private static int getResultSize(ScmResult result) {
+        Collection<?> items = null;
+        if (result instanceof StatusScmResult) {
+            items = ((StatusScmResult) result).getChangedFiles();
+        } else if (result instanceof ChangeLogScmResult) {
+            ChangeLogSet changeLog = ((ChangeLogScmResult) result).getChangeLog();
+            items = changeLog == null ? null : changeLog.getChangeSets();
+        } else if (result instanceof AddScmResult) {
+            items = ((AddScmResult) result).getAddedFiles();
+        } else if (result instanceof RemoveScmResult) {
+            items = ((RemoveScmResult) result).getRemovedFiles();
+        } else if (result instanceof CheckInScmResult) {
+            items = ((CheckInScmResult) result).getCheckedInFiles();
+        } else if (result instanceof CheckOutScmResult) {
+            items = ((CheckOutScmResult) result).getCheckedOutFiles();
+        } else if (result instanceof UpdateScmResult) {
+            items = ((UpdateScmResult) result).getUpdatedFiles();
+        } else if (result instanceof TagScmResult) {
+            items = ((TagScmResult) result).getTaggedFiles();
+        } else if (result instanceof DiffScmResult) {
+            items = ((DiffScmResult) result).getChangedFiles();
+        } else if (result instanceof BlameScmResult) {
+            items = ((BlameScmResult) result).getLines();
+        } else if (result instanceof InfoScmResult) {
+            items = ((InfoScmResult) result).getInfoItems();
+        } else if (result instanceof ListScmResult) {
+            items = ((ListScmResult) result).getFiles();
+        } else if (result instanceof ExportScmResult) {
+            items = ((ExportScmResult) result).getExportedFiles();
+        }
+        return items == null ? -1 : items.size();
+    }
+
+    /**
+     * @return the UTF-8 size of the line plus its terminator
+     */
+    private static long getUtf8Size(CharSequence line, int offset, int length) {
+        long size = length + 1;
+        for (int i = offset; i < offset + length; i++) {
+            char c = line.charAt(i);
+            if (c >= 0x800 && !Character.isSurrogate(c)) {
+                size += 2;
+            } else if (c >= 0x80) {
+                // also half of a surrogate pair, which is 4 bytes in total
+                size += 1;
+            }
+        }
+        return size;
+    }
+
+    private class MeasuringConsumer implements LineSliceConsumer {
+        private final StreamConsumer delegate;
+
+        private final AtomicLong bytes;
+
+        MeasuringConsumer(StreamConsumer delegate, AtomicLong bytes) {
+            this.delegate = delegate;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void consumeLine(String line) throws IOException {
+            bytes.addAndGet(getUtf8Size(line, 0, line.length()));
+            linesConsumed.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                delegate.consumeLine(line);
+            } finally {
+                parseNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void consumeLine(char[] buffer, int offset, int length) throws IOException {
+            bytes.addAndGet(getUtf8Size(CharBuffer.wrap(buffer), offset, length));
+            linesConsumed.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                if (delegate instanceof LineSliceConsumer) {
+                    ((LineSliceConsumer) delegate).consumeLine(buffer, offset, length);
+                } else {
+                    delegate.consumeLine(new String(buffer, offset, length));
+                }
+            } finally {
+                parseNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong bytes;
+
+        CountingInputStream(InputStream in, AtomicLong bytes) {
+            super(in);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytes.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytes.addAndGet(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            bytes.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated metrics of all executions of one command of one provider.
+ *
+ * @since 2.1.1
+ */
+public class ScmCommandStatistics {
+    /**
+     * The number of wall time histogram buckets, see {@link #getWallTimeHistogram()}
+     */
+    public static final int HISTOGRAM_BUCKETS = 24;
+
+    private final String provider;
+
+    private final String command;
+
+    private long count;
+
+    private long failures;
+
+    private long totalWallTimeNanos;
+
+    private long minWallTimeNanos = Long.MAX_VALUE;
+
+    private long maxWallTimeNanos;
+
+    private long processCount;
+
+    private long processSpawnNanos;
+
+    private long stdoutBytes;
+
+    private long stderrBytes;
+
+    private long linesConsumed;
+
+    private long parseNanos;
+
+    private long resultSize;
+
+    private final long[] wallTimeHistogram = new long[HISTOGRAM_BUCKETS];
+
+    public ScmCommandStatistics(String provider, String command) {
+        this.provider = provider;
+        this.command = command;
+    }
+
+    synchronized void add(ScmCommandMetrics metrics) {
+        count++;
+        if (!metrics.isSuccess()) {
+            failures++;
+        }
+        long wallTimeNanos = metrics.getWallTimeNanos();
+        totalWallTimeNanos += wallTimeNanos;
+        minWallTimeNanos = Math.min(minWallTimeNanos, wallTimeNanos);
+        maxWallTimeNanos = Math.max(maxWallTimeNanos, wallTimeNanos);
+        processCount += metrics.getProcessCount();
+        processSpawnNanos += metrics.getProcessSpawnNanos();
+        stdoutBytes += metrics.getStdoutBytes();
+        stderrBytes += metrics.getStderrBytes();
+        linesConsumed += metrics.getLinesConsumed();
+        parseNanos += metrics.getParseNanos();
+        resultSize += Math.max(0, metrics.getResultSize());
+        wallTimeHistogram[getBucket(wallTimeNanos)]++;
+    }
+
+    /**
+     * @return the bucket of the given wall time: <code>0</code> for less than one millisecond, otherwise
+     *         <code>n</code> for at least <code>2^(n-1)</code> and less than <code>2^n</code> milliseconds
+     */
+    static int getBucket(long wallTimeNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(wallTimeNanos);
+        int bucket = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized long getTotalWallTimeNanos() {
+        return totalWallTimeNanos;
+    }
+
+    public synchronized long getMinWallTimeNanos() {
+        return count == 0 ? 0 : minWallTimeNanos;
+    }
+
+    public synchronized long getMaxWallTimeNanos() {
+        return maxWallTimeNanos;
+    }
+
+    public synchronized long getProcessCount() {
+        return processCount;
+    }
+
+    public synchronized long getProcessSpawnNanos() {
+        return processSpawnNanos;
+    }
+
+    public synchronized long getStdoutBytes() {
+        return stdoutBytes;
+    }
+
+    public synchronized long getStderrBytes() {
+        return stderrBytes;
+    }
+
+    public synchronized long getLinesConsumed() {
+        return linesConsumed;
+    }
+
+    public synchronized long getParseNanos() {
+        return parseNanos;
+    }
+
+    public synchronized long getResultSize() {
+        return resultSize;
+    }
+
+    /**
+     * @return a copy of the wall time histogram, see {@link #getBucket(long)} for the bucket boundaries. The last
+     *         bucket also counts all longer executions.
+     */
+    public synchronized long[] getWallTimeHistogram() {
+        return wallTimeHistogram.clone();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "%s %s: count=%d failures=%d wall=%dms (min=%dms max=%dms) processes=%d spawn=%dms stdout=%dB"
+                        + " stderr=%dB lines=%d parse=%dms results=%d",
+                provider,
+                command,
+                count,
+                failures,
+                TimeUnit.NANOSECONDS.toMillis(totalWallTimeNanos),
+                TimeUnit.NANOSECONDS.toMillis(getMinWallTimeNanos()),
+                TimeUnit.NANOSECONDS.toMillis(maxWallTimeNanos),
+                processCount,
+                TimeUnit.NANOSECONDS.toMillis(processSpawnNanos),
+                stdoutBytes,
+                stderrBytes,
+                linesConsumed,
+                TimeUnit.NANOSECONDS.toMillis(parseNanos),
+                resultSize);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.Command;
+
+/**
+ * Collects {@link ScmCommandMetrics} for the registered {@link ScmMetricsListener}s. Each
+ * {@link org.apache.maven.scm.manager.AbstractScmManager} owns an instance and activates it on the current thread
+ * while a provider executes its commands, so the listeners of a manager only receive the commands it executed.
+ * Nothing is measured as long as no listener is registered.
+ * <p>
+ * The metrics of a command are bound to the executing thread, so processes started through
+ * {@link org.apache.maven.scm.process.ProcessRunners} are accounted to the running command.
+ *
+ * @since 2.1.1
+ */
+public final class ScmMetrics {
+    private static final ThreadLocal<ScmMetrics> ACTIVE = new ThreadLocal<>();
+
+    private static final ThreadLocal<ScmCommandMetrics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The provider and command name of a command class
+     */
+    private static final ClassValue<String[]> NAMES = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> type) {
+            return getNames(type);
+        }
+    };
+
+    private final List<ScmMetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ScmMetricsRegistry registry;
+
+    public void addListener(ScmMetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ScmMetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the in-memory registry, which is registered as listener on first access
+     */
+    public synchronized ScmMetricsRegistry getRegistry() {
+        if (registry == null) {
+            registry = new ScmMetricsRegistry();
+            addListener(registry);
+        }
+        return registry;
+    }
+
+    /**
+     * Makes the commands executed on the current thread report to these metrics.
+     *
+     * @return the metrics active so far, to pass to {@link #restore(ScmMetrics)}
+     */
+    public ScmMetrics activate() {
+        ScmMetrics previous = ACTIVE.get();
+        ACTIVE.set(this);
+        return previous;
+    }
+
+    /**
+     * @param previous the metrics returned by {@link #activate()}
+     */
+    public static void restore(ScmMetrics previous) {
+        if (previous == null) {
+            ACTIVE.remove();
+        } else {
+            ACTIVE.set(previous);
+        }
+    }
+
+    /**
+     * @return the metrics active on the current thread, <code>null</code> if none
+     */
+    public static ScmMetrics getActive() {
+        return ACTIVE.get();
+    }
+
+    /**
+     * @return the metrics of the command running on the current thread, <code>null</code> if none is measured
+     */
+    public static ScmCommandMetrics getCurrent() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts measuring a command on the current thread.
+     *
+     * @param command the command about to be executed
+     * @return the metrics to pass to {@link #stop(ScmCommandMetrics, ScmResult)}, or <code>null</code> if no
+     *         listener is registered
+     */
+    public ScmCommandMetrics start(Command command) {
+        if (listeners.isEmpty()) {
+            return null;
+        }
+        String[] names = NAMES.get(command.getClass());
+        ScmCommandMetrics metrics = new ScmCommandMetrics(names[0], names[1]);
+        metrics.outer = CURRENT.get();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * Completes the measurement of a command and notifies the listeners.
+     *
+     * @param metrics the metrics returned by {@link #start(Command)}
+     * @param result the result of the command, <code>null</code> if it failed with an exception
+     */
+    public void stop(ScmCommandMetrics metrics, ScmResult result) {
+        // a command may execute other commands
+        if (metrics.outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(metrics.outer);
+        }
+        metrics.complete(result);
+        for (ScmMetricsListener listener : listeners) {
+            listener.commandExecuted(metrics);
+        }
+    }
+
+    /**
+     * Derives the names from the package convention <code>...provider.&lt;scm&gt;[.&lt;implementation&gt;]
+     * .command.&lt;command&gt;</code>, like <code>gitexe</code> and <code>changelog</code>.
+     */
+    static String[] getNames(Class<?> type) {
+        String name = type.getName();
+        int end = name.lastIndexOf('.');
+        String[] segments = end < 0 ? new String[0] : name.substring(0, end).split("\\.");
+        for (int i = segments.length - 1; i > 0; i--) {
+            if ("command".equals(segments[i])) {
+                String command = i + 1 < segments.length ? segments[i + 1] : type.getSimpleName();
+                return new String[] {segments[i - 1], command};
+            }
+        }
+        return new String[] {end < 0 ? "" : name.substring(0, end), type.getSimpleName()};
+    }
+}
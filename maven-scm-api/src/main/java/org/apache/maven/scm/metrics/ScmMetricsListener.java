@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.metrics;
+
+/**
+ * Receives the metrics of each executed SCM command. Listeners are registered with
+ * {@link org.apache.maven.scm.manager.ScmManager#addMetricsListener(ScmMetricsListener)} and are called on the thread
+ * which executed the command.
+ *
+ * @since 2.1.1
+ */
+public interface ScmMetricsListener {
+    /**
+     * @param metrics the metrics of the command which just completed, successfully or not
+     */
+    void commandExecuted(ScmCommandMetrics metrics);
+}
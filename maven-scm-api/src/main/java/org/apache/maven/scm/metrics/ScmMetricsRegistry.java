@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The default {@link ScmMetricsListener}, which aggregates the metrics per provider and command in memory.
+ *
+ * @since 2.1.1
+ */
+public class ScmMetricsRegistry implements ScmMetricsListener {
+    private final ConcurrentMap<String, ScmCommandStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandExecuted(ScmCommandMetrics metrics) {
+        statistics
+                .computeIfAbsent(
+                        metrics.getProvider() + ':' + metrics.getCommand(),
+                        k -> new ScmCommandStatistics(metrics.getProvider(), metrics.getCommand()))
+                .add(metrics);
+    }
+
+    /**
+     * @return the statistics keyed by <code>provider:command</code>, sorted by key
+     */
+    public Map<String, ScmCommandStatistics> getStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<>(statistics));
+    }
+
+    /**
+     * @return one line per provider and command
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (ScmCommandStatistics commandStatistics : getStatistics().values()) {
+            summary.append(commandStatistics).append(System.lineSeparator());
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Drops all collected statistics.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.process;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Consumes the standard output of a process as it is, for output which is not made of lines of text.
+ *
+ * @since 2.1.1
+ * @see ProcessRunner#execute(org.codehaus.plexus.util.cli.Commandline, BinaryStreamConsumer,
+ *      org.codehaus.plexus.util.cli.StreamConsumer, int)
+ */
+@FunctionalInterface
+public interface BinaryStreamConsumer {
+    /**
+     * Reads the output while the process is running. Whatever is left unread is discarded afterwards.
+     *
+     * @param stream the standard output of the process, closed by the caller
+     * @throws IOException if the output cannot be read or processed
+     */
+    void consume(InputStream stream) throws IOException;
+}
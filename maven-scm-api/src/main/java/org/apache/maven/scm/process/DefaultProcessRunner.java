@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmMetrics;
+import org.apache.maven.scm.util.ConsumerUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineTimeOutException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * A {@link ProcessRunner} based on {@link ProcessBuilder}. The standard output is consumed on the calling thread and
+ * the standard error by a single pump thread, both through {@link ConsumerUtils#consumeLines} with a buffer of the
+ * configured size, unless a {@link BinaryStreamConsumer} reads the standard output directly. The standard input is
+ * closed right away unless an input is given, which is then fed by another thread.
+ * <p>
+ * With a deadline the standard output is consumed by a pump thread as well, so the calling thread can give up waiting
+ * even if a child process of the destroyed one still holds the output open.
+ *
+ * @since 2.1.1
+ */
+public class DefaultProcessRunner implements ProcessRunner {
+    public static final int DEFAULT_BUFFER_SIZE = ConsumerUtils.DEFAULT_BUFFER_SIZE;
+
+    private final int bufferSize;
+
+    private final Charset charset;
+
+    public DefaultProcessRunner() {
+        this(DEFAULT_BUFFER_SIZE, Charset.defaultCharset());
+    }
+
+    /**
+     * @param bufferSize the initial size of the buffers for the standard output and error
+     * @param charset the charset of the process output and input
+     */
+    public DefaultProcessRunner(int bufferSize, Charset charset) {
+        this.bufferSize = bufferSize;
+        this.charset = charset;
+    }
+
+    @Override
+    public int execute(
+            Commandline commandline,
+            InputStream input,
+            StreamConsumer systemOut,
+            StreamConsumer systemErr,
+            int timeoutInSeconds)
+            throws CommandLineException {
+        return run(commandline, input, stdout -> consume(stdout, systemOut), systemErr, timeoutInSeconds);
+    }
+
+    @Override
+    public int execute(
+            Commandline commandline, BinaryStreamConsumer systemOut, StreamConsumer systemErr, int timeoutInSeconds)
+            throws CommandLineException {
+        return run(
+                commandline,
+                null,
+                stdout -> {
+                    try (InputStream stream = stdout) {
+                        systemOut.consume(stream);
+                        drain(stream);
+                    }
+                },
+                systemErr,
+                timeoutInSeconds);
+    }
+
+    private int run(
+            Commandline commandline,
+            InputStream input,
+            BinaryStreamConsumer systemOut,
+            StreamConsumer systemErr,
+            int timeoutInSeconds)
+            throws CommandLineException {
+        Process process = start(commandline);
+        long deadline = timeoutInSeconds > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutInSeconds) : 0;
+
+        Pump errorPump = new Pump(commandline + " stderr", () -> consume(process.getErrorStream(), systemErr));
+        errorPump.start();
+        Pump outputPump = null;
+        Pump inputFeeder = null;
+        try {
+            if (input == null) {
+                process.getOutputStream().close();
+            } else {
+                inputFeeder = new Pump(commandline + " stdin", () -> feed(input, process.getOutputStream()));
+                inputFeeder.start();
+            }
+
+            if (deadline == 0) {
+                systemOut.consume(process.getInputStream());
+                errorPump.join();
+            } else {
+                outputPump = new Pump(commandline + " stdout", () -> systemOut.consume(process.getInputStream()));
+                outputPump.start();
+                if (!process.waitFor(remaining(deadline), TimeUnit.NANOSECONDS)
+                        || !join(outputPump, deadline)
+                        || !join(errorPump, deadline)) {
+                    throw new CommandLineTimeOutException(
+                            "Process timed out after " + timeoutInSeconds + " seconds: " + commandline);
+                }
+                if (outputPump.failure != null) {
+                    throw outputPump.failure;
+                }
+            }
+            if (inputFeeder != null) {
+                inputFeeder.join();
+            }
+            int exitCode = process.waitFor();
+            if (errorPump.failure != null) {
+                throw new CommandLineException("Failure processing stderr.", errorPump.failure);
+            }
+            if (inputFeeder != null && inputFeeder.failure != null && !isBrokenPipe(inputFeeder.failure)) {
+                throw new CommandLineException("Failure feeding stdin.", inputFeeder.failure);
+            }
+            return exitCode;
+        } catch (IOException e) {
+            throw new CommandLineException("Failure processing stdout.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommandLineException("Interrupted while waiting for " + commandline, e);
+        } finally {
+            if (process.isAlive()) {
+                process.destroy();
+            }
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * @return <code>false</code> if the thread did not terminate before the deadline
+     */
+    private static boolean join(Thread thread, long deadline) throws InterruptedException {
+        long remaining = remaining(deadline);
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
+        }
+        return !thread.isAlive();
+    }
+
+    private Process start(Commandline commandline) throws CommandLineException {
+        File workingDirectory = commandline.getWorkingDirectory();
+        if (workingDirectory != null && !workingDirectory.exists()) {
+            throw new CommandLineException("Working directory \"" + workingDirectory.getPath() + "\" does not exist!");
+        }
+
+        ProcessBuilder builder = new ProcessBuilder(commandline.getShellCommandline());
+        builder.directory(workingDirectory);
+        try {
+            String[] environment = commandline.getEnvironmentVariables();
+            if (environment != null) {
+                // the command line environment already contains the system environment
+                Map<String, String> processEnvironment = builder.environment();
+                processEnvironment.clear();
+                for (String variable : environment) {
+                    int separator = variable.indexOf('=');
+                    if (separator > 0) {
+                        processEnvironment.put(variable.substring(0, separator), variable.substring(separator + 1));
+                    }
+                }
+            }
+
+            long start = System.nanoTime();
+            Process process = builder.start();
+            ScmCommandMetrics metrics = ScmMetrics.getCurrent();
+            if (metrics != null) {
+                metrics.recordProcessSpawn(System.nanoTime() - start);
+            }
+            return process;
+        } catch (IOException e) {
+            throw new CommandLineException("Error while executing process.", e);
+        }
+    }
+
+    private void consume(InputStream stream, StreamConsumer consumer) throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(stream, charset)) {
+            ConsumerUtils.consumeLines(reader, consumer, bufferSize);
+        }
+    }
+
+    /**
+     * Reads what the consumer left, so the process does not block on a full pipe
+     */
+    private void drain(InputStream stream) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        while (stream.read(buffer) >= 0) {
+            // discard
+        }
+    }
+
+    private void feed(InputStream input, OutputStream stdin) throws IOException {
+        try (OutputStream out = stdin) {
+            byte[] buffer = new byte[bufferSize];
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * The process may exit without reading all its input
+     */
+    private static boolean isBrokenPipe(IOException e) {
+        return e.getMessage() != null
+                && (e.getMessage().contains("Broken pipe") || e.getMessage().contains("Stream closed"));
+    }
+
+    private interface IoTask {
+        void run() throws IOException;
+    }
+
+    private static final class Pump extends Thread {
+        private final IoTask task;
+
+        private volatile IOException failure;
+
+        private Pump(String name, IoTask task) {
+            super(name);
+            this.task = task;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+}
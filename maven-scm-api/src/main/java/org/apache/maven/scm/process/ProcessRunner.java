@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.process;
+
+import java.io.InputStream;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineTimeOutException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * Executes the command lines of the providers. The runner used by all providers is set with
+ * {@link ProcessRunners#set(ProcessRunner)}.
+ *
+ * @since 2.1.1
+ * @see DefaultProcessRunner
+ */
+public interface ProcessRunner {
+    /**
+     * Executes the command line and waits for the process to complete.
+     *
+     * @param commandline the command line, including working directory and environment
+     * @param input the content fed to the standard input, <code>null</code> for none
+     * @param systemOut receives the lines of the standard output
+     * @param systemErr receives the lines of the standard error
+     * @param timeoutInSeconds the time after which the process is destroyed, <code>0</code> to wait forever
+     * @return the exit code of the process
+     * @throws CommandLineTimeOutException if the process did not complete in time
+     * @throws CommandLineException if the process could not be executed or its output could not be consumed
+     */
+    int execute(
+            Commandline commandline,
+            InputStream input,
+            StreamConsumer systemOut,
+            StreamConsumer systemErr,
+            int timeoutInSeconds)
+            throws CommandLineException;
+
+    /**
+     * Executes the command line without input and waits for the process to complete, passing its standard output to
+     * the consumer as it is.
+     *
+     * @param commandline the command line, including working directory and environment
+     * @param systemOut receives the standard output
+     * @param systemErr receives the lines of the standard error
+     * @param timeoutInSeconds the time after which the process is destroyed, <code>0</code> to wait forever
+     * @return the exit code of the process
+     * @throws CommandLineTimeOutException if the process did not complete in time
+     * @throws CommandLineException if the process could not be executed or its output could not be consumed
+     */
+    int execute(Commandline commandline, BinaryStreamConsumer systemOut, StreamConsumer systemErr, int timeoutInSeconds)
+            throws CommandLineException;
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.process;
+
+import java.io.InputStream;
+
+import org.apache.maven.scm.metrics.ScmCommandMetrics;
+import org.apache.maven.scm.metrics.ScmMetrics;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * Holds the {@link ProcessRunner} every provider spawns its processes with.
+ *
+ * @since 2.1.1
+ */
+public final class ProcessRunners {
+    private static volatile ProcessRunner runner = new DefaultProcessRunner();
+
+    private ProcessRunners() {
+        // no op
+    }
+
+    /**
+     * @return the runner used by all providers
+     */
+    public static ProcessRunner get() {
+        return runner;
+    }
+
+    /**
+     * @param processRunner the runner to use from now on, <code>null</code> to restore the default one
+     */
+    public static void set(ProcessRunner processRunner) {
+        runner = processRunner == null ? new DefaultProcessRunner() : processRunner;
+    }
+
+    /**
+     * Executes the command line without input and timeout.
+     *
+     * @param commandline the command line
+     * @param systemOut receives the lines of the standard output
+     * @param systemErr receives the lines of the standard error
+     * @return the exit code of the process
+     * @throws CommandLineException if the process could not be executed
+     * @see #execute(Commandline, InputStream, StreamConsumer, StreamConsumer, int)
+     */
+    public static int execute(Commandline commandline, StreamConsumer systemOut, StreamConsumer systemErr)
+            throws CommandLineException {
+        return execute(commandline, null, systemOut, systemErr, 0);
+    }
+
+    /**
+     * Executes the command line with the current runner, and accounts its output to the metrics of the running
+     * command, if any.
+     *
+     * @param commandline the command line
+     * @param input the content fed to the standard input, <code>null</code> for none
+     * @param systemOut receives the lines of the standard output
+     * @param systemErr receives the lines of the standard error
+     * @param timeoutInSeconds the time after which the process is destroyed, <code>0</code> to wait forever
+     * @return the exit code of the process
+     * @throws CommandLineException if the process could not be executed
+     * @see ProcessRunner#execute(Commandline, InputStream, StreamConsumer, StreamConsumer, int)
+     */
+    public static int execute(
+            Commandline commandline,
+            InputStream input,
+            StreamConsumer systemOut,
+            StreamConsumer systemErr,
+            int timeoutInSeconds)
+            throws CommandLineException {
+        ScmCommandMetrics metrics = ScmMetrics.getCurrent();
+        if (metrics == null) {
+            return runner.execute(commandline, input, systemOut, systemErr, timeoutInSeconds);
+        }
+        return runner.execute(
+                commandline, input, metrics.wrapStdout(systemOut), metrics.wrapStderr(systemErr), timeoutInSeconds);
+    }
+
+    /**
+     * Executes the command line with the current runner, passing its standard output as it is to the consumer, and
+     * accounts its output to the metrics of the running command, if any.
+     *
+     * @param commandline the command line
+     * @param systemOut receives the standard output
+     * @param systemErr receives the lines of the standard error
+     * @param timeoutInSeconds the time after which the process is destroyed, <code>0</code> to wait forever
+     * @return the exit code of the process
+     * @throws CommandLineException if the process could not be executed
+     * @see ProcessRunner#execute(Commandline, BinaryStreamConsumer, StreamConsumer, int)
+     */
+    public static int execute(
+            Commandline commandline, BinaryStreamConsumer systemOut, StreamConsumer systemErr, int timeoutInSeconds)
+            throws CommandLineException {
+        ScmCommandMetrics metrics = ScmMetrics.getCurrent();
+        if (metrics == null) {
+            return runner.execute(commandline, systemOut, systemErr, timeoutInSeconds);
+        }
+        return runner.execute(
+                commandline, metrics.wrapBinaryStdout(systemOut), metrics.wrapStderr(systemErr), timeoutInSeconds);
+    }
+}
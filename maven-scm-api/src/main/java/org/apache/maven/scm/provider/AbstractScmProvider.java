@@ -41,6 +41,7 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -50,6 +51,7 @@
 import org.apache.maven.scm.command.mkdir.MkdirScmResult;
 import org.apache.maven.scm.command.remoteinfo.RemoteInfoScmResult;
 import org.apache.maven.scm.command.remove.RemoveScmResult;
+import org.apache.maven.scm.command.status.StatusScmRequest;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.command.tag.TagScmResult;
 import org.apache.maven.scm.command.unedit.UnEditScmResult;
@@ -552,6 +554,19 @@ public DiffScmResult diff(
         return diff(repository.getProviderRepository(), fileSet, parameters);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DiffScmResult diff(DiffScmRequest diffScmRequest) throws ScmException {
+        login(diffScmRequest.getScmRepository(), diffScmRequest.getScmFileSet());
+
+        return diff(
+                diffScmRequest.getScmRepository().getProviderRepository(),
+                diffScmRequest.getScmFileSet(),
+                diffScmRequest.getCommandParameters());
+    }
+
     protected DiffScmResult diff(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
             throws ScmException {
         throw new NoSuchCommandScmException("diff");
@@ -778,6 +793,19 @@ public StatusScmResult status(ScmRepository repository, ScmFileSet fileSet) thro
         return status(repository.getProviderRepository(), fileSet, parameters);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusScmResult status(StatusScmRequest statusScmRequest) throws ScmException {
+        login(statusScmRequest.getScmRepository(), statusScmRequest.getScmFileSet());
+
+        return status(
+                statusScmRequest.getScmRepository().getProviderRepository(),
+                statusScmRequest.getScmFileSet(),
+                statusScmRequest.getCommandParameters());
+    }
+
     protected StatusScmResult status(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
             throws ScmException {
         throw new NoSuchCommandScmException("status");
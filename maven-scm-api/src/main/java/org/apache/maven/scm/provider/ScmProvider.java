@@ -37,6 +37,7 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -45,6 +46,7 @@
 import org.apache.maven.scm.command.mkdir.MkdirScmResult;
 import org.apache.maven.scm.command.remoteinfo.RemoteInfoScmResult;
 import org.apache.maven.scm.command.remove.RemoveScmResult;
+import org.apache.maven.scm.command.status.StatusScmRequest;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.command.tag.TagScmResult;
 import org.apache.maven.scm.command.unedit.UnEditScmResult;
@@ -546,6 +548,22 @@ DiffScmResult diff(
             ScmRepository scmRepository, ScmFileSet scmFileSet, ScmVersion startVersion, ScmVersion endVersion)
             throws ScmException;
 
+    /**
+     * Create a diff between two branch/tag/revision, optionally writing the patch to a file or stream.
+     *
+     * @param diffScmRequest the diff request
+     * @return the changed files and either the patch or the location of each file's differences within it
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    default DiffScmResult diff(DiffScmRequest diffScmRequest) throws ScmException {
+        return diffScmRequest.writePatch(diff(
+                diffScmRequest.getScmRepository(),
+                diffScmRequest.getScmFileSet(),
+                diffScmRequest.getStartVersion(),
+                diffScmRequest.getEndVersion()));
+    }
+
     /**
      * Create an exported copy of the repository on your local machine
      *
@@ -631,6 +649,19 @@ ExportScmResult export(ScmRepository repository, ScmFileSet fileSet, ScmVersion
      */
     StatusScmResult status(ScmRepository repository, ScmFileSet fileSet) throws ScmException;
 
+    /**
+     * Returns the status of the files in the source control system, with the options of the request. The default
+     * implementation ignores the options.
+     *
+     * @param statusScmRequest the status request
+     * @return the changed files
+     * @throws ScmException if any
+     * @since 2.1.1
+     */
+    default StatusScmResult status(StatusScmRequest statusScmRequest) throws ScmException {
+        return status(statusScmRequest.getScmRepository(), statusScmRequest.getScmFileSet());
+    }
+
     /**
      * Tag (or label in some systems) will tag the source file with a certain tag
      *
@@ -18,13 +18,12 @@
  */
 package org.apache.maven.scm.util;
 
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
-import org.codehaus.plexus.util.cli.StreamConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,9 +31,19 @@
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  *
  */
-public abstract class AbstractConsumer implements StreamConsumer {
+public abstract class AbstractConsumer implements LineSliceConsumer {
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * Passes the line to {@link #consumeLine(String)}, consumers override this to parse the slice directly.
+     *
+     * @since 2.1.1
+     */
+    @Override
+    public void consumeLine(char[] buffer, int offset, int length) throws IOException {
+        consumeLine(new String(buffer, offset, length));
+    }
+
     /**
      * Converts the date timestamp from the output into a date object.
      *
@@ -57,40 +66,25 @@ protected Date parseDate(String date, String userPattern, String defaultPattern)
      * @return A date representing the timestamp of the log entry.
      */
     protected Date parseDate(String date, String userPattern, String defaultPattern, Locale locale) {
-        DateFormat format;
-
-        String patternUsed = null;
-        Locale localeUsed = null;
+        String patternUsed;
+        Locale localeUsed = locale != null ? locale : Locale.getDefault();
 
         if (userPattern != null && !userPattern.isEmpty()) {
-            if (locale != null) {
-                format = new SimpleDateFormat(userPattern, locale);
-                localeUsed = locale;
-            } else {
-                format = new SimpleDateFormat(userPattern);
-                localeUsed = Locale.getDefault();
-            }
             patternUsed = userPattern;
+        } else if (defaultPattern != null && !defaultPattern.isEmpty()) {
+            patternUsed = defaultPattern;
         } else {
-            if (defaultPattern != null && !defaultPattern.isEmpty()) {
-                if (locale != null) {
-                    format = new SimpleDateFormat(defaultPattern, locale);
-                    localeUsed = locale;
-                } else {
-                    format = new SimpleDateFormat(defaultPattern);
-                    localeUsed = Locale.getDefault();
-                }
-                patternUsed = defaultPattern;
-            } else {
-                // Use the English short date pattern if no pattern is specified
-                format = DateFormat.getDateInstance(DateFormat.SHORT, Locale.ENGLISH);
-                patternUsed = "DateFormat.SHORT";
-                localeUsed = Locale.ENGLISH;
-            }
+            patternUsed = null;
         }
 
         try {
-            return format.parse(date);
+            if (patternUsed != null) {
+                return DateParser.parse(date, patternUsed, localeUsed);
+            }
+            // Use the English short date pattern if no pattern is specified
+            patternUsed = "DateFormat.SHORT";
+            localeUsed = Locale.ENGLISH;
+            return DateFormat.getDateInstance(DateFormat.SHORT, Locale.ENGLISH).parse(date);
         } catch (ParseException e) {
             if (logger.isWarnEnabled()) {
                 logger.warn(
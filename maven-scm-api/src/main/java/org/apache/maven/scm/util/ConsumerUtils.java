@@ -21,7 +21,9 @@
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.file.Files;
+import java.util.Arrays;
 
 import org.codehaus.plexus.util.cli.StreamConsumer;
 
@@ -29,6 +31,10 @@
  * @author <a href="mailto:davide.angelocola+apache@gmail.com">Davide Angelocola</a>
  */
 public class ConsumerUtils {
+    /**
+     * The initial buffer size of {@link #consumeLines(Reader, StreamConsumer)}
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
 
     private ConsumerUtils() {}
 
@@ -41,9 +47,102 @@ private ConsumerUtils() {}
      */
     public static void consumeFile(File f, StreamConsumer consumer) throws IOException {
         try (BufferedReader reader = Files.newBufferedReader(f.toPath())) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                consumer.consumeLine(line);
+            consumeLines(reader, consumer);
+        }
+    }
+
+    /**
+     * Reads all lines, sending each line to the consumer.
+     *
+     * @param reader the reader, which is not closed
+     * @param consumer the consumer
+     * @throws IOException if any
+     * @since 2.1.1
+     * @see #consumeLines(Reader, StreamConsumer, int)
+     */
+    public static void consumeLines(Reader reader, StreamConsumer consumer) throws IOException {
+        consumeLines(reader, consumer, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads all lines, sending each line to the consumer. Lines are terminated like with
+     * {@link BufferedReader#readLine()}. A {@link LineSliceConsumer} receives slices of a single reused buffer, which
+     * grows only for lines longer than the buffer, other consumers receive a <code>String</code> per line.
+     *
+     * @param reader the reader, which is not closed
+     * @param consumer the consumer
+     * @param bufferSize the initial size of the buffer
+     * @throws IOException if any
+     * @since 2.1.1
+     */
+    public static void consumeLines(Reader reader, StreamConsumer consumer, int bufferSize) throws IOException {
+        LineSliceConsumer sliceConsumer = consumer instanceof LineSliceConsumer ? (LineSliceConsumer) consumer : null;
+        char[] buffer = new char[Math.max(bufferSize, 2)];
+        // the unconsumed characters are [start, end), [start, scan) has been searched for a terminator already
+        int start = 0;
+        int end = 0;
+        int scan = 0;
+        boolean skipLineFeed = false;
+        while (true) {
+            int terminator = -1;
+            for (int i = scan; i < end; i++) {
+                char c = buffer[i];
+                if (c == '\n' || c == '\r') {
+                    terminator = i;
+                    break;
+                }
+            }
+
+            if (terminator >= 0) {
+                if (sliceConsumer != null) {
+                    sliceConsumer.consumeLine(buffer, start, terminator - start);
+                } else {
+                    consumer.consumeLine(new String(buffer, start, terminator - start));
+                }
+                start = terminator + 1;
+                if (buffer[terminator] == '\r') {
+                    if (start < end) {
+                        if (buffer[start] == '\n') {
+                            start++;
+                        }
+                    } else {
+                        skipLineFeed = true;
+                    }
+                }
+                scan = start;
+                continue;
+            }
+
+            // no complete line left, make room for more characters
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+            }
+            if (end == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            scan = end;
+
+            int read = reader.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                if (end > 0) {
+                    if (sliceConsumer != null) {
+                        sliceConsumer.consumeLine(buffer, 0, end);
+                    } else {
+                        consumer.consumeLine(new String(buffer, 0, end));
+                    }
+                }
+                return;
+            }
+            end += read;
+
+            if (skipLineFeed && read > 0) {
+                skipLineFeed = false;
+                if (buffer[start] == '\n') {
+                    start++;
+                    scan = start;
+                }
             }
         }
     }
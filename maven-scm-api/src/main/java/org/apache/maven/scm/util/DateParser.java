@@ -0,0 +1,502 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.util;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the dates found in the output of the SCM tools. Patterns use the syntax of {@link SimpleDateFormat} and are
+ * compiled once per pattern and locale into an immutable {@link DateTimeFormatter}, which is shared by all threads.
+ * Patterns of the form <code>yyyy-MM-dd HH:mm:ss Z</code> and ISO-8601 timestamps are parsed without any formatter.
+ * Whenever the formatter cannot handle a pattern or a text, parsing falls back to a {@link SimpleDateFormat}, so the
+ * results are the same as before.
+ *
+ * @since 2.1.1
+ */
+public final class DateParser {
+    /**
+     * The patterns handled by {@link #parseTimestamp}, the separator and the zone are captured
+     */
+    private static final Pattern TIMESTAMP_PATTERN = Pattern.compile("yyyy-MM-dd( |'T')HH:mm:ss( ?[zZX]+)?");
+
+    /**
+     * Keeps the cache from growing with generated patterns
+     */
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    private static final Map<Locale, Map<String, CompiledPattern>> CACHE = new ConcurrentHashMap<>();
+
+    private DateParser() {}
+
+    /**
+     * Parses the beginning of the text like {@link SimpleDateFormat#parse(String)} in the default time zone.
+     *
+     * @param text the text to parse, trailing text is ignored
+     * @param pattern a {@link SimpleDateFormat} pattern
+     * @param locale the locale of the text, <code>null</code> for the default locale
+     * @return the date
+     * @throws ParseException if the text does not match the pattern
+     */
+    public static Date parse(String text, String pattern, Locale locale) throws ParseException {
+        return parse(text, pattern, locale, null);
+    }
+
+    /**
+     * Parses the beginning of the text like {@link SimpleDateFormat#parse(String)}.
+     *
+     * @param text the text to parse, trailing text is ignored
+     * @param pattern a {@link SimpleDateFormat} pattern
+     * @param locale the locale of the text, <code>null</code> for the default locale
+     * @param zone the zone of texts without zone, <code>null</code> for the default time zone
+     * @return the date
+     * @throws ParseException if the text does not match the pattern
+     */
+    public static Date parse(String text, String pattern, Locale locale, ZoneId zone) throws ParseException {
+        Locale effectiveLocale = locale == null ? Locale.getDefault() : locale;
+        CompiledPattern compiled = getCompiledPattern(pattern, effectiveLocale);
+        ZoneId effectiveZone = zone == null ? ZoneId.systemDefault() : zone;
+
+        Date date = null;
+        if (compiled.timestampSeparator != 0) {
+            date = parseTimestamp(text, compiled.timestampSeparator, compiled.zoned, effectiveZone);
+        }
+        if (date == null && compiled.formatter != null) {
+            date = parseWithFormatter(text, compiled, effectiveZone);
+        }
+        if (date == null) {
+            SimpleDateFormat format = new SimpleDateFormat(pattern, effectiveLocale);
+            format.setTimeZone(TimeZone.getTimeZone(effectiveZone));
+            date = format.parse(text);
+        }
+        return date;
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp like <code>2005-03-01T12:34:56+01:00</code>. A space instead of the <code>T</code>,
+     * a space before the offset, offsets without colon (like <code>git log --date=iso</code>) and fractions of seconds
+     * are accepted as well.
+     *
+     * @param text the text to parse, trailing whitespace is ignored
+     * @return the timestamp
+     * @throws DateTimeParseException if the text is no ISO-8601 timestamp with offset
+     */
+    public static OffsetDateTime parseIsoDateTime(CharSequence text) {
+        int length = text.length();
+        while (length > 0 && Character.isWhitespace(text.charAt(length - 1))) {
+            length--;
+        }
+        Scanner scanner = new Scanner(text, length);
+        if (scanner.scanDateTime('T') || scanner.reset() && scanner.scanDateTime(' ')) {
+            scanner.skip(' ');
+            ZoneOffset offset = scanner.scanOffset(true);
+            if (offset != null && scanner.position == length) {
+                try {
+                    return OffsetDateTime.of(
+                            scanner.year,
+                            scanner.month,
+                            scanner.day,
+                            scanner.hour,
+                            scanner.minute,
+                            scanner.second,
+                            scanner.nano,
+                            offset);
+                } catch (DateTimeException e) {
+                    throw new DateTimeParseException(e.getMessage(), text, 0, e);
+                }
+            }
+        }
+        throw new DateTimeParseException("Text '" + text + "' is no ISO-8601 timestamp", text, scanner.position);
+    }
+
+    /**
+     * Parses seconds since the epoch, optionally followed by an offset like in <code>1112356496 +0100</code>. The
+     * offset does not change the point in time.
+     *
+     * @param text the text to parse
+     * @return the date
+     * @throws NumberFormatException if the text does not start with the seconds
+     */
+    public static Date parseEpochSeconds(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        boolean negative = start < end && text.charAt(start) == '-';
+        int position = negative ? start + 1 : start;
+        long seconds = 0;
+        while (position < end && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+            if (seconds > (Long.MAX_VALUE - 9) / 10 / 1000) {
+                throw new NumberFormatException("For input string: \"" + text + "\"");
+            }
+            seconds = seconds * 10 + (text.charAt(position++) - '0');
+        }
+        if (position == (negative ? start + 1 : start) || position < end && text.charAt(position) != ' ') {
+            throw new NumberFormatException("For input string: \"" + text + "\"");
+        }
+        return new Date((negative ? -seconds : seconds) * 1000L);
+    }
+
+    /**
+     * @return the compiled form of the pattern, never <code>null</code>
+     * @throws IllegalArgumentException if the pattern is invalid, like from {@link SimpleDateFormat}
+     */
+    private static CompiledPattern getCompiledPattern(String pattern, Locale locale) {
+        Map<String, CompiledPattern> patterns = CACHE.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+        CompiledPattern compiled = patterns.get(pattern);
+        if (compiled == null) {
+            // fail like SimpleDateFormat for invalid patterns, once
+            new SimpleDateFormat(pattern, locale);
+            compiled = new CompiledPattern(pattern, locale);
+            if (patterns.size() >= MAX_CACHED_PATTERNS) {
+                patterns.clear();
+            }
+            patterns.put(pattern, compiled);
+        }
+        return compiled;
+    }
+
+    private static Date parseTimestamp(String text, char separator, boolean zoned, ZoneId zone) {
+        Scanner scanner = new Scanner(text, text.length());
+        if (!scanner.scanDateTime(separator) || scanner.nano != 0) {
+            return null;
+        }
+        ZoneOffset offset = null;
+        if (zoned) {
+            scanner.skip(' ');
+            offset = scanner.scanOffset(false);
+            if (offset == null) {
+                return null;
+            }
+        }
+        try {
+            LocalDate date = LocalDate.of(scanner.year, scanner.month, scanner.day);
+            LocalTime time = LocalTime.of(scanner.hour, scanner.minute, scanner.second);
+            return Date.from(
+                    offset != null
+                            ? date.atTime(time).toInstant(offset)
+                            : date.atTime(time).atZone(zone).toInstant());
+        } catch (DateTimeException e) {
+            // out of range, the lenient formats know better
+            return null;
+        }
+    }
+
+    private static Date parseWithFormatter(String text, CompiledPattern compiled, ZoneId zone) {
+        try {
+            TemporalAccessor parsed = compiled.formatter.parse(text, new ParsePosition(0));
+            if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+                return Date.from(Instant.from(parsed));
+            }
+            ZoneId parsedZone = parsed.query(TemporalQueries.zone());
+            LocalDate date = parsed.query(TemporalQueries.localDate());
+            if (date == null || compiled.zoned && parsedZone == null) {
+                return null;
+            }
+            LocalTime time = parsed.query(TemporalQueries.localTime());
+            return Date.from(date.atTime(time == null ? LocalTime.MIDNIGHT : time)
+                    .atZone(parsedZone == null ? zone : parsedZone)
+                    .toInstant());
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A pattern translated to the parsers which can handle it
+     */
+    private static final class CompiledPattern {
+        /**
+         * The separator of date and time for {@link #parseTimestamp}, <code>0</code> if not applicable
+         */
+        private final char timestampSeparator;
+
+        /**
+         * Whether the pattern contains a zone
+         */
+        private boolean zoned;
+
+        /**
+         * The equivalent formatter, <code>null</code> if the pattern uses features which are not translated
+         */
+        private final DateTimeFormatter formatter;
+
+        CompiledPattern(String pattern, Locale locale) {
+            Matcher matcher = TIMESTAMP_PATTERN.matcher(pattern);
+            timestampSeparator =
+                    matcher.matches() ? matcher.group(1).charAt(matcher.group(1).length() - 1) : 0;
+            formatter = translate(pattern, locale);
+        }
+
+        private DateTimeFormatter translate(String pattern, Locale locale) {
+            DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseCaseInsensitive();
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\'') {
+                    int end = pattern.indexOf('\'', i + 1);
+                    if (end < 0) {
+                        return null;
+                    }
+                    builder.appendLiteral(end == i + 1 ? "'" : pattern.substring(i + 1, end));
+                    i = end + 1;
+                    continue;
+                }
+                if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                    builder.appendLiteral(c);
+                    i++;
+                    continue;
+                }
+                int count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                i += count;
+                // numbers followed by another field have a fixed width, like in SimpleDateFormat
+                boolean adjacent = i < pattern.length() && Character.isLetter(pattern.charAt(i));
+                if (!appendField(builder, c, count, adjacent)) {
+                    return null;
+                }
+            }
+            return builder.toFormatter(locale).withResolverStyle(ResolverStyle.LENIENT);
+        }
+
+        private boolean appendField(DateTimeFormatterBuilder builder, char letter, int count, boolean adjacent) {
+            switch (letter) {
+                case 'y':
+                    if (count == 2) {
+                        // the two digit year is relative to the current date
+                        return false;
+                    }
+                    appendNumber(builder, ChronoField.YEAR, count, adjacent);
+                    return true;
+                case 'M':
+                    if (count >= 3) {
+                        builder.appendText(ChronoField.MONTH_OF_YEAR, count == 3 ? TextStyle.SHORT : TextStyle.FULL);
+                    } else {
+                        appendNumber(builder, ChronoField.MONTH_OF_YEAR, count, adjacent);
+                    }
+                    return true;
+                case 'd':
+                    appendNumber(builder, ChronoField.DAY_OF_MONTH, count, adjacent);
+                    return true;
+                case 'D':
+                    appendNumber(builder, ChronoField.DAY_OF_YEAR, count, adjacent);
+                    return true;
+                case 'E':
+                    builder.appendText(ChronoField.DAY_OF_WEEK, count >= 4 ? TextStyle.FULL : TextStyle.SHORT);
+                    return true;
+                case 'a':
+                    builder.appendText(ChronoField.AMPM_OF_DAY, TextStyle.SHORT);
+                    return true;
+                case 'H':
+                    appendNumber(builder, ChronoField.HOUR_OF_DAY, count, adjacent);
+                    return true;
+                case 'k':
+                    appendNumber(builder, ChronoField.CLOCK_HOUR_OF_DAY, count, adjacent);
+                    return true;
+                case 'K':
+                    appendNumber(builder, ChronoField.HOUR_OF_AMPM, count, adjacent);
+                    return true;
+                case 'h':
+                    appendNumber(builder, ChronoField.CLOCK_HOUR_OF_AMPM, count, adjacent);
+                    return true;
+                case 'm':
+                    appendNumber(builder, ChronoField.MINUTE_OF_HOUR, count, adjacent);
+                    return true;
+                case 's':
+                    appendNumber(builder, ChronoField.SECOND_OF_MINUTE, count, adjacent);
+                    return true;
+                case 'S':
+                    appendNumber(builder, ChronoField.MILLI_OF_SECOND, count, adjacent);
+                    return true;
+                case 'Z':
+                    zoned = true;
+                    builder.appendOffset("+HHMM", "+0000");
+                    return true;
+                case 'z':
+                    // a general time zone, which may also be given as offset
+                    zoned = true;
+                    builder.optionalStart()
+                            .appendOffset("+HHMM", "+0000")
+                            .optionalEnd()
+                            .optionalStart()
+                            .appendZoneText(TextStyle.SHORT)
+                            .optionalEnd();
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private static void appendNumber(
+                DateTimeFormatterBuilder builder, ChronoField field, int count, boolean adjacent) {
+            if (adjacent) {
+                builder.appendValue(field, count);
+            } else {
+                builder.appendValue(field, 1, 10, SignStyle.NORMAL);
+            }
+        }
+    }
+
+    /**
+     * Reads the fields of a timestamp like <code>2005-03-01 12:34:56.789 +0100</code> without allocations
+     */
+    private static final class Scanner {
+        private final CharSequence text;
+
+        private final int length;
+
+        private int position;
+
+        private int year;
+
+        private int month;
+
+        private int day;
+
+        private int hour;
+
+        private int minute;
+
+        private int second;
+
+        private int nano;
+
+        Scanner(CharSequence text, int length) {
+            this.text = text;
+            this.length = length;
+        }
+
+        boolean reset() {
+            position = 0;
+            nano = 0;
+            return true;
+        }
+
+        boolean scanDateTime(char separator) {
+            year = digits(4);
+            if (year < 0 || !skip('-') || (month = digits(2)) < 0 || !skip('-') || (day = digits(2)) < 0) {
+                return false;
+            }
+            if (!skip(separator) || (hour = digits(2)) < 0 || !skip(':') || (minute = digits(2)) < 0) {
+                return false;
+            }
+            if (!skip(':') || (second = digits(2)) < 0) {
+                return false;
+            }
+            if (skip('.') || skip(',')) {
+                int start = position;
+                int fraction = 0;
+                while (position < length && isDigit(text.charAt(position))) {
+                    if (position - start < 9) {
+                        fraction = fraction * 10 + text.charAt(position) - '0';
+                    }
+                    position++;
+                }
+                if (position == start) {
+                    return false;
+                }
+                for (int i = position - start; i < 9; i++) {
+                    fraction *= 10;
+                }
+                nano = fraction;
+            }
+            return true;
+        }
+
+        /**
+         * @param allowZulu whether <code>Z</code> is accepted for UTC
+         * @return the offset, <code>null</code> if there is none
+         */
+        ZoneOffset scanOffset(boolean allowZulu) {
+            if (allowZulu && skip('Z')) {
+                return ZoneOffset.UTC;
+            }
+            int sign = skip('+') ? 1 : skip('-') ? -1 : 0;
+            int hours;
+            if (sign == 0 || (hours = digits(2)) < 0) {
+                return null;
+            }
+            skip(':');
+            int minutes = digits(2);
+            if (minutes < 0) {
+                return null;
+            }
+            try {
+                return ZoneOffset.ofHoursMinutes(sign * hours, sign * minutes);
+            } catch (DateTimeException e) {
+                return null;
+            }
+        }
+
+        boolean skip(char c) {
+            if (position < length && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private int digits(int count) {
+            if (position + count > length) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = 0; i < count; i++) {
+                char c = text.charAt(position + i);
+                if (!isDigit(c)) {
+                    return -1;
+                }
+                value = value * 10 + c - '0';
+            }
+            position += count;
+            return value;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.util;
+
+import java.io.IOException;
+
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * A {@link StreamConsumer} which can also receive lines as a slice of a shared character buffer, so that no
+ * <code>String</code> has to be created for lines the consumer skips or copies.
+ *
+ * @since 2.1.1
+ * @see ConsumerUtils#consumeLines(java.io.Reader, StreamConsumer, int)
+ */
+public interface LineSliceConsumer extends StreamConsumer {
+    /**
+     * Consumes a line without its terminator. The buffer is reused for subsequent lines, so the characters must be
+     * copied if they are needed after this call returns.
+     *
+     * @param buffer the buffer holding the line
+     * @param offset the index of the first character of the line
+     * @param length the number of characters of the line
+     * @throws IOException if the line could not be consumed
+     */
+    void consumeLine(char[] buffer, int offset, int length) throws IOException;
+}
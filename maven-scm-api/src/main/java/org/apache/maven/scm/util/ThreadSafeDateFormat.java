@@ -32,7 +32,9 @@
  * <code>
  * private static final ThreadSafeDateFormat DATE_FORMAT = new ThreadSafeDateFormat( DATE_PATTERN );
  * </code>
+ * @deprecated use {@link DateParser} for parsing or an immutable {@link java.time.format.DateTimeFormatter}
  */
+@Deprecated
 public class ThreadSafeDateFormat extends DateFormat {
     private static final long serialVersionUID = 3786090697869963812L;
 
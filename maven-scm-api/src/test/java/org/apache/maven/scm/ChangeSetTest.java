@@ -18,6 +18,7 @@
  */
 package org.apache.maven.scm;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -233,4 +234,30 @@ public void testToXmlWithFiles() {
         assertTrue(sXml.indexOf("<name>maven1:dummy</name>") > -1);
         assertTrue(sXml.indexOf("<name>maven2:dummy2</name>") > -1);
     }
+
+    @Test
+    public void testToXmlWithCDataEnd() {
+        instance.setComment("a]]>b]]>");
+        String sXml = instance.toXML();
+        assertTrue(sXml.contains("<msg><![CDATA[a] ] >b] ] >]]></msg>"));
+        assertTrue(sXml.contains("<tag>v2&lt;bla&gt;.7]]1828</tag>"));
+    }
+
+    @Test
+    public void testWriteJson() throws Exception {
+        ChangeFile file = new ChangeFile("a \"b\".txt", "2");
+        file.setAction(ScmFileStatus.MODIFIED);
+        instance.addFile(file);
+        instance.setComment("line1\nline2\t\\");
+        instance.setDate(new Date(1017619200000L));
+        instance.setTags(Arrays.asList("v1"));
+
+        StringWriter writer = new StringWriter();
+        instance.writeJson(writer);
+        assertEquals(
+                "{\"date\":\"2002-04-01T00:00:00Z\",\"author\":\"dion\",\"comment\":\"line1\\nline2\\t\\\\\","
+                        + "\"tags\":[\"v1\"],\"files\":[{\"name\":\"a \\\"b\\\".txt\",\"revision\":\"2\","
+                        + "\"action\":\"modified\"}]}\n",
+                writer.toString());
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.blame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.scm.ScmException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractBlameCommandTest {
+
+    @Test
+    public void testBlameFiles() throws Exception {
+        List<String> filenames = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            filenames.add("file" + i + ".txt");
+        }
+        filenames.add("missing.txt");
+
+        for (int threads : new int[] {1, 4}) {
+            Thread callingThread = Thread.currentThread();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            Map<String, BlameScmResult> results = new HashMap<>();
+
+            AbstractBlameCommand.blameFiles(
+                    filenames,
+                    threads,
+                    filename -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            if (filename.equals("missing.txt")) {
+                                throw new ScmException("Cannot blame " + filename + ", it does not exist");
+                            }
+                            Thread.sleep(2);
+                            return new BlameScmResult(
+                                    "blame", Collections.singletonList(new BlameLine(new Date(), filename, "author")));
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    },
+                    (filename, result) -> {
+                        assertSame(callingThread, Thread.currentThread());
+                        results.put(filename, result);
+                    });
+
+            assertEquals(filenames.size(), results.size());
+            assertTrue(maxRunning.get() <= threads);
+            assertEquals("file7.txt", results.get("file7.txt").getLines().get(0).getRevision());
+            BlameScmResult missing = results.get("missing.txt");
+            assertFalse(missing.isSuccess());
+            assertEquals("Cannot blame missing.txt, it does not exist", missing.getCommandOutput());
+        }
+    }
+}
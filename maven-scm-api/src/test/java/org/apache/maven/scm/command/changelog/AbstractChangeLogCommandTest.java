@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.changelog;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractChangeLogCommandTest {
+
+    private static final List<ChangeSet> CHANGE_SETS = Arrays.asList(
+            new ChangeSet(new Date(1017619200000L), "first", "dion", null),
+            new ChangeSet(new Date(1017705600000L), "second", "dion", null));
+
+    private static class CollectingChangeLogCommand extends AbstractChangeLogCommand {
+        @Override
+        protected ChangeLogScmResult executeChangeLogCommand(
+                ScmProviderRepository repository,
+                ScmFileSet fileSet,
+                Date startDate,
+                Date endDate,
+                ScmBranch branch,
+                String datePattern) {
+            return new ChangeLogScmResult("log", new ChangeLogSet(new ArrayList<>(CHANGE_SETS), startDate, endDate));
+        }
+    }
+
+    @Test
+    public void testCollectedChangeSetsArePassedToTheConsumer() throws Exception {
+        List<ChangeSet> consumed = new ArrayList<>();
+        CommandParameters parameters = new CommandParameters();
+        parameters.setChangeSetConsumer(CommandParameter.CHANGESET_CONSUMER, consumed::add);
+
+        ChangeLogScmResult result = (ChangeLogScmResult)
+                new CollectingChangeLogCommand().executeCommand(null, new ScmFileSet(new File(".")), parameters);
+
+        assertEquals(CHANGE_SETS, consumed);
+        assertTrue(result.getChangeLog().getChangeSets().isEmpty());
+    }
+
+    @Test
+    public void testChangeSetsAreCollectedWithoutConsumer() throws Exception {
+        ChangeLogScmResult result = (ChangeLogScmResult) new CollectingChangeLogCommand()
+                .executeCommand(null, new ScmFileSet(new File(".")), new CommandParameters());
+
+        assertEquals(CHANGE_SETS, result.getChangeLog().getChangeSets());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.changelog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ChangeLogSetTest {
+
+    private static ChangeLogSet createChangeLogSet() {
+        ChangeSet first = new ChangeSet(
+                new Date(1017619200000L), "first & <only>", "dion", Arrays.asList(new ChangeFile("a.txt", "1")));
+        ChangeSet second = new ChangeSet(new Date(1017705600000L), "second ]]> one", "tänzer", null);
+        return new ChangeLogSet(Arrays.asList(first, second), new Date(1017619200000L), null);
+    }
+
+    @Test
+    public void testWriteXmlLikeToXml() throws Exception {
+        ChangeLogSet changeLogSet = createChangeLogSet();
+
+        StringWriter writer = new StringWriter();
+        changeLogSet.writeXML(writer);
+        assertEquals(changeLogSet.toXML(), writer.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        changeLogSet.writeXML(out, StandardCharsets.UTF_8);
+        String xml = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(changeLogSet.toXML("UTF-8"), xml);
+        assertTrue(xml.contains("<author><![CDATA[tänzer]]></author>"));
+        assertTrue(xml.contains("<msg><![CDATA[second ] ] > one]]></msg>"));
+    }
+
+    @Test
+    public void testWriteJsonLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        createChangeLogSet().writeJsonLines(out, StandardCharsets.UTF_8);
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+
+        assertEquals(3, lines.length);
+        assertEquals(
+                "{\"date\":\"2002-04-01T00:00:00Z\",\"author\":\"dion\",\"comment\":\"first & <only>\","
+                        + "\"files\":[{\"name\":\"a.txt\",\"revision\":\"1\"}]}",
+                lines[0]);
+        assertEquals(
+                "{\"date\":\"2002-04-02T00:00:00Z\",\"author\":\"tänzer\",\"comment\":\"second ]]> one\"}", lines[1]);
+        assertEquals("", lines[2]);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.diff;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DiffOutputStreamTest {
+
+    @Test
+    public void testRecordsFileOffsets() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DiffOutputStream out = new DiffOutputStream(bytes);
+        out.writeLine("preamble");
+        out.startFile("a.txt");
+        out.writeLine("diff --git a/a.txt b/a.txt");
+        out.writeLine("+ä");
+        out.startFile("b.txt");
+        char[] buffer = "xxdiff --git a/b.txt b/b.txtxx".toCharArray();
+        out.writeLine(buffer, 2, buffer.length - 4);
+        out.write("-old\n+new\n".getBytes(StandardCharsets.UTF_8));
+        List<DiffFileOffset> fileOffsets = out.finish();
+
+        String patch = "preamble\ndiff --git a/a.txt b/a.txt\n+ä\ndiff --git a/b.txt b/b.txt\n-old\n+new\n";
+        assertEquals(patch, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+
+        assertEquals(2, fileOffsets.size());
+        assertEquals("a.txt", fileOffsets.get(0).getPath());
+        assertEquals(9, fileOffsets.get(0).getOffset());
+        assertEquals(27 + 4, fileOffsets.get(0).getLength());
+        assertEquals(2, fileOffsets.get(0).getLineCount());
+        assertEquals("b.txt", fileOffsets.get(1).getPath());
+        assertEquals(9 + 27 + 4, fileOffsets.get(1).getOffset());
+        assertEquals(27 + 10, fileOffsets.get(1).getLength());
+        assertEquals(3, fileOffsets.get(1).getLineCount());
+        assertEquals(bytes.size(), out.getCount());
+    }
+
+    @Test
+    public void testEncodesLinesAsUtf8() throws Exception {
+        String line = "aé€😀\ud800z";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DiffOutputStream out = new DiffOutputStream(bytes);
+        out.writeLine(line);
+        out.finish();
+
+        assertEquals(line.replace('\ud800', '?') + "\n", new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals((line + "\n").getBytes(StandardCharsets.UTF_8).length, out.getCount());
+    }
+}
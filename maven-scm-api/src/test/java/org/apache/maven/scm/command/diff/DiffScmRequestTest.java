@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.diff;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DiffScmRequestTest {
+    private static final String PATCH = "diff --git a/a.txt b/a.txt\n-old\n+ä\n";
+
+    @Rule
+    public TemporaryFolder tmpDirectory = new TemporaryFolder();
+
+    private DiffScmRequest newRequest() {
+        return new DiffScmRequest(null, new ScmFileSet(new File(".")));
+    }
+
+    private static DiffScmResult newResult() {
+        return new DiffScmResult("git diff", Collections.emptyList(), Collections.emptyMap(), PATCH);
+    }
+
+    @Test
+    public void testWritePatchWithoutSink() throws Exception {
+        DiffScmResult result = newResult();
+        assertSame(result, newRequest().writePatch(result));
+    }
+
+    @Test
+    public void testWritePatchToOutput() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DiffScmRequest request = newRequest();
+        request.setPatchOutput(bytes);
+
+        DiffScmResult result = request.writePatch(newResult());
+        assertEquals(PATCH, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        assertNull(result.getPatch());
+        assertTrue(result.getFileOffsets().isEmpty());
+    }
+
+    @Test
+    public void testWritePatchToFile() throws Exception {
+        Path patchFile = tmpDirectory.getRoot().toPath().resolve("diff.patch");
+        DiffScmRequest request = newRequest();
+        request.setPatchFile(patchFile);
+
+        request.writePatch(newResult());
+        assertEquals(PATCH, new String(Files.readAllBytes(patchFile), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.update;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UpdatedFileIndexTest {
+
+    private static ChangeSet change(String... names) {
+        ChangeFile[] files = new ChangeFile[names.length];
+        for (int i = 0; i < names.length; i++) {
+            files[i] = new ChangeFile(names[i]);
+        }
+        return new ChangeSet(new Date(), "comment", "author", Arrays.asList(files));
+    }
+
+    @Test
+    public void testContainsAny() {
+        UpdatedFileIndex index = new UpdatedFileIndex(Arrays.asList(
+                new ScmFile("src/main/A.java", ScmFileStatus.UPDATED),
+                new ScmFile("doc\\index.txt", ScmFileStatus.UPDATED),
+                new ScmFile("lib/", ScmFileStatus.ADDED)));
+
+        assertTrue(index.containsAny(change("README", "src/main/A.java")));
+        // repository paths
+        assertTrue(index.containsAny(change("/trunk/src/main/A.java")));
+        assertTrue(index.containsAny(change("./doc/index.txt")));
+        // in an updated directory
+        assertTrue(index.containsAny(change("lib/x.jar")));
+
+        assertFalse(index.containsAny(change("src/main/AB.java")));
+        assertFalse(index.containsAny(change("src/main")));
+        assertFalse(index.containsAny(change("README")));
+        assertFalse(index.containsAny(change()));
+    }
+}
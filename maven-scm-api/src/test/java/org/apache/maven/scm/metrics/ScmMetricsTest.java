@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.command.add.AbstractAddCommand;
+import org.apache.maven.scm.command.status.StatusScmResult;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScmMetricsTest {
+
+    private static class StatusCommand extends AbstractCommand {
+        @Override
+        protected ScmResult executeCommand(
+                ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
+                throws ScmException {
+            List<String> lines = new ArrayList<>();
+            StreamConsumer consumer = ScmMetrics.getCurrent().wrapStdout(lines::add);
+            try {
+                consumer.consumeLine("M  a.txt");
+                consumer.consumeLine("A  ä.txt");
+            } catch (IOException e) {
+                throw new ScmException("consumer failed", e);
+            }
+            return new StatusScmResult(
+                    "status",
+                    Arrays.asList(
+                            new ScmFile("a.txt", ScmFileStatus.MODIFIED), new ScmFile("ä.txt", ScmFileStatus.ADDED)));
+        }
+    }
+
+    @Test
+    public void testCommandIsMeasured() throws ScmException {
+        List<ScmCommandMetrics> executed = new ArrayList<>();
+        ScmMetrics scmMetrics = new ScmMetrics();
+        scmMetrics.addListener(executed::add);
+        List<ScmCommandMetrics> inactive = new ArrayList<>();
+        new ScmMetrics().addListener(inactive::add);
+
+        ScmMetrics previous = scmMetrics.activate();
+        try {
+            new StatusCommand().execute(new ScmProviderRepository() {}, new ScmFileSet(new File(".")), null);
+        } finally {
+            ScmMetrics.restore(previous);
+        }
+
+        assertNull(ScmMetrics.getCurrent());
+        assertNull(ScmMetrics.getActive());
+        assertTrue(inactive.isEmpty());
+        assertEquals(1, executed.size());
+        ScmCommandMetrics metrics = executed.get(0);
+        assertEquals("StatusCommand", metrics.getCommand());
+        assertTrue(metrics.isSuccess());
+        assertEquals(2, metrics.getResultSize());
+        assertEquals(2, metrics.getLinesConsumed());
+        assertEquals(9 + 10, metrics.getStdoutBytes());
+        assertEquals(0, metrics.getProcessCount());
+        assertTrue(metrics.getWallTimeNanos() >= metrics.getParseNanos());
+    }
+
+    @Test
+    public void testNothingIsMeasuredWithoutListener() {
+        assertNull(new ScmMetrics().start(new StatusCommand()));
+    }
+
+    @Test
+    public void testNames() {
+        assertArrayEquals(new String[] {"scm", "add"}, ScmMetrics.getNames(AbstractAddCommand.class));
+        assertArrayEquals(
+                new String[] {"org.apache.maven.scm.metrics", "StatusCommand"},
+                ScmMetrics.getNames(StatusCommand.class));
+    }
+
+    @Test
+    public void testRegistry() {
+        ScmMetricsRegistry registry = new ScmMetricsRegistry();
+        ScmCommandMetrics metrics = new ScmCommandMetrics("gitexe", "status");
+        metrics.recordProcessSpawn(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.complete(new StatusScmResult("status", "failed", "", false));
+        registry.commandExecuted(metrics);
+        registry.commandExecuted(metrics);
+
+        ScmCommandStatistics statistics = registry.getStatistics().get("gitexe:status");
+        assertEquals(2, statistics.getCount());
+        assertEquals(2, statistics.getFailures());
+        assertEquals(2, statistics.getProcessCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(6), statistics.getProcessSpawnNanos());
+        assertEquals(0, statistics.getResultSize());
+        assertEquals(2, Arrays.stream(statistics.getWallTimeHistogram()).sum());
+        assertTrue(registry.getSummary().startsWith("gitexe status: count=2 failures=2"));
+
+        registry.reset();
+        assertTrue(registry.getStatistics().isEmpty());
+        assertFalse(registry.getSummary().contains("gitexe"));
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        assertEquals(0, ScmCommandStatistics.getBucket(TimeUnit.MICROSECONDS.toNanos(999)));
+        assertEquals(1, ScmCommandStatistics.getBucket(TimeUnit.MILLISECONDS.toNanos(1)));
+        assertEquals(2, ScmCommandStatistics.getBucket(TimeUnit.MILLISECONDS.toNanos(3)));
+        assertEquals(10, ScmCommandStatistics.getBucket(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(
+                ScmCommandStatistics.HISTOGRAM_BUCKETS - 1, ScmCommandStatistics.getBucket(TimeUnit.DAYS.toNanos(1)));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.process;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.codehaus.plexus.util.Os;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineTimeOutException;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+public class DefaultProcessRunnerTest {
+    private final ProcessRunner runner = new DefaultProcessRunner(16, StandardCharsets.UTF_8);
+
+    private final List<String> stdout = new ArrayList<>();
+
+    private final List<String> stderr = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        assumeFalse(Os.isFamily(Os.FAMILY_WINDOWS));
+    }
+
+    private static Commandline shell(String script) {
+        Commandline cl = new Commandline();
+        cl.setExecutable("/bin/sh");
+        cl.createArg().setValue("-c");
+        cl.createArg().setValue(script);
+        return cl;
+    }
+
+    @Test
+    public void testOutputAndExitCode() throws Exception {
+        int exitCode = runner.execute(
+                shell("echo first; echo a-line-longer-than-the-buffer; echo error >&2; exit 3"),
+                null,
+                stdout::add,
+                stderr::add,
+                0);
+        assertEquals(3, exitCode);
+        assertEquals(Arrays.asList("first", "a-line-longer-than-the-buffer"), stdout);
+        assertEquals(Arrays.asList("error"), stderr);
+    }
+
+    @Test
+    public void testInput() throws Exception {
+        byte[] input = "a\nbä\n".getBytes(StandardCharsets.UTF_8);
+        int exitCode = runner.execute(shell("cat"), new ByteArrayInputStream(input), stdout::add, stderr::add, 0);
+        assertEquals(0, exitCode);
+        assertEquals(Arrays.asList("a", "bä"), stdout);
+    }
+
+    @Test
+    public void testEnvironment() throws Exception {
+        Commandline cl = shell("echo $SCM_PROCESS_TEST");
+        cl.addEnvironment("SCM_PROCESS_TEST", "a=b");
+        runner.execute(cl, null, stdout::add, stderr::add, 0);
+        assertEquals(Arrays.asList("a=b"), stdout);
+    }
+
+    @Test(timeout = 20000)
+    public void testTimeout() throws Exception {
+        long start = System.nanoTime();
+        try {
+            runner.execute(shell("exec sleep 30"), null, stdout::add, stderr::add, 1);
+            throw new AssertionError("timeout expected");
+        } catch (CommandLineTimeOutException e) {
+            assertTrue(System.nanoTime() - start < 15_000_000_000L);
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testBinaryOutput() throws Exception {
+        byte[] head = new byte[3];
+        int exitCode = runner.execute(
+                shell("printf 'a\\000b'; head -c 1000000 /dev/zero; echo error >&2"),
+                stream -> assertEquals(3, stream.read(head)),
+                stderr::add,
+                0);
+
+        assertEquals(0, exitCode);
+        // the rest of the output is drained, so the process does not block on a full pipe
+        assertTrue(Arrays.equals(new byte[] {'a', 0, 'b'}, head));
+        assertEquals(Arrays.asList("error"), stderr);
+    }
+
+    @Test(expected = CommandLineException.class)
+    public void testMissingWorkingDirectory() throws Exception {
+        Commandline cl = shell("true");
+        cl.setWorkingDirectory(new File("target/does-not-exist"));
+        runner.execute(cl, null, stdout::add, stderr::add, 0);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConsumerUtilsTest {
+
+    private static final String[] INPUTS = {
+        "",
+        "a",
+        "a\n",
+        "a\nb",
+        "a\r\nb\r\n",
+        "a\rb\r",
+        "a\r\r\nb",
+        "\n\n",
+        "\r\n\r\n",
+        "a line longer than the buffer\r\nand another one\rand the last one",
+        "ab\r\ncd\r\nef"
+    };
+
+    @Test
+    public void testLinesMatchBufferedReader() throws IOException {
+        for (String input : INPUTS) {
+            List<String> expected = readLines(input);
+            for (int bufferSize = 1; bufferSize <= 8; bufferSize++) {
+                List<String> slices = new ArrayList<>();
+                ConsumerUtils.consumeLines(
+                        new StringReader(input),
+                        new LineSliceConsumer() {
+                            @Override
+                            public void consumeLine(char[] buffer, int offset, int length) {
+                                slices.add(new String(buffer, offset, length));
+                            }
+
+                            @Override
+                            public void consumeLine(String line) {
+                                throw new AssertionError("slice expected");
+                            }
+                        },
+                        bufferSize);
+                assertEquals("slices of '" + input + "' with buffer size " + bufferSize, expected, slices);
+
+                List<String> lines = new ArrayList<>();
+                ConsumerUtils.consumeLines(new StringReader(input), lines::add, bufferSize);
+                assertEquals("lines of '" + input + "' with buffer size " + bufferSize, expected, lines);
+            }
+        }
+    }
+
+    private static List<String> readLines(String input) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new StringReader(input))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DateParserTest {
+
+    private static void assertSameAsSimpleDateFormat(String text, String pattern, Locale locale) throws Exception {
+        Date expected = new SimpleDateFormat(pattern, locale).parse(text);
+        assertEquals(pattern + ": " + text, expected, DateParser.parse(text, pattern, locale));
+        // again from the cache
+        assertEquals(pattern + ": " + text, expected, DateParser.parse(text, pattern, locale));
+    }
+
+    @Test
+    public void testParseLikeSimpleDateFormat() throws Exception {
+        assertSameAsSimpleDateFormat("2005-03-01 12:34:56 +0100", "yyyy-MM-dd HH:mm:ss Z", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("2005-03-01 12:34:56 -0830", "yyyy-MM-dd HH:mm:ss Z", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("2005-03-01 12:34:56", "yyyy-MM-dd HH:mm:ss", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("2005-03-01 12:34:56 +0100 trailing", "yyyy-MM-dd HH:mm:ss", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat(
+                "2002-11-11 14:54:19 +0000 (Mon, 11 Nov 2002)", "yyyy-MM-dd HH:mm:ss zzzzzzzzz", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("Tue Mar 01 12:34:56 2005 +0100", "EEE MMM dd HH:mm:ss yyyy Z", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("2005/03/01 12:34:56 GMT", "yyyy/MM/dd HH:mm:ss z", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("2005/3/1 2:04:05", "yyyy/MM/dd HH:mm:ss", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("20050301 123456", "yyyyMMdd HHmmss", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("01.03.2005 o'clock 12", "dd.MM.yyyy 'o''clock' HH", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("1. März 2005", "d. MMMM yyyy", Locale.GERMAN);
+        assertSameAsSimpleDateFormat("03/01/05 12:34 PM", "MM/dd/yy hh:mm a", Locale.ENGLISH);
+        // lenient like SimpleDateFormat
+        assertSameAsSimpleDateFormat("2005-02-30 12:34:56 +0100", "yyyy-MM-dd HH:mm:ss Z", Locale.ENGLISH);
+        assertSameAsSimpleDateFormat("Mon Mar 01 12:34:56 2005 +0100", "EEE MMM dd HH:mm:ss yyyy Z", Locale.ENGLISH);
+    }
+
+    @Test
+    public void testParseInZone() throws Exception {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        assertEquals(
+                format.parse("2005-03-01 12:34:56"),
+                DateParser.parse("2005-03-01 12:34:56", "yyyy-MM-dd HH:mm:ss", null, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testParseFailure() {
+        for (String text : new String[] {"", "2005-03-01", "2005-03-01 12:34:56", "no date"}) {
+            try {
+                DateParser.parse(text, "yyyy-MM-dd HH:mm:ss Z", Locale.ENGLISH);
+                fail("ParseException expected for " + text);
+            } catch (ParseException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPattern() throws Exception {
+        DateParser.parse("2005", "yyyy-bb", Locale.ENGLISH);
+    }
+
+    @Test
+    public void testParseIsoDateTime() {
+        assertEquals(
+                OffsetDateTime.of(2005, 3, 1, 12, 34, 56, 0, ZoneOffset.ofHours(1)),
+                DateParser.parseIsoDateTime("2005-03-01T12:34:56+01:00"));
+        assertEquals(
+                OffsetDateTime.of(2005, 3, 1, 12, 34, 56, 0, ZoneOffset.ofHours(1)),
+                DateParser.parseIsoDateTime("2005-03-01 12:34:56 +0100"));
+        assertEquals(
+                OffsetDateTime.of(2005, 3, 1, 12, 34, 56, 120_000_000, ZoneOffset.UTC),
+                DateParser.parseIsoDateTime("2005-03-01T12:34:56.12Z "));
+        for (String text : new String[] {"2005-03-01T12:34:56", "2005-03-01T12:34:56+01:00x", "2005-13-01T12:34:56Z"}) {
+            try {
+                DateParser.parseIsoDateTime(text);
+                fail("DateTimeParseException expected for " + text);
+            } catch (DateTimeParseException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testParseEpochSeconds() {
+        assertEquals(new Date(1112356496000L), DateParser.parseEpochSeconds("1112356496"));
+        assertEquals(new Date(1112356496000L), DateParser.parseEpochSeconds("1112356496 +0100"));
+        try {
+            DateParser.parseEpochSeconds("11123x");
+            fail("NumberFormatException expected");
+        } catch (NumberFormatException e) {
+            // expected
+        }
+    }
+}
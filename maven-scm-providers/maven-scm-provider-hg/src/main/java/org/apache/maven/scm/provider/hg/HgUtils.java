@@ -28,12 +28,12 @@
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.process.ProcessRunners;
 import org.apache.maven.scm.provider.hg.command.HgCommandConstants;
 import org.apache.maven.scm.provider.hg.command.HgConsumer;
 import org.apache.maven.scm.provider.hg.command.inventory.HgChangeSet;
 import org.apache.maven.scm.provider.hg.command.inventory.HgOutgoingConsumer;
 import org.codehaus.plexus.util.cli.CommandLineException;
-import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -150,7 +150,7 @@ static Commandline buildCmd(File workingDir, String[] cmdAndArgs) throws ScmExce
     static int executeCmd(HgConsumer consumer, Commandline cmd) throws ScmException {
         final int exitCode;
         try {
-            exitCode = CommandLineUtils.executeCommandLine(cmd, consumer, consumer);
+            exitCode = ProcessRunners.execute(cmd, consumer, consumer);
         } catch (CommandLineException ex) {
             throw new ScmException("Command could not be executed: " + cmd, ex);
         }
@@ -285,4 +285,33 @@ public RemoteInfoScmResult remoteInfo(
     }
 
     protected abstract GitCommand getRemoteInfoCommand();
+
+    /**
+     * @return the maintenance command, <code>null</code> if the provider does not support maintenance
+     * @since 2.1.1
+     */
+    protected GitCommand getMaintenanceCommand() {
+        return null;
+    }
+
+    /**
+     * Writes the structures speeding up the walks of the history of the repository, e.g. for changelogs, blames and
+     * ancestry queries, like <code>git maintenance</code> does.
+     *
+     * @param repository the repository
+     * @param fileSet the file set whose base directory is the working copy
+     * @param parameters the parameters, none are used yet
+     * @return the result of the maintenance, a failed one if the provider does not support maintenance
+     * @throws ScmException if the maintenance could not be executed
+     * @since 2.1.1
+     */
+    public ScmResult maintenance(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
+            throws ScmException {
+        GitCommand cmd = getMaintenanceCommand();
+        if (cmd == null) {
+            return new ScmResult(
+                    null, "Maintenance is not supported by the " + getScmType() + " provider", null, false);
+        }
+        return executeCommand(cmd, repository, fileSet, parameters);
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.maven.scm.provider.git.command.diff;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +29,7 @@
 
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.diff.DiffOutputStream;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 /**
@@ -89,12 +91,27 @@ public class GitDiffConsumer extends AbstractConsumer {
 
     private final StringBuilder patch = new StringBuilder();
 
+    /**
+     * Receives the patch instead of {@link #patch} and {@link #differences}, if set
+     */
+    private final DiffOutputStream patchOutput;
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
 
     public GitDiffConsumer(File workingDirectory) {
-        // empty
+        this(workingDirectory, null);
+    }
+
+    /**
+     * @param workingDirectory the working directory
+     * @param patchOutput receives the patch instead of {@link #getPatch()} and {@link #getDifferences()}, which stay
+     *            empty, or <code>null</code> to collect it
+     * @since 2.1.1
+     */
+    public GitDiffConsumer(File workingDirectory, DiffOutputStream patchOutput) {
+        this.patchOutput = patchOutput;
     }
 
     // ----------------------------------------------------------------------
@@ -102,7 +119,7 @@ public GitDiffConsumer(File workingDirectory) {
     // ----------------------------------------------------------------------
 
     /** {@inheritDoc} */
-    public void consumeLine(String line) {
+    public void consumeLine(String line) throws IOException {
         Matcher matcher = DIFF_FILES_PATTERN.matcher(line);
         if (matcher.matches()) {
             // start a new file
@@ -110,11 +127,15 @@ public void consumeLine(String line) {
 
             changedFiles.add(new ScmFile(currentFile, ScmFileStatus.MODIFIED));
 
-            currentDifference = new StringBuilder();
+            if (patchOutput != null) {
+                patchOutput.startFile(currentFile);
+            } else {
+                currentDifference = new StringBuilder();
 
-            differences.put(currentFile, currentDifference);
+                differences.put(currentFile, currentDifference);
+            }
 
-            patch.append(line).append("\n");
+            appendPatch(line);
 
             return;
         }
@@ -123,47 +144,93 @@ public void consumeLine(String line) {
             if (logger.isWarnEnabled()) {
                 logger.warn("Unparseable line: '" + line + "'");
             }
-            patch.append(line).append("\n");
+            appendPatch(line);
             return;
         } else if (line.startsWith(INDEX_LINE_TOKEN)) {
             // skip, though could parse to verify start revision and end revision
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(NEW_FILE_MODE_TOKEN) || line.startsWith(DELETED_FILE_MODE_TOKEN)) {
             // skip, though could parse to verify file mode
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(START_REVISION_TOKEN)) {
             // skip, though could parse to verify filename, start revision
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(END_REVISION_TOKEN)) {
             // skip, though could parse to verify filename, end revision
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(SIMILARITY_INDEX_LINE_TOKEN)) {
             // skip
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(RENAME_FROM_LINE_TOKEN) || line.startsWith(RENAME_TO_LINE_TOKEN)) {
             // skip, though could parse to verify filename
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(ADDED_LINE_TOKEN)
                 || line.startsWith(REMOVED_LINE_TOKEN)
                 || line.startsWith(UNCHANGED_LINE_TOKEN)
                 || line.startsWith(CHANGE_SEPARATOR_TOKEN)
                 || line.equals(NO_NEWLINE_TOKEN)) {
             // add to buffer
-            currentDifference.append(line).append("\n");
-            patch.append(line).append("\n");
+            if (currentDifference != null) {
+                currentDifference.append(line).append("\n");
+            }
+            appendPatch(line);
         } else {
             // TODO: handle property differences
 
             if (logger.isWarnEnabled()) {
                 logger.warn("Unparseable line: '" + line + "'");
             }
-            patch.append(line).append("\n");
+            appendPatch(line);
             // skip to next file
             currentFile = null;
             currentDifference = null;
         }
     }
 
+    /**
+     * Appends the lines of the differences directly from the buffer, all other lines are passed to
+     * {@link #consumeLine(String)}.
+     */
+    @Override
+    public void consumeLine(char[] buffer, int offset, int length) throws IOException {
+        if (currentFile != null && isDifferenceLine(buffer, offset, length)) {
+            if (patchOutput != null) {
+                patchOutput.writeLine(buffer, offset, length);
+            } else {
+                currentDifference.append(buffer, offset, length).append("\n");
+                patch.append(buffer, offset, length).append("\n");
+            }
+        } else {
+            consumeLine(new String(buffer, offset, length));
+        }
+    }
+
+    private void appendPatch(String line) throws IOException {
+        if (patchOutput != null) {
+            patchOutput.writeLine(line);
+        } else {
+            patch.append(line).append("\n");
+        }
+    }
+
+    /**
+     * Matches the same lines as the difference branch of {@link #consumeLine(String)}, except for the
+     * {@link #NO_NEWLINE_TOKEN}.
+     */
+    private static boolean isDifferenceLine(char[] buffer, int offset, int length) {
+        if (length == 0) {
+            return false;
+        }
+        char first = buffer[offset];
+        if (first == ' ') {
+            return true;
+        } else if (first == '+' || first == '-') {
+            // "+++" and "---" start the revision lines
+            return length < 3 || buffer[offset + 1] != first || buffer[offset + 2] != first;
+        }
+        return first == '@' && length > 1 && buffer[offset + 1] == '@';
+    }
+
     public List<ScmFile> getChangedFiles() {
         return changedFiles;
     }
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.repository.RepositoryUrl;
+import org.codehaus.plexus.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A directory of bare mirrors, one per fetch URL, which checkouts refresh and clone from instead of downloading the
+ * whole repository each time.
+ * <p>
+ * A mirror is only created and fetched while holding a lock file next to it, so the builds of one host can share the
+ * cache. Within one JVM the lock file is additionally guarded by a monitor, as file locks are held per process.
+ *
+ * @since 2.1.1
+ * @see org.apache.maven.scm.providers.gitlib.settings.Settings#getMirrorCacheDirectory()
+ */
+public class GitMirrorCache {
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitMirrorCache.class);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Creates and fetches the mirrors, as this is done differently by each provider.
+     */
+    public interface MirrorUpdater {
+        /**
+         * @param mirrorDirectory the not yet existing directory to initialize an empty bare repository in
+         * @throws ScmException if the repository cannot be created
+         */
+        void create(File mirrorDirectory) throws ScmException;
+
+        /**
+         * @param mirrorDirectory the bare repository to fetch all branches and tags of the remote into, and whose
+         *            <code>HEAD</code> to point at the default branch of the remote
+         * @throws ScmException if the fetch failed
+         */
+        void fetch(File mirrorDirectory) throws ScmException;
+    }
+
+    private final File cacheDirectory;
+
+    public GitMirrorCache(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * @return the cache configured in the git settings, <code>null</code> if none is
+     */
+    public static GitMirrorCache getConfigured() {
+        String directory = GitUtil.getSettings().getMirrorCacheDirectory();
+        return StringUtils.isBlank(directory) ? null : new GitMirrorCache(new File(directory));
+    }
+
+    /**
+     * Refreshes the mirror of the repository in the cache configured in the git settings, if any.
+     *
+     * @param repository the repository
+     * @param updater creates and fetches the mirror
+     * @param fallback what the command does without the mirror, for the warning logged when it cannot be refreshed
+     * @return the up to date mirror, <code>null</code> if no cache is configured or the mirror cannot be refreshed
+     */
+    public static File refreshConfigured(GitScmProviderRepository repository, MirrorUpdater updater, String fallback) {
+        GitMirrorCache mirrorCache = getConfigured();
+        if (mirrorCache == null) {
+            return null;
+        }
+        try {
+            return mirrorCache.refresh(repository, updater);
+        } catch (ScmException e) {
+            LOGGER.warn("Cannot refresh the mirror of " + getMirrorKey(repository.getFetchInfo()) + ", " + fallback
+                    + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * @param repository the repository
+     * @return the directory of the mirror of its fetch URL
+     */
+    public File getMirrorDirectory(GitScmProviderRepository repository) {
+        return new File(cacheDirectory, getMirrorName(getMirrorKey(repository.getFetchInfo())));
+    }
+
+    /**
+     * Creates the mirror of the repository if needed and fetches it, while holding its lock.
+     *
+     * @param repository the repository
+     * @param updater creates and fetches the mirror
+     * @return the up to date mirror
+     * @throws ScmException if the mirror cannot be locked, created or fetched
+     */
+    public File refresh(GitScmProviderRepository repository, MirrorUpdater updater) throws ScmException {
+        File mirrorDirectory = getMirrorDirectory(repository);
+        File lockFile = new File(cacheDirectory, mirrorDirectory.getName() + ".lock");
+
+        synchronized (LOCKS.computeIfAbsent(lockFile.getAbsolutePath(), path -> new Object())) {
+            try {
+                Files.createDirectories(cacheDirectory.toPath());
+                try (FileChannel channel = FileChannel.open(
+                                lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                        FileLock lock = channel.lock()) {
+                    if (!isMirror(mirrorDirectory)) {
+                        // left over by an interrupted creation
+                        FileUtils.deleteDirectory(mirrorDirectory);
+                        try {
+                            updater.create(mirrorDirectory);
+                        } catch (ScmException e) {
+                            FileUtils.deleteDirectory(mirrorDirectory);
+                            throw e;
+                        }
+                    }
+                    updater.fetch(mirrorDirectory);
+                }
+            } catch (IOException e) {
+                throw new ScmException("Cannot lock the mirror " + mirrorDirectory, e);
+            }
+        }
+        return mirrorDirectory;
+    }
+
+    private static boolean isMirror(File directory) {
+        return new File(directory, "HEAD").isFile() && new File(directory, "objects").isDirectory();
+    }
+
+    /**
+     * Normalizes a fetch URL, so that the different spellings of one remote share a mirror: the user information is
+     * dropped, the protocol and host are lower cased and trailing slashes and <code>.git</code> are removed.
+     *
+     * @param url the fetch URL
+     * @return the normalized URL
+     */
+    public static String getMirrorKey(RepositoryUrl url) {
+        StringBuilder key = new StringBuilder();
+        if (StringUtils.isNotEmpty(url.getProtocol())) {
+            key.append(url.getProtocol().toLowerCase(Locale.ROOT)).append(GitScmProviderRepository.PROTOCOL_SEPARATOR);
+        }
+        if (url.getHost() != null) {
+            key.append(url.getHost().toLowerCase(Locale.ROOT));
+        }
+        if (StringUtils.isNotEmpty(url.getPort())) {
+            key.append(':').append(url.getPort());
+        }
+
+        String path = url.getPath() == null ? "" : url.getPath();
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        path = StringUtils.removeEnd(path, ".git");
+        return key.append(path).toString();
+    }
+
+    /**
+     * @param key the normalized fetch URL
+     * @return the name of the mirror directory: the last path segment, made file system safe, followed by a hash of
+     *         the whole key
+     */
+    static String getMirrorName(String key) {
+        String name = key.substring(Math.max(key.lastIndexOf('/'), key.lastIndexOf(':')) + 1)
+                .replaceAll("[^A-Za-z0-9._-]", "_");
+
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder sb = new StringBuilder(name).append('-');
+        for (int i = 0; i < 8; i++) {
+            sb.append(HEX[(digest[i] >> 4) & 0xf]).append(HEX[digest[i] & 0xf]);
+        }
+        return sb.append(".git").toString();
+    }
+}
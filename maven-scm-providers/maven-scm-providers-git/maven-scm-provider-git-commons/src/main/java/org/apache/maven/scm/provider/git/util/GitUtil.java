@@ -20,7 +20,11 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.providers.gitlib.settings.Settings;
 import org.apache.maven.scm.providers.gitlib.settings.io.xpp3.GitXpp3Reader;
 import org.codehaus.plexus.util.ReaderFactory;
@@ -77,4 +81,26 @@ public static void setSettingsDirectory(File directory) {
     public static File getSettingsFile() {
         return new File(settingsDirectory, GIT_SETTINGS_FILENAME);
     }
+
+    /**
+     * @param fileSet the file set
+     * @return the files of the file set relative to its base directory, with forward slashes, without the base
+     *         directory itself
+     * @since 2.1.1
+     */
+    public static List<String> getRelativePaths(ScmFileSet fileSet) {
+        Path basedir = fileSet.getBasedir().toPath().toAbsolutePath();
+        List<String> paths = new ArrayList<>();
+        for (File file : fileSet.getFileList()) {
+            Path path = file.toPath();
+            if (path.isAbsolute()) {
+                path = basedir.relativize(path);
+            }
+            String relativePath = path.toString().replace(File.separatorChar, '/');
+            if (!relativePath.isEmpty()) {
+                paths.add(relativePath);
+            }
+        }
+        return paths;
+    }
 }
@@ -37,7 +37,9 @@
 import org.apache.maven.scm.provider.git.gitexe.command.checkin.GitCheckInCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.checkout.GitCheckOutCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.diff.GitDiffCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.export.GitExportCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.info.GitInfoCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.maintenance.GitMaintenanceCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.remoteinfo.GitRemoteInfoCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.remove.GitRemoveCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.status.GitStatusCommand;
@@ -91,7 +93,7 @@ protected GitCommand getDiffCommand() {
 
     /** {@inheritDoc} */
     protected GitCommand getExportCommand() {
-        return null; // X TODO
+        return new GitExportCommand(environmentVariables);
     }
 
     /** {@inheritDoc} */
@@ -134,6 +136,11 @@ protected GitCommand getRemoteInfoCommand() {
         return new GitRemoteInfoCommand(environmentVariables);
     }
 
+    /** {@inheritDoc} */
+    protected GitCommand getMaintenanceCommand() {
+        return new GitMaintenanceCommand();
+    }
+
     /** {@inheritDoc} */
     protected String getRepositoryURL(File path) throws ScmException {
         // Note: I need to supply just 1 absolute path, but ScmFileSet won't let me without
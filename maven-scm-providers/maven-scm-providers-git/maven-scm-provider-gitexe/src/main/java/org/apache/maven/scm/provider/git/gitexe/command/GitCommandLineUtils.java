@@ -18,15 +18,25 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.process.BinaryStreamConsumer;
+import org.apache.maven.scm.process.ProcessRunners;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
 import org.apache.maven.scm.provider.git.util.GitUtil;
 import org.apache.maven.scm.providers.gitlib.settings.Settings;
@@ -50,6 +60,11 @@ public final class GitCommandLineUtils {
     // https://git-scm.com/docs/git#Documentation/git.txt-codeGITSSHCOMMANDcode, requires git 2.3.0 or newer
     public static final String VARIABLE_GIT_SSH_COMMAND = "GIT_SSH_COMMAND";
 
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)\\.(\\d+)");
+
+    /** The major and minor versions by git executable, as they are only asked once. */
+    private static final ConcurrentMap<String, int[]> VERSIONS = new ConcurrentHashMap<>();
+
     private GitCommandLineUtils() {}
 
     public static void addTarget(Commandline commandLine, List<File> files) {
@@ -82,6 +97,138 @@ public static void addTarget(Commandline commandLine, List<File> files) {
         }
     }
 
+    /**
+     * Tells whether the given files should be passed with {@link #addPathspecFromStdin(Commandline)} instead of
+     * {@link #addTarget(Commandline, List)}, according to {@link Settings#getPathspecFromFileThreshold()} and the
+     * version of git.
+     *
+     * @param workingDirectory the directory to run git in
+     * @param files the files to pass to git
+     * @return <code>true</code> if a threshold is set, there are more files than it and git is 2.26 or newer
+     * @since 2.1.1
+     */
+    public static boolean isPathspecFromFile(File workingDirectory, List<File> files) {
+        int threshold = GitUtil.getSettings().getPathspecFromFileThreshold();
+        return threshold > 0
+                && files != null
+                && files.size() > threshold
+                && isGitVersionAtLeast(workingDirectory, 2, 26);
+    }
+
+    /**
+     * Makes git read the pathspecs NUL separated from the standard input, which must be fed with
+     * {@link #getPathspecInput(File, List)}. Requires git 2.26 or newer.
+     *
+     * @param commandLine the command line of a command supporting <code>--pathspec-from-file</code>
+     * @since 2.1.1
+     */
+    public static void addPathspecFromStdin(Commandline commandLine) {
+        commandLine.createArg().setValue("--pathspec-from-file=-");
+        commandLine.createArg().setValue("--pathspec-file-nul");
+    }
+
+    /**
+     * Creates the standard input for {@link #addPathspecFromStdin(Commandline)}. Unlike
+     * {@link #addTarget(Commandline, List)} only the working directory is canonicalized, relative files are taken as
+     * they are and absolute files are made relative with a plain prefix comparison. Only absolute files outside of the
+     * working directory are canonicalized.
+     *
+     * @param workingDirectory the working directory of the git process
+     * @param files the files, relative to the working directory or absolute
+     * @return the NUL separated, UTF-8 encoded paths
+     * @since 2.1.1
+     */
+    public static InputStream getPathspecInput(File workingDirectory, List<File> files) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(files.size() * 32);
+        try {
+            String absoluteWorkingDirectory = workingDirectory.getAbsolutePath();
+            String canonicalWorkingDirectory = null;
+            for (File file : files) {
+                String relativeFile = file.getPath();
+                if (file.isAbsolute()) {
+                    String relative = getRelativePath(absoluteWorkingDirectory, relativeFile);
+                    if (relative == null) {
+                        if (canonicalWorkingDirectory == null) {
+                            canonicalWorkingDirectory = workingDirectory.getCanonicalPath();
+                        }
+                        relative = getRelativePath(canonicalWorkingDirectory, file.getCanonicalPath());
+                    }
+                    if (relative != null) {
+                        relativeFile = relative;
+                    }
+                }
+
+                byte[] bytes = FilenameUtils.separatorsToUnix(relativeFile).getBytes(StandardCharsets.UTF_8);
+                out.write(bytes, 0, bytes.length);
+                out.write(0);
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(
+                    "Could not get canonical paths for workingDirectory = " + workingDirectory + " or files=" + files,
+                    ex);
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    /**
+     * @return the path relative to the directory, <code>null</code> if it is not below the directory
+     */
+    private static String getRelativePath(String directory, String path) {
+        if (!path.startsWith(directory)) {
+            return null;
+        }
+        if (path.length() == directory.length()) {
+            return ".";
+        }
+        if (directory.endsWith(File.separator)) {
+            return path.substring(directory.length());
+        }
+        if (path.startsWith(File.separator, directory.length())) {
+            return path.substring(directory.length() + File.separator.length());
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether the configured git executable is at least of the given version, for the options of newer git
+     * versions. The version is only asked once per executable.
+     *
+     * @param workingDirectory the directory to run <code>git --version</code> in
+     * @param major the major version
+     * @param minor the minor version
+     * @return <code>false</code> if the executable is older or its version cannot be told
+     * @since 2.1.1
+     */
+    public static boolean isGitVersionAtLeast(File workingDirectory, int major, int minor) {
+        int[] version = VERSIONS.computeIfAbsent(GitUtil.getSettings().getGitCommand(), executable -> {
+            Commandline cl = getBaseGitCommandLine(workingDirectory, "--version");
+            CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+            CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+            try {
+                if (execute(cl, stdout, stderr) == 0) {
+                    return parseGitVersion(stdout.getOutput());
+                }
+                LOGGER.warn("Cannot tell the git version: " + stderr.getOutput());
+            } catch (ScmException e) {
+                LOGGER.warn("Cannot tell the git version: " + e.getMessage());
+            }
+            return new int[] {0, 0};
+        });
+        return version[0] > major || version[0] == major && version[1] >= minor;
+    }
+
+    /**
+     * @param output the output of <code>git --version</code>, like <code>git version 2.39.5.windows.1</code>
+     * @return the major and minor versions, zeros if there are none
+     */
+    static int[] parseGitVersion(String output) {
+        Matcher matcher = VERSION_PATTERN.matcher(output);
+        if (!matcher.find()) {
+            return new int[] {0, 0};
+        }
+        return new int[] {Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))};
+    }
+
     /**
      * Use this only for commands not requiring environment variables (i.e. local commands).
      */
@@ -141,20 +288,7 @@ private static void composeCommand(File workingDirectory, String command, Comman
     public static int execute(
             Commandline commandline, StreamConsumer consumer, CommandLineUtils.StringStreamConsumer stderr)
             throws ScmException {
-        if (LOGGER.isInfoEnabled()) {
-            LOGGER.info("Executing: " + commandline);
-            LOGGER.info(
-                    "Working directory: " + commandline.getWorkingDirectory().getAbsolutePath());
-        }
-
-        int exitCode;
-        try {
-            exitCode = CommandLineUtils.executeCommandLine(commandline, consumer, stderr);
-        } catch (CommandLineException ex) {
-            throw new ScmException("Error while executing command.", ex);
-        }
-
-        return exitCode;
+        return execute(commandline, () -> ProcessRunners.execute(commandline, consumer, stderr));
     }
 
     public static int execute(
@@ -162,20 +296,56 @@ public static int execute(
             CommandLineUtils.StringStreamConsumer stdout,
             CommandLineUtils.StringStreamConsumer stderr)
             throws ScmException {
+        return execute(commandLine, () -> ProcessRunners.execute(commandLine, stdout, stderr));
+    }
+
+    /**
+     * Executes the command line passing its standard output as it is to the consumer, for binary output like the one
+     * of <code>git archive</code>.
+     *
+     * @since 2.1.1
+     */
+    public static int executeBinary(
+            Commandline commandline, BinaryStreamConsumer consumer, CommandLineUtils.StringStreamConsumer stderr)
+            throws ScmException {
+        return execute(commandline, () -> ProcessRunners.execute(commandline, consumer, stderr, 0));
+    }
+
+    /**
+     * Executes the command line feeding the given standard input, like the one of
+     * {@link #getPathspecInput(File, List)}.
+     *
+     * @since 2.1.1
+     */
+    public static int execute(
+            Commandline commandline,
+            InputStream input,
+            StreamConsumer consumer,
+            CommandLineUtils.StringStreamConsumer stderr)
+            throws ScmException {
+        return execute(commandline, () -> ProcessRunners.execute(commandline, input, consumer, stderr, 0));
+    }
+
+    /**
+     * Runs the command line with the given way of feeding its standard input and consuming its output.
+     */
+    private static int execute(Commandline commandline, Execution execution) throws ScmException {
         if (LOGGER.isInfoEnabled()) {
-            LOGGER.info("Executing: " + commandLine);
+            LOGGER.info("Executing: " + commandline);
             LOGGER.info(
-                    "Working directory: " + commandLine.getWorkingDirectory().getAbsolutePath());
+                    "Working directory: " + commandline.getWorkingDirectory().getAbsolutePath());
         }
 
-        int exitCode;
         try {
-            exitCode = CommandLineUtils.executeCommandLine(commandLine, stdout, stderr);
+            return execution.run();
         } catch (CommandLineException ex) {
             throw new ScmException("Error while executing command.", ex);
         }
+    }
 
-        return exitCode;
+    @FunctionalInterface
+    private interface Execution {
+        int run() throws CommandLineException;
     }
 
     static Map<String, String> prepareEnvVariablesForRepository(
@@ -19,10 +19,13 @@
 package org.apache.maven.scm.provider.git.gitexe.command.add;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.scm.ScmException;
@@ -83,19 +86,24 @@ protected ScmResult executeAddCommand(
             }
         }
 
+        Set<String> paths = new HashSet<>();
+        for (File f : fileSet.getFileList()) {
+            paths.add(FilenameUtils.separatorsToUnix(f.getPath()));
+        }
+
         List<ScmFile> changedFiles = new ArrayList<>();
 
         // rewrite all detected files to now have status 'checked_in'
         for (ScmFile scmfile : statusConsumer.getChangedFiles()) {
             // if a specific fileSet is given, we have to check if the file is really tracked
-            for (File f : fileSet.getFileList()) {
-                if (FilenameUtils.separatorsToUnix(f.getPath()).equals(scmfile.getPath())) {
-                    changedFiles.add(scmfile);
-                }
+            if (paths.contains(scmfile.getPath())) {
+                changedFiles.add(scmfile);
             }
         }
 
-        Commandline cl = createCommandLine(fileSet.getBasedir(), fileSet.getFileList());
+        Commandline cl = GitCommandLineUtils.isPathspecFromFile(fileSet.getBasedir(), fileSet.getFileList())
+                ? createPathspecFromFileCommandLine(fileSet.getBasedir())
+                : createCommandLine(fileSet.getBasedir(), fileSet.getFileList());
         return new AddScmResult(cl.toString(), changedFiles);
     }
 
@@ -110,10 +118,32 @@ public static Commandline createCommandLine(File workingDirectory, List<File> fi
         return cl;
     }
 
+    /**
+     * Creates a <code>git add</code> reading the files from the standard input, see
+     * {@link GitCommandLineUtils#getPathspecInput(File, List)}.
+     *
+     * @param workingDirectory the working directory
+     * @return the command line
+     * @since 2.1.1
+     */
+    public static Commandline createPathspecFromFileCommandLine(File workingDirectory) {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "add");
+
+        GitCommandLineUtils.addPathspecFromStdin(cl);
+
+        return cl;
+    }
+
     private AddScmResult executeAddFileSet(ScmFileSet fileSet) throws ScmException {
         File workingDirectory = fileSet.getBasedir();
         List<File> files = fileSet.getFileList();
 
+        // many files are passed on stdin to a single process, avoiding any command line length limit
+        if (GitCommandLineUtils.isPathspecFromFile(workingDirectory, files)) {
+            Commandline cl = createPathspecFromFileCommandLine(workingDirectory);
+            return executeAdd(cl, GitCommandLineUtils.getPathspecInput(workingDirectory, files));
+        }
+
         // command line can be too long for windows so add files individually (see SCM-697)
         if (Os.isFamily(Os.FAMILY_WINDOWS)) {
             for (File file : files) {
@@ -135,12 +165,14 @@ private AddScmResult executeAddFileSet(ScmFileSet fileSet) throws ScmException {
     }
 
     private AddScmResult executeAddFiles(File workingDirectory, List<File> files) throws ScmException {
-        Commandline cl = createCommandLine(workingDirectory, files);
+        return executeAdd(createCommandLine(workingDirectory, files), null);
+    }
 
+    private AddScmResult executeAdd(Commandline cl, InputStream input) throws ScmException {
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
         CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
 
-        int exitCode = GitCommandLineUtils.execute(cl, stdout, stderr);
+        int exitCode = GitCommandLineUtils.execute(cl, input, stdout, stderr);
 
         if (exitCode != 0) {
             return new AddScmResult(cl.toString(), "The git-add command failed.", stderr.getOutput(), false);
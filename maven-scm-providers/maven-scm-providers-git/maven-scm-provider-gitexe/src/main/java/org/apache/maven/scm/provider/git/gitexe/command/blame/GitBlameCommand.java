@@ -19,14 +19,20 @@
 package org.apache.maven.scm.provider.git.gitexe.command.blame;
 
 import java.io.File;
+import java.util.ArrayList;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.blame.AbstractBlameCommand;
+import org.apache.maven.scm.command.blame.BlameFileConsumer;
+import org.apache.maven.scm.command.blame.BlameLineConsumer;
 import org.apache.maven.scm.command.blame.BlameScmResult;
+import org.apache.maven.scm.command.blame.LineRange;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
@@ -34,21 +40,71 @@
 import org.codehaus.plexus.util.cli.Commandline;
 
 /**
+ * Several files are blamed by running at most as many <code>git blame</code> processes at once as given by the
+ * <code>maven.scm.gitexe.blame.threads</code> system property, by default the number of processors.
+ *
  * @author Evgeny Mandrikov
  * @author Olivier Lamy
  * @since 1.4
  */
 public class GitBlameCommand extends AbstractBlameCommand implements GitCommand {
+    public static final String THREADS_PROPERTY = "maven.scm.gitexe.blame.threads";
 
     @Override
     protected ScmResult executeCommand(
             ScmProviderRepository repository, ScmFileSet workingDirectory, CommandParameters parameters)
             throws ScmException {
+        BlameFileConsumer fileConsumer = parameters.getBlameFileConsumer(CommandParameter.BLAME_FILE_CONSUMER, null);
+        if (fileConsumer != null) {
+            return executeBlameFilesCommand(repository, workingDirectory, parameters, fileConsumer);
+        }
+
         String filename = parameters.getString(CommandParameter.FILE);
+        LineRange[] lineRanges = parameters.getLineRanges(CommandParameter.LINE_RANGES, null);
+        BlameLineConsumer blameLineConsumer =
+                parameters.getBlameLineConsumer(CommandParameter.BLAME_LINE_CONSUMER, null);
         Commandline cl = createCommandLine(
                 workingDirectory.getBasedir(),
                 filename,
-                parameters.getBoolean(CommandParameter.IGNORE_WHITESPACE, false));
+                parameters.getBoolean(CommandParameter.IGNORE_WHITESPACE, false),
+                lineRanges,
+                blameLineConsumer != null,
+                getRevision(parameters));
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        if (blameLineConsumer != null) {
+            GitBlameIncrementalConsumer consumer = new GitBlameIncrementalConsumer(blameLineConsumer);
+            int exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+            if (exitCode != 0) {
+                return new BlameScmResult(cl.toString(), "The git blame command failed.", stderr.getOutput(), false);
+            }
+            return new BlameScmResult(cl.toString(), new ArrayList<>());
+        }
+
+        return blame(cl);
+    }
+
+    @Override
+    protected BlameScmResult executeBlameFilesCommand(
+            ScmProviderRepository repository,
+            ScmFileSet workingDirectory,
+            CommandParameters parameters,
+            BlameFileConsumer consumer)
+            throws ScmException {
+        boolean ignoreWhitespace = parameters.getBoolean(CommandParameter.IGNORE_WHITESPACE, false);
+        String revision = getRevision(parameters);
+        int threads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+        blameFiles(
+                getFilenames(workingDirectory),
+                threads,
+                filename -> blame(createCommandLine(
+                        workingDirectory.getBasedir(), filename, ignoreWhitespace, null, false, revision)),
+                consumer);
+        return new BlameScmResult("git blame", new ArrayList<>());
+    }
+
+    private static BlameScmResult blame(Commandline cl) throws ScmException {
         GitBlameConsumer consumer = new GitBlameConsumer();
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -59,6 +115,11 @@ protected ScmResult executeCommand(
         return new BlameScmResult(cl.toString(), consumer.getLines());
     }
 
+    private static String getRevision(CommandParameters parameters) throws ScmException {
+        ScmVersion version = parameters.getScmVersion(CommandParameter.SCM_VERSION, null);
+        return version != null && StringUtils.isNotEmpty(version.getName()) ? version.getName() : null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -71,12 +132,52 @@ public BlameScmResult executeBlameCommand(ScmProviderRepository repo, ScmFileSet
     }
 
     protected static Commandline createCommandLine(File workingDirectory, String filename, boolean ignoreWhitespace) {
+        return createCommandLine(workingDirectory, filename, ignoreWhitespace, null, false);
+    }
+
+    /**
+     * @param lineRanges the line ranges to blame, <code>null</code> for the whole file
+     * @param incremental if <code>true</code> use the <code>--incremental</code> instead of the porcelain format
+     * @since 2.1.1
+     */
+    protected static Commandline createCommandLine(
+            File workingDirectory,
+            String filename,
+            boolean ignoreWhitespace,
+            LineRange[] lineRanges,
+            boolean incremental) {
+        return createCommandLine(workingDirectory, filename, ignoreWhitespace, lineRanges, incremental, null);
+    }
+
+    /**
+     * @param lineRanges the line ranges to blame, <code>null</code> for the whole file
+     * @param incremental if <code>true</code> use the <code>--incremental</code> instead of the porcelain format
+     * @param revision the revision to blame, <code>null</code> for the working tree
+     * @since 2.1.1
+     */
+    protected static Commandline createCommandLine(
+            File workingDirectory,
+            String filename,
+            boolean ignoreWhitespace,
+            LineRange[] lineRanges,
+            boolean incremental,
+            String revision) {
         Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "blame");
-        cl.createArg().setValue("--porcelain");
-        cl.createArg().setValue(filename);
+        cl.createArg().setValue(incremental ? "--incremental" : "--porcelain");
+        if (lineRanges != null) {
+            for (LineRange lineRange : lineRanges) {
+                cl.createArg().setValue("-L");
+                cl.createArg().setValue(lineRange.getStartLine() + "," + lineRange.getEndLine());
+            }
+        }
         if (ignoreWhitespace) {
             cl.createArg().setValue("-w");
         }
+        if (revision != null) {
+            cl.createArg().setValue(revision);
+        }
+        cl.createArg().setValue("--");
+        cl.createArg().setValue(filename);
         return cl;
     }
 }
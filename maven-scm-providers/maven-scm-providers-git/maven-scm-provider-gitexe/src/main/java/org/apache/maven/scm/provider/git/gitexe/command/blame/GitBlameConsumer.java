@@ -28,6 +28,7 @@
 
 import org.apache.maven.scm.command.blame.BlameLine;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
 
 /**
  * Parses the --porcelain format of git-blame
@@ -102,7 +103,7 @@ public void consumeLine(String line) {
 
             if (line.startsWith(GIT_COMMITTER_TIME)) {
                 String timeStr = line.substring(GIT_COMMITTER_TIME.length());
-                time = new Date(Long.parseLong(timeStr) * 1000L);
+                time = DateParser.parseEpochSeconds(timeStr);
                 return;
             }
 
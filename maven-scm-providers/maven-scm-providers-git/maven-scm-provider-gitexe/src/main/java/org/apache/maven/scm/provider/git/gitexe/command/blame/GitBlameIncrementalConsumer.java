@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.blame;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameLineConsumer;
+import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
+
+/**
+ * Parses the output of <code>git blame --incremental</code> and passes each line to a {@link BlameLineConsumer} as
+ * soon as git has resolved it.
+ * <p>
+ * Each entry starts with <code>&lt;sha-1&gt; &lt;source line&gt; &lt;result line&gt; &lt;number of lines&gt;</code>,
+ * followed by the commit information the first time the commit appears, and ends with a <code>filename</code> line.
+ * Unlike the porcelain format, the file content is not part of the output and the entries come in the order git
+ * resolves them.
+ *
+ * @since 2.1.1
+ */
+public class GitBlameIncrementalConsumer extends AbstractConsumer {
+    private static final String GIT_COMMITTER = "committer ";
+    private static final String GIT_COMMITTER_TIME = "committer-time ";
+    private static final String GIT_AUTHOR = "author ";
+    private static final String GIT_FILENAME = "filename ";
+
+    private final BlameLineConsumer blameLineConsumer;
+
+    /**
+     * The commit information of each sha-1 seen so far, which is only printed the first time
+     */
+    private final Map<String, BlameLine> commitInfo = new HashMap<>();
+
+    private boolean expectRevisionLine = true;
+
+    private String revision;
+    private int resultLine;
+    private int lineCount;
+    private String author;
+    private String committer;
+    private Date time;
+
+    public GitBlameIncrementalConsumer(BlameLineConsumer blameLineConsumer) {
+        this.blameLineConsumer = blameLineConsumer;
+    }
+
+    public void consumeLine(String line) {
+        if (line == null || line.isEmpty()) {
+            return;
+        }
+
+        if (expectRevisionLine) {
+            String[] parts = line.split(" ", 5);
+            if (parts.length < 4) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Unparseable line: '" + line + "'");
+                }
+                return;
+            }
+            revision = parts[0];
+            resultLine = Integer.parseInt(parts[2]);
+            lineCount = Integer.parseInt(parts[3]);
+
+            BlameLine oldLine = commitInfo.get(revision);
+            if (oldLine != null) {
+                author = oldLine.getAuthor();
+                committer = oldLine.getCommitter();
+                time = oldLine.getDate();
+            } else {
+                author = null;
+                committer = null;
+                time = null;
+            }
+            expectRevisionLine = false;
+        } else if (line.startsWith(GIT_AUTHOR)) {
+            author = line.substring(GIT_AUTHOR.length());
+        } else if (line.startsWith(GIT_COMMITTER)) {
+            committer = line.substring(GIT_COMMITTER.length());
+        } else if (line.startsWith(GIT_COMMITTER_TIME)) {
+            time = DateParser.parseEpochSeconds(line.substring(GIT_COMMITTER_TIME.length()));
+        } else if (line.startsWith(GIT_FILENAME)) {
+            // the last line of each entry
+            commitInfo.computeIfAbsent(revision, r -> new BlameLine(time, r, author, committer));
+            for (int i = 0; i < lineCount; i++) {
+                blameLineConsumer.consumeBlameLine(resultLine + i, new BlameLine(time, revision, author, committer));
+            }
+            expectRevisionLine = true;
+        }
+    }
+}
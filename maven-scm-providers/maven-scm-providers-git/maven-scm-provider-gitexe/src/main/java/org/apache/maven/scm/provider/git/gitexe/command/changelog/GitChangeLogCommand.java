@@ -35,6 +35,7 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
@@ -63,7 +64,8 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
                 parameters.getScmVersion(CommandParameter.START_SCM_VERSION, null),
                 parameters.getScmVersion(CommandParameter.END_SCM_VERSION, null),
                 parameters.getInt(CommandParameter.LIMIT, -1),
-                parameters.getScmVersion(CommandParameter.SCM_VERSION, null));
+                parameters.getScmVersion(CommandParameter.SCM_VERSION, null),
+                parameters.getChangeSetConsumer(CommandParameter.CHANGESET_CONSUMER, null));
     }
 
     /** {@inheritDoc} */
@@ -125,6 +127,7 @@ protected ChangeLogScmResult executeChangeLogCommand(ChangeLogScmRequest request
         final Date endDate = request.getEndDate();
         final ScmBranch branch = request.getScmBranch();
         final Integer limit = request.getLimit();
+        final ChangeSetConsumer changeSetConsumer = request.getChangeSetConsumer();
 
         return executeChangeLogCommand(
                 providerRepository,
@@ -136,7 +139,8 @@ protected ChangeLogScmResult executeChangeLogCommand(ChangeLogScmRequest request
                 startVersion,
                 endVersion,
                 limit,
-                revision);
+                revision,
+                changeSetConsumer);
     }
 
     protected ChangeLogScmResult executeChangeLogCommand(
@@ -166,6 +170,29 @@ protected ChangeLogScmResult executeChangeLogCommand(
             Integer limit,
             ScmVersion version)
             throws ScmException {
+        return executeChangeLogCommand(
+                repo, fileSet, startDate, endDate, branch, datePattern, startVersion, endVersion, limit, version, null);
+    }
+
+    /**
+     * @param datePattern ignored, as the dates are read from git as seconds since the epoch
+     * @param changeSetConsumer receives each change set while the git output is parsed, the returned
+     *                          {@link ChangeLogSet} is empty then. If <code>null</code> all change sets are collected.
+     * @since 2.1.1
+     */
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repo,
+            ScmFileSet fileSet,
+            Date startDate,
+            Date endDate,
+            ScmBranch branch,
+            String datePattern,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            Integer limit,
+            ScmVersion version,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
         Commandline cl = createCommandLine(
                 (GitScmProviderRepository) repo,
                 fileSet.getBasedir(),
@@ -177,13 +204,14 @@ protected ChangeLogScmResult executeChangeLogCommand(
                 limit,
                 version);
 
-        GitChangeLogConsumer consumer = new GitChangeLogConsumer(datePattern);
+        GitChangeLogZConsumer consumer = new GitChangeLogZConsumer(changeSetConsumer);
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
         int exitCode;
 
-        exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+        // the output is read verbatim, as line terminators belong to the commit messages and paths
+        exitCode = GitCommandLineUtils.executeBinary(cl, consumer, stderr);
         if (exitCode != 0) {
             return new ChangeLogScmResult(cl.toString(), "The git-log command failed.", stderr.getOutput(), false);
         }
@@ -199,7 +227,8 @@ protected ChangeLogScmResult executeChangeLogCommand(
     // ----------------------------------------------------------------------
 
     /**
-     * This method creates the commandline for the git-whatchanged command.
+     * This method creates the commandline for the git-log command. The output is NUL delimited and formatted with
+     * {@link GitChangeLogZConsumer#FORMAT}.
      * <p>
      * Since it uses --since and --until for the start and end date, the branch
      * and version parameters can be used simultanously.
@@ -251,9 +280,11 @@ static Commandline createCommandLine(
         SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
         dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
 
-        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "whatchanged");
-        cl.createArg().setValue("--format=medium");
-        cl.createArg().setValue("--decorate=short");
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "log");
+        cl.createArg().setValue("-z");
+        cl.createArg().setValue("--format=" + GitChangeLogZConsumer.FORMAT);
+        // the consumer reads UTF-8, whatever i18n.logOutputEncoding says
+        cl.createArg().setValue("--encoding=UTF-8");
         cl.createArg().setValue("--raw");
         cl.createArg().setValue("--no-merges");
 
@@ -267,10 +298,6 @@ static Commandline createCommandLine(
             }
         }
 
-        // since this parameter is also used for the output formatting, we need it also if no start nor end date is
-        // given
-        cl.createArg().setValue("--date=iso");
-
         if (startVersion != null || endVersion != null) {
             StringBuilder versionRange = new StringBuilder();
 
@@ -19,11 +19,9 @@
 package org.apache.maven.scm.provider.git.gitexe.command.changelog;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,8 +29,12 @@
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
 
 /**
+ * Parses the output of <code>git whatchanged --format=medium</code>. {@link GitChangeLogCommand} uses the
+ * {@link GitChangeLogZConsumer} instead.
+ *
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
  * @author Olivier Lamy
  *
@@ -338,13 +340,10 @@ private void processGetRawAuthor(String line) {
         currentChange.setAuthor(author);
 
         String datestring = matcher.group(2);
-        String tz = matcher.group(3);
 
         // with --format=raw option (which gets us to this methods), date is always in seconds since beginning of time
         // even explicit --date=iso is ignored, so we ignore both userDateFormat and GIT_TIMESTAMP_PATTERN here
-        Calendar c = Calendar.getInstance(TimeZone.getTimeZone(tz));
-        c.setTimeInMillis(Long.parseLong(datestring) * 1000);
-        currentChange.setDate(c.getTime());
+        currentChange.setDate(DateParser.parseEpochSeconds(datestring));
 
         status = STATUS_RAW_COMMITTER;
     }
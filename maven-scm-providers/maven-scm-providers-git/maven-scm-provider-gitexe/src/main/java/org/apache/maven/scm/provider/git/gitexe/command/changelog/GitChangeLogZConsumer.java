@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.changelog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
+import org.apache.maven.scm.process.BinaryStreamConsumer;
+import org.apache.maven.scm.util.DateParser;
+
+/**
+ * Parses the output of <code>git log -z --raw --format={@value #FORMAT}</code>.
+ * <p>
+ * Each commit starts with a record separator and carries its header fields separated by unit separators, followed
+ * by the NUL terminated <code>--raw</code> file records. The output is tokenized character by character, so neither
+ * regular expressions nor date patterns are involved. The dates are read as seconds since the epoch.
+ * <p>
+ * The UTF-8 output is read verbatim as a {@link BinaryStreamConsumer}, never split into lines, so the carriage returns
+ * of commit messages and paths are kept. The committer is not read, as {@link ChangeSet} has no place for it.
+ *
+ * @since 2.1.1
+ */
+public class GitChangeLogZConsumer implements BinaryStreamConsumer {
+    /**
+     * The <code>--format</code> the output must have been created with.
+     */
+    public static final String FORMAT = "%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f";
+
+    private static final char RECORD_SEPARATOR = '\u001e';
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+
+    private static final char NUL = '\0';
+
+    private static final int FIELD_HASH = 0;
+
+    private static final int FIELD_PARENTS = 1;
+
+    private static final int FIELD_AUTHOR_TIME = 2;
+
+    private static final int FIELD_AUTHOR_NAME = 3;
+
+    private static final int FIELD_AUTHOR_EMAIL = 4;
+
+    private static final int FIELD_REFS = 5;
+
+    private static final int FIELD_BODY = 6;
+
+    private static final int FIELD_COUNT = 7;
+
+    /**
+     * Parser state: waiting for the first record separator
+     */
+    private static final int NO_RECORD = -1;
+
+    private static final String TAG_PREFIX = "tag: ";
+
+    private static final String REF_SEPARATOR = ", ";
+
+    /**
+     * List of change log entries
+     */
+    private final List<ChangeSet> entries = new ArrayList<>();
+
+    /**
+     * Receives the change sets instead of {@link #entries}, if set
+     */
+    private final ChangeSetConsumer changeSetConsumer;
+
+    /**
+     * The header fields of the current record
+     */
+    private final String[] fields = new String[FIELD_COUNT];
+
+    /**
+     * The characters of the current field or file record
+     */
+    private final StringBuilder token = new StringBuilder();
+
+    /**
+     * Index of the header field being read, {@link #FIELD_COUNT} once reading the file records
+     */
+    private int field = NO_RECORD;
+
+    /**
+     * The current log entry being processed by the parser
+     */
+    private ChangeSet currentChange;
+
+    /**
+     * The action of the file record being read
+     */
+    private ScmFileStatus currentAction;
+
+    /**
+     * The source path of a rename or copy
+     */
+    private String currentOriginalName;
+
+    /**
+     * The number of paths still expected for the current file record
+     */
+    private int pendingPaths;
+
+    public GitChangeLogZConsumer() {
+        this(null);
+    }
+
+    /**
+     * @param changeSetConsumer receives each parsed change set, or <code>null</code> to collect them
+     */
+    public GitChangeLogZConsumer(ChangeSetConsumer changeSetConsumer) {
+        this.changeSetConsumer = changeSetConsumer;
+    }
+
+    public List<ChangeSet> getModifications() {
+        // the last record is not followed by a record separator
+        if (field == FIELD_COUNT) {
+            endChangeSet();
+        }
+        field = NO_RECORD;
+
+        return entries;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consume(InputStream stream) throws IOException {
+        Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                consume(buffer[i]);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    //
+    // ----------------------------------------------------------------------
+
+    private void consume(char c) {
+        if (field == NO_RECORD) {
+            if (c == RECORD_SEPARATOR) {
+                field = FIELD_HASH;
+            }
+        } else if (field < FIELD_COUNT) {
+            if (c == FIELD_SEPARATOR) {
+                fields[field++] = token.toString();
+                token.setLength(0);
+                if (field == FIELD_COUNT) {
+                    startChangeSet();
+                }
+            } else {
+                token.append(c);
+            }
+        } else if (c == NUL) {
+            processFileToken();
+            token.setLength(0);
+        } else if (token.length() == 0 && pendingPaths == 0) {
+            // between two file records only a new record or the next file status may start
+            if (c == RECORD_SEPARATOR) {
+                endChangeSet();
+                field = FIELD_HASH;
+            } else if (c != '\n') {
+                token.append(c);
+            }
+        } else {
+            token.append(c);
+        }
+    }
+
+    private void startChangeSet() {
+        currentChange = new ChangeSet();
+        currentChange.setRevision(fields[FIELD_HASH]);
+
+        String parents = fields[FIELD_PARENTS];
+        int start = 0;
+        while (start < parents.length()) {
+            int end = parents.indexOf(' ', start);
+            if (end < 0) {
+                end = parents.length();
+            }
+            if (end > start) {
+                addParentRevision(parents.substring(start, end));
+            }
+            start = end + 1;
+        }
+
+        currentChange.setDate(DateParser.parseEpochSeconds(fields[FIELD_AUTHOR_TIME]));
+        currentChange.setAuthor(fields[FIELD_AUTHOR_NAME] + " <" + fields[FIELD_AUTHOR_EMAIL] + ">");
+
+        String refs = fields[FIELD_REFS];
+        start = 0;
+        while (start < refs.length()) {
+            int end = refs.indexOf(REF_SEPARATOR, start);
+            if (end < 0) {
+                end = refs.length();
+            }
+            if (refs.startsWith(TAG_PREFIX, start)) {
+                currentChange.addTag(refs.substring(start + TAG_PREFIX.length(), end));
+            }
+            start = end + REF_SEPARATOR.length();
+        }
+
+        String body = fields[FIELD_BODY];
+        int end = body.length();
+        while (end > 0 && body.charAt(end - 1) == '\n') {
+            end--;
+        }
+        currentChange.setComment(body.substring(0, end));
+
+        currentChange.setFiles(new ArrayList<>());
+        pendingPaths = 0;
+    }
+
+    /**
+     * In git log, both parent and merged revisions are called parent. Fortunately, the real parent comes first in the
+     * log. This method takes care of the difference.
+     *
+     * @param hash -
+     */
+    private void addParentRevision(String hash) {
+        if (currentChange.getParentRevision() == null) {
+            currentChange.setParentRevision(hash);
+        } else {
+            currentChange.addMergedRevision(hash);
+        }
+    }
+
+    /**
+     * Processes a NUL terminated token of the file records: either a status like
+     * <code>:100644 100644 bcd1234 0123456 M</code> or one of the paths following it.
+     */
+    private void processFileToken() {
+        if (pendingPaths == 0) {
+            if (token.length() == 0 || token.charAt(0) != ':') {
+                return;
+            }
+            char actionChar = token.charAt(token.lastIndexOf(" ") + 1);
+            currentOriginalName = null;
+            switch (actionChar) {
+                case 'A':
+                    currentAction = ScmFileStatus.ADDED;
+                    pendingPaths = 1;
+                    break;
+                case 'M':
+                    currentAction = ScmFileStatus.MODIFIED;
+                    pendingPaths = 1;
+                    break;
+                case 'D':
+                    currentAction = ScmFileStatus.DELETED;
+                    pendingPaths = 1;
+                    break;
+                case 'R':
+                    currentAction = ScmFileStatus.RENAMED;
+                    pendingPaths = 2;
+                    break;
+                case 'C':
+                    currentAction = ScmFileStatus.COPIED;
+                    pendingPaths = 2;
+                    break;
+                default:
+                    currentAction = ScmFileStatus.UNKNOWN;
+                    pendingPaths = 1;
+            }
+        } else if (--pendingPaths > 0) {
+            currentOriginalName = token.toString();
+        } else {
+            ChangeFile changeFile = new ChangeFile(token.toString(), currentChange.getRevision());
+            changeFile.setAction(currentAction);
+            if (currentOriginalName != null) {
+                changeFile.setOriginalName(currentOriginalName);
+                changeFile.setOriginalRevision(currentChange.getParentRevision());
+            }
+            currentChange.addFile(changeFile);
+        }
+    }
+
+    private void endChangeSet() {
+        if (changeSetConsumer != null) {
+            changeSetConsumer.consumeChangeSet(currentChange);
+        } else {
+            entries.add(currentChange);
+        }
+        currentChange = null;
+        token.setLength(0);
+        pendingPaths = 0;
+    }
+}
@@ -23,8 +23,10 @@
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.scm.ScmException;
@@ -89,8 +91,16 @@ protected CheckInScmResult executeCheckInCommand(
 
                 Commandline clAdd = null;
 
-                // SCM-714: Workaround for the Windows terminal command limit
-                if (Os.isFamily(Os.FAMILY_WINDOWS)) {
+                if (GitCommandLineUtils.isPathspecFromFile(fileSet.getBasedir(), fileSet.getFileList())) {
+                    // a single process reading the files from stdin, not bound to any command line limit
+                    clAdd = GitAddCommand.createPathspecFromFileCommandLine(fileSet.getBasedir());
+                    exitCode = GitCommandLineUtils.execute(
+                            clAdd,
+                            GitCommandLineUtils.getPathspecInput(fileSet.getBasedir(), fileSet.getFileList()),
+                            stdout,
+                            stderr);
+                } else if (Os.isFamily(Os.FAMILY_WINDOWS)) {
+                    // SCM-714: Workaround for the Windows terminal command limit
                     for (File file : fileSet.getFileList()) {
                         clAdd = GitAddCommand.createCommandLine(fileSet.getBasedir(), Collections.singletonList(file));
                         exitCode = GitCommandLineUtils.execute(clAdd, stdout, stderr);
@@ -154,19 +164,16 @@ protected CheckInScmResult executeCheckInCommand(
             List<ScmFile> checkedInFiles =
                     new ArrayList<>(statusConsumer.getChangedFiles().size());
 
+            Set<String> paths = new HashSet<>();
+            for (File f : fileSet.getFileList()) {
+                paths.add(FilenameUtils.separatorsToUnix(f.getPath()));
+            }
+
             // rewrite all detected files to now have status 'checked_in'
             for (ScmFile changedFile : statusConsumer.getChangedFiles()) {
-                ScmFile scmfile = new ScmFile(changedFile.getPath(), ScmFileStatus.CHECKED_IN);
-
-                if (fileSet.getFileList().isEmpty()) {
-                    checkedInFiles.add(scmfile);
-                } else {
-                    // if a specific fileSet is given, we have to check if the file is really tracked
-                    for (File f : fileSet.getFileList()) {
-                        if (FilenameUtils.separatorsToUnix(f.getPath()).equals(scmfile.getPath())) {
-                            checkedInFiles.add(scmfile);
-                        }
-                    }
+                // if a specific fileSet is given, we have to check if the file is really tracked
+                if (paths.isEmpty() || paths.contains(changedFile.getPath())) {
+                    checkedInFiles.add(new ScmFile(changedFile.getPath(), ScmFileStatus.CHECKED_IN));
                 }
             }
 
@@ -19,6 +19,8 @@
 package org.apache.maven.scm.provider.git.gitexe.command.checkout;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -41,6 +43,8 @@
 import org.apache.maven.scm.provider.git.gitexe.command.list.GitListConsumer;
 import org.apache.maven.scm.provider.git.gitexe.command.remoteinfo.GitRemoteInfoCommand;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitMirrorCache;
+import org.apache.maven.scm.provider.git.util.GitUtil;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -70,6 +74,11 @@ public ScmResult executeCommand(ScmProviderRepository repo, ScmFileSet fileSet,
         ScmVersion version = parameters.getScmVersion(CommandParameter.SCM_VERSION, null);
         boolean binary = parameters.getBoolean(CommandParameter.BINARY, false);
         boolean shallow = parameters.getBoolean(CommandParameter.SHALLOW, false);
+        int depth = parameters.getInt(CommandParameter.DEPTH, shallow ? 1 : 0);
+        String filter = parameters.getString(CommandParameter.CLONE_FILTER, null);
+        List<String> sparseDirectories = parameters.getBoolean(CommandParameter.SPARSE_CHECKOUT, false)
+                ? GitUtil.getRelativePaths(fileSet)
+                : Collections.emptyList();
 
         GitScmProviderRepository repository = (GitScmProviderRepository) repo;
 
@@ -97,7 +106,17 @@ public ScmResult executeCommand(ScmProviderRepository repo, ScmFileSet fileSet,
             }
 
             // no git repo seems to exist, let's clone the original repo
-            Commandline gitClone = createCloneCommand(repository, fileSet.getBasedir(), version, binary, shallow);
+            File mirror = GitMirrorCache.refreshConfigured(
+                    repository, new GitMirrorUpdater(repository, environmentVariables), "cloning without it");
+            Commandline gitClone = createCloneCommand(
+                    repository,
+                    fileSet.getBasedir(),
+                    version,
+                    binary,
+                    depth,
+                    filter,
+                    !sparseDirectories.isEmpty(),
+                    mirror);
 
             exitCode = GitCommandLineUtils.execute(gitClone, stdout, stderr);
             if (exitCode != 0) {
@@ -107,6 +126,21 @@ public ScmResult executeCommand(ScmProviderRepository repo, ScmFileSet fileSet,
             lastCommandLine = gitClone.toString();
         }
 
+        if (!sparseDirectories.isEmpty()) {
+            // done before pulling, so that only the directories of the cone are ever populated
+            Commandline gitSparseCheckout = createSparseCheckoutCommand(fileSet.getBasedir(), sparseDirectories);
+
+            exitCode = GitCommandLineUtils.execute(gitSparseCheckout, stdout, stderr);
+            if (exitCode != 0) {
+                return new CheckOutScmResult(
+                        gitSparseCheckout.toString(),
+                        "The git sparse-checkout command failed.",
+                        stderr.getOutput(),
+                        false);
+            }
+            lastCommandLine = gitSparseCheckout.toString();
+        }
+
         GitRemoteInfoCommand gitRemoteInfoCommand = new GitRemoteInfoCommand(environmentVariables);
 
         RemoteInfoScmResult result = gitRemoteInfoCommand.executeRemoteInfoCommand(repository, null, null);
@@ -171,16 +205,36 @@ private Commandline createCloneCommand(
             File workingDirectory,
             ScmVersion version,
             boolean binary,
-            boolean shallow) {
+            int depth,
+            String filter,
+            boolean sparse,
+            File mirror) {
         Commandline gitClone = GitCommandLineUtils.getBaseGitCommandLine(
                 workingDirectory.getParentFile(), "clone", repository, environmentVariables);
 
         forceBinary(gitClone, binary);
 
-        if (shallow) {
+        if (mirror != null) {
+            // only the objects missing from the mirror are downloaded, the others are shared through alternates
+            gitClone.createArg().setValue("--reference");
+
+            gitClone.createArg().setValue(mirror.getAbsolutePath());
+        }
+
+        if (depth > 0) {
             gitClone.createArg().setValue("--depth");
 
-            gitClone.createArg().setValue("1");
+            gitClone.createArg().setValue(Integer.toString(depth));
+        }
+
+        if (StringUtils.isNotEmpty(filter)) {
+            // a partial clone, the filtered objects are fetched when needed
+            gitClone.createArg().setValue("--filter=" + filter);
+        }
+
+        if (sparse) {
+            // only the files at the top level are checked out until the cone is set
+            gitClone.createArg().setValue("--sparse");
         }
 
         if (version != null && (version instanceof ScmBranch)) {
@@ -197,6 +251,19 @@ private Commandline createCloneCommand(
         return gitClone;
     }
 
+    /**
+     * Create a git-sparse-checkout command restricting the working tree to the given directories in cone mode.
+     */
+    private static Commandline createSparseCheckoutCommand(File workingDirectory, List<String> directories) {
+        Commandline gitSparseCheckout = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "sparse-checkout");
+        gitSparseCheckout.createArg().setValue("set");
+        gitSparseCheckout.createArg().setValue("--cone");
+        for (String directory : directories) {
+            gitSparseCheckout.createArg().setValue(directory);
+        }
+        return gitSparseCheckout;
+    }
+
     private void forceBinary(Commandline commandLine, boolean binary) {
         if (binary) {
             commandLine.createArg().setValue("-c");
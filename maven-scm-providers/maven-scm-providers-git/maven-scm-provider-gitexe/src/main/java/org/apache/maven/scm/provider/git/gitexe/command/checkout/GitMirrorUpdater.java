@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.checkout;
+
+import java.io.File;
+import java.util.Map;
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitMirrorCache;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+/**
+ * Creates and fetches the mirrors of a {@link GitMirrorCache} with the git executable.
+ *
+ * @since 2.1.1
+ */
+public class GitMirrorUpdater implements GitMirrorCache.MirrorUpdater {
+    private final GitScmProviderRepository repository;
+
+    private final Map<String, String> environmentVariables;
+
+    public GitMirrorUpdater(GitScmProviderRepository repository, Map<String, String> environmentVariables) {
+        this.repository = repository;
+        this.environmentVariables = environmentVariables;
+    }
+
+    @Override
+    public void create(File mirrorDirectory) throws ScmException {
+        Commandline gitInit = GitCommandLineUtils.getBaseGitCommandLine(mirrorDirectory.getParentFile(), "init");
+        gitInit.createArg().setValue("--bare");
+        gitInit.createArg().setValue(mirrorDirectory.getName());
+        execute(gitInit, "The git init command failed.");
+
+        // working copies borrow objects from the mirror, so they must never be pruned by an automatic gc
+        Commandline gitConfig = GitCommandLineUtils.getBaseGitCommandLine(mirrorDirectory, "config");
+        gitConfig.createArg().setValue("gc.auto");
+        gitConfig.createArg().setValue("0");
+        execute(gitConfig, "The git config command failed.");
+    }
+
+    @Override
+    public void fetch(File mirrorDirectory) throws ScmException {
+        // the URL is passed each time instead of being configured, as it may hold credentials
+        Commandline gitFetch =
+                GitCommandLineUtils.getBaseGitCommandLine(mirrorDirectory, "fetch", repository, environmentVariables);
+        gitFetch.createArg().setValue("--prune");
+        gitFetch.createArg().setValue(repository.getFetchUrl());
+        gitFetch.createArg().setValue("+refs/heads/*:refs/heads/*");
+        gitFetch.createArg().setValue("+refs/tags/*:refs/tags/*");
+        execute(gitFetch, "The git fetch command failed.");
+
+        // the HEAD of the mirror follows the default branch of the remote, if it advertises one
+        Commandline gitLsRemote = GitCommandLineUtils.getBaseGitCommandLine(
+                mirrorDirectory, "ls-remote", repository, environmentVariables);
+        gitLsRemote.createArg().setValue("--symref");
+        gitLsRemote.createArg().setValue(repository.getFetchUrl());
+        gitLsRemote.createArg().setValue("HEAD");
+        String head = getRemoteHead(execute(gitLsRemote, "The git ls-remote command failed."));
+        if (head != null) {
+            Commandline gitSymbolicRef = GitCommandLineUtils.getBaseGitCommandLine(mirrorDirectory, "symbolic-ref");
+            gitSymbolicRef.createArg().setValue("HEAD");
+            gitSymbolicRef.createArg().setValue(head);
+            execute(gitSymbolicRef, "The git symbolic-ref command failed.");
+        }
+    }
+
+    /**
+     * @param lsRemoteOutput the output of <code>git ls-remote --symref &lt;url&gt; HEAD</code>
+     * @return the branch the HEAD of the remote points at, <code>null</code> if it advertises none
+     */
+    static String getRemoteHead(String lsRemoteOutput) {
+        for (String line : lsRemoteOutput.split("\n")) {
+            if (line.startsWith("ref: ") && line.endsWith("\tHEAD")) {
+                return line.substring("ref: ".length(), line.length() - "\tHEAD".length());
+            }
+        }
+        return null;
+    }
+
+    private static String execute(Commandline cl, String message) throws ScmException {
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        if (GitCommandLineUtils.execute(cl, stdout, stderr) != 0) {
+            throw new ScmException(message + " " + stderr.getOutput());
+        }
+        return stdout.getOutput();
+    }
+}
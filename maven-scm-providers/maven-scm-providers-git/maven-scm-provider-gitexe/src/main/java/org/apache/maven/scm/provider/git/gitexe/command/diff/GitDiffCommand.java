@@ -19,12 +19,17 @@
 package org.apache.maven.scm.provider.git.gitexe.command.diff;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.diff.AbstractDiffCommand;
+import org.apache.maven.scm.command.diff.DiffFileOffset;
+import org.apache.maven.scm.command.diff.DiffOutputStream;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
@@ -65,6 +70,47 @@ protected DiffScmResult executeDiffCommand(
                 clDiff2Index.toString(), consumer.getChangedFiles(), consumer.getDifferences(), consumer.getPatch());
     }
 
+    /**
+     * Streams the output of git straight to the given stream, only the changed files are kept in memory.
+     */
+    @Override
+    protected DiffScmResult executeDiffCommand(
+            ScmProviderRepository repo,
+            ScmFileSet fileSet,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            OutputStream patchOutput)
+            throws ScmException {
+        DiffOutputStream out = new DiffOutputStream(patchOutput);
+        GitDiffConsumer consumer = new GitDiffConsumer(fileSet.getBasedir(), out);
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        int exitCode;
+
+        Commandline clDiff2Index = createCommandLine(fileSet.getBasedir(), startVersion, endVersion, false);
+
+        exitCode = GitCommandLineUtils.execute(clDiff2Index, consumer, stderr);
+        if (exitCode != 0) {
+            return new DiffScmResult(
+                    clDiff2Index.toString(), "The git-diff command failed.", stderr.getOutput(), false);
+        }
+
+        Commandline clDiff2Head = createCommandLine(fileSet.getBasedir(), startVersion, endVersion, true);
+
+        exitCode = GitCommandLineUtils.execute(clDiff2Head, consumer, stderr);
+        if (exitCode != 0) {
+            return new DiffScmResult(clDiff2Head.toString(), "The git-diff command failed.", stderr.getOutput(), false);
+        }
+
+        List<DiffFileOffset> fileOffsets;
+        try {
+            fileOffsets = out.finish();
+        } catch (IOException e) {
+            throw new ScmException("Cannot write the patch", e);
+        }
+
+        return new DiffScmResult(clDiff2Index.toString(), consumer.getChangedFiles(), fileOffsets);
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
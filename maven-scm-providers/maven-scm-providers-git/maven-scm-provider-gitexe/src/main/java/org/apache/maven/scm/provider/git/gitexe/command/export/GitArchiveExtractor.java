@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.export;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.process.BinaryStreamConsumer;
+
+/**
+ * Extracts the tar stream written by <code>git archive --format=tar</code> into a directory while it is read.
+ * <p>
+ * Only what git writes is supported: ustar headers with pax extended headers for long paths, regular files,
+ * directories and symbolic links. Entries resolving outside of the directory are rejected, also through symbolic links
+ * of the archive or of the directory, and symbolic links are only created once all files are written.
+ *
+ * @since 2.1.1
+ */
+public class GitArchiveExtractor implements BinaryStreamConsumer {
+    private static final int BLOCK_SIZE = 512;
+
+    private final Path targetDirectory;
+
+    /**
+     * The real path of {@link #targetDirectory}, known once it is created
+     */
+    private Path realTargetDirectory;
+
+    private final byte[] header = new byte[BLOCK_SIZE];
+
+    private final byte[] buffer = new byte[64 * 1024];
+
+    private final List<ScmFile> extractedFiles = new ArrayList<>();
+
+    /**
+     * The symbolic links to create at the end, by path
+     */
+    private final Map<Path, String> symbolicLinks = new LinkedHashMap<>();
+
+    public GitArchiveExtractor(File targetDirectory) {
+        this.targetDirectory = targetDirectory.toPath().toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void consume(InputStream stream) throws IOException {
+        Files.createDirectories(targetDirectory);
+        realTargetDirectory = targetDirectory.toRealPath();
+
+        Map<String, String> extendedHeader = null;
+        while (readBlock(stream)) {
+            if (isZeroBlock()) {
+                // end of archive
+                break;
+            }
+
+            long size = getSize(extendedHeader);
+            char type = (char) header[156];
+            if (type == 'x') {
+                extendedHeader = readExtendedHeader(stream, size);
+                continue;
+            }
+            if (type == 'g') {
+                // the global header only holds the commit id
+                skip(stream, size + padding(size));
+                continue;
+            }
+
+            String name = getPath(extendedHeader);
+            String linkName = extendedHeader != null && extendedHeader.containsKey("linkpath")
+                    ? extendedHeader.get("linkpath")
+                    : getString(157, 100);
+            extendedHeader = null;
+
+            Path path = resolve(name);
+            if (type == '5') {
+                checkParent(path);
+                Files.createDirectories(path);
+            } else if (type == '2') {
+                symbolicLinks.put(path, linkName);
+                extractedFiles.add(new ScmFile(name, ScmFileStatus.CHECKED_OUT));
+            } else if (type == '0' || type == '\0') {
+                extractFile(stream, path, size);
+                extractedFiles.add(new ScmFile(name, ScmFileStatus.CHECKED_OUT));
+                continue;
+            }
+            skip(stream, size + padding(size));
+        }
+
+        for (Map.Entry<Path, String> link : symbolicLinks.entrySet()) {
+            createSymbolicLink(link.getKey(), link.getValue());
+        }
+    }
+
+    /**
+     * @return the files and symbolic links extracted, with their path in the archive
+     */
+    public List<ScmFile> getExtractedFiles() {
+        return extractedFiles;
+    }
+
+    private void extractFile(InputStream stream, Path path, long size) throws IOException {
+        checkParent(path);
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            long remaining = size;
+            while (remaining > 0) {
+                int read = stream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Truncated archive at " + path);
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+        skip(stream, padding(size));
+
+        if ((getOctal(100, 8) & 0100) != 0) {
+            path.toFile().setExecutable(true);
+        }
+        Files.setLastModifiedTime(path, FileTime.fromMillis(getOctal(136, 12) * 1000));
+    }
+
+    private void createSymbolicLink(Path path, String target) throws IOException {
+        checkParent(path);
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path);
+        try {
+            Files.createSymbolicLink(path, Paths.get(target));
+        } catch (UnsupportedOperationException | IOException e) {
+            // like git with core.symlinks=false
+            Files.write(path, target.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private Path resolve(String name) throws IOException {
+        Path path = targetDirectory.resolve(name).normalize();
+        if (!path.startsWith(targetDirectory) || path.equals(targetDirectory)) {
+            throw new IOException("Archive entry outside of " + targetDirectory + ": " + name);
+        }
+        return path;
+    }
+
+    /**
+     * Checks that the parent of the path is not reached through a symbolic link leading outside of the target
+     * directory, before anything is written there.
+     */
+    private void checkParent(Path path) throws IOException {
+        Path existing = path.getParent();
+        while (!Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+            existing = existing.getParent();
+        }
+        if (!existing.toRealPath().startsWith(realTargetDirectory)) {
+            throw new IOException("Archive entry outside of " + targetDirectory + " through a symbolic link: " + path);
+        }
+    }
+
+    private Map<String, String> readExtendedHeader(InputStream stream, long size) throws IOException {
+        byte[] data = new byte[(int) size];
+        readFully(stream, data, data.length);
+        skip(stream, padding(size));
+
+        // records of "<length> <key>=<value>\n", the length including itself
+        Map<String, String> records = new LinkedHashMap<>();
+        int offset = 0;
+        while (offset < data.length) {
+            int space = offset;
+            while (space < data.length && data[space] != ' ') {
+                space++;
+            }
+            int length = Integer.parseInt(new String(data, offset, space - offset, StandardCharsets.US_ASCII));
+            if (length <= 0 || offset + length > data.length) {
+                throw new IOException("Invalid pax header record");
+            }
+            String record = new String(data, space + 1, offset + length - space - 2, StandardCharsets.UTF_8);
+            int equals = record.indexOf('=');
+            if (equals > 0) {
+                records.put(record.substring(0, equals), record.substring(equals + 1));
+            }
+            offset += length;
+        }
+        return records;
+    }
+
+    private String getPath(Map<String, String> extendedHeader) {
+        if (extendedHeader != null && extendedHeader.containsKey("path")) {
+            return extendedHeader.get("path");
+        }
+        String name = getString(0, 100);
+        String prefix = getString(345, 155);
+        return prefix.isEmpty() ? name : prefix + '/' + name;
+    }
+
+    private long getSize(Map<String, String> extendedHeader) {
+        if (extendedHeader != null && extendedHeader.containsKey("size")) {
+            return Long.parseLong(extendedHeader.get("size"));
+        }
+        if ((header[124] & 0x80) != 0) {
+            // base-256 encoding of large sizes
+            long size = 0;
+            for (int i = 125; i < 136; i++) {
+                size = (size << 8) | (header[i] & 0xff);
+            }
+            return size;
+        }
+        return getOctal(124, 12);
+    }
+
+    private long getOctal(int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = header[i];
+            if (b >= '0' && b <= '7') {
+                value = (value << 3) + (b - '0');
+            } else if (b == 0 || (b == ' ' && value > 0)) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    private String getString(int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private boolean isZeroBlock() {
+        for (byte b : header) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>false</code> at the end of the stream
+     */
+    private boolean readBlock(InputStream stream) throws IOException {
+        int read = stream.read(header, 0, BLOCK_SIZE);
+        if (read < 0) {
+            return false;
+        }
+        readFully(stream, header, read, BLOCK_SIZE);
+        return true;
+    }
+
+    private static void readFully(InputStream stream, byte[] data, int length) throws IOException {
+        readFully(stream, data, 0, length);
+    }
+
+    private static void readFully(InputStream stream, byte[] data, int offset, int length) throws IOException {
+        while (offset < length) {
+            int read = stream.read(data, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Truncated archive");
+            }
+            offset += read;
+        }
+    }
+
+    private void skip(InputStream stream, long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int read = stream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException("Truncated archive");
+            }
+            remaining -= read;
+        }
+    }
+
+    private static long padding(long size) {
+        return (BLOCK_SIZE - (size % BLOCK_SIZE)) % BLOCK_SIZE;
+    }
+}
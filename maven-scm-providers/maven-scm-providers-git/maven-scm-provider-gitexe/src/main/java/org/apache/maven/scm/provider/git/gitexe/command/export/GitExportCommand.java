@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.export.AbstractExportCommand;
+import org.apache.maven.scm.command.export.ExportScmResult;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitUtil;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+/**
+ * Exports with <code>git archive --format=tar</code>, extracting the tar stream into the output directory while git
+ * writes it, so that neither the archive nor a working copy is ever written to disk.
+ * <p>
+ * If the base directory of the file set is a working copy, it is archived. Otherwise the archive is requested from the
+ * remote with <code>--remote</code>, and if the remote does not allow this (e.g. for http or an arbitrary revision),
+ * from a temporary bare clone, which is shallow unless a revision is exported.
+ *
+ * @since 2.1.1
+ */
+public class GitExportCommand extends AbstractExportCommand implements GitCommand {
+    private final Map<String, String> environmentVariables;
+
+    public GitExportCommand(Map<String, String> environmentVariables) {
+        super();
+        this.environmentVariables = environmentVariables;
+    }
+
+    @Override
+    protected ExportScmResult executeExportCommand(
+            ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion version, String outputDirectory)
+            throws ScmException {
+        GitScmProviderRepository repository = (GitScmProviderRepository) repo;
+        File basedir = fileSet.getBasedir();
+        boolean workingCopy = new File(basedir, ".git").exists();
+
+        File exportDirectory = outputDirectory != null ? new File(outputDirectory) : basedir;
+        if (workingCopy && exportDirectory.getAbsoluteFile().equals(basedir.getAbsoluteFile())) {
+            throw new ScmException("An output directory is required to export the working copy " + basedir);
+        }
+        if (!exportDirectory.isDirectory() && !exportDirectory.mkdirs()) {
+            throw new ScmException("Cannot create the output directory " + exportDirectory);
+        }
+
+        String treeIsh = version != null && StringUtils.isNotEmpty(version.getName()) ? version.getName() : "HEAD";
+        List<String> paths = GitUtil.getRelativePaths(fileSet);
+
+        if (workingCopy) {
+            return archive(createCommandLine(basedir, null, treeIsh, paths), exportDirectory);
+        }
+
+        ExportScmResult result =
+                archive(createCommandLine(exportDirectory, repository, treeIsh, paths), exportDirectory);
+        if (result.isSuccess()) {
+            return result;
+        }
+        logger.info("The remote does not provide archives ("
+                + result.getCommandOutput().trim() + "), exporting from a temporary clone");
+
+        File cloneDirectory = null;
+        try {
+            cloneDirectory = Files.createTempDirectory("maven-scm-export").toFile();
+            File bareRepository = new File(cloneDirectory, "repository.git");
+
+            Commandline gitClone = createCloneCommandLine(cloneDirectory, repository, version, bareRepository);
+            CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+            CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+            if (GitCommandLineUtils.execute(gitClone, stdout, stderr) != 0) {
+                return new ExportScmResult(
+                        gitClone.toString(), "The git clone command failed.", stderr.getOutput(), false);
+            }
+
+            return archive(createCommandLine(bareRepository, null, treeIsh, paths), exportDirectory);
+        } catch (IOException e) {
+            throw new ScmException("Cannot create a temporary clone to export from", e);
+        } finally {
+            if (cloneDirectory != null) {
+                try {
+                    FileUtils.deleteDirectory(cloneDirectory);
+                } catch (IOException e) {
+                    logger.warn("Cannot delete the temporary clone " + cloneDirectory, e);
+                }
+            }
+        }
+    }
+
+    private ExportScmResult archive(Commandline cl, File exportDirectory) throws ScmException {
+        GitArchiveExtractor extractor = new GitArchiveExtractor(exportDirectory);
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        int exitCode = GitCommandLineUtils.executeBinary(cl, extractor, stderr);
+        if (exitCode != 0) {
+            return new ExportScmResult(cl.toString(), "The git archive command failed.", stderr.getOutput(), false);
+        }
+        return new ExportScmResult(cl.toString(), extractor.getExtractedFiles());
+    }
+
+    // ----------------------------------------------------------------------
+    //
+    // ----------------------------------------------------------------------
+
+    /**
+     * @param workingDirectory the repository to archive, or any directory if archiving a remote one
+     * @param repository the remote repository to archive with <code>--remote</code>, <code>null</code> for the local
+     * @param treeIsh the revision, branch or tag to archive
+     * @param paths the paths to restrict the archive to, all if empty
+     */
+    public Commandline createCommandLine(
+            File workingDirectory, GitScmProviderRepository repository, String treeIsh, List<String> paths) {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(
+                workingDirectory, "archive", repository, repository == null ? null : environmentVariables);
+
+        cl.createArg().setValue("--format=tar");
+
+        if (repository != null) {
+            cl.createArg().setValue("--remote=" + repository.getFetchUrl());
+        }
+
+        cl.createArg().setValue(treeIsh);
+
+        if (!paths.isEmpty()) {
+            cl.createArg().setValue("--");
+
+            for (String path : paths) {
+                cl.createArg().setValue(path);
+            }
+        }
+
+        return cl;
+    }
+
+    private Commandline createCloneCommandLine(
+            File workingDirectory, GitScmProviderRepository repository, ScmVersion version, File bareRepository) {
+        Commandline gitClone =
+                GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "clone", repository, environmentVariables);
+
+        gitClone.createArg().setValue("--bare");
+
+        // an arbitrary revision may be anywhere in the history
+        if (version == null || StringUtils.isEmpty(version.getName())) {
+            gitClone.createArg().setValue("--depth");
+            gitClone.createArg().setValue("1");
+        } else if (version instanceof ScmBranch) {
+            // including tags
+            gitClone.createArg().setValue("--depth");
+            gitClone.createArg().setValue("1");
+            gitClone.createArg().setValue("--branch");
+            gitClone.createArg().setValue(version.getName());
+        }
+
+        gitClone.createArg().setValue(repository.getFetchUrl());
+
+        gitClone.createArg().setValue(bareRepository.getName());
+
+        return gitClone;
+    }
+}
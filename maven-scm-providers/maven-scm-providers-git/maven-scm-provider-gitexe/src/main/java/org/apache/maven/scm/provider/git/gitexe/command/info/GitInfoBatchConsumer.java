@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.info;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.util.AbstractConsumer;
+import org.codehaus.plexus.util.cli.Arg;
+import org.codehaus.plexus.util.cli.Commandline;
+
+/**
+ * Parses the output of a single {@code git log -z --name-only} over many paths and populates one {@link InfoItem}
+ * per path from the first commit which changed it. A path is retired once seen, so the remaining output is only
+ * scanned for the paths still pending. The working directory itself is passed as <code>.</code> and matches every
+ * change.
+ *
+ * @since 2.1.1
+ * @see GitInfoConsumer
+ */
+public class GitInfoBatchConsumer extends AbstractConsumer {
+
+    private static final char RECORD_SEPARATOR = '\u001e';
+
+    private static final char NUL = '\0';
+
+    /**
+     * One consumer per path, in the order of the paths
+     */
+    private final List<GitInfoConsumer> consumers = new ArrayList<>();
+
+    /**
+     * The indexes of the paths without commit yet, keyed by their path relative to the working directory
+     */
+    private final Map<String, List<Integer>> pendingPaths = new HashMap<>();
+
+    private final StringBuilder token = new StringBuilder();
+
+    /**
+     * The header line of the current commit
+     */
+    private String header;
+
+    private boolean inHeader;
+
+    private int commitCount;
+
+    /**
+     * @param paths the paths of the resulting items
+     * @param relativePaths the paths as passed to {@code git log}, relative to its working directory
+     * @param revisionLength the length of the revision to report, or {@link GitInfoCommand#NO_REVISION_LENGTH}
+     */
+    public GitInfoBatchConsumer(List<Path> paths, List<String> relativePaths, int revisionLength) {
+        for (int i = 0; i < paths.size(); i++) {
+            consumers.add(new GitInfoConsumer(paths.get(i), revisionLength));
+            pendingPaths
+                    .computeIfAbsent(normalize(relativePaths.get(i)), k -> new ArrayList<>())
+                    .add(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consumeLine(String line) {
+        if (pendingPaths.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            consume(line.charAt(i));
+        }
+        // the line terminator is swallowed by the stream pumper
+        consume('\n');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumeLine(char[] buffer, int offset, int length) {
+        if (pendingPaths.isEmpty()) {
+            return;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            consume(buffer[i]);
+        }
+        consume('\n');
+    }
+
+    private void consume(char c) {
+        if (inHeader) {
+            if (c == '\n') {
+                header = token.toString();
+                commitCount++;
+                token.setLength(0);
+                inHeader = false;
+            } else {
+                token.append(c);
+            }
+        } else if (c == NUL) {
+            if (header != null && token.length() > 0) {
+                retirePath(token.toString());
+            }
+            token.setLength(0);
+        } else if (c == RECORD_SEPARATOR && token.length() == 0) {
+            inHeader = true;
+        } else {
+            token.append(c);
+        }
+    }
+
+    /**
+     * Assigns the current commit to the pending path matching the changed path itself or one of its parent
+     * directories.
+     */
+    private void retirePath(String path) {
+        String candidate = path;
+        while (true) {
+            List<Integer> indexes = pendingPaths.remove(candidate);
+            if (indexes != null) {
+                for (int index : indexes) {
+                    consumers.get(index).consumeLine(header);
+                }
+            }
+            if (candidate.isEmpty()) {
+                return;
+            }
+            int separator = candidate.lastIndexOf('/');
+            candidate = separator < 0 ? "" : candidate.substring(0, separator);
+        }
+    }
+
+    private static String normalize(String path) {
+        String normalized = path;
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return ".".equals(normalized) ? "" : normalized;
+    }
+
+    /**
+     * @return the number of commits seen so far
+     */
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * @return the indexes of the paths no commit was seen for yet, in ascending order
+     */
+    public List<Integer> getPendingIndexes() {
+        List<Integer> indexes = new ArrayList<>();
+        for (List<Integer> pending : pendingPaths.values()) {
+            indexes.addAll(pending);
+        }
+        Collections.sort(indexes);
+        return indexes;
+    }
+
+    /**
+     * @return one item per path, in the order of the paths. Paths without any commit only carry their path.
+     */
+    public List<InfoItem> getInfoItems() {
+        List<InfoItem> infoItems = new ArrayList<>(consumers.size());
+        for (GitInfoConsumer consumer : consumers) {
+            infoItems.add(consumer.getInfoItem());
+        }
+        return infoItems;
+    }
+
+    /**
+     * The format argument to use with {@code git log -z --name-only}
+     * @return the format argument, each commit starts with a record separator followed by the line expected by
+     *         {@link GitInfoConsumer}
+     */
+    public static Arg getFormatArgument() {
+        Commandline.Argument arg = new Commandline.Argument();
+        arg.setValue("--format=format:%x1e%H %aI %aE %aN");
+        return arg;
+    }
+}
@@ -19,6 +19,8 @@
 package org.apache.maven.scm.provider.git.gitexe.command.info;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -46,6 +48,14 @@ public class GitInfoCommand extends AbstractCommand implements GitCommand {
 
     public static final int NO_REVISION_LENGTH = -1;
 
+    /**
+     * The number of commits the single {@code git log} over many files walks at most, as git cannot stop the walk once
+     * all files are found. The files it found no commit for are then looked up one by one.
+     *
+     * @since 2.1.1
+     */
+    public static final int BATCH_MAX_COUNT = 1000;
+
     @Override
     protected ScmResult executeCommand(
             ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters) throws ScmException {
@@ -58,22 +68,69 @@ protected ScmResult executeCommand(
         List<InfoItem> infoItems = new LinkedList<>();
         if (fileSet.getFileList().isEmpty()) {
             infoItems.add(executeInfoCommand(baseCli, parameters, fileSet.getBasedir()));
+        } else if (fileSet.getFileList().size() > 1) {
+            // a single log walk over all files instead of one process per file
+            baseCli = GitCommandLineUtils.getBaseGitCommandLine(fileSet.getBasedir(), "log");
+            baseCli.createArg().setValue("-z");
+            baseCli.createArg().setValue("--no-merges"); // skip merge commits
+            baseCli.createArg().setValue("--name-only");
+            baseCli.createArg().setValue("--relative");
+            baseCli.createArg().setValue("--max-count=" + getBatchMaxCount());
+            baseCli.addArg(GitInfoBatchConsumer.getFormatArgument());
+            // Insert a separator to make sure that files aren't interpreted as part of the version spec
+            baseCli.createArg().setValue("--");
+            infoItems.addAll(executeInfoCommand(baseCli, parameters, fileSet.getFileList()));
         } else {
             // iterate over files
             for (File scmFile : fileSet.getFileList()) {
-                baseCli = GitCommandLineUtils.getBaseGitCommandLine(fileSet.getBasedir(), "log");
-                baseCli.createArg().setValue("-1"); // only most recent commit matters
-                baseCli.createArg().setValue("--no-merges"); // skip merge commits
-                baseCli.addArg(GitInfoConsumer.getFormatArgument());
-                // Insert a separator to make sure that files aren't interpreted as part of the version spec
-                baseCli.createArg().setValue("--");
-                GitCommandLineUtils.addTarget(baseCli, Collections.singletonList(scmFile));
+                baseCli = createCommandLine(fileSet.getBasedir(), scmFile);
                 infoItems.add(executeInfoCommand(baseCli, parameters, scmFile));
             }
         }
         return new InfoScmResult(baseCli.toString(), infoItems);
     }
 
+    /**
+     * @return the command line looking up the most recent commit of a single file
+     */
+    private static Commandline createCommandLine(File workingDirectory, File scmFile) {
+        Commandline cli = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "log");
+        cli.createArg().setValue("-1"); // only most recent commit matters
+        cli.createArg().setValue("--no-merges"); // skip merge commits
+        cli.addArg(GitInfoConsumer.getFormatArgument());
+        // Insert a separator to make sure that files aren't interpreted as part of the version spec
+        cli.createArg().setValue("--");
+        addTargets(cli, Collections.singletonList(scmFile));
+        return cli;
+    }
+
+    /**
+     * Adds the files like {@link GitCommandLineUtils#addTarget(Commandline, List)}, but the working directory itself
+     * as <code>.</code>, as git rejects empty pathspecs.
+     *
+     * @return the added paths
+     */
+    private static List<String> addTargets(Commandline cli, List<File> scmFiles) {
+        Commandline targets = new Commandline();
+        targets.setWorkingDirectory(cli.getWorkingDirectory());
+        GitCommandLineUtils.addTarget(targets, scmFiles);
+        List<String> relativePaths = new ArrayList<>(scmFiles.size());
+        for (String relativePath : targets.getArguments()) {
+            relativePath = relativePath.isEmpty() ? "." : relativePath;
+            cli.createArg().setValue(relativePath);
+            relativePaths.add(relativePath);
+        }
+        return relativePaths;
+    }
+
+    /**
+     * @return the number of commits the single {@code git log} over many files walks at most
+     * @since 2.1.1
+     */
+    protected int getBatchMaxCount() {
+        return BATCH_MAX_COUNT;
+    }
+
     protected InfoItem executeInfoCommand(Commandline cli, CommandParameters parameters, File scmFile)
             throws ScmException {
         GitInfoConsumer consumer = new GitInfoConsumer(scmFile.toPath(), getRevisionLength(parameters));
@@ -85,6 +142,47 @@ protected InfoItem executeInfoCommand(Commandline cli, CommandParameters paramet
         return consumer.getInfoItem();
     }
 
+    /**
+     * Runs a single {@code git log} over all files and fills one item per file with the most recent commit which
+     * changed it. If the walk ended at {@link #getBatchMaxCount()} commits, the files it found no commit for are looked
+     * up one by one.
+     *
+     * @param cli the command line, the files are added as targets
+     * @param parameters the command parameters
+     * @param scmFiles the files to look up
+     * @return one item per file, in the order of the files
+     * @throws ScmException if the command failed
+     * @since 2.1.1
+     */
+    protected List<InfoItem> executeInfoCommand(Commandline cli, CommandParameters parameters, List<File> scmFiles)
+            throws ScmException {
+        List<String> relativePaths = addTargets(cli, scmFiles);
+
+        List<Path> paths = new ArrayList<>(scmFiles.size());
+        for (File scmFile : scmFiles) {
+            paths.add(scmFile.toPath());
+        }
+
+        GitInfoBatchConsumer consumer = new GitInfoBatchConsumer(paths, relativePaths, getRevisionLength(parameters));
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        int exitCode = GitCommandLineUtils.execute(cli, consumer, stderr);
+        if (exitCode != 0) {
+            throw new ScmException("The git log command failed: " + cli.toString() + " returned " + stderr.getOutput());
+        }
+
+        List<InfoItem> infoItems = consumer.getInfoItems();
+        if (consumer.getCommitCount() >= getBatchMaxCount()) {
+            // the walk stopped before the end of the history
+            for (int index : consumer.getPendingIndexes()) {
+                File scmFile = scmFiles.get(index);
+                infoItems.set(
+                        index,
+                        executeInfoCommand(createCommandLine(cli.getWorkingDirectory(), scmFile), parameters, scmFile));
+            }
+        }
+        return infoItems;
+    }
+
     /**
      * Get the revision length from the parameters
      *
@@ -19,11 +19,11 @@
 package org.apache.maven.scm.provider.git.gitexe.command.info;
 
 import java.nio.file.Path;
-import java.time.format.DateTimeFormatter;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.command.info.InfoItem;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
 import org.codehaus.plexus.util.cli.Arg;
 import org.codehaus.plexus.util.cli.Commandline;
 
@@ -86,8 +86,7 @@ public void consumeLine(String line) {
             revision = StringUtils.truncate(revision, Integer.max(4, revisionLength));
         }
         infoItem.setRevision(revision);
-        infoItem.setLastChangedDateTime(
-                DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(parts[LineParts.AUTHOR_LAST_MODIFIED.getIndex()]));
+        infoItem.setLastChangedDateTime(DateParser.parseIsoDateTime(parts[LineParts.AUTHOR_LAST_MODIFIED.getIndex()]));
     }
 
     public InfoItem getInfoItem() {
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.maintenance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+/**
+ * Writes the structures git uses to walk the history without parsing every commit from the packs:
+ * <ul>
+ * <li>a single pack with a reachability bitmap, for ancestry and object counting queries,</li>
+ * <li>a commit-graph with changed-path Bloom filters, for <code>log</code>, <code>rev-list</code> and
+ * <code>blame</code>, also restricted to paths.</li>
+ * </ul>
+ * The repository is then configured to read the commit-graph and to update it on each fetch, so that it stays useful
+ * until the next maintenance.
+ * <p>
+ * A repository borrowing objects through <code>objects/info/alternates</code>, like a checkout with a mirror cache, only
+ * repacks its own objects, as packing the borrowed ones would copy them. It then gets no bitmap, which requires all
+ * reachable objects in the pack. The changed-path Bloom filters require git 2.27 or newer and are left out with older
+ * versions.
+ *
+ * @since 2.1.1
+ */
+public class GitMaintenanceCommand extends AbstractCommand implements GitCommand {
+    /** {@inheritDoc} */
+    @Override
+    protected ScmResult executeCommand(
+            ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters) throws ScmException {
+        File basedir = fileSet.getBasedir();
+        boolean borrowsObjects = borrowsObjects(basedir);
+        if (borrowsObjects) {
+            logger.info("The repository borrows objects from alternates, only its own objects are packed, "
+                    + "without a bitmap");
+        }
+        boolean changedPaths = GitCommandLineUtils.isGitVersionAtLeast(basedir, 2, 27);
+        if (!changedPaths) {
+            logger.info("The commit-graph is written without changed-path Bloom filters, they require git 2.27");
+        }
+
+        StringBuilder output = new StringBuilder();
+        List<String> commandLines = new ArrayList<>();
+        for (Commandline cl : createCommandLines(basedir, borrowsObjects, changedPaths)) {
+            CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+            CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+            int exitCode = GitCommandLineUtils.execute(cl, stdout, stderr);
+            if (exitCode != 0) {
+                return new ScmResult(cl.toString(), "The git maintenance failed.", stderr.getOutput(), false);
+            }
+            commandLines.add(cl.toString());
+            output.append(stdout.getOutput());
+        }
+        return new ScmResult(String.join(" && ", commandLines), null, output.toString(), true);
+    }
+
+    /**
+     * @param workingDirectory the working copy or the bare repository
+     * @return <code>true</code> if the repository reads objects from alternates
+     */
+    private static boolean borrowsObjects(File workingDirectory) {
+        return new File(workingDirectory, ".git/objects/info/alternates").isFile()
+                || new File(workingDirectory, "objects/info/alternates").isFile();
+    }
+
+    /**
+     * @param workingDirectory the working copy or the bare repository
+     * @param borrowsObjects whether the repository reads objects from alternates, which must not be repacked
+     * @param changedPaths whether to write the changed-path Bloom filters, which require git 2.27 or newer
+     * @return the command lines to run in order
+     */
+    public static List<Commandline> createCommandLines(
+            File workingDirectory, boolean borrowsObjects, boolean changedPaths) {
+        List<Commandline> commandLines = new ArrayList<>();
+
+        Commandline repack = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "repack");
+        repack.createArg().setValue("-a");
+        repack.createArg().setValue("-d");
+        if (borrowsObjects) {
+            repack.createArg().setValue("-l");
+        } else {
+            // a working copy only writes bitmaps if asked to
+            repack.createArg().setValue("--write-bitmap-index");
+        }
+        commandLines.add(repack);
+
+        Commandline commitGraph = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "commit-graph");
+        commitGraph.createArg().setValue("write");
+        commitGraph.createArg().setValue("--reachable");
+        if (changedPaths) {
+            commitGraph.createArg().setValue("--changed-paths");
+        }
+        commandLines.add(commitGraph);
+
+        commandLines.add(createConfigCommandLine(workingDirectory, "core.commitGraph", "true"));
+        commandLines.add(createConfigCommandLine(workingDirectory, "fetch.writeCommitGraph", "true"));
+
+        return commandLines;
+    }
+
+    private static Commandline createConfigCommandLine(File workingDirectory, String key, String value) {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "config");
+        cl.createArg().setValue(key);
+        cl.createArg().setValue(value);
+        return cl;
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.maven.scm.provider.git.gitexe.command.remove;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -50,7 +51,15 @@ protected ScmResult executeRemoveCommand(ScmProviderRepository repo, ScmFileSet
             throw new ScmException("You must provide at least one file/directory to remove");
         }
 
-        Commandline cl = createCommandLine(fileSet.getBasedir(), fileSet.getFileList());
+        Commandline cl;
+        InputStream input = null;
+        if (GitCommandLineUtils.isPathspecFromFile(fileSet.getBasedir(), fileSet.getFileList())) {
+            // many files are passed on stdin to a single process, avoiding any command line length limit
+            cl = createPathspecFromFileCommandLine(fileSet.getBasedir());
+            input = GitCommandLineUtils.getPathspecInput(fileSet.getBasedir(), fileSet.getFileList());
+        } else {
+            cl = createCommandLine(fileSet.getBasedir(), fileSet.getFileList());
+        }
 
         // git-rm uses repositoryRoot instead of workingDirectory, adjust it with relativeRepositoryPath
         URI relativeRepositoryPath = GitStatusCommand.getRelativeCWD(logger, fileSet);
@@ -60,7 +69,7 @@ protected ScmResult executeRemoveCommand(ScmProviderRepository repo, ScmFileSet
 
         int exitCode;
 
-        exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+        exitCode = GitCommandLineUtils.execute(cl, input, consumer, stderr);
         if (exitCode != 0) {
             return new RemoveScmResult(cl.toString(), "The git command failed.", stderr.getOutput(), false);
         }
@@ -93,4 +102,23 @@ public static Commandline createCommandLine(File workingDirectory, List<File> fi
 
         return cl;
     }
+
+    /**
+     * Creates a <code>git rm</code> reading the files from the standard input, see
+     * {@link GitCommandLineUtils#getPathspecInput(File, List)}. It always removes recursively, which makes no
+     * difference for plain files and saves checking every single file for being a directory.
+     *
+     * @param workingDirectory the working directory
+     * @return the command line
+     * @since 2.1.1
+     */
+    public static Commandline createPathspecFromFileCommandLine(File workingDirectory) {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "rm");
+
+        cl.createArg().setValue("-r");
+
+        GitCommandLineUtils.addPathspecFromStdin(cl);
+
+        return cl;
+    }
 }
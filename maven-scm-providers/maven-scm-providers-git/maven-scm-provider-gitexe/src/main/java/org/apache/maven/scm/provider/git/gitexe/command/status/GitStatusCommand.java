@@ -44,13 +44,35 @@ protected StatusScmResult executeStatusCommand(ScmProviderRepository repo, ScmFi
 
         URI relativeRepositoryPath = getRelativeCWD(logger, fileSet);
 
-        Commandline cl = createCommandLine((GitScmProviderRepository) repo, fileSet);
+        Commandline cl = createPorcelainV2CommandLine(fileSet);
 
-        GitStatusConsumer consumer = new GitStatusConsumer(fileSet.getBasedir(), relativeRepositoryPath, fileSet);
+        GitStatusZConsumer consumer = new GitStatusZConsumer(relativeRepositoryPath, fileSet);
 
         stderr = new CommandLineUtils.StringStreamConsumer();
 
         exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+        if (exitCode != 0 && stderr.getOutput().contains("porcelain")) {
+            // git before 2.11 does not know the porcelain v2 format
+            logger.debug("Falling back to git status --porcelain: " + stderr.getOutput());
+            return executePorcelainV1StatusCommand(repo, fileSet, relativeRepositoryPath);
+        }
+        if (exitCode != 0) {
+            // git-status returns non-zero if nothing to do
+            if (logger.isInfoEnabled()) {
+                logger.info("nothing added to commit but untracked files present (use \"git add\" to track)");
+            }
+        }
+
+        return new StatusScmResult(cl.toString(), consumer.getChangedFiles());
+    }
+
+    private StatusScmResult executePorcelainV1StatusCommand(
+            ScmProviderRepository repo, ScmFileSet fileSet, URI relativeRepositoryPath) throws ScmException {
+        Commandline cl = createCommandLine((GitScmProviderRepository) repo, fileSet);
+
+        GitStatusConsumer consumer = new GitStatusConsumer(fileSet.getBasedir(), relativeRepositoryPath, fileSet);
+
+        int exitCode = GitCommandLineUtils.execute(cl, consumer, new CommandLineUtils.StringStreamConsumer());
         if (exitCode != 0) {
             // git-status returns non-zero if nothing to do
             if (logger.isInfoEnabled()) {
@@ -100,6 +122,20 @@ public static Commandline createCommandLine(GitScmProviderRepository repository,
         return cl;
     }
 
+    /**
+     * Creates the command line for {@link GitStatusZConsumer}. Untracked files are not listed, as they are not
+     * reported anyway.
+     *
+     * @param fileSet the file set, only its base directory is used
+     * @return the command line
+     * @since 2.1.1
+     */
+    public static Commandline createPorcelainV2CommandLine(ScmFileSet fileSet) {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(fileSet.getBasedir(), "status");
+        cl.addArguments(new String[] {"--porcelain=v2", "-z", "--untracked-files=no", "."});
+        return cl;
+    }
+
     public static Commandline createRevparseShowPrefix(ScmFileSet fileSet) {
         Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(fileSet.getBasedir(), "rev-parse");
         cl.addArguments(new String[] {"--show-prefix"});
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.status;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.FilenameUtils;
+
+/**
+ * Parses the output of <code>git status --porcelain=v2 -z</code>.
+ * <p>
+ * The entries are reported like by {@link GitStatusConsumer}, but whether a path is a file is taken from the modes
+ * in the output instead of the file system, and the requested files are looked up in a hash set. A path is
+ * requested if it or one of its parent directories is part of the file set.
+ *
+ * @since 2.1.1
+ * @see <a href="https://git-scm.com/docs/git-status#_porcelain_format_version_2">Porcelain Format Version 2</a>
+ */
+public class GitStatusZConsumer extends AbstractConsumer {
+    private static final char NUL = '\0';
+
+    /**
+     * The number of space separated fields before the path of an ordinary changed entry
+     */
+    private static final int ORDINARY_FIELDS = 8;
+
+    /**
+     * The number of space separated fields before the path of a renamed or copied entry
+     */
+    private static final int RENAMED_FIELDS = 9;
+
+    private static final int MODE_WORKTREE = 5;
+
+    /**
+     * The prefix of the working directory relative to the repository root, empty if they are the same
+     */
+    private final String prefix;
+
+    /**
+     * The requested paths relative to the working directory, <code>null</code> to report all entries
+     */
+    private Set<String> requestedPaths;
+
+    /**
+     * Entries are relative to working directory, not to the repositoryroot
+     */
+    private final List<ScmFile> changedFiles = new ArrayList<>();
+
+    /**
+     * The characters of the current record
+     */
+    private final StringBuilder record = new StringBuilder();
+
+    /**
+     * The renamed entry waiting for its original path
+     */
+    private String pendingRename;
+
+    /**
+     * @param relativeRepositoryPath the working directory relative to the repository root, may be <code>null</code>
+     * @param scmFileSet the requested files, may be <code>null</code> or empty to report all entries
+     */
+    public GitStatusZConsumer(URI relativeRepositoryPath, ScmFileSet scmFileSet) {
+        String relativePath = relativeRepositoryPath == null ? null : relativeRepositoryPath.getPath();
+        if (relativePath == null || relativePath.isEmpty()) {
+            prefix = "";
+        } else {
+            prefix = relativePath.endsWith("/") ? relativePath : relativePath + "/";
+        }
+        if (scmFileSet == null || scmFileSet.getFileList().isEmpty()) {
+            requestedPaths = null;
+        } else {
+            requestedPaths = new HashSet<>();
+            Path basedir = scmFileSet.getBasedir().toPath();
+            for (File file : scmFileSet.getFileList()) {
+                String path =
+                        file.isAbsolute() ? basedir.relativize(file.toPath()).toString() : file.getPath();
+                requestedPaths.add(normalize(path));
+            }
+            if (requestedPaths.contains("")) {
+                // the working directory itself
+                requestedPaths = null;
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // StreamConsumer Implementation
+    // ----------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void consumeLine(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            consume(line.charAt(i));
+        }
+        // the line terminator is swallowed by the stream pumper, but belongs to the path
+        consume('\n');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumeLine(char[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            consume(buffer[i]);
+        }
+        consume('\n');
+    }
+
+    public List<ScmFile> getChangedFiles() {
+        return changedFiles;
+    }
+
+    // ----------------------------------------------------------------------
+    //
+    // ----------------------------------------------------------------------
+
+    private void consume(char c) {
+        if (c == NUL) {
+            String token = record.toString();
+            record.setLength(0);
+            if (pendingRename != null) {
+                processRename(pendingRename, token);
+                pendingRename = null;
+            } else {
+                processRecord(token);
+            }
+        } else if (c != '\n' || record.length() > 0) {
+            // a line feed at the start of a record is the one after the last record
+            record.append(c);
+        }
+    }
+
+    private void processRecord(String token) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(token);
+        }
+        if (token.length() < 4) {
+            return;
+        }
+        char type = token.charAt(0);
+        if (type == '2') {
+            pendingRename = token;
+        } else if (type == '1') {
+            String[] fields = split(token, ORDINARY_FIELDS);
+            if (fields == null) {
+                logger.warn("Ignoring unrecognized entry: " + token);
+                return;
+            }
+            char index = token.charAt(2);
+            char worktree = token.charAt(3);
+            boolean isFile = isFileMode(fields[MODE_WORKTREE]);
+            ScmFileStatus status = null;
+            if (index == 'A' && (worktree == '.' || worktree == 'M')) {
+                status = isFile ? ScmFileStatus.ADDED : null;
+            } else if ((index == '.' || index == 'M') && (worktree == '.' || worktree == 'M')) {
+                status = isFile ? ScmFileStatus.MODIFIED : null;
+            } else if (index == '.' && worktree == 'D' || index == 'D' && worktree == '.') {
+                status = isFile ? null : ScmFileStatus.DELETED;
+            }
+            if (status != null) {
+                addChangedFile(fields[ORDINARY_FIELDS], status);
+            }
+        }
+        // unmerged, untracked and ignored entries are not reported
+    }
+
+    private void processRename(String token, String originalPath) {
+        String[] fields = split(token, RENAMED_FIELDS);
+        if (fields == null) {
+            logger.warn("Ignoring unrecognized entry: " + token);
+            return;
+        }
+        // only staged renames which are not modified any further
+        if (token.charAt(2) == 'R' && token.charAt(3) == '.' && isFileMode(fields[MODE_WORKTREE])) {
+            addChangedFile(originalPath, ScmFileStatus.RENAMED);
+            addChangedFile(fields[RENAMED_FIELDS], ScmFileStatus.RENAMED);
+        }
+    }
+
+    private void addChangedFile(String repositoryPath, ScmFileStatus status) {
+        String path = repositoryPath.startsWith(prefix) ? repositoryPath.substring(prefix.length()) : repositoryPath;
+        if (isRequested(path)) {
+            changedFiles.add(new ScmFile(path, status));
+        }
+    }
+
+    private boolean isRequested(String path) {
+        if (requestedPaths == null) {
+            return true;
+        }
+        String candidate = path;
+        while (true) {
+            if (requestedPaths.contains(candidate)) {
+                return true;
+            }
+            int separator = candidate.lastIndexOf('/');
+            if (separator < 0) {
+                return false;
+            }
+            candidate = candidate.substring(0, separator);
+        }
+    }
+
+    /**
+     * Regular files, executables and symbolic links count as file, like the links are followed by
+     * {@link File#isFile()}. Missing entries (<code>000000</code>) and submodules (<code>160000</code>) do not.
+     */
+    private static boolean isFileMode(String mode) {
+        return mode.startsWith("10") || mode.startsWith("12");
+    }
+
+    /**
+     * @return the <code>fieldCount</code> space separated fields followed by the rest of the token, which may contain
+     * spaces, <code>null</code> if there are less fields
+     */
+    private static String[] split(String token, int fieldCount) {
+        String[] fields = new String[fieldCount + 1];
+        int start = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            int end = token.indexOf(' ', start);
+            if (end < 0) {
+                return null;
+            }
+            fields[i] = token.substring(start, end);
+            start = end + 1;
+        }
+        fields[fieldCount] = token.substring(start);
+        return fields;
+    }
+
+    private static String normalize(String path) {
+        String normalized = FilenameUtils.normalizeFilename(path);
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        if (normalized.equals(".")) {
+            return "";
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+}
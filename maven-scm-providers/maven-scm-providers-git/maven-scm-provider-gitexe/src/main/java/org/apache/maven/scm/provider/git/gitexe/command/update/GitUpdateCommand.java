@@ -97,7 +97,8 @@ protected UpdateScmResult executeUpdateCommand(
         }
         String latestRevision = consumerRev.getLatestRevision();
 
-        return new UpdateScmResultWithRevision(cl.toString(), diffRawConsumer.getChangedFiles(), latestRevision);
+        return new UpdateScmResultWithRevision(
+                cl.toString(), diffRawConsumer.getChangedFiles(), origSha1, latestRevision);
     }
 
     /** {@inheritDoc} */
@@ -19,15 +19,20 @@
 package org.apache.maven.scm.provider.git.gitexe.command;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitUtil;
 import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.junit.Test;
@@ -77,6 +82,62 @@ private void check(final File workingDir, final List<File> filesToAdd, final Str
         assertEquals(expectedArguments, arguments);
     }
 
+    @Test
+    public void testGetPathspecInputNonWindows() throws Exception {
+        assumeTrue(!runsOnWindows());
+        final File workingDir = new File("/prj");
+        final List<File> files = Arrays.asList(
+                new File("/prj/pom.xml"),
+                new File("mod1/pom.xml"),
+                new File("/prj/mod2/with space/\u00e4.txt"),
+                new File("/prj"),
+                new File("/prj2/pom.xml"));
+        try (InputStream input = GitCommandLineUtils.getPathspecInput(workingDir, files)) {
+            assertEquals(
+                    "pom.xml\0mod1/pom.xml\0mod2/with space/\u00e4.txt\0.\0/prj2/pom.xml\0",
+                    new String(IOUtils.toByteArray(input), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testPathspecFromStdin() {
+        final Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(new File("/prj"), "add");
+        GitCommandLineUtils.addPathspecFromStdin(cl);
+        assertEquals("[add, --pathspec-from-file=-, --pathspec-file-nul]", Arrays.toString(cl.getArguments()));
+    }
+
+    @Test
+    public void testIsPathspecFromFile() {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            files.add(new File("file" + i));
+        }
+        File workingDirectory = new File(".");
+        // more files than the default threshold, if git is recent enough
+        assertEquals(
+                GitCommandLineUtils.isGitVersionAtLeast(workingDirectory, 2, 26),
+                GitCommandLineUtils.isPathspecFromFile(workingDirectory, files));
+        files.remove(100);
+        assertFalse(GitCommandLineUtils.isPathspecFromFile(workingDirectory, files));
+
+        GitUtil.getSettings().setPathspecFromFileThreshold(0);
+        try {
+            files.add(new File("file100"));
+            assertFalse(GitCommandLineUtils.isPathspecFromFile(workingDirectory, files));
+        } finally {
+            GitUtil.getSettings().setPathspecFromFileThreshold(100);
+        }
+    }
+
+    @Test
+    public void testParseGitVersion() {
+        assertEquals("[2, 39]", Arrays.toString(GitCommandLineUtils.parseGitVersion("git version 2.39.5\n")));
+        assertEquals("[2, 45]", Arrays.toString(GitCommandLineUtils.parseGitVersion("git version 2.45.1.windows.1")));
+        assertEquals(
+                "[2, 24]", Arrays.toString(GitCommandLineUtils.parseGitVersion("git version 2.24.3 (Apple Git-128)")));
+        assertEquals("[0, 0]", Arrays.toString(GitCommandLineUtils.parseGitVersion("")));
+    }
+
     @Test
     public void testPasswordAnonymous() throws Exception {
 
@@ -54,6 +54,15 @@ public void testAddCommandMultipleFiles() throws Exception {
         testCommandLine("scm:git:http://foo.com/git", files, "git add -- myFile.java myFile2.java myFile3.java");
     }
 
+    @Test
+    public void testAddCommandPathspecFromFile() throws Exception {
+        File workingDirectory = getTestFile("target/git-add-command-test");
+
+        Commandline cl = GitAddCommand.createPathspecFromFileCommandLine(workingDirectory);
+
+        assertCommandLine("git add --pathspec-from-file=- --pathspec-file-nul", workingDirectory, cl);
+    }
+
     // ----------------------------------------------------------------------
     // private helper functions
     // ----------------------------------------------------------------------
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.blame;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.util.ConsumerUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test the {@link GitBlameIncrementalConsumer}.
+ */
+public class GitBlameIncrementalConsumerTest extends ScmTestCase {
+    @Test
+    public void testConsumer() throws Exception {
+        Map<Integer, BlameLine> lines = new TreeMap<>();
+        GitBlameIncrementalConsumer consumer = new GitBlameIncrementalConsumer(lines::put);
+
+        File f = getTestFile("/src/test/resources/git/blame/git-blame-incremental.out");
+        ConsumerUtils.consumeFile(f, consumer);
+
+        assertEquals(5, lines.size());
+
+        BlameLine blameLine = lines.get(2);
+        assertEquals("8401480e8c57a6aff0e60c69b44e36d027707fcb", blameLine.getRevision());
+        assertEquals("Olivier Lamy", blameLine.getAuthor());
+        assertEquals("Olivier Lamy", blameLine.getCommitter());
+        assertEquals(1706958000000L, blameLine.getDate().getTime());
+
+        // the commit information is only printed the first time the commit appears
+        assertEquals(blameLine.getRevision(), lines.get(5).getRevision());
+        assertEquals(blameLine.getAuthor(), lines.get(5).getAuthor());
+        assertEquals(blameLine.getDate(), lines.get(5).getDate());
+
+        for (int lineNumber : new int[] {1, 3, 4}) {
+            blameLine = lines.get(lineNumber);
+            assertEquals("502331789cea88406bdb4cd9f1bf5e88019ff161", blameLine.getRevision());
+            assertEquals("Mark Struberg", blameLine.getAuthor());
+            assertEquals(1704186000000L, blameLine.getDate().getTime());
+        }
+    }
+}
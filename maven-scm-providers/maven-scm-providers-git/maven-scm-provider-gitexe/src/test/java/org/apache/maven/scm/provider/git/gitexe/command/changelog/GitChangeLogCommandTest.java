@@ -55,7 +55,7 @@ public void testCommandLineNoDates() throws Exception {
                 (Date) null,
                 (Date) null,
                 40,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges --date=iso --max-count=40 -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges --max-count=40 -- .");
     }
 
     @Test
@@ -65,7 +65,7 @@ public void testCommandLineNoDatesLimitedCount() throws Exception {
                 null,
                 (Date) null,
                 (Date) null,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges --date=iso -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges -- .");
     }
 
     @Test
@@ -78,7 +78,7 @@ public void testCommandLineWithDates() throws Exception {
                 null,
                 startDate,
                 endDate,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges \"--since=2003-09-10 00:00:00 +0000\" \"--until=2007-10-10 00:00:00 +0000\" --date=iso -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges \"--since=2003-09-10 00:00:00 +0000\" \"--until=2007-10-10 00:00:00 +0000\" -- .");
     }
 
     @Test
@@ -90,7 +90,7 @@ public void testCommandLineStartDateOnly() throws Exception {
                 null,
                 startDate,
                 null,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges \"--since=2003-09-10 01:01:01 +0000\" --date=iso -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges \"--since=2003-09-10 01:01:01 +0000\" -- .");
     }
 
     @Test
@@ -103,7 +103,7 @@ public void testCommandLineDateFormat() throws Exception {
                 null,
                 startDate,
                 endDate,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges \"--since=2003-09-10 01:01:01 +0000\" \"--until=2005-11-13 23:23:23 +0000\" --date=iso -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges \"--since=2003-09-10 01:01:01 +0000\" \"--until=2005-11-13 23:23:23 +0000\" -- .");
     }
 
     @Test
@@ -118,7 +118,7 @@ public void testCommandLineDateVersionRanges() throws Exception {
                 endDate,
                 new ScmRevision("1"),
                 new ScmRevision("10"),
-                "git whatchanged --format=medium --decorate=short --raw --no-merges \"--since=2003-09-10 01:01:01 +0000\" \"--until=2005-11-13 23:23:23 +0000\" --date=iso 1..10 -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges \"--since=2003-09-10 01:01:01 +0000\" \"--until=2005-11-13 23:23:23 +0000\" 1..10 -- .");
     }
 
     @Test
@@ -131,7 +131,7 @@ public void testCommandLineEndDateOnly() throws Exception {
                 null,
                 null,
                 endDate,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges \"--until=2003-11-10 00:00:00 +0000\" --date=iso -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges \"--until=2003-11-10 00:00:00 +0000\" -- .");
     }
 
     @Test
@@ -141,7 +141,7 @@ public void testCommandLineWithBranchNoDates() throws Exception {
                 new ScmBranch("my-test-branch"),
                 (Date) null,
                 (Date) null,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges --date=iso my-test-branch -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges my-test-branch -- .");
     }
 
     @Test
@@ -151,7 +151,7 @@ public void testCommandLineWithStartVersion() throws Exception {
                 null,
                 new ScmRevision("1"),
                 null,
-                "git whatchanged --format=medium --decorate=short --raw --no-merges --date=iso 1.. -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges 1.. -- .");
     }
 
     @Test
@@ -161,7 +161,7 @@ public void testCommandLineWithStartVersionAndEndVersion() throws Exception {
                 null,
                 new ScmRevision("1"),
                 new ScmRevision("10"),
-                "git whatchanged --format=medium --decorate=short --raw --no-merges --date=iso 1..10 -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges 1..10 -- .");
     }
 
     @Test
@@ -171,7 +171,7 @@ public void testCommandLineWithStartVersionAndEndVersionEquals() throws Exceptio
                 null,
                 new ScmRevision("1"),
                 new ScmRevision("1"),
-                "git whatchanged --format=medium --decorate=short --raw --no-merges --date=iso 1..1 -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges 1..1 -- .");
     }
 
     @Test
@@ -181,7 +181,7 @@ public void testCommandLineWithStartVersionAndEndVersionAndBranch() throws Excep
                 new ScmBranch("my-test-branch"),
                 new ScmRevision("1"),
                 new ScmRevision("10"),
-                "git whatchanged --format=medium --decorate=short --raw --no-merges --date=iso 1..10 my-test-branch -- .");
+                "git log -z --format=%x1e%H%x1f%P%x1f%at%x1f%an%x1f%ae%x1f%D%x1f%B%x1f --encoding=UTF-8 --raw --no-merges 1..10 my-test-branch -- .");
     }
 
     // ----------------------------------------------------------------------
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.changelog;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GitChangeLogZConsumerTest extends ScmTestCase {
+
+    @Test
+    public void testConsumer() throws Exception {
+        GitChangeLogZConsumer consumer = new GitChangeLogZConsumer();
+
+        File f = getTestFile("/src/test/resources/git/changelog/gitlog-z.gitlog");
+
+        consume(f, consumer);
+
+        List<ChangeSet> modifications = consumer.getModifications();
+
+        assertEquals(4, modifications.size());
+
+        ChangeSet entry = modifications.get(0);
+        assertEquals("e1208065950222ba3199ec9f14eb886a89421860", entry.getRevision());
+        assertEquals("81d3897f6b2013a2d505d1ec928b8d6199cffb33", entry.getParentRevision());
+        assertEquals("Mark Struberg <struberg@yahoo.de>", entry.getAuthor());
+        assertEquals(new Date(1196154000000L), entry.getDate());
+        assertEquals("remove readme", entry.getComment());
+        assertEquals(Collections.emptyList(), entry.getTags());
+        assertEquals(1, entry.getFiles().size());
+        assertChangeFile(entry.getFiles().get(0), "readme.txt", ScmFileStatus.DELETED, null);
+
+        entry = modifications.get(1);
+        assertEquals("drop readme", entry.getComment());
+        assertEquals(Collections.singletonList("lightweight"), entry.getTags());
+        assertEquals(2, entry.getFiles().size());
+        assertChangeFile(entry.getFiles().get(0), "readme.txt", ScmFileStatus.MODIFIED, null);
+        assertChangeFile(entry.getFiles().get(1), "with space.txt", ScmFileStatus.ADDED, null);
+
+        entry = modifications.get(2);
+        assertEquals("rename main class\n\nwith a second paragraph\n  indented", entry.getComment());
+        assertEquals(1, entry.getFiles().size());
+        ChangeFile renamed = entry.getFiles().get(0);
+        assertChangeFile(renamed, "src/App.java", ScmFileStatus.RENAMED, "src/Main.java");
+        assertEquals("45bd7ba6812b2219701c84b3f7d35bc1fcd21a4e", renamed.getOriginalRevision());
+
+        entry = modifications.get(3);
+        assertNull(entry.getParentRevision());
+        assertEquals("initial import", entry.getComment());
+        assertEquals(Collections.singletonList("v1"), entry.getTags());
+        assertEquals(2, entry.getFiles().size());
+        assertChangeFile(entry.getFiles().get(1), "src/Main.java", ScmFileStatus.ADDED, null);
+    }
+
+    @Test
+    public void testConsumerWithChangeSetConsumer() throws Exception {
+        List<String> revisions = new ArrayList<>();
+        GitChangeLogZConsumer consumer = new GitChangeLogZConsumer(changeSet -> revisions.add(changeSet.getRevision()));
+
+        File f = getTestFile("/src/test/resources/git/changelog/gitlog-z.gitlog");
+
+        consume(f, consumer);
+
+        assertTrue(consumer.getModifications().isEmpty());
+        assertEquals(
+                Arrays.asList(
+                        "e1208065950222ba3199ec9f14eb886a89421860",
+                        "81d3897f6b2013a2d505d1ec928b8d6199cffb33",
+                        "325efe0c37491ab78dd3bed2df23441b62a88000",
+                        "45bd7ba6812b2219701c84b3f7d35bc1fcd21a4e"),
+                revisions);
+    }
+
+    @Test
+    public void testConsumerKeepsLineTerminators() throws Exception {
+        GitChangeLogZConsumer consumer = new GitChangeLogZConsumer();
+
+        String output = "\u001ee1208065950222ba3199ec9f14eb886a89421860\u001f\u001f1196154000\u001f"
+                + "Mark Struberg\u001fstruberg@yahoo.de\u001f\u001fline\rwith\r\ncarriage returns\n\u001f"
+                + "\n:000000 100644 0000000 bcd1234 A\0with\rcarriage return.txt\0";
+        consumer.consume(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)));
+
+        List<ChangeSet> modifications = consumer.getModifications();
+        assertEquals(1, modifications.size());
+        assertEquals("line\rwith\r\ncarriage returns", modifications.get(0).getComment());
+        assertChangeFile(
+                modifications.get(0).getFiles().get(0), "with\rcarriage return.txt", ScmFileStatus.ADDED, null);
+    }
+
+    private static void consume(File file, GitChangeLogZConsumer consumer) throws IOException {
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            consumer.consume(stream);
+        }
+    }
+
+    private static void assertChangeFile(
+            ChangeFile changeFile, String name, ScmFileStatus action, String originalName) {
+        assertEquals(name, changeFile.getName());
+        assertEquals(action, changeFile.getAction());
+        assertEquals(originalName, changeFile.getOriginalName());
+    }
+}
@@ -18,10 +18,19 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command.changelog;
 
+import java.util.List;
+
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
+import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
 import org.apache.maven.scm.provider.git.command.changelog.GitChangeLogCommandTckTest;
+import org.junit.Test;
 
 import static org.apache.maven.scm.provider.git.GitScmTestUtils.GIT_COMMAND_LINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
@@ -36,4 +45,25 @@ public String getScmProviderCommand() {
     public String getScmUrl() throws Exception {
         return GitScmTestUtils.getScmUrl(getRepositoryRoot(), "git");
     }
+
+    @Test
+    public void testChangeLogIgnoresDatePattern() throws Exception {
+        ChangeLogScmResult expected = getScmManager()
+                .changeLog(new ChangeLogScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy())));
+        assertResultIsSuccess(expected);
+
+        // the dates are read as seconds since the epoch, a pattern would not even match them
+        ChangeLogScmRequest request = new ChangeLogScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy()));
+        request.setDatePattern("'not a date'");
+        ChangeLogScmResult result = getScmManager().changeLog(request);
+        assertResultIsSuccess(result);
+
+        List<ChangeSet> expectedChangeSets = expected.getChangeLog().getChangeSets();
+        List<ChangeSet> changeSets = result.getChangeLog().getChangeSets();
+        assertTrue(changeSets.size() > 0);
+        assertEquals(expectedChangeSets.size(), changeSets.size());
+        for (int i = 0; i < changeSets.size(); i++) {
+            assertEquals(expectedChangeSets.get(i).getDate(), changeSets.get(i).getDate());
+        }
+    }
 }
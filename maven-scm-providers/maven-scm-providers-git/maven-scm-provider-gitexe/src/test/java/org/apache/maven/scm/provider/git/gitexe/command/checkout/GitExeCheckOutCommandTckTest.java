@@ -18,9 +18,23 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command.checkout;
 
+import java.io.File;
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.git.command.checkout.GitCheckOutCommandTckTest;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.Test;
 
 import static org.apache.maven.scm.provider.git.GitScmTestUtils.GIT_COMMAND_LINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -31,4 +45,39 @@ public class GitExeCheckOutCommandTckTest extends GitCheckOutCommandTckTest {
     public String getScmProviderCommand() {
         return GIT_COMMAND_LINE;
     }
+
+    @Test
+    public void testCheckOutCommandSparseAndPartial() throws Exception {
+        // the file:// remote must allow filters to serve a partial clone
+        Commandline gitConfig = GitCommandLineUtils.getBaseGitCommandLine(getRepositoryRoot(), "config");
+        gitConfig.createArg().setValue("uploadpack.allowFilter");
+        gitConfig.createArg().setValue("true");
+        assertEquals(
+                0,
+                GitCommandLineUtils.execute(
+                        gitConfig,
+                        new CommandLineUtils.StringStreamConsumer(),
+                        new CommandLineUtils.StringStreamConsumer()));
+
+        deleteDirectory(getWorkingCopy());
+
+        CommandParameters parameters = new CommandParameters();
+        parameters.setInt(CommandParameter.DEPTH, 1);
+        parameters.setString(CommandParameter.CLONE_FILTER, "blob:none");
+        parameters.setString(CommandParameter.SPARSE_CHECKOUT, Boolean.TRUE.toString());
+        CheckOutScmResult result = getScmManager()
+                .getProviderByUrl(getScmUrl())
+                .checkOut(
+                        getScmRepository(),
+                        new ScmFileSet(getWorkingCopy(), new File("src/main")),
+                        (ScmVersion) null,
+                        parameters);
+
+        assertResultIsSuccess(result);
+        // the files at the top level and those of the cone
+        assertEquals(3, result.getCheckedOutFiles().size());
+        assertTrue(new File(getWorkingCopy(), "src/main/java/Application.java").isFile());
+        assertFalse(new File(getWorkingCopy(), "src/test/java/Test.java").exists());
+        assertTrue("Expected a shallow clone", new File(getWorkingCopy(), ".git/shallow").isFile());
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the {@link GitArchiveExtractor}.
+ */
+public class GitArchiveExtractorTest extends ScmTestCase {
+    private static final String LONG_NAME = repeat('n', 116) + ".txt";
+
+    private static final String DEEP_PATH = "very-long-directory-name-01/very-long-directory-name-02/"
+            + "very-long-directory-name-03/very-long-directory-name-04/very-long-directory-name-05/file.txt";
+
+    @Test
+    public void testExtract() throws Exception {
+        File target = getTestFile("target/git-archive-extractor");
+        deleteDirectory(target);
+
+        GitArchiveExtractor extractor = new GitArchiveExtractor(target);
+        extract(extractor, "/src/test/resources/git/export/git-archive.tar");
+
+        List<String> names =
+                extractor.getExtractedFiles().stream().map(ScmFile::getPath).collect(Collectors.toList());
+        // in the order of the archive, the long name comes from a pax header and the deep path from the ustar prefix
+        assertEquals(Arrays.asList("link.txt", LONG_NAME, "readme.txt", "run.sh", DEEP_PATH), names);
+        for (ScmFile file : extractor.getExtractedFiles()) {
+            assertEquals(ScmFileStatus.CHECKED_OUT, file.getStatus());
+        }
+
+        assertEquals("readme\n", read(new File(target, "readme.txt")));
+        assertEquals("deep\n", read(new File(target, DEEP_PATH)));
+        assertEquals("pax\n", read(new File(target, LONG_NAME)));
+        assertTrue(new File(target, "run.sh").canExecute());
+        // the time of the commit
+        assertEquals(1704189600000L, new File(target, "readme.txt").lastModified());
+
+        File link = new File(target, "link.txt");
+        if (Files.isSymbolicLink(link.toPath())) {
+            assertEquals("readme.txt", Files.readSymbolicLink(link.toPath()).toString());
+        } else {
+            assertEquals("readme.txt", read(link));
+        }
+    }
+
+    @Test
+    public void testExtractOutside() throws Exception {
+        File target = getTestFile("target/git-archive-extractor/target");
+        deleteDirectory(target.getParentFile());
+
+        try {
+            extract(new GitArchiveExtractor(target), "/src/test/resources/git/export/git-archive-outside.tar");
+            fail("Entries outside of the target directory must be rejected");
+        } catch (IOException e) {
+            assertFalse(new File(target.getParentFile(), "outside.txt").exists());
+        }
+    }
+
+    @Test
+    public void testExtractThroughSymbolicLink() throws Exception {
+        File target = getTestFile("target/git-archive-extractor/target");
+        deleteDirectory(target.getParentFile());
+        File outside = new File(target.getParentFile(), "outside");
+        outside.mkdirs();
+
+        try {
+            // a link to a directory outside, then a link in a subdirectory of it
+            extract(new GitArchiveExtractor(target), "/src/test/resources/git/export/git-archive-symlink.tar");
+            fail("Entries written through a symbolic link outside of the target directory must be rejected");
+        } catch (IOException e) {
+            assertFalse(new File(outside, "sub").exists());
+        }
+    }
+
+    private static void extract(GitArchiveExtractor extractor, String archive) throws IOException {
+        try (InputStream stream = Files.newInputStream(getTestFile(archive).toPath())) {
+            extractor.consume(stream);
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
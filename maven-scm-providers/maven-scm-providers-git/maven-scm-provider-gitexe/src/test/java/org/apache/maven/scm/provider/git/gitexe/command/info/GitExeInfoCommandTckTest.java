@@ -18,12 +18,68 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command.info;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
 import org.apache.maven.scm.provider.git.command.info.GitInfoCommandTckTest;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class GitExeInfoCommandTckTest extends GitInfoCommandTckTest {
 
     public String getScmUrl() throws Exception {
         return GitScmTestUtils.getScmUrl(getRepositoryRoot(), "git");
     }
+
+    @Test
+    public void testInfoCommandWithMultipleFilesBeyondTheBatchWalk() throws Exception {
+        // only readme.txt is changed by the single commit the batch walk reads
+        Files.write(
+                new File(getWorkingCopy(), "readme.txt").toPath(),
+                "changed".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        Map<String, String> environment = new HashMap<>();
+        environment.put("GIT_AUTHOR_NAME", "author");
+        environment.put("GIT_AUTHOR_EMAIL", "author@example.com");
+        environment.put("GIT_COMMITTER_NAME", "author");
+        environment.put("GIT_COMMITTER_EMAIL", "author@example.com");
+        Commandline commit = GitCommandLineUtils.getBaseGitCommandLine(getWorkingCopy(), "commit", null, environment);
+        commit.createArg().setValue("-am");
+        commit.createArg().setValue("change");
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        assertEquals(0, GitCommandLineUtils.execute(commit, new CommandLineUtils.StringStreamConsumer(), stderr));
+
+        GitInfoCommand command = new GitInfoCommand() {
+            @Override
+            protected int getBatchMaxCount() {
+                return 1;
+            }
+        };
+        InfoScmResult result = (InfoScmResult) command.execute(
+                getScmRepository().getProviderRepository(),
+                new ScmFileSet(getWorkingCopy(), Arrays.asList(new File("readme.txt"), new File("pom.xml"))),
+                new CommandParameters());
+
+        assertResultIsSuccess(result);
+        assertNotEquals(
+                "92f139dfec4d1dfb79c3cd2f94e83bf13129668b",
+                result.getInfoItems().get(0).getRevision());
+        assertEquals(
+                "92f139dfec4d1dfb79c3cd2f94e83bf13129668b",
+                result.getInfoItems().get(1).getRevision());
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.info;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.scm.command.info.InfoItem;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class GitInfoBatchConsumerTest {
+
+    @Test
+    public void testConsumer() {
+        GitInfoBatchConsumer consumer = new GitInfoBatchConsumer(
+                Arrays.asList(Paths.get("readme.txt"), Paths.get("src"), Paths.get("missing.txt")),
+                Arrays.asList("readme.txt", "src/", "missing.txt"),
+                GitInfoCommand.NO_REVISION_LENGTH);
+
+        consumer.consumeLine(
+                "\u001ecd3c0dfacb65955e6fbb35c56cc5b1bf8ce4f767 2011-01-26T09:23:44+01:00 olamy@apache.org Olivier Lamy");
+        consumer.consumeLine(
+                "src/main/App.java\0\0"
+                        + "\u001e92f139dfec4d1dfb79c3cd2f94e83bf13129668b 2009-03-15T19:14:02+01:00 struberg@yahoo.de Mark Struberg");
+        consumer.consumeLine("readme.txt\0src/main/App.java\0");
+
+        List<InfoItem> infoItems = consumer.getInfoItems();
+        assertEquals(3, infoItems.size());
+
+        assertEquals("readme.txt", infoItems.get(0).getPath());
+        assertEquals(
+                "92f139dfec4d1dfb79c3cd2f94e83bf13129668b", infoItems.get(0).getRevision());
+        assertEquals("Mark Struberg <struberg@yahoo.de>", infoItems.get(0).getLastChangedAuthor());
+
+        assertEquals("src", infoItems.get(1).getPath());
+        assertEquals(
+                "cd3c0dfacb65955e6fbb35c56cc5b1bf8ce4f767", infoItems.get(1).getRevision());
+        assertEquals("Olivier Lamy <olamy@apache.org>", infoItems.get(1).getLastChangedAuthor());
+
+        assertEquals("missing.txt", infoItems.get(2).getPath());
+        assertNull(infoItems.get(2).getRevision());
+        assertEquals(2, consumer.getCommitCount());
+        assertEquals(Collections.singletonList(2), consumer.getPendingIndexes());
+    }
+
+    @Test
+    public void testConsumerWithWorkingDirectory() {
+        GitInfoBatchConsumer consumer = new GitInfoBatchConsumer(
+                Arrays.asList(Paths.get("."), Paths.get("pom.xml")),
+                Arrays.asList(".", "pom.xml"),
+                GitInfoCommand.NO_REVISION_LENGTH);
+
+        consumer.consumeLine(
+                "\u001ecd3c0dfacb65955e6fbb35c56cc5b1bf8ce4f767 2011-01-26T09:23:44+01:00 olamy@apache.org Olivier Lamy");
+        consumer.consumeLine("src/main/App.java\0");
+
+        assertEquals(
+                "cd3c0dfacb65955e6fbb35c56cc5b1bf8ce4f767",
+                consumer.getInfoItems().get(0).getRevision());
+        assertEquals(Collections.singletonList(1), consumer.getPendingIndexes());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.maintenance;
+
+import java.io.File;
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.provider.git.AbstractGitScmProvider;
+import org.apache.maven.scm.provider.git.command.maintenance.GitMaintenanceCommandTckTest;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.Test;
+
+import static org.apache.maven.scm.provider.git.GitScmTestUtils.GIT_COMMAND_LINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GitExeMaintenanceCommandTckTest extends GitMaintenanceCommandTckTest {
+    @Override
+    public String getScmProviderCommand() {
+        return GIT_COMMAND_LINE;
+    }
+
+    @Test
+    public void testMaintenanceKeepsBorrowedObjects() throws Exception {
+        File clone = getTestFile("target/scm-test/reference-clone");
+        deleteDirectory(clone);
+        Commandline gitClone = GitCommandLineUtils.getBaseGitCommandLine(clone.getParentFile(), "clone");
+        gitClone.createArg().setValue("--reference");
+        gitClone.createArg().setValue(getRepositoryRoot().getAbsolutePath());
+        gitClone.createArg().setValue(getRepositoryRoot().toPath().toUri().toString());
+        gitClone.createArg().setValue(clone.getName());
+        assertEquals(0, run(gitClone).length());
+        assertTrue(new File(clone, ".git/objects/info/alternates").isFile());
+
+        AbstractGitScmProvider provider =
+                (AbstractGitScmProvider) getScmManager().getProviderByUrl(getScmUrl());
+        ScmResult result = provider.maintenance(
+                getScmRepository().getProviderRepository(), new ScmFileSet(clone), new CommandParameters());
+
+        assertResultIsSuccess(result);
+        assertFalse(result.getCommandLine().contains("--write-bitmap-index"));
+        Commandline countObjects = GitCommandLineUtils.getBaseGitCommandLine(clone, "count-objects");
+        countObjects.createArg().setValue("-v");
+        assertTrue(run(countObjects), run(countObjects).contains("in-pack: 0\n"));
+    }
+
+    private static String run(Commandline cl) throws Exception {
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        int exitCode = GitCommandLineUtils.execute(cl, stdout, stderr);
+        assertEquals(stderr.getOutput(), 0, exitCode);
+        return stdout.getOutput();
+    }
+
+    @Override
+    protected void assertMaintained(File gitDirectory) throws Exception {
+        assertTrue(new File(gitDirectory, "objects/info/commit-graph").isFile());
+
+        Commandline config = GitCommandLineUtils.getBaseGitCommandLine(gitDirectory.getParentFile(), "config");
+        config.createArg().setValue("fetch.writeCommitGraph");
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        assertEquals(0, GitCommandLineUtils.execute(config, stdout, new CommandLineUtils.StringStreamConsumer()));
+        assertEquals("true", stdout.getOutput().trim());
+    }
+}
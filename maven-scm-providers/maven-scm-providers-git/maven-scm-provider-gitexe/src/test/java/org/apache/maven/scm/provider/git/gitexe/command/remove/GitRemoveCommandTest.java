@@ -79,6 +79,17 @@ public void testCommandRemoveWithTwoDirectory() throws Exception {
         FileUtils.deleteDirectory(workingDirectory);
     }
 
+    @Test
+    public void testCommandRemovePathspecFromFile() throws Exception {
+        File workingDirectory = createTempDirectory();
+
+        Commandline cl = GitRemoveCommand.createPathspecFromFileCommandLine(workingDirectory);
+
+        assertCommandLine("git rm -r --pathspec-from-file=- --pathspec-file-nul", workingDirectory, cl);
+
+        FileUtils.deleteDirectory(workingDirectory);
+    }
+
     private File createTempDirectory() throws IOException {
         File dir = Files.createTempDirectory("gitexe" + "test").toFile();
         return dir;
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command.status;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.util.ConsumerUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GitStatusZConsumerTest extends ScmTestCase {
+    private static final String HASHES =
+            " 1234567890123456789012345678901234567890 1234567890123456789012345678901234567890 ";
+
+    private static String ordinary(String xy, String worktreeMode, String path) {
+        return "1 " + xy + " N... 100644 100644 " + worktreeMode + HASHES + path + "\0";
+    }
+
+    private static String renamed(String xy, String path, String originalPath) {
+        return "2 " + xy + " N... 100644 100644 100644" + HASHES + "R100 " + path + "\0" + originalPath + "\0";
+    }
+
+    private static List<ScmFile> getChangedFiles(String output, URI relativeRepoPath, ScmFileSet fileSet)
+            throws IOException {
+        GitStatusZConsumer consumer = new GitStatusZConsumer(relativeRepoPath, fileSet);
+        ConsumerUtils.consumeLines(new StringReader(output), consumer);
+        return consumer.getChangedFiles();
+    }
+
+    private static void assertScmFile(ScmFile file, String path, ScmFileStatus status) {
+        assertEquals(path, file.getPath());
+        assertEquals(status, file.getStatus());
+    }
+
+    @Test
+    public void testStatuses() throws Exception {
+        String output = ordinary("A.", "100644", "added.txt")
+                + ordinary(".M", "100755", "modified.sh")
+                + ordinary("MM", "120000", "link")
+                + ordinary(".D", "000000", "deleted.txt")
+                + ordinary("D.", "000000", "removed.txt")
+                + ordinary("AD", "000000", "added-then-deleted.txt")
+                + ordinary(".M", "160000", "submodule")
+                + renamed("R.", "new name.txt", "old name.txt")
+                + renamed("RM", "changed.txt", "original.txt")
+                + "u UU N... 100644 100644 100644 100644" + HASHES
+                + "1234567890123456789012345678901234567890 conflict\0"
+                + "? untracked.txt\0";
+
+        List<ScmFile> changedFiles = getChangedFiles(output, null, null);
+
+        assertEquals(7, changedFiles.size());
+        assertScmFile(changedFiles.get(0), "added.txt", ScmFileStatus.ADDED);
+        assertScmFile(changedFiles.get(1), "modified.sh", ScmFileStatus.MODIFIED);
+        assertScmFile(changedFiles.get(2), "link", ScmFileStatus.MODIFIED);
+        assertScmFile(changedFiles.get(3), "deleted.txt", ScmFileStatus.DELETED);
+        assertScmFile(changedFiles.get(4), "removed.txt", ScmFileStatus.DELETED);
+        assertScmFile(changedFiles.get(5), "old name.txt", ScmFileStatus.RENAMED);
+        assertScmFile(changedFiles.get(6), "new name.txt", ScmFileStatus.RENAMED);
+    }
+
+    @Test
+    public void testPathWithLineFeed() throws Exception {
+        List<ScmFile> changedFiles =
+                getChangedFiles(ordinary(".M", "100644", "a\nb.txt") + ordinary(".M", "100644", "c.txt"), null, null);
+
+        assertEquals(2, changedFiles.size());
+        assertScmFile(changedFiles.get(0), "a\nb.txt", ScmFileStatus.MODIFIED);
+        assertScmFile(changedFiles.get(1), "c.txt", ScmFileStatus.MODIFIED);
+    }
+
+    @Test
+    public void testRelativeRepositoryPathAndFileSet() throws Exception {
+        String output = ordinary(".M", "100644", "work dir/pom.xml")
+                + ordinary(".M", "100644", "work dir/src/main/A.java")
+                + ordinary(".M", "100644", "work dir/src/test/B.java")
+                + ordinary(".M", "100644", "work dir/other.txt");
+        URI relativeRepoPath = GitStatusConsumer.uriFromPath("work dir/");
+        File basedir = getTestFile("target/status");
+
+        List<ScmFile> changedFiles = getChangedFiles(
+                output,
+                relativeRepoPath,
+                new ScmFileSet(basedir, Arrays.asList(new File("pom.xml"), new File("src/main/"))));
+        assertEquals(2, changedFiles.size());
+        assertScmFile(changedFiles.get(0), "pom.xml", ScmFileStatus.MODIFIED);
+        assertScmFile(changedFiles.get(1), "src/main/A.java", ScmFileStatus.MODIFIED);
+
+        changedFiles = getChangedFiles(
+                output, relativeRepoPath, new ScmFileSet(basedir, Arrays.asList(new File(basedir, "src/test/B.java"))));
+        assertEquals(1, changedFiles.size());
+        assertScmFile(changedFiles.get(0), "src/test/B.java", ScmFileStatus.MODIFIED);
+
+        changedFiles = getChangedFiles(output, relativeRepoPath, new ScmFileSet(basedir, new File(".")));
+        assertEquals(4, changedFiles.size());
+    }
+
+    @Test
+    public void testManyEntries() throws Exception {
+        StringBuilder output = new StringBuilder();
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            output.append(ordinary(".M", "100644", "dir" + (i % 100) + "/file" + i + ".txt"));
+            if (i % 2 == 0) {
+                files.add(new File("dir" + (i % 100) + "/file" + i + ".txt"));
+            }
+        }
+        List<ScmFile> changedFiles =
+                getChangedFiles(output.toString(), null, new ScmFileSet(getTestFile("target/status"), files));
+
+        assertEquals(10000, changedFiles.size());
+        assertScmFile(changedFiles.get(1), "dir2/file2.txt", ScmFileStatus.MODIFIED);
+    }
+}
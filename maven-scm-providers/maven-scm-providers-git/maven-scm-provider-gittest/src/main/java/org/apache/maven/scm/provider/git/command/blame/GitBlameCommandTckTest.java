@@ -19,11 +19,27 @@
 package org.apache.maven.scm.provider.git.command.blame;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameScmRequest;
+import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.tck.command.blame.BlameCommandTckTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Evgeny Mandrikov
@@ -42,4 +58,118 @@ protected CheckOutScmResult checkOut(File workingDirectory, ScmRepository reposi
             GitScmTestUtils.setDefaulGitConfig(workingDirectory);
         }
     }
+
+    @Test
+    public void testBlameCommandWithLineRanges() throws Exception {
+        ScmFileSet fileSet = new ScmFileSet(getWorkingCopy());
+        makeFile(getWorkingCopy(), "/lines.txt", "line 1\nline 2\nline 3\nline 4\nline 5\n");
+        assertResultIsSuccess(getScmManager().add(getScmRepository(), new ScmFileSet(getWorkingCopy(), "lines.txt")));
+        assertResultIsSuccess(getScmManager().checkIn(getScmRepository(), fileSet, "Add lines"));
+        makeFile(getWorkingCopy(), "/lines.txt", "line 1\nline two\nline 3\nline 4\nline 5\n");
+        assertResultIsSuccess(getScmManager().checkIn(getScmRepository(), fileSet, "Change line 2"));
+
+        List<BlameLine> allLines =
+                getScmManager().blame(getScmRepository(), fileSet, "lines.txt").getLines();
+        assertEquals(5, allLines.size());
+        assertNotEquals(allLines.get(0).getRevision(), allLines.get(1).getRevision());
+
+        // === line ranges, in file order ===
+        BlameScmRequest blameScmRequest = new BlameScmRequest(getScmRepository(), fileSet);
+        blameScmRequest.setFilename("lines.txt");
+        blameScmRequest.addLineRange(4, 5);
+        blameScmRequest.addLineRange(1, 2);
+        BlameScmResult result = getScmManager().blame(blameScmRequest);
+        assertResultIsSuccess(result);
+        assertEquals(4, result.getLines().size());
+        assertEquals(allLines.get(0).getRevision(), result.getLines().get(0).getRevision());
+        assertEquals(allLines.get(1).getRevision(), result.getLines().get(1).getRevision());
+        assertEquals(allLines.get(4).getRevision(), result.getLines().get(3).getRevision());
+
+        // === streamed to a consumer ===
+        Map<Integer, BlameLine> consumed = new TreeMap<>();
+        blameScmRequest = new BlameScmRequest(getScmRepository(), fileSet);
+        blameScmRequest.setFilename("lines.txt");
+        blameScmRequest.addLineRange(2, 3);
+        blameScmRequest.setBlameLineConsumer(consumed::put);
+        result = getScmManager().blame(blameScmRequest);
+        assertResultIsSuccess(result);
+        assertTrue("Expected the lines to be streamed", result.getLines().isEmpty());
+        assertEquals(2, consumed.size());
+        for (Map.Entry<Integer, BlameLine> entry : consumed.entrySet()) {
+            BlameLine line = allLines.get(entry.getKey() - 1);
+            assertEquals(line.getRevision(), entry.getValue().getRevision());
+            assertEquals(line.getAuthor(), entry.getValue().getAuthor());
+        }
+    }
+
+    @Test
+    public void testBlameFiles() throws Exception {
+        ScmFileSet fileSet = new ScmFileSet(getWorkingCopy());
+        makeFile(getWorkingCopy(), "/lines.txt", "line 1\nline 2\nline 3\n");
+        makeFile(getWorkingCopy(), "/other.txt", "other 1\nother 2\n");
+        assertResultIsSuccess(getScmManager()
+                .add(
+                        getScmRepository(),
+                        new ScmFileSet(getWorkingCopy(), Arrays.asList(new File("lines.txt"), new File("other.txt")))));
+        assertResultIsSuccess(getScmManager().checkIn(getScmRepository(), fileSet, "Add lines"));
+        String firstRevision = getScmManager()
+                .blame(getScmRepository(), fileSet, "lines.txt")
+                .getLines()
+                .get(1)
+                .getRevision();
+        makeFile(getWorkingCopy(), "/lines.txt", "line 1\nline two\nline 3\n");
+        assertResultIsSuccess(getScmManager().checkIn(getScmRepository(), fileSet, "Change line 2"));
+
+        List<File> files = Arrays.asList(new File("lines.txt"), new File("other.txt"), new File("missing.txt"));
+        Map<String, BlameScmResult> results = new HashMap<>();
+        BlameScmRequest blameScmRequest =
+                new BlameScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy(), files));
+        blameScmRequest.setBlameFileConsumer(results::put);
+        BlameScmResult result = getScmManager().blame(blameScmRequest);
+        assertResultIsSuccess(result);
+        assertTrue(result.getLines().isEmpty());
+
+        assertEquals(3, results.size());
+        List<BlameLine> lines = results.get("lines.txt").getLines();
+        assertEquals(3, lines.size());
+        assertEquals(firstRevision, lines.get(0).getRevision());
+        assertNotEquals(firstRevision, lines.get(1).getRevision());
+        assertEquals(2, results.get("other.txt").getLines().size());
+        assertFalse(results.get("missing.txt").isSuccess());
+
+        // === at a revision ===
+        results.clear();
+        blameScmRequest = new BlameScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy(), files));
+        blameScmRequest.setBlameFileConsumer(results::put);
+        blameScmRequest.setScmVersion(new ScmRevision(firstRevision));
+        assertResultIsSuccess(getScmManager().blame(blameScmRequest));
+        lines = results.get("lines.txt").getLines();
+        assertEquals(3, lines.size());
+        assertEquals(firstRevision, lines.get(1).getRevision());
+    }
+
+    @Test
+    public void testBlameCommandIncludesLocalChanges() throws Exception {
+        ScmFileSet fileSet = new ScmFileSet(getWorkingCopy());
+        makeFile(getWorkingCopy(), "/lines.txt", "line 1\nline 2\n");
+        assertResultIsSuccess(getScmManager().add(getScmRepository(), new ScmFileSet(getWorkingCopy(), "lines.txt")));
+        assertResultIsSuccess(getScmManager().checkIn(getScmRepository(), fileSet, "Add lines"));
+        makeFile(getWorkingCopy(), "/lines.txt", "line 1\nline 2\nline 3\n");
+        makeFile(getWorkingCopy(), "/added.txt", "added 1\n");
+        assertResultIsSuccess(getScmManager().add(getScmRepository(), new ScmFileSet(getWorkingCopy(), "added.txt")));
+
+        BlameScmResult result = getScmManager().blame(getScmRepository(), fileSet, "lines.txt");
+        assertResultIsSuccess(result);
+        assertEquals(3, result.getLines().size());
+        assertNotEquals(
+                result.getLines().get(0).getRevision(), result.getLines().get(2).getRevision());
+        assertEquals(
+                "0000000000000000000000000000000000000000",
+                result.getLines().get(2).getRevision());
+        assertEquals("Not Committed Yet", result.getLines().get(2).getAuthor());
+
+        result = getScmManager().blame(getScmRepository(), fileSet, "added.txt");
+        assertResultIsSuccess(result);
+        assertEquals(1, result.getLines().size());
+    }
 }
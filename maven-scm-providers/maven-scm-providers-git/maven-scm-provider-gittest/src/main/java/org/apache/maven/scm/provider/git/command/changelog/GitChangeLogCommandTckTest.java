@@ -39,6 +39,7 @@
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
@@ -230,6 +231,36 @@ public void testChangeLogCommandFromVersionToStartOfRepository() throws Exceptio
         assertEquals("Incorrect tags found", noTags, sorted(logEntries.get(3).getTags()));
     }
 
+    @Test
+    public void testChangeLogCommandWithChangeSetConsumer() throws Exception {
+        Thread.sleep(SLEEP_TIME_IN_MILLIS);
+        ScmRepository scmRepository = getScmRepository();
+        ScmProvider provider = getScmManager().getProviderByRepository(scmRepository);
+        ScmFileSet fileSet = new ScmFileSet(getWorkingCopy());
+
+        ChangeLogScmRequest clr = new ChangeLogScmRequest(scmRepository, fileSet);
+        String version = "db46d63";
+        clr.setRevision(new ScmRevision(version));
+        List<ChangeSet> streamedEntries = new ArrayList<>();
+        clr.setChangeSetConsumer(streamedEntries::add);
+        ChangeLogScmResult changelogResult = provider.changeLog(clr);
+
+        assertTrue(changelogResult.isSuccess());
+        assertEquals(
+                "streamed change sets must not be collected",
+                0,
+                changelogResult.getChangeLog().getChangeSets().size());
+        assertEquals(
+                String.format("changelog for %s streamed bad number of commits", version), 4, streamedEntries.size());
+
+        assertThat("bad commit SHA1 retrieved", streamedEntries.get(0).getRevision(), startsWith("db46d63"));
+        assertThat("bad commit SHA1 retrieved", streamedEntries.get(3).getRevision(), startsWith("e75cb5a"));
+        assertEquals(
+                "Incorrect tags found",
+                Arrays.asList("Tag4a", "Tag4b"),
+                sorted(streamedEntries.get(0).getTags()));
+    }
+
     private List<String> sorted(List<String> input) {
         List<String> result = new ArrayList<>(input);
         Collections.sort(result);
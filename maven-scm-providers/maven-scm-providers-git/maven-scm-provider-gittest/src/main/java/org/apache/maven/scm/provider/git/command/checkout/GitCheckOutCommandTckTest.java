@@ -18,8 +18,18 @@
  */
 package org.apache.maven.scm.provider.git.command.checkout;
 
+import java.io.File;
+
+import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitMirrorCache;
+import org.apache.maven.scm.provider.git.util.GitUtil;
 import org.apache.maven.scm.tck.command.checkout.CheckOutCommandTckTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
@@ -35,4 +45,29 @@ public String getScmUrl() throws Exception {
     public void initRepo() throws Exception {
         GitScmTestUtils.initRepo("src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory());
     }
+
+    @Test
+    public void testCheckOutCommandWithMirrorCache() throws Exception {
+        File cacheDirectory = getTestFile("target/scm-test/mirror-cache");
+        deleteDirectory(cacheDirectory);
+        GitUtil.getSettings().setMirrorCacheDirectory(cacheDirectory.getPath());
+        try {
+            GitMirrorCache mirrorCache = GitMirrorCache.getConfigured();
+            File mirror = mirrorCache.getMirrorDirectory(
+                    (GitScmProviderRepository) getScmRepository().getProviderRepository());
+
+            for (int i = 0; i < 2; i++) {
+                deleteDirectory(getWorkingCopy());
+
+                CheckOutScmResult result = checkOut(getWorkingCopy(), getScmRepository());
+
+                assertResultIsSuccess(result);
+                assertEquals(4, result.getCheckedOutFiles().size());
+                assertTrue("Expected the mirror " + mirror, new File(mirror, "HEAD").isFile());
+                assertTrue(new File(getWorkingCopy(), "pom.xml").isFile());
+            }
+        } finally {
+            GitUtil.getSettings().setMirrorCacheDirectory(null);
+        }
+    }
 }
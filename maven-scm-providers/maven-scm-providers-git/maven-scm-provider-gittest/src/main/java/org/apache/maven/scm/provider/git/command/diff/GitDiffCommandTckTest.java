@@ -18,8 +18,28 @@
  */
 package org.apache.maven.scm.provider.git.command.diff;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.diff.DiffFileOffset;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
+import org.apache.maven.scm.command.diff.DiffScmResult;
+import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.tck.command.diff.DiffCommandTckTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
@@ -30,4 +50,45 @@ public abstract class GitDiffCommandTckTest extends DiffCommandTckTest {
     public void initRepo() throws Exception {
         GitScmTestUtils.initRepo("src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory());
     }
+
+    @Test
+    public void testDiffCommandToPatchFile() throws Exception {
+        ScmRepository repository = getScmRepository();
+
+        ScmTestCase.makeFile(getWorkingCopy(), "/readme.txt", "changed readme.txt");
+        ScmTestCase.makeFile(getWorkingCopy(), "/project.xml", "changed project.xml");
+        addToWorkingTree(getWorkingCopy(), new File("project.xml"), repository);
+
+        ScmProvider provider = getScmManager().getProviderByUrl(getScmUrl());
+        ScmFileSet fileSet = new ScmFileSet(getWorkingCopy());
+        DiffScmResult collected = provider.diff(repository, fileSet, null, (ScmVersion) null);
+        assertResultIsSuccess(collected);
+
+        Path patchFile = getWorkingDirectory().toPath().resolve("../diff.patch");
+        DiffScmRequest request = new DiffScmRequest(repository, fileSet);
+        request.setPatchFile(patchFile);
+        DiffScmResult streamed = provider.diff(request);
+        assertResultIsSuccess(streamed);
+
+        // the same patch, but only on disk
+        assertNull(streamed.getPatch());
+        assertEquals(collected.getChangedFiles(), streamed.getChangedFiles());
+        byte[] patch = Files.readAllBytes(patchFile);
+        assertEquals(collected.getPatch(), new String(patch, StandardCharsets.UTF_8));
+
+        List<DiffFileOffset> fileOffsets = streamed.getFileOffsets();
+        assertEquals(2, fileOffsets.size());
+        for (DiffFileOffset fileOffset : fileOffsets) {
+            String difference = new String(
+                    Arrays.copyOfRange(patch, (int) fileOffset.getOffset(), (int)
+                            (fileOffset.getOffset() + fileOffset.getLength())),
+                    StandardCharsets.UTF_8);
+            assertTrue(difference, difference.startsWith("diff --git a/" + fileOffset.getPath() + " "));
+            assertTrue(difference, difference.endsWith("\\ No newline at end of file\n"));
+            assertEquals(difference.split("\n").length, fileOffset.getLineCount());
+        }
+        assertEquals(
+                patch.length,
+                fileOffsets.get(1).getOffset() + fileOffsets.get(1).getLength());
+    }
 }
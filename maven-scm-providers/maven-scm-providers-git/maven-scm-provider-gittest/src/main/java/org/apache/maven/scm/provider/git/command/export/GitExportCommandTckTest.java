@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.command.export;
+
+import java.io.File;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.ScmTckTestCase;
+import org.apache.maven.scm.command.export.ExportScmResult;
+import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the export of a git repository, from a working copy and from the remote.
+ */
+public abstract class GitExportCommandTckTest extends ScmTckTestCase {
+    /** {@inheritDoc} */
+    public String getScmUrl() throws Exception {
+        return GitScmTestUtils.getScmUrl(getRepositoryRoot(), "git");
+    }
+
+    /** {@inheritDoc} */
+    public void initRepo() throws Exception {
+        GitScmTestUtils.initRepo("src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory());
+    }
+
+    @Test
+    public void testExportFromWorkingCopy() throws Exception {
+        File exportDirectory = getExportDirectory();
+
+        ExportScmResult result = getScmManager()
+                .export(getScmRepository(), new ScmFileSet(getWorkingCopy()), null, exportDirectory.getPath());
+
+        assertResultIsSuccess(result);
+        assertEquals(4, result.getExportedFiles().size());
+        assertTrue(new File(exportDirectory, "src/main/java/Application.java").isFile());
+        assertFalse(new File(exportDirectory, ".git").exists());
+    }
+
+    @Test
+    public void testExportFromRemote() throws Exception {
+        File exportDirectory = getExportDirectory();
+
+        ExportScmResult result = getScmManager().export(getScmRepository(), new ScmFileSet(exportDirectory));
+
+        assertResultIsSuccess(result);
+        assertEquals(4, result.getExportedFiles().size());
+        assertTrue(new File(exportDirectory, "pom.xml").isFile());
+        assertFalse(new File(exportDirectory, ".git").exists());
+    }
+
+    @Test
+    public void testExportFromRemoteWithPaths() throws Exception {
+        File exportDirectory = getExportDirectory();
+
+        ExportScmResult result =
+                getScmManager().export(getScmRepository(), new ScmFileSet(exportDirectory, new File("src/main")));
+
+        assertResultIsSuccess(result);
+        assertEquals(1, result.getExportedFiles().size());
+        assertTrue(new File(exportDirectory, "src/main/java/Application.java").isFile());
+        assertFalse(new File(exportDirectory, "pom.xml").exists());
+    }
+
+    @Test
+    public void testExportRevision() throws Exception {
+        File exportDirectory = getExportDirectory();
+
+        ExportScmResult result = getScmManager()
+                .export(
+                        getScmRepository(),
+                        new ScmFileSet(exportDirectory),
+                        new ScmRevision("92f139dfec4d1dfb79c3cd2f94e83bf13129668b"));
+
+        assertResultIsSuccess(result);
+        assertEquals(4, result.getExportedFiles().size());
+        assertTrue(new File(exportDirectory, "readme.txt").isFile());
+    }
+
+    private File getExportDirectory() throws Exception {
+        File exportDirectory = getTestFile("target/scm-test/export");
+        deleteDirectory(exportDirectory);
+        assertTrue(exportDirectory.mkdirs());
+        return exportDirectory;
+    }
+}
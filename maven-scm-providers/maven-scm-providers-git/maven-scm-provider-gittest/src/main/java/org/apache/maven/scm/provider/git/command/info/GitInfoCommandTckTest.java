@@ -18,8 +18,19 @@
  */
 package org.apache.maven.scm.provider.git.command.info;
 
+import java.io.File;
+import java.util.Arrays;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.command.info.InfoScmResult;
+import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
 import org.apache.maven.scm.tck.command.info.InfoCommandTckTest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
@@ -30,4 +41,38 @@ public abstract class GitInfoCommandTckTest extends InfoCommandTckTest {
     public void initRepo() throws Exception {
         GitScmTestUtils.initRepo("src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory());
     }
+
+    @Test
+    public void testInfoCommandWithMultipleFiles() throws Exception {
+        ScmProvider scmProvider = getScmManager().getProviderByUrl(getScmUrl());
+        ScmFileSet fileSet = new ScmFileSet(
+                getWorkingCopy(),
+                Arrays.asList(
+                        new File("pom.xml"),
+                        new File("src/test"),
+                        new File("unversioned.txt"),
+                        new File("src/main/java/Application.java")));
+        InfoScmResult result = scmProvider.info(getScmRepository().getProviderRepository(), fileSet, null);
+        assertResultIsSuccess(result);
+        assertEquals(4, result.getInfoItems().size());
+        for (int i : new int[] {0, 1, 3}) {
+            InfoItem item = result.getInfoItems().get(i);
+            assertEquals(fileSet.getFileList().get(i).getPath(), item.getPath());
+            assertEquals("Mark Struberg <struberg@yahoo.de>", item.getLastChangedAuthor());
+            assertEquals("92f139dfec4d1dfb79c3cd2f94e83bf13129668b", item.getRevision());
+        }
+        assertNull(result.getInfoItems().get(2).getRevision());
+    }
+
+    @Test
+    public void testInfoCommandWithBasedirInFiles() throws Exception {
+        ScmProvider scmProvider = getScmManager().getProviderByUrl(getScmUrl());
+        ScmFileSet fileSet = new ScmFileSet(getWorkingCopy(), Arrays.asList(getWorkingCopy(), new File("pom.xml")));
+        InfoScmResult result = scmProvider.info(getScmRepository().getProviderRepository(), fileSet, null);
+        assertResultIsSuccess(result);
+        assertEquals(2, result.getInfoItems().size());
+        for (InfoItem item : result.getInfoItems()) {
+            assertEquals("92f139dfec4d1dfb79c3cd2f94e83bf13129668b", item.getRevision());
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.command.maintenance;
+
+import java.io.File;
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.ScmTckTestCase;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
+import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.provider.git.AbstractGitScmProvider;
+import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the maintenance of the repository of a working copy.
+ */
+public abstract class GitMaintenanceCommandTckTest extends ScmTckTestCase {
+    /** {@inheritDoc} */
+    public String getScmUrl() throws Exception {
+        return GitScmTestUtils.getScmUrl(getRepositoryRoot(), "git");
+    }
+
+    /** {@inheritDoc} */
+    public void initRepo() throws Exception {
+        GitScmTestUtils.initRepo("src/test/resources/repository/", getRepositoryRoot(), getWorkingDirectory());
+    }
+
+    @Test
+    public void testMaintenance() throws Exception {
+        ChangeLogScmResult before = getScmManager()
+                .changeLog(new ChangeLogScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy())));
+        assertResultIsSuccess(before);
+
+        AbstractGitScmProvider provider =
+                (AbstractGitScmProvider) getScmManager().getProviderByUrl(getScmUrl());
+        ScmResult result = provider.maintenance(
+                getScmRepository().getProviderRepository(), new ScmFileSet(getWorkingCopy()), new CommandParameters());
+
+        assertResultIsSuccess(result);
+        File packDirectory = new File(getWorkingCopy(), ".git/objects/pack");
+        String[] bitmaps = packDirectory.list((dir, name) -> name.endsWith(".bitmap"));
+        assertEquals(1, bitmaps.length);
+        assertMaintained(new File(getWorkingCopy(), ".git"));
+
+        // the history reads the same
+        ChangeLogScmResult after = getScmManager()
+                .changeLog(new ChangeLogScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy())));
+        assertResultIsSuccess(after);
+        assertEquals(
+                before.getChangeLog().getChangeSets().size(),
+                after.getChangeLog().getChangeSets().size());
+        assertTrue(after.getChangeLog().getChangeSets().size() > 0);
+    }
+
+    /**
+     * Checks what is specific to the provider in the maintained repository.
+     *
+     * @param gitDirectory the <code>.git</code> directory of the working copy
+     */
+    protected void assertMaintained(File gitDirectory) throws Exception {}
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.maven.scm.provider.git.jgit;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -29,6 +30,7 @@
 import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.provider.git.AbstractGitScmProvider;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.jgit.command.JGitRepositoryCache;
 import org.apache.maven.scm.provider.git.jgit.command.PlexusInteractivityCredentialsProvider;
 import org.apache.maven.scm.provider.git.jgit.command.add.JGitAddCommand;
 import org.apache.maven.scm.provider.git.jgit.command.blame.JGitBlameCommand;
@@ -37,8 +39,10 @@
 import org.apache.maven.scm.provider.git.jgit.command.checkin.JGitCheckInCommand;
 import org.apache.maven.scm.provider.git.jgit.command.checkout.JGitCheckOutCommand;
 import org.apache.maven.scm.provider.git.jgit.command.diff.JGitDiffCommand;
+import org.apache.maven.scm.provider.git.jgit.command.export.JGitExportCommand;
 import org.apache.maven.scm.provider.git.jgit.command.info.JGitInfoCommand;
 import org.apache.maven.scm.provider.git.jgit.command.list.JGitListCommand;
+import org.apache.maven.scm.provider.git.jgit.command.maintenance.JGitMaintenanceCommand;
 import org.apache.maven.scm.provider.git.jgit.command.remoteinfo.JGitRemoteInfoCommand;
 import org.apache.maven.scm.provider.git.jgit.command.remove.JGitRemoveCommand;
 import org.apache.maven.scm.provider.git.jgit.command.status.JGitStatusCommand;
@@ -69,6 +73,14 @@ public void setInteractive(boolean interactive) {
         credentialsProvider.setInteractive(interactive);
     }
 
+    /**
+     * Closes the repositories kept open by the commands once the provider is disposed.
+     */
+    @PreDestroy
+    public void close() {
+        JGitRepositoryCache.getInstance().clear();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -122,7 +134,7 @@ protected GitCommand getDiffCommand() {
      */
     @Override
     protected GitCommand getExportCommand() {
-        throw new UnsupportedOperationException("getExportCommand");
+        return new JGitExportCommand();
     }
 
     /**
@@ -213,4 +225,12 @@ protected GitCommand getBlameCommand() {
     protected GitCommand getRemoteInfoCommand() {
         return new JGitRemoteInfoCommand();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected GitCommand getMaintenanceCommand() {
+        return new JGitMaintenanceCommand();
+    }
 }
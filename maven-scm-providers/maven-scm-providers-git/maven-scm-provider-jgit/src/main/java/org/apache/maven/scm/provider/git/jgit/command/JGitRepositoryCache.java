@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+
+/**
+ * Keeps opened repositories for subsequent commands on the same working copy, so config, refs, pack indexes and
+ * object caches are only read once.
+ * <p>
+ * Repositories are keyed by their resolved git directory and work tree and are reference counted: each
+ * {@link #open(File)} must be paired with a {@link #release(Repository)}. Unreferenced repositories are closed once
+ * they have been idle for longer than the idle timeout, by a daemon thread, or when more than the maximum number of
+ * entries are cached. {@link #clear()} closes them right away, the provider calls it on shutdown. A cached
+ * repository is not reused anymore once its config file or pack directory changed.
+ * <p>
+ * The shared instance can be configured with the system properties {@value #MAX_ENTRIES_PROPERTY} (<code>0</code>
+ * disables caching) and {@value #IDLE_TIMEOUT_PROPERTY} (in seconds).
+ *
+ * @since 2.1.1
+ */
+public class JGitRepositoryCache {
+    public static final String MAX_ENTRIES_PROPERTY = "maven.scm.jgit.repositoryCache.maxEntries";
+
+    public static final String IDLE_TIMEOUT_PROPERTY = "maven.scm.jgit.repositoryCache.idleTimeout";
+
+    public static final int DEFAULT_MAX_ENTRIES = 8;
+
+    public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+
+    private static final JGitRepositoryCache INSTANCE = new JGitRepositoryCache(
+            Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES),
+            TimeUnit.SECONDS.toMillis(Long.getLong(IDLE_TIMEOUT_PROPERTY, DEFAULT_IDLE_TIMEOUT_SECONDS)));
+
+    private final int maxEntries;
+
+    private final long idleTimeoutMillis;
+
+    /**
+     * The cached entries in access order, the least recently used first
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * All repositories handed out by this cache, including those no longer reused
+     */
+    private final Map<Repository, Entry> openRepositories = new IdentityHashMap<>();
+
+    /**
+     * The pending eviction of idle repositories, if any
+     */
+    private ScheduledFuture<?> eviction;
+
+    /**
+     * @param maxEntries the maximum number of cached repositories, <code>0</code> disables caching
+     * @param idleTimeoutMillis the time after which an unreferenced repository is closed
+     */
+    public JGitRepositoryCache(int maxEntries, long idleTimeoutMillis) {
+        this.maxEntries = maxEntries;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * @return the cache shared by all JGit commands
+     */
+    public static JGitRepositoryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Opens the repository containing the given directory, or reuses an already opened one.
+     *
+     * @param basedir a directory of the working copy
+     * @return the repository, to be passed to {@link #release(Repository)} once done
+     * @throws IOException if no repository could be found or opened
+     */
+    public Repository open(File basedir) throws IOException {
+        RepositoryBuilder builder = new RepositoryBuilder()
+                .readEnvironment()
+                .findGitDir(basedir)
+                .setMustExist(true)
+                .setup();
+        if (maxEntries <= 0) {
+            return builder.build();
+        }
+
+        String key = builder.getGitDir().getAbsolutePath()
+                + File.pathSeparator
+                + builder.getWorkTree()
+                + File.pathSeparator
+                + builder.getIndexFile()
+                + File.pathSeparator
+                + builder.getObjectDirectory();
+        List<Object> stamp = getStamp(builder);
+
+        synchronized (this) {
+            closeIdle(System.currentTimeMillis());
+
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.stamp.equals(stamp)) {
+                entries.remove(key);
+                entry.detached = true;
+                closeIfUnreferenced(entry);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(builder.build(), stamp);
+                entries.put(key, entry);
+                openRepositories.put(entry.repository, entry);
+                closeOverflow();
+            }
+            entry.references++;
+            return entry.repository;
+        }
+    }
+
+    /**
+     * Identifies the state of the config file and the pack directory, the file key detects a recreated repository.
+     */
+    private static List<Object> getStamp(RepositoryBuilder builder) throws IOException {
+        BasicFileAttributes config = Files.readAttributes(
+                new File(builder.getGitDir(), Constants.CONFIG).toPath(), BasicFileAttributes.class);
+        return Arrays.asList(
+                config.lastModifiedTime(),
+                config.size(),
+                config.fileKey(),
+                new File(builder.getObjectDirectory(), "pack").lastModified());
+    }
+
+    /**
+     * Releases a repository obtained by {@link #open(File)}. Repositories not opened by this cache are closed.
+     *
+     * @param repository the repository
+     */
+    public void release(Repository repository) {
+        synchronized (this) {
+            Entry entry = openRepositories.get(repository);
+            if (entry != null) {
+                if (--entry.references == 0) {
+                    entry.lastReleased = System.currentTimeMillis();
+                    closeIfUnreferenced(entry);
+                    closeOverflow();
+                    scheduleEviction(entry.lastReleased);
+                }
+                return;
+            }
+        }
+        repository.close();
+    }
+
+    /**
+     * Closes all unreferenced repositories, the referenced ones are closed once released.
+     */
+    public synchronized void clear() {
+        if (eviction != null) {
+            eviction.cancel(false);
+            eviction = null;
+        }
+        for (Entry entry : entries.values()) {
+            entry.detached = true;
+        }
+        entries.clear();
+        for (Entry entry : openRepositories.values().toArray(new Entry[0])) {
+            closeIfUnreferenced(entry);
+        }
+    }
+
+    /**
+     * @return the number of cached repositories
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void closeIdle(long now) {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.references == 0 && now - entry.lastReleased > idleTimeoutMillis) {
+                it.remove();
+                entry.detached = true;
+                closeIfUnreferenced(entry);
+            }
+        }
+    }
+
+    /**
+     * Schedules the closing of the unreferenced repositories once the first of them becomes idle, unless an eviction
+     * is already pending.
+     */
+    private void scheduleEviction(long now) {
+        if (eviction != null) {
+            return;
+        }
+        long next = Long.MAX_VALUE;
+        for (Entry entry : entries.values()) {
+            if (entry.references == 0) {
+                next = Math.min(next, entry.lastReleased + idleTimeoutMillis);
+            }
+        }
+        if (next != Long.MAX_VALUE) {
+            eviction = Evictor.EXECUTOR.schedule(this::evictIdle, Math.max(0, next - now) + 1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void evictIdle() {
+        eviction = null;
+        long now = System.currentTimeMillis();
+        closeIdle(now);
+        scheduleEviction(now);
+    }
+
+    private void closeOverflow() {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && entries.size() > maxEntries; ) {
+            Entry entry = it.next();
+            if (entry.references == 0) {
+                it.remove();
+                entry.detached = true;
+                closeIfUnreferenced(entry);
+            }
+        }
+    }
+
+    private void closeIfUnreferenced(Entry entry) {
+        if (entry.detached && entry.references == 0) {
+            openRepositories.remove(entry.repository);
+            entry.repository.close();
+        }
+    }
+
+    /**
+     * Holds the eviction thread, only started once a repository is released.
+     */
+    private static final class Evictor {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jgit-repository-cache-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Entry {
+        private final Repository repository;
+
+        private final List<Object> stamp;
+
+        private int references;
+
+        private long lastReleased;
+
+        /**
+         * Whether the entry has been removed from the cache and is to be closed once unreferenced
+         */
+        private boolean detached;
+
+        private Entry(Repository repository, List<Object> stamp) {
+            this.repository = repository;
+            this.stamp = stamp;
+        }
+    }
+}
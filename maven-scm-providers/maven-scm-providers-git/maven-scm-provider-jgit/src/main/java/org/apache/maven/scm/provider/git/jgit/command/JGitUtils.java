@@ -25,9 +25,12 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.ScmFile;
@@ -47,22 +50,24 @@
 import org.eclipse.jgit.diff.DiffEntry.ChangeType;
 import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.dircache.DirCacheIterator;
 import org.eclipse.jgit.errors.CorruptObjectException;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
-import org.eclipse.jgit.errors.StopWalkException;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.ProgressMonitor;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.lib.RepositoryBuilder;
 import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.lib.TextProgressMonitor;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevFlag;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.AndRevFilter;
 import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
 import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.transport.CredentialsProvider;
@@ -70,6 +75,9 @@
 import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.RemoteRefUpdate;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.AbstractTreeIterator;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
 import org.eclipse.jgit.util.io.DisabledOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,24 +100,23 @@ private JGitUtils() {
 
     /**
      * Opens a JGit repository in the current directory or a parent directory.
+     * The repository is shared through the {@link JGitRepositoryCache} and must be released with
+     * {@link #closeRepo(Git)}.
      * @param basedir The directory to start with
      * @throws IOException If the repository cannot be opened
      */
     public static Git openRepo(File basedir) throws IOException {
-        return new Git(new RepositoryBuilder()
-                .readEnvironment()
-                .findGitDir(basedir)
-                .setMustExist(true)
-                .build());
+        return new Git(JGitRepositoryCache.getInstance().open(basedir));
     }
 
     /**
-     * Closes the repository wrapped by the passed git object
+     * Closes the repository wrapped by the passed git object, or releases it if it has been opened by
+     * {@link #openRepo(File)}.
      * @param git
      */
     public static void closeRepo(Git git) {
         if (git != null && git.getRepository() != null) {
-            git.getRepository().close();
+            JGitRepositoryCache.getInstance().release(git.getRepository());
         }
     }
 
@@ -267,6 +274,52 @@ public static List<ScmFile> getFilesInCommit(Repository repository, RevCommit co
         return list;
     }
 
+    /**
+     * Get the changes staged in the index, that is the changes a commit done now would contain. Only the index is
+     * compared with the tree of HEAD, the working tree is not scanned.
+     *
+     * @param repository the repo
+     * @return the differences between HEAD and the index, with renames detected
+     * @throws IOException
+     * @since 2.1.1
+     */
+    public static List<DiffEntry> getStagedChanges(Repository repository) throws IOException {
+        try (ObjectReader reader = repository.newObjectReader();
+                DiffFormatter df = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            df.setRepository(repository);
+            df.setDiffComparator(RawTextComparator.DEFAULT);
+            df.setDetectRenames(true);
+
+            ObjectId head = repository.resolve(Constants.HEAD + "^{tree}");
+            AbstractTreeIterator headTree =
+                    head != null ? new CanonicalTreeParser(null, reader, head) : new EmptyTreeIterator();
+            return df.scan(headTree, new DirCacheIterator(repository.readDirCache()));
+        }
+    }
+
+    /**
+     * Get the files of changes as checked in files.
+     *
+     * @param repository the repo
+     * @param changes    the changes, as returned by {@link #getStagedChanges(Repository)}
+     * @param baseDir    the directory to which the returned files should be relative.
+     *                   May be {@code null} in case they should be relative to the working directory root.
+     * @return the new file of each change, or the old one of a deletion
+     * @since 2.1.1
+     */
+    public static List<ScmFile> getCheckedInFiles(Repository repository, List<DiffEntry> changes, File baseDir) {
+        List<ScmFile> list = new ArrayList<>(changes.size());
+        for (DiffEntry change : changes) {
+            String path = change.getChangeType() == ChangeType.DELETE ? change.getOldPath() : change.getNewPath();
+            if (baseDir != null) {
+                path = relativize(baseDir, new File(repository.getWorkTree(), path))
+                        .getPath();
+            }
+            list.add(new ScmFile(path, ScmFileStatus.CHECKED_IN));
+        }
+        return list;
+    }
+
     /**
      * Translate a {@code FileStatus} in the matching {@code ScmFileStatus}.
      *
@@ -413,8 +466,41 @@ public static List<RevCommit> getRevCommits(
             final Date toDate,
             int maxLines)
             throws IOException, MissingObjectException, IncorrectObjectTypeException {
-
         List<RevCommit> revs = new ArrayList<>();
+        walkRevCommits(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, revs::add);
+        return revs;
+    }
+
+    /**
+     * Walks the commits between two revisions and hands each one to the given consumer as soon as the walk
+     * produces it.
+     * <p>
+     * Note that the {@link RevSort#TOPO} sorting (part of the default sortings) needs to walk the whole range
+     * before the first commit can be emitted.
+     *
+     * @param repo     the repository to work on
+     * @param sortings sorting
+     * @param fromRev  start revision
+     * @param toRev    if null, falls back to head
+     * @param fromDate from which date on
+     * @param toDate   until which date
+     * @param maxLines max number of lines
+     * @param consumer receives the commits in walk order
+     * @throws IOException
+     * @throws MissingObjectException
+     * @throws IncorrectObjectTypeException
+     * @since 2.1.1
+     */
+    public static void walkRevCommits(
+            Repository repo,
+            RevSort[] sortings,
+            String fromRev,
+            String toRev,
+            final Date fromDate,
+            final Date toDate,
+            int maxLines,
+            Consumer<RevCommit> consumer)
+            throws IOException, MissingObjectException, IncorrectObjectTypeException {
 
         ObjectId fromRevId = fromRev != null ? repo.resolve(fromRev) : null;
         ObjectId toRevId = toRev != null ? repo.resolve(toRev) : null;
@@ -428,31 +514,7 @@ public static List<RevCommit> getRevCommits(
                 walk.sort(s, true);
             }
 
-            if (fromDate != null && toDate != null) {
-                // walk.setRevFilter( CommitTimeRevFilter.between( fromDate, toDate ) );
-                walk.setRevFilter(new RevFilter() {
-                    @Override
-                    public boolean include(RevWalk walker, RevCommit cmit)
-                            throws StopWalkException, MissingObjectException, IncorrectObjectTypeException,
-                                    IOException {
-                        int cmtTime = cmit.getCommitTime();
-
-                        return (cmtTime >= (fromDate.getTime() / 1000)) && (cmtTime <= (toDate.getTime() / 1000));
-                    }
-
-                    @Override
-                    public RevFilter clone() {
-                        return this;
-                    }
-                });
-            } else {
-                if (fromDate != null) {
-                    walk.setRevFilter(CommitTimeRevFilter.after(fromDate));
-                }
-                if (toDate != null) {
-                    walk.setRevFilter(CommitTimeRevFilter.before(toDate));
-                }
-            }
+            walk.setRevFilter(createCommitTimeFilter(fromDate, toDate));
 
             if (fromRevId != null) {
                 RevCommit c = walk.parseCommit(fromRevId);
@@ -482,34 +544,86 @@ public RevFilter clone() {
                     break;
                 }
 
-                revs.add(c);
+                consumer.accept(c);
             }
-            return revs;
         }
     }
 
+    /**
+     * Creates the filter of the commits between two dates, both included.
+     * <p>
+     * The walk always takes the commits from its pending queue by descending commit time, whatever the sortings, so
+     * the filter stops the walk at the first commit older than the start date instead of visiting the rest of the
+     * history.
+     *
+     * @param fromDate the start date, <code>null</code> for none
+     * @param toDate the end date, <code>null</code> for none
+     * @return the filter, {@link RevFilter#ALL} if none of the dates is set
+     * @since 2.1.1
+     */
+    public static RevFilter createCommitTimeFilter(Date fromDate, Date toDate) {
+        if (fromDate != null && toDate != null) {
+            // CommitTimeRevFilter.between() does not stop the walk, after() must be evaluated first to do so
+            return AndRevFilter.create(CommitTimeRevFilter.after(fromDate), CommitTimeRevFilter.before(toDate));
+        }
+        if (fromDate != null) {
+            return CommitTimeRevFilter.after(fromDate);
+        }
+        if (toDate != null) {
+            return CommitTimeRevFilter.before(toDate);
+        }
+        return RevFilter.ALL;
+    }
+
     /**
      * Get a list of tags that has been set in the specified commit.
+     * <p>
+     * This lists all tags of the repository on each call, use {@link #getTagIndex(Repository)} when
+     * the tags of many commits are needed.
      *
      * @param repo the repository to work on
      * @param commit the commit for which we want the tags
      * @return a list of tags, might be empty, and never <code>null</code>
      */
     public static List<String> getTags(Repository repo, RevCommit commit) throws IOException {
-        List<Ref> refList = repo.getRefDatabase().getRefsByPrefix(R_TAGS);
+        return getTags(getTagIndex(repo), commit);
+    }
 
-        try (RevWalk revWalk = new RevWalk(repo)) {
-            ObjectId commitId = commit.getId();
-            List<String> result = new ArrayList<>();
+    /**
+     * Get a list of tags that has been set in the specified commit.
+     *
+     * @param tagIndex the index created by {@link #getTagIndex(Repository)}
+     * @param commit the commit for which we want the tags
+     * @return a list of tags, might be empty, and never <code>null</code>
+     * @since 2.1.1
+     */
+    public static List<String> getTags(Map<ObjectId, List<String>> tagIndex, RevCommit commit) {
+        List<String> tags = tagIndex.get(commit.getId());
+        return tags != null ? new ArrayList<>(tags) : new ArrayList<>();
+    }
 
-            for (Ref ref : refList) {
-                ObjectId tagId = ref.getObjectId();
-                RevCommit tagCommit = revWalk.parseCommit(tagId);
-                if (commitId.equals(tagCommit.getId())) {
-                    result.add(ref.getName().substring(R_TAGS.length()));
-                }
+    /**
+     * Builds an index of all tags in the repository keyed by the id of the object they point to.
+     * Annotated tags are peeled, so both annotated and lightweight tags are keyed by the id of the tagged commit.
+     *
+     * @param repo the repository to work on
+     * @return the tag names (without {@code refs/tags/} prefix) for each tagged object, never <code>null</code>
+     * @throws IOException
+     * @since 2.1.1
+     */
+    public static Map<ObjectId, List<String>> getTagIndex(Repository repo) throws IOException {
+        RefDatabase refDatabase = repo.getRefDatabase();
+        Map<ObjectId, List<String>> tagIndex = new HashMap<>();
+
+        for (Ref ref : refDatabase.getRefsByPrefix(R_TAGS)) {
+            Ref peeledRef = refDatabase.peel(ref);
+            ObjectId targetId =
+                    peeledRef.getPeeledObjectId() != null ? peeledRef.getPeeledObjectId() : peeledRef.getObjectId();
+            if (targetId != null) {
+                tagIndex.computeIfAbsent(targetId, id -> new ArrayList<>())
+                        .add(ref.getName().substring(R_TAGS.length()));
             }
-            return result;
         }
+        return tagIndex;
     }
 }
@@ -19,52 +19,233 @@
 package org.apache.maven.scm.provider.git.jgit.command.blame;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
 import java.util.List;
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.blame.AbstractBlameCommand;
+import org.apache.maven.scm.command.blame.BlameFileConsumer;
 import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.command.blame.BlameLineConsumer;
 import org.apache.maven.scm.command.blame.BlameScmResult;
+import org.apache.maven.scm.command.blame.LineRange;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.NoHeadException;
+import org.eclipse.jgit.blame.BlameGenerator;
 import org.eclipse.jgit.blame.BlameResult;
+import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
 
 /**
+ * Several files are blamed concurrently by the number of threads given by the
+ * <code>maven.scm.jgit.blame.threads</code> system property, by default the number of processors.
+ *
  * @author Dominik Bartholdi (imod)
  * @since 1.9
  */
 public class JGitBlameCommand extends AbstractBlameCommand implements GitCommand {
+    public static final String THREADS_PROPERTY = "maven.scm.jgit.blame.threads";
+
+    private static final String NOT_COMMITTED = "Not Committed Yet";
+
+    @Override
+    protected ScmResult executeCommand(
+            ScmProviderRepository repository, ScmFileSet workingDirectory, CommandParameters parameters)
+            throws ScmException {
+        BlameFileConsumer fileConsumer = parameters.getBlameFileConsumer(CommandParameter.BLAME_FILE_CONSUMER, null);
+        if (fileConsumer != null) {
+            return executeBlameFilesCommand(repository, workingDirectory, parameters, fileConsumer);
+        }
+        return blame(
+                workingDirectory.getBasedir(),
+                parameters.getString(CommandParameter.FILE),
+                parameters.getScmVersion(CommandParameter.SCM_VERSION, null),
+                parameters.getBoolean(CommandParameter.IGNORE_WHITESPACE, false),
+                parameters.getLineRanges(CommandParameter.LINE_RANGES, null),
+                parameters.getBlameLineConsumer(CommandParameter.BLAME_LINE_CONSUMER, null));
+    }
 
     @Override
     public BlameScmResult executeBlameCommand(ScmProviderRepository repo, ScmFileSet workingDirectory, String filename)
             throws ScmException {
+        return blame(workingDirectory.getBasedir(), filename, null, false, null, null);
+    }
 
+    /**
+     * Blames the files from one repository, each thread walking the history of a file with its own
+     * {@link BlameGenerator}.
+     */
+    @Override
+    protected BlameScmResult executeBlameFilesCommand(
+            ScmProviderRepository repo,
+            ScmFileSet workingDirectory,
+            CommandParameters parameters,
+            BlameFileConsumer consumer)
+            throws ScmException {
+        boolean ignoreWhitespace = parameters.getBoolean(CommandParameter.IGNORE_WHITESPACE, false);
+        int threads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
         Git git = null;
-        File basedir = workingDirectory.getBasedir();
         try {
-            git = JGitUtils.openRepo(basedir);
-            BlameResult blameResult = git.blame().setFilePath(filename).call();
-
-            List<BlameLine> lines = new ArrayList<>();
+            git = JGitUtils.openRepo(workingDirectory.getBasedir());
+            Repository repository = git.getRepository();
+            String prefix = getPathPrefix(repository, workingDirectory.getBasedir());
+            ObjectId start = resolve(repository, parameters.getScmVersion(CommandParameter.SCM_VERSION, null));
 
-            int i = 0;
-            while ((i = blameResult.computeNext()) != -1) {
-                lines.add(new BlameLine(
-                        blameResult.getSourceAuthor(i).getWhen(),
-                        blameResult.getSourceCommit(i).getName(),
-                        blameResult.getSourceAuthor(i).getName(),
-                        blameResult.getSourceCommitter(i).getName()));
-            }
+            blameFiles(
+                    getFilenames(workingDirectory),
+                    threads,
+                    filename -> blame(repository, start, prefix + filename, ignoreWhitespace, null, null),
+                    consumer);
+            return new BlameScmResult("JGit blame", new ArrayList<>());
+        } catch (ScmException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ScmException("JGit blame failure!", e);
+        } finally {
+            JGitUtils.closeRepo(git);
+        }
+    }
 
-            return new BlameScmResult("JGit blame", lines);
+    private BlameScmResult blame(
+            File basedir,
+            String filename,
+            ScmVersion version,
+            boolean ignoreWhitespace,
+            LineRange[] lineRanges,
+            BlameLineConsumer consumer)
+            throws ScmException {
+        Git git = null;
+        try {
+            git = JGitUtils.openRepo(basedir);
+            Repository repository = git.getRepository();
+            return blame(repository, resolve(repository, version), filename, ignoreWhitespace, lineRanges, consumer);
+        } catch (ScmException e) {
+            throw e;
         } catch (Exception e) {
             throw new ScmException("JGit blame failure!", e);
         } finally {
             JGitUtils.closeRepo(git);
         }
     }
+
+    /**
+     * Blames the file like {@link org.eclipse.jgit.api.BlameCommand}, but only computes the regions needed for the
+     * requested lines. With a consumer, each line is passed on as soon as the region containing it is resolved.
+     */
+    private static BlameScmResult blame(
+            Repository repository,
+            ObjectId startCommit,
+            String path,
+            boolean ignoreWhitespace,
+            LineRange[] lineRanges,
+            BlameLineConsumer consumer)
+            throws ScmException, IOException, NoHeadException {
+        try (BlameGenerator generator = new BlameGenerator(repository, path)) {
+            generator.setTextComparator(ignoreWhitespace ? RawTextComparator.WS_IGNORE_ALL : RawTextComparator.DEFAULT);
+            if (startCommit == null) {
+                // like git blame, the uncommitted changes of the index and the working tree are blamed too
+                generator.prepareHead();
+            } else {
+                generator.push(null, startCommit);
+            }
+
+            BlameResult blameResult = BlameResult.create(generator);
+            if (blameResult == null) {
+                throw new ScmException("Cannot blame " + path + ", it does not exist");
+            }
+
+            int lineCount = blameResult.getResultContents().size();
+            List<LineRange> ranges = new ArrayList<>();
+            if (lineRanges == null) {
+                if (lineCount > 0) {
+                    ranges.add(new LineRange(1, lineCount));
+                }
+            } else {
+                for (LineRange lineRange : mergeLineRanges(lineRanges)) {
+                    if (lineRange.getStartLine() <= lineCount) {
+                        ranges.add(
+                                new LineRange(lineRange.getStartLine(), Math.min(lineRange.getEndLine(), lineCount)));
+                    }
+                }
+            }
+
+            List<BlameLine> lines = new ArrayList<>();
+            if (consumer == null) {
+                for (LineRange range : ranges) {
+                    blameResult.computeRange(range.getStartLine() - 1, range.getEndLine());
+                    for (int i = range.getStartLine() - 1; i < range.getEndLine(); i++) {
+                        lines.add(getBlameLine(blameResult, i));
+                    }
+                }
+            } else {
+                BitSet pending = new BitSet(lineCount);
+                for (LineRange range : ranges) {
+                    pending.set(range.getStartLine() - 1, range.getEndLine());
+                }
+                int start;
+                while (!pending.isEmpty() && (start = blameResult.computeNext()) != -1) {
+                    int end = start + blameResult.lastLength();
+                    for (int i = pending.nextSetBit(start); i >= 0 && i < end; i = pending.nextSetBit(i + 1)) {
+                        consumer.consumeBlameLine(i + 1, getBlameLine(blameResult, i));
+                        pending.clear(i);
+                    }
+                }
+            }
+
+            return new BlameScmResult("JGit blame", lines);
+        }
+    }
+
+    /**
+     * @return the commit to blame from, <code>null</code> to blame the working tree if no version is given
+     */
+    private static ObjectId resolve(Repository repository, ScmVersion version) throws ScmException, IOException {
+        if (version == null) {
+            return null;
+        }
+        String revision = version.getName();
+        ObjectId commitId = repository.resolve(revision + "^{commit}");
+        if (commitId == null) {
+            throw new ScmException("Cannot resolve the revision " + revision);
+        }
+        return commitId;
+    }
+
+    /**
+     * @return the path of the base directory in the repository, ending with a slash, empty for the working tree root
+     */
+    private static String getPathPrefix(Repository repository, File basedir) {
+        String prefix = JGitUtils.toNormalizedFilePath(repository
+                .getWorkTree()
+                .toPath()
+                .relativize(basedir.getAbsoluteFile().toPath())
+                .toFile());
+        return prefix.isEmpty() || prefix.startsWith("..") ? "" : prefix + "/";
+    }
+
+    /**
+     * Lines changed in the index or the working tree are reported like <code>git blame</code> does.
+     */
+    private static BlameLine getBlameLine(BlameResult blameResult, int line) {
+        if (blameResult.getSourceCommit(line) == null) {
+            return new BlameLine(new Date(), ObjectId.zeroId().name(), NOT_COMMITTED, NOT_COMMITTED);
+        }
+        return new BlameLine(
+                blameResult.getSourceAuthor(line).getWhen(),
+                blameResult.getSourceCommit(line).getName(),
+                blameResult.getSourceAuthor(line).getName(),
+                blameResult.getSourceCommitter(line).getName());
+    }
 }
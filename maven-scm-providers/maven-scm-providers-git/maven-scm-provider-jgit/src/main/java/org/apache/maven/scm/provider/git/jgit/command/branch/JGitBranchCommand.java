@@ -65,7 +65,9 @@ protected ScmResult executeBranchCommand(
             throw new ScmException("This provider doesn't support branching subsets of a directory");
         }
 
-        try (Git git = JGitUtils.openRepo(fileSet.getBasedir())) {
+        Git git = null;
+        try {
+            git = JGitUtils.openRepo(fileSet.getBasedir());
             Ref branchResult = git.branchCreate().setName(branch).call();
             logger.info("created [" + branchResult.getName() + "]");
 
@@ -100,6 +102,8 @@ protected ScmResult executeBranchCommand(
 
         } catch (Exception e) {
             throw new ScmException("JGit branch failed!", e);
+        } finally {
+            JGitUtils.closeRepo(git);
         }
     }
 
@@ -20,10 +20,23 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
@@ -32,16 +45,22 @@
 import org.apache.maven.scm.command.changelog.AbstractChangeLogCommand;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.RawTextComparator;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
 
+import static org.apache.maven.scm.provider.git.jgit.command.JGitUtils.getTagIndex;
 import static org.apache.maven.scm.provider.git.jgit.command.JGitUtils.getTags;
 
 /**
@@ -50,6 +69,14 @@
  * @since 1.9
  */
 public class JGitChangeLogCommand extends AbstractChangeLogCommand implements GitCommand {
+    public static final String THREADS_PROPERTY = "maven.scm.jgit.changelog.threads";
+
+    public static final String DETECT_RENAMES_PROPERTY = "maven.scm.jgit.changelog.detectRenames";
+
+    /**
+     * The number of commits diffed ahead of the consumer, per thread
+     */
+    private static final int PENDING_PER_THREAD = 16;
 
     /**
      * {@inheritDoc}
@@ -61,14 +88,39 @@ protected ChangeLogScmResult executeChangeLogCommand(
             ScmVersion endVersion,
             String datePattern)
             throws ScmException {
-        return executeChangeLogCommand(repo, fileSet, null, null, null, datePattern, startVersion, endVersion);
+        return executeChangeLogCommand(repo, fileSet, startVersion, endVersion, datePattern, null);
+    }
+
+    @Override
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repo,
+            ScmFileSet fileSet,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            String datePattern,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        return executeChangeLogCommand(
+                repo, fileSet, null, null, null, datePattern, startVersion, endVersion, null, changeSetConsumer);
     }
 
     @Override
     protected ChangeLogScmResult executeChangeLogCommand(
             ScmProviderRepository repository, ScmFileSet fileSet, ScmVersion version, String datePattern)
             throws ScmException {
-        return executeChangeLogCommand(repository, fileSet, null, null, null, datePattern, null, null, version);
+        return executeChangeLogCommand(repository, fileSet, version, datePattern, null);
+    }
+
+    @Override
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repository,
+            ScmFileSet fileSet,
+            ScmVersion version,
+            String datePattern,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        return executeChangeLogCommand(
+                repository, fileSet, null, null, null, datePattern, null, null, version, changeSetConsumer);
     }
 
     /**
@@ -85,6 +137,20 @@ protected ChangeLogScmResult executeChangeLogCommand(
         return executeChangeLogCommand(repo, fileSet, startDate, endDate, branch, datePattern, null, null);
     }
 
+    @Override
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repo,
+            ScmFileSet fileSet,
+            Date startDate,
+            Date endDate,
+            ScmBranch branch,
+            String datePattern,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        return executeChangeLogCommand(
+                repo, fileSet, startDate, endDate, branch, datePattern, null, null, null, changeSetConsumer);
+    }
+
     protected ChangeLogScmResult executeChangeLogCommand(
             ScmProviderRepository repo,
             ScmFileSet fileSet,
@@ -110,6 +176,27 @@ protected ChangeLogScmResult executeChangeLogCommand(
             ScmVersion endVersion,
             ScmVersion version)
             throws ScmException {
+        return executeChangeLogCommand(
+                repo, fileSet, startDate, endDate, branch, datePattern, startVersion, endVersion, version, null);
+    }
+
+    /**
+     * @param changeSetConsumer receives each change set while the commits are walked, the returned
+     *                          {@link ChangeLogSet} is empty then. If <code>null</code> all change sets are collected.
+     * @since 2.1.1
+     */
+    protected ChangeLogScmResult executeChangeLogCommand(
+            ScmProviderRepository repo,
+            ScmFileSet fileSet,
+            Date startDate,
+            Date endDate,
+            ScmBranch branch,
+            String datePattern,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            ScmVersion version,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
         Git git = null;
         boolean isARangeChangeLog = startVersion != null || endVersion != null;
 
@@ -129,23 +216,19 @@ protected ChangeLogScmResult executeChangeLogCommand(
                 endRev = endVersion != null ? endVersion.getName() : (isARangeChangeLog ? "HEAD" : null);
             }
 
-            List<ChangeEntry> gitChanges =
-                    this.whatchanged(git.getRepository(), null, startRev, endRev, startDate, endDate, -1);
-
-            List<ChangeSet> modifications = new ArrayList<>(gitChanges.size());
-
-            for (ChangeEntry change : gitChanges) {
-                ChangeSet scmChange = new ChangeSet();
-
-                scmChange.setAuthor(change.getAuthorName());
-                scmChange.setComment(change.getBody());
-                scmChange.setDate(change.getAuthorDate());
-                scmChange.setRevision(change.getCommitHash());
-                scmChange.setTags(change.getTags());
-                // X TODO scmChange.setFiles( change.get )
+            List<ChangeSet> modifications = new ArrayList<>();
+            Consumer<ChangeSet> consumer =
+                    changeSetConsumer != null ? changeSetConsumer::consumeChangeSet : modifications::add;
 
-                modifications.add(scmChange);
-            }
+            this.whatchanged(
+                    git.getRepository(),
+                    null,
+                    startRev,
+                    endRev,
+                    startDate,
+                    endDate,
+                    -1,
+                    change -> consumer.accept(toChangeSet(change)));
 
             ChangeLogSet changeLogSet = new ChangeLogSet(modifications, startDate, endDate);
             changeLogSet.setStartVersion(startVersion);
@@ -159,40 +242,183 @@ protected ChangeLogScmResult executeChangeLogCommand(
         }
     }
 
+    private static ChangeSet toChangeSet(ChangeEntry change) {
+        ChangeSet scmChange = new ChangeSet();
+
+        scmChange.setAuthor(change.getAuthorName());
+        scmChange.setComment(change.getBody());
+        scmChange.setDate(change.getAuthorDate());
+        scmChange.setRevision(change.getCommitHash());
+        scmChange.setTags(change.getTags());
+        if (change.getChangeFiles() != null) {
+            scmChange.setFiles(change.getChangeFiles());
+        }
+
+        return scmChange;
+    }
+
     public List<ChangeEntry> whatchanged(
             Repository repo, RevSort[] sortings, String fromRev, String toRev, Date fromDate, Date toDate, int maxLines)
             throws MissingObjectException, IncorrectObjectTypeException, IOException {
-        List<RevCommit> revs = JGitUtils.getRevCommits(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines);
-        List<ChangeEntry> changes = new ArrayList<>(revs.size());
+        List<ChangeEntry> changes = new ArrayList<>();
+        whatchanged(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, changes::add);
+        return changes;
+    }
 
+    /**
+     * Walks the commits and hands a {@link ChangeEntry} for each of them to the consumer while walking.
+     * <p>
+     * The files changed by each commit are found by diffing it against its first parent, with rename detection unless
+     * the system property {@value #DETECT_RENAMES_PROPERTY} is <code>false</code>. The diffs are computed by
+     * {@value #THREADS_PROPERTY} threads, the number of processors by default, and the entries are still handed to the
+     * consumer in walk order.
+     * <p>
+     * Only the headers of the commits are kept once they are converted, but the underlying {@link
+     * org.eclipse.jgit.revwalk.RevWalk} still holds every commit it has parsed until the walk ends, so the memory used
+     * grows with the number of commits. With the default topological sorting the whole range is also walked before
+     * the first entry is handed to the consumer.
+     *
+     * @param consumer receives the change entries in walk order
+     * @since 2.1.1
+     */
+    public void whatchanged(
+            Repository repo,
+            RevSort[] sortings,
+            String fromRev,
+            String toRev,
+            Date fromDate,
+            Date toDate,
+            int maxLines,
+            Consumer<ChangeEntry> consumer)
+            throws MissingObjectException, IncorrectObjectTypeException, IOException {
         if (fromRev != null && fromRev.equals(toRev)) {
             // there are no changes between 2 identical versions
-            return changes;
+            return;
         }
 
-        for (RevCommit c : revs) {
-            ChangeEntry ce = new ChangeEntry();
+        Map<ObjectId, List<String>> tagIndex = getTagIndex(repo);
+
+        boolean detectRenames = !"false".equalsIgnoreCase(System.getProperty(DETECT_RENAMES_PROPERTY));
+        int threads = Math.max(
+                1, Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+
+        // a diff formatter, and so an object reader, per thread as they are not thread safe
+        List<DiffFormatter> diffFormatters = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<DiffFormatter> diffFormatter = ThreadLocal.withInitial(() -> {
+            DiffFormatter df = new DiffFormatter(DisabledOutputStream.INSTANCE);
+            df.setRepository(repo);
+            df.setDiffComparator(RawTextComparator.DEFAULT);
+            df.setDetectRenames(detectRenames);
+            diffFormatters.add(df);
+            return df;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // the entries being diffed, in walk order
+        Deque<Future<ChangeEntry>> pending = new ArrayDeque<>();
+        try {
+            JGitUtils.walkRevCommits(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, c -> {
+                ChangeEntry ce = new ChangeEntry();
+
+                ce.setAuthorDate(c.getAuthorIdent().getWhen());
+                ce.setAuthorEmail(c.getAuthorIdent().getEmailAddress());
+                ce.setAuthorName(c.getAuthorIdent().getName());
+                ce.setCommitterDate(c.getCommitterIdent().getWhen());
+                ce.setCommitterEmail(c.getCommitterIdent().getEmailAddress());
+                ce.setCommitterName(c.getCommitterIdent().getName());
+
+                ce.setSubject(c.getShortMessage());
+                ce.setBody(c.getFullMessage());
+
+                ce.setCommitHash(c.getId().name());
+                ce.setTreeHash(c.getTree().getId().name());
+
+                ce.setTags(getTags(tagIndex, c));
+
+                ObjectId commitId = c.copy();
+                ObjectId parentId = c.getParentCount() > 0 ? c.getParent(0).copy() : null;
 
-            ce.setAuthorDate(c.getAuthorIdent().getWhen());
-            ce.setAuthorEmail(c.getAuthorIdent().getEmailAddress());
-            ce.setAuthorName(c.getAuthorIdent().getName());
-            ce.setCommitterDate(c.getCommitterIdent().getWhen());
-            ce.setCommitterEmail(c.getCommitterIdent().getEmailAddress());
-            ce.setCommitterName(c.getCommitterIdent().getName());
+                // the walk keeps every commit it has seen, only keep the headers around
+                c.disposeBody();
 
-            ce.setSubject(c.getShortMessage());
-            ce.setBody(c.getFullMessage());
+                pending.add(executor.submit(() -> {
+                    setFiles(ce, diffFormatter.get().scan(parentId, commitId), parentId);
+                    return ce;
+                }));
+                if (pending.size() > threads * PENDING_PER_THREAD) {
+                    consumer.accept(getDiffed(pending.poll()));
+                }
+            });
 
-            ce.setCommitHash(c.getId().name());
-            ce.setTreeHash(c.getTree().getId().name());
+            while (!pending.isEmpty()) {
+                consumer.accept(getDiffed(pending.poll()));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdownNow();
+            // the workers still running a scan use the formatters and their object readers
+            awaitTermination(executor);
+            for (DiffFormatter df : diffFormatters) {
+                df.close();
+            }
+        }
+    }
 
-            ce.setTags(getTags(repo, c));
-            // X TODO missing: file list
+    /**
+     * Waits for the workers to finish, even when interrupted, and keeps the interrupt status.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            changes.add(ce);
+    private static ChangeEntry getDiffed(Future<ChangeEntry> future) throws UncheckedIOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while diffing the commits"));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw new UncheckedIOException(new IOException(e.getCause()));
         }
+    }
 
-        return changes;
+    /**
+     * Sets the files of the entry like <code>git log --name-status</code> reports them.
+     */
+    private static void setFiles(ChangeEntry ce, List<DiffEntry> diffs, ObjectId parentId) {
+        List<File> files = new ArrayList<>(diffs.size());
+        List<ChangeFile> changeFiles = new ArrayList<>(diffs.size());
+        for (DiffEntry diff : diffs) {
+            String path = diff.getChangeType() == DiffEntry.ChangeType.DELETE ? diff.getOldPath() : diff.getNewPath();
+            files.add(new File(path));
+
+            ChangeFile changeFile = new ChangeFile(path, ce.getCommitHash());
+            changeFile.setAction(JGitUtils.getScmFileStatus(diff.getChangeType()));
+            if (diff.getChangeType() == DiffEntry.ChangeType.RENAME
+                    || diff.getChangeType() == DiffEntry.ChangeType.COPY) {
+                changeFile.setOriginalName(diff.getOldPath());
+                changeFile.setOriginalRevision(parentId.name());
+            }
+            changeFiles.add(changeFile);
+        }
+        ce.setFiles(files);
+        ce.setChangeFiles(changeFiles);
     }
 
     /**
@@ -221,6 +447,8 @@ public static final class ChangeEntry {
 
         private List<File> files;
 
+        private List<ChangeFile> changeFiles;
+
         private List<String> tags;
 
         public String getCommitHash() {
@@ -311,6 +539,21 @@ public void setFiles(List<File> files) {
             this.files = files;
         }
 
+        /**
+         * @return the files changed by the commit compared to its first parent, with their action
+         * @since 2.1.1
+         */
+        public List<ChangeFile> getChangeFiles() {
+            return changeFiles;
+        }
+
+        /**
+         * @since 2.1.1
+         */
+        public void setChangeFiles(List<ChangeFile> changeFiles) {
+            this.changeFiles = changeFiles;
+        }
+
         public List<String> getTags() {
             return tags;
         }
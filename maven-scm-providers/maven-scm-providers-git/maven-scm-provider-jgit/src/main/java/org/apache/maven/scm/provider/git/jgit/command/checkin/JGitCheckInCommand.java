@@ -39,7 +39,7 @@
 import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.CommitCommand;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.UserConfig;
 import org.eclipse.jgit.revwalk.RevCommit;
@@ -83,39 +83,36 @@ protected CheckInScmResult executeCheckInCommand(
             File basedir = fileSet.getBasedir();
             git = JGitUtils.openRepo(basedir);
 
-            boolean doCommit = false;
-
             if (!fileSet.getFileList().isEmpty()) {
-                // add files first
-                doCommit = JGitUtils.addAllFiles(git, fileSet).size() > 0;
-                if (!doCommit) {
-                    doCommit = git.status().call().hasUncommittedChanges();
+                // add files first, the working tree is only scanned below their paths
+                AddCommand add = git.add();
+                for (File file : JGitUtils.getWorkingCopyRelativePaths(
+                        git.getRepository().getWorkTree(), fileSet)) {
+                    add.addFilepattern(JGitUtils.toNormalizedFilePath(file));
                 }
+                add.call();
             } else {
                 // add all tracked files which are modified manually
-                Status status = git.status().call();
                 Set<String> changeds = git.status().call().getModified();
-                if (changeds.isEmpty()) {
-                    if (!status.hasUncommittedChanges()) {
-                        // warn there is nothing to add
-                        logger.warn("There are neither files to be added nor any uncommitted changes");
-                        doCommit = false;
-                    } else {
-                        logger.debug("There are uncommitted changes in the git index");
-                        doCommit = true;
-                    }
-                } else {
+                if (!changeds.isEmpty()) {
                     // TODO: gitexe only adds if fileSet is not empty
                     AddCommand add = git.add();
                     for (String changed : changeds) {
                         logger.debug("Add manually: {}", changed);
                         add.addFilepattern(changed);
-                        doCommit = true;
                     }
                     add.call();
                 }
             }
 
+            // the commit contains the index, so its files are the staged changes
+            List<DiffEntry> stagedChanges = JGitUtils.getStagedChanges(git.getRepository());
+            boolean doCommit = !stagedChanges.isEmpty();
+            if (!doCommit) {
+                // warn there is nothing to add
+                logger.warn("There are neither files to be added nor any uncommitted changes");
+            }
+
             List<ScmFile> checkedInFiles = Collections.emptyList();
             if (doCommit) {
                 UserInfo author = getAuthor(repo, git);
@@ -126,7 +123,7 @@ protected CheckInScmResult executeCheckInCommand(
                 RevCommit commitRev = command.call();
 
                 logger.info("commit done: " + commitRev.getShortMessage());
-                checkedInFiles = JGitUtils.getFilesInCommit(git.getRepository(), commitRev, fileSet.getBasedir());
+                checkedInFiles = JGitUtils.getCheckedInFiles(git.getRepository(), stagedChanges, fileSet.getBasedir());
                 if (logger.isDebugEnabled()) {
                     for (ScmFile scmFile : checkedInFiles) {
                         logger.debug("in commit: " + scmFile);
@@ -25,10 +25,13 @@
 import java.util.function.BiFunction;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.ScmTag;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.checkout.AbstractCheckOutCommand;
@@ -42,13 +45,16 @@
 import org.apache.maven.scm.provider.git.jgit.command.branch.JGitBranchCommand;
 import org.apache.maven.scm.provider.git.jgit.command.remoteinfo.JGitRemoteInfoCommand;
 import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitMirrorCache;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.PullCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
+import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ProgressMonitor;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.WindowCacheConfig;
@@ -74,6 +80,28 @@ public void setSshSessionFactorySupplier(
         this.sshSessionFactorySupplier = sshSessionFactorySupplier;
     }
 
+    /**
+     * JGit 5 can neither clone shallow or partial nor check out sparse, so these options only lead to a warning and a
+     * full checkout.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
+            throws ScmException {
+        if (parameters.getBoolean(CommandParameter.SHALLOW, false)
+                || parameters.getInt(CommandParameter.DEPTH, 0) > 0) {
+            logger.warn("JGit does not support shallow clones, the whole history is cloned");
+        }
+        if (StringUtils.isNotEmpty(parameters.getString(CommandParameter.CLONE_FILTER, null))) {
+            logger.warn("JGit does not support partial clones, all objects are cloned");
+        }
+        if (parameters.getBoolean(CommandParameter.SPARSE_CHECKOUT, false)) {
+            logger.warn("JGit does not support sparse checkouts, all files are checked out");
+        }
+        return super.executeCommand(repository, fileSet, parameters);
+    }
+
     /**
      * For git, the given repository is a remote one. We have to clone it first if the working directory does not
      * contain a git repo yet, otherwise we have to git-pull it.
@@ -123,16 +151,37 @@ protected CheckOutScmResult executeCheckOutCommand(
                 cfg.install();
 
                 // no git repo seems to exist, let's clone the original repo
-                CredentialsProvider credentials = JGitUtils.getCredentials((GitScmProviderRepository) repo);
-                logger.info("cloning [" + branch + "] to " + fileSet.getBasedir());
-                CloneCommand command = Git.cloneRepository().setURI(repository.getFetchUrl());
+                File mirror = GitMirrorCache.refreshConfigured(
+                        repository, new JGitMirrorUpdater(repository, transportConfigCallback), "cloning without it");
+                CloneCommand command;
+                if (mirror != null) {
+                    logger.info("cloning [" + branch + "] from mirror " + mirror + " to " + fileSet.getBasedir());
+                    command = Git.cloneRepository().setURI(mirror.toURI().toString());
+                } else {
+                    CredentialsProvider credentials = JGitUtils.getCredentials((GitScmProviderRepository) repo);
+                    logger.info("cloning [" + branch + "] to " + fileSet.getBasedir());
+                    command = Git.cloneRepository().setURI(repository.getFetchUrl());
+
+                    command.setCredentialsProvider(credentials);
 
-                command.setCredentialsProvider(credentials).setBranch(branch).setDirectory(fileSet.getBasedir());
+                    command.setTransportConfigCallback(transportConfigCallback);
+                }
 
-                command.setTransportConfigCallback(transportConfigCallback);
+                command.setBranch(branch).setDirectory(fileSet.getBasedir());
 
                 command.setProgressMonitor(monitor);
                 git = command.call();
+
+                if (mirror != null) {
+                    // the local clone is complete, from now on the working copy talks to the remote itself
+                    StoredConfig config = git.getRepository().getConfig();
+                    config.setString(
+                            ConfigConstants.CONFIG_REMOTE_SECTION,
+                            Constants.DEFAULT_REMOTE_NAME,
+                            ConfigConstants.CONFIG_KEY_URL,
+                            repository.getFetchUrl());
+                    config.save();
+                }
             }
 
             JGitRemoteInfoCommand remoteInfoCommand = new JGitRemoteInfoCommand();
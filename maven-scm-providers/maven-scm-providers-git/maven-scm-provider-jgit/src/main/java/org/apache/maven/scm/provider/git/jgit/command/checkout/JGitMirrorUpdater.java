@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.checkout;
+
+import java.io.File;
+
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitMirrorCache;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.TransportConfigCallback;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.RefSpec;
+
+/**
+ * Creates and fetches the mirrors of a {@link GitMirrorCache} with JGit.
+ *
+ * @since 2.1.1
+ */
+public class JGitMirrorUpdater implements GitMirrorCache.MirrorUpdater {
+    private final GitScmProviderRepository repository;
+
+    private final TransportConfigCallback transportConfigCallback;
+
+    public JGitMirrorUpdater(GitScmProviderRepository repository, TransportConfigCallback transportConfigCallback) {
+        this.repository = repository;
+        this.transportConfigCallback = transportConfigCallback;
+    }
+
+    @Override
+    public void create(File mirrorDirectory) throws ScmException {
+        try (Git git = Git.init().setBare(true).setDirectory(mirrorDirectory).call()) {
+            // git working copies borrow objects from the mirror, so they must never be pruned by an automatic gc
+            StoredConfig config = git.getRepository().getConfig();
+            config.setInt(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_AUTO, 0);
+            config.save();
+        } catch (Exception e) {
+            throw new ScmException("JGit mirror creation failure!", e);
+        }
+    }
+
+    @Override
+    public void fetch(File mirrorDirectory) throws ScmException {
+        // the URL is passed each time instead of being configured, as it may hold credentials
+        try (Git git = Git.open(mirrorDirectory)) {
+            FetchResult result = git.fetch()
+                    .setRemote(repository.getFetchUrl())
+                    .setRefSpecs(new RefSpec("+refs/heads/*:refs/heads/*"), new RefSpec("+refs/tags/*:refs/tags/*"))
+                    .setRemoveDeletedRefs(true)
+                    .setCredentialsProvider(JGitUtils.getCredentials(repository))
+                    .setTransportConfigCallback(transportConfigCallback)
+                    .setProgressMonitor(JGitUtils.getMonitor())
+                    .call();
+
+            // exports without a version read the HEAD of the mirror, which must follow the default branch of the remote
+            String head = getRemoteHead(result);
+            if (head != null && git.getRepository().exactRef(head) != null) {
+                RefUpdate update = git.getRepository().updateRef(Constants.HEAD);
+                update.disableRefLog();
+                update.link(head);
+            }
+        } catch (Exception e) {
+            throw new ScmException("JGit mirror fetch failure!", e);
+        }
+    }
+
+    /**
+     * @return the branch the HEAD of the remote points at, <code>null</code> if it advertises none
+     */
+    private static String getRemoteHead(FetchResult result) {
+        Ref head = result.getAdvertisedRef(Constants.HEAD);
+        if (head == null) {
+            return null;
+        }
+        if (head.isSymbolic()) {
+            return head.getTarget().getName();
+        }
+
+        // the remote does not advertise symbolic references, guess the branch like a clone does
+        ObjectId id = head.getObjectId();
+        String branch = null;
+        for (Ref ref : result.getAdvertisedRefs()) {
+            if (ref.getName().startsWith(Constants.R_HEADS) && id != null && id.equals(ref.getObjectId())) {
+                if (ref.getName().equals(Constants.R_HEADS + Constants.MASTER)) {
+                    return ref.getName();
+                }
+                if (branch == null) {
+                    branch = ref.getName();
+                }
+            }
+        }
+        return branch;
+    }
+}
@@ -21,11 +21,16 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.diff.AbstractDiffCommand;
+import org.apache.maven.scm.command.diff.DiffOutputStream;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
@@ -33,12 +38,17 @@
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.treewalk.AbstractTreeIterator;
 import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
 
 /**
  * @author Dominik Bartholdi (imod)
@@ -54,9 +64,7 @@ protected DiffScmResult executeDiffCommand(
         Git git = null;
         try {
             git = JGitUtils.openRepo(fileSet.getBasedir());
-            DiffScmResult diff = callDiff(git, startRevision, endRevision);
-            git.getRepository().close();
-            return diff;
+            return callDiff(git, startRevision, endRevision);
         } catch (Exception e) {
             throw new ScmException("JGit diff failure!", e);
         } finally {
@@ -109,6 +117,81 @@ public DiffScmResult callDiff(Git git, ScmVersion startRevision, ScmVersion endR
                 "JGit diff", consumer.getChangedFiles(), consumer.getDifferences(), consumer.getPatch());
     }
 
+    /**
+     * Streams the output of JGit straight to the given stream, only the changed files are kept in memory.
+     */
+    @Override
+    protected DiffScmResult executeDiffCommand(
+            ScmProviderRepository repository,
+            ScmFileSet fileSet,
+            ScmVersion startRevision,
+            ScmVersion endRevision,
+            OutputStream patchOutput)
+            throws ScmException {
+        Git git = null;
+        try {
+            git = JGitUtils.openRepo(fileSet.getBasedir());
+            return callDiff(git, startRevision, endRevision, patchOutput);
+        } catch (Exception e) {
+            throw new ScmException("JGit diff failure!", e);
+        } finally {
+            JGitUtils.closeRepo(git);
+        }
+    }
+
+    /**
+     * Writes the same patch as {@link #callDiff(Git, ScmVersion, ScmVersion)} to the given stream, formatting one
+     * file after the other to record where each file's differences are.
+     *
+     * @param git the repository
+     * @param startRevision the start revision, the index if not given
+     * @param endRevision the end revision, the working tree if not given
+     * @param patchOutput the stream to write the patch to, it is flushed but not closed
+     * @return the changed files and the location of their differences in the patch
+     * @throws IOException if the repository could not be read or the patch could not be written
+     * @since 2.1.1
+     */
+    public DiffScmResult callDiff(Git git, ScmVersion startRevision, ScmVersion endRevision, OutputStream patchOutput)
+            throws IOException {
+        Repository repo = git.getRepository();
+        String startRev = startRevision != null ? startRevision.getName().trim() : "";
+        String endRev = endRevision != null ? endRevision.getName().trim() : "";
+
+        DiffOutputStream out = new DiffOutputStream(patchOutput);
+        List<ScmFile> changedFiles = new ArrayList<>();
+        try (DiffFormatter formatter = new DiffFormatter(out)) {
+            formatter.setRepository(repo);
+            for (boolean cached : new boolean[] {false, true}) {
+                // same trees as DiffCommand
+                AbstractTreeIterator oldTree;
+                AbstractTreeIterator newTree;
+                if (!startRev.isEmpty()) {
+                    oldTree = getTreeIterator(repo, startRev);
+                } else if (cached) {
+                    oldTree = getTreeIterator(repo, Constants.HEAD + "^{tree}");
+                } else {
+                    oldTree = new DirCacheIterator(repo.readDirCache());
+                }
+                if (cached) {
+                    newTree = new DirCacheIterator(repo.readDirCache());
+                } else if (!endRev.isEmpty()) {
+                    newTree = getTreeIterator(repo, endRev);
+                } else {
+                    newTree = new FileTreeIterator(repo);
+                }
+
+                for (DiffEntry entry : formatter.scan(oldTree, newTree)) {
+                    String path =
+                            entry.getChangeType() == DiffEntry.ChangeType.ADD ? entry.getNewPath() : entry.getOldPath();
+                    changedFiles.add(new ScmFile(path, ScmFileStatus.MODIFIED));
+                    out.startFile(path);
+                    formatter.format(entry);
+                }
+            }
+        }
+        return new DiffScmResult("JGit diff", changedFiles, out.finish());
+    }
+
     private AbstractTreeIterator getTreeIterator(Repository repo, String name) throws IOException {
         final ObjectId id = repo.resolve(name);
         if (id == null) {
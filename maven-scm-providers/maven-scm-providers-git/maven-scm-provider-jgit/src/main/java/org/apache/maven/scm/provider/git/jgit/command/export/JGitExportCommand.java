@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmTag;
+import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.command.export.AbstractExportCommand;
+import org.apache.maven.scm.command.export.ExportScmResult;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.jgit.command.JGitTransportConfigCallback;
+import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.apache.maven.scm.provider.git.jgit.command.ScmProviderAwareSshdSessionFactory;
+import org.apache.maven.scm.provider.git.jgit.command.checkout.JGitMirrorUpdater;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitMirrorCache;
+import org.apache.maven.scm.provider.git.util.GitUtil;
+import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.jgit.api.CloneCommand;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.TransportConfigCallback;
+import org.eclipse.jgit.dircache.DirCacheCheckout;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.WorkingTreeOptions;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.slf4j.Logger;
+
+/**
+ * Exports by walking the tree of the revision and writing its blobs straight into the output directory, without a
+ * working copy or an index.
+ * <p>
+ * If the base directory of the file set is a working copy, its repository is exported. Otherwise the configured
+ * mirror of the remote, or a temporary bare clone of it, is.
+ * <p>
+ * The blobs are written by {@value #THREADS_PROPERTY} threads, the number of processors by default. The checkout
+ * filters, i.e. the <code>core.autocrlf</code> and <code>.gitattributes</code> end of line conversion and the smudge
+ * filters, are only applied if the system property {@value #APPLY_FILTERS_PROPERTY} is <code>true</code>, like a
+ * checkout would.
+ *
+ * @since 2.1.1
+ */
+public class JGitExportCommand extends AbstractExportCommand implements GitCommand {
+    public static final String THREADS_PROPERTY = "maven.scm.jgit.export.threads";
+
+    public static final String APPLY_FILTERS_PROPERTY = "maven.scm.jgit.export.applyFilters";
+
+    /**
+     * The number of entries waiting to be written, per thread
+     */
+    private static final int QUEUE_SIZE_PER_THREAD = 256;
+
+    private static final Entry END = new Entry(null, null, null, false, null);
+
+    private BiFunction<GitScmProviderRepository, Logger, ScmProviderAwareSshdSessionFactory> sshSessionFactorySupplier;
+
+    public JGitExportCommand() {
+        sshSessionFactorySupplier = ScmProviderAwareSshdSessionFactory::new;
+    }
+
+    public void setSshSessionFactorySupplier(
+            BiFunction<GitScmProviderRepository, Logger, ScmProviderAwareSshdSessionFactory>
+                    sshSessionFactorySupplier) {
+        this.sshSessionFactorySupplier = sshSessionFactorySupplier;
+    }
+
+    @Override
+    protected ExportScmResult executeExportCommand(
+            ScmProviderRepository repo, ScmFileSet fileSet, ScmVersion version, String outputDirectory)
+            throws ScmException {
+        GitScmProviderRepository repository = (GitScmProviderRepository) repo;
+        File basedir = fileSet.getBasedir();
+        boolean workingCopy = new File(basedir, ".git").exists();
+
+        File exportDirectory = outputDirectory != null ? new File(outputDirectory) : basedir;
+        if (workingCopy && exportDirectory.getAbsoluteFile().equals(basedir.getAbsoluteFile())) {
+            throw new ScmException("An output directory is required to export the working copy " + basedir);
+        }
+
+        String revision = version != null && StringUtils.isNotEmpty(version.getName()) ? version.getName() : null;
+        List<String> paths = GitUtil.getRelativePaths(fileSet);
+
+        Git git = null;
+        File cloneDirectory = null;
+        try {
+            if (workingCopy) {
+                git = JGitUtils.openRepo(basedir);
+                return export(git.getRepository(), revision, paths, exportDirectory);
+            }
+
+            TransportConfigCallback transportConfigCallback =
+                    new JGitTransportConfigCallback(sshSessionFactorySupplier.apply(repository, logger));
+
+            File mirror = GitMirrorCache.refreshConfigured(
+                    repository,
+                    new JGitMirrorUpdater(repository, transportConfigCallback),
+                    "exporting from a temporary clone");
+            if (mirror != null) {
+                logger.info("exporting from mirror " + mirror);
+                git = Git.open(mirror);
+            } else {
+                cloneDirectory = Files.createTempDirectory("maven-scm-export").toFile();
+                logger.info("exporting from a temporary clone of " + repository.getFetchUrl());
+
+                CloneCommand command = Git.cloneRepository()
+                        .setURI(repository.getFetchUrl())
+                        .setBare(true)
+                        .setDirectory(new File(cloneDirectory, "repository.git"))
+                        .setCredentialsProvider(JGitUtils.getCredentials(repository))
+                        .setTransportConfigCallback(transportConfigCallback)
+                        .setProgressMonitor(JGitUtils.getMonitor());
+                if (version instanceof ScmBranch && !(version instanceof ScmTag)) {
+                    command.setBranchesToClone(Collections.singleton(Constants.R_HEADS + revision));
+                }
+                git = command.call();
+            }
+            return export(git.getRepository(), revision, paths, exportDirectory);
+        } catch (ScmException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ScmException("JGit export failure!", e);
+        } finally {
+            if (workingCopy) {
+                JGitUtils.closeRepo(git);
+            } else if (git != null) {
+                git.close();
+            }
+            if (cloneDirectory != null) {
+                try {
+                    FileUtils.deleteDirectory(cloneDirectory);
+                } catch (IOException e) {
+                    logger.warn("Cannot delete the temporary clone " + cloneDirectory, e);
+                }
+            }
+        }
+    }
+
+    private ExportScmResult export(Repository repository, String revision, List<String> paths, File exportDirectory)
+            throws ScmException, IOException, InterruptedException {
+        ObjectId id = resolve(repository, revision);
+        if (id == null) {
+            throw new ScmException("Cannot resolve " + (revision != null ? revision : Constants.HEAD));
+        }
+
+        Path target = exportDirectory.toPath().toAbsolutePath().normalize();
+        Files.createDirectories(target);
+
+        boolean applyFilters = Boolean.getBoolean(APPLY_FILTERS_PROPERTY);
+        int threads = Math.max(
+                1, Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+
+        List<ScmFile> exportedFiles = new ArrayList<>();
+        Map<Path, ObjectId> symbolicLinks = new LinkedHashMap<>();
+
+        BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(threads * QUEUE_SIZE_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> writers = new ArrayList<>();
+        try (RevWalk revWalk = new RevWalk(repository);
+                TreeWalk treeWalk = new TreeWalk(repository)) {
+            RevObject object = revWalk.peel(revWalk.parseAny(id));
+            // like git archive, the files get the time of the commit
+            FileTime lastModified = object instanceof RevCommit
+                    ? FileTime.from(((RevCommit) object).getCommitTime(), TimeUnit.SECONDS)
+                    : null;
+
+            WorkingTreeOptions options = repository.getConfig().get(WorkingTreeOptions.KEY);
+            for (int i = 0; i < threads; i++) {
+                writers.add(executor.submit(() -> write(repository, queue, options, lastModified)));
+            }
+
+            treeWalk.setOperationType(TreeWalk.OperationType.CHECKOUT_OP);
+            treeWalk.setRecursive(true);
+            treeWalk.addTree(revWalk.parseTree(object));
+            if (!paths.isEmpty()) {
+                treeWalk.setFilter(PathFilterGroup.createFromStrings(paths));
+            }
+
+            while (treeWalk.next()) {
+                String path = treeWalk.getPathString();
+                Path file = resolve(target, path);
+                FileMode mode = treeWalk.getFileMode(0);
+                if (mode == FileMode.GITLINK) {
+                    // submodules are exported as empty directories, like git archive does
+                    Files.createDirectories(file);
+                    continue;
+                }
+
+                exportedFiles.add(new ScmFile(path, ScmFileStatus.CHECKED_OUT));
+                if (mode == FileMode.SYMLINK) {
+                    symbolicLinks.put(file, treeWalk.getObjectId(0));
+                    continue;
+                }
+
+                DirCacheCheckout.CheckoutMetadata metadata = applyFilters
+                        ? new DirCacheCheckout.CheckoutMetadata(
+                                treeWalk.getEolStreamType(TreeWalk.OperationType.CHECKOUT_OP),
+                                treeWalk.getFilterCommand(Constants.ATTR_FILTER_TYPE_SMUDGE))
+                        : null;
+                put(
+                        queue,
+                        new Entry(path, file, treeWalk.getObjectId(0), mode == FileMode.EXECUTABLE_FILE, metadata),
+                        writers);
+            }
+
+            for (int i = 0; i < threads; i++) {
+                put(queue, END, writers);
+            }
+            for (Future<Void> writer : writers) {
+                writer.get();
+            }
+
+            // only once all files are written, so that no file can be written through a link
+            try (ObjectReader reader = repository.newObjectReader()) {
+                for (Map.Entry<Path, ObjectId> link : symbolicLinks.entrySet()) {
+                    String linkTarget = new String(
+                            reader.open(link.getValue(), Constants.OBJ_BLOB).getBytes(), StandardCharsets.UTF_8);
+                    createSymbolicLink(link.getKey(), linkTarget);
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new ScmException("JGit export failure!", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new ExportScmResult("export via JGit", exportedFiles);
+    }
+
+    /**
+     * Writes the blobs of the queue until its end, with an own reader as readers are not thread safe.
+     */
+    private static Void write(
+            Repository repository, BlockingQueue<Entry> queue, WorkingTreeOptions options, FileTime lastModified)
+            throws IOException, InterruptedException {
+        try (ObjectReader reader = repository.newObjectReader()) {
+            for (Entry entry = queue.take(); entry != END; entry = queue.take()) {
+                Files.createDirectories(entry.file.getParent());
+                ObjectLoader loader = reader.open(entry.blob, Constants.OBJ_BLOB);
+                try (OutputStream out = Files.newOutputStream(entry.file)) {
+                    if (entry.metadata != null) {
+                        DirCacheCheckout.getContent(repository, entry.path, entry.metadata, loader, options, out);
+                    } else {
+                        loader.copyTo(out);
+                    }
+                }
+                if (entry.executable) {
+                    entry.file.toFile().setExecutable(true);
+                }
+                if (lastModified != null) {
+                    Files.setLastModifiedTime(entry.file, lastModified);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queues the entry, giving up as soon as a writer failed, as the queue may then never be drained.
+     */
+    private static void put(BlockingQueue<Entry> queue, Entry entry, List<Future<Void>> writers)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+            for (Future<Void> writer : writers) {
+                if (writer.isDone()) {
+                    // rethrows the failure of the writer
+                    writer.get();
+                }
+            }
+        }
+    }
+
+    private static ObjectId resolve(Repository repository, String revision) throws IOException {
+        if (revision == null) {
+            return repository.resolve(Constants.HEAD);
+        }
+        ObjectId id = repository.resolve(revision);
+        if (id == null) {
+            // a branch only known to the remote of the working copy
+            id = repository.resolve(Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/" + revision);
+        }
+        return id;
+    }
+
+    private static Path resolve(Path target, String path) throws IOException {
+        Path file = target.resolve(path).normalize();
+        if (!file.startsWith(target) || file.equals(target)) {
+            throw new IOException("Tree entry outside of " + target + ": " + path);
+        }
+        return file;
+    }
+
+    private static void createSymbolicLink(Path file, String linkTarget) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.deleteIfExists(file);
+        try {
+            Files.createSymbolicLink(file, Paths.get(linkTarget));
+        } catch (UnsupportedOperationException | IOException e) {
+            // like a checkout with core.symlinks=false
+            Files.write(file, linkTarget.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * A blob to write
+     */
+    private static final class Entry {
+        private final String path;
+
+        private final Path file;
+
+        private final ObjectId blob;
+
+        private final boolean executable;
+
+        private final DirCacheCheckout.CheckoutMetadata metadata;
+
+        private Entry(
+                String path, Path file, ObjectId blob, boolean executable, DirCacheCheckout.CheckoutMetadata metadata) {
+            this.path = path;
+            this.file = file;
+            this.blob = blob;
+            this.executable = executable;
+            this.metadata = metadata;
+        }
+    }
+}
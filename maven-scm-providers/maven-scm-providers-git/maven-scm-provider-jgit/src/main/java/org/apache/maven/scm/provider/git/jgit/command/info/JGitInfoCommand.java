@@ -20,8 +20,13 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.CommandParameters;
@@ -42,8 +47,11 @@
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
 
 /**
@@ -67,10 +75,12 @@ protected ScmResult executeCommand(
                 RevCommit headCommit = git.getRepository().parseCommit(objectId);
                 infoItems.add(getInfoItem(headCommit, fileSet.getBasedir()));
             } else {
-                // iterate over all files
-                for (File file : JGitUtils.getWorkingCopyRelativePaths(
-                        git.getRepository().getWorkTree(), fileSet)) {
-                    infoItems.add(getInfoItem(git.getRepository(), objectId, file));
+                List<File> files = JGitUtils.getWorkingCopyRelativePaths(
+                        git.getRepository().getWorkTree(), fileSet);
+                if (files.size() == 1) {
+                    infoItems.add(getInfoItem(git.getRepository(), objectId, files.get(0)));
+                } else {
+                    infoItems.addAll(getInfoItems(git.getRepository(), objectId, files));
                 }
             }
             return new InfoScmResult(infoItems, new ScmResult("JGit.resolve(HEAD)", "", objectId.toString(), true));
@@ -86,6 +96,108 @@ protected InfoItem getInfoItem(Repository repository, ObjectId headObjectId, Fil
         return getInfoItem(commit, file);
     }
 
+    /**
+     * Looks up the most recent commit of all given files with a single walk over the history. Each file is retired
+     * as soon as the first commit changing it has been seen, the walk stops once all files are retired.
+     *
+     * @param repository the repository
+     * @param headObjectId the commit to start the walk from
+     * @param files the files, relative to the working tree
+     * @return one item per file, in the order of the given files. Files without any commit only carry their path.
+     * @throws IOException if the history could not be read
+     * @since 2.1.1
+     */
+    protected List<InfoItem> getInfoItems(Repository repository, ObjectId headObjectId, List<File> files)
+            throws IOException {
+        InfoItem[] infoItems = new InfoItem[files.size()];
+        Map<String, List<Integer>> pendingPaths = new HashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            pendingPaths
+                    .computeIfAbsent(JGitUtils.toNormalizedFilePath(files.get(i)), k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        try (RevWalk revWalk = new RevWalk(repository);
+                TreeWalk treeWalk = new TreeWalk(repository)) {
+            // the real parents are needed to find the files changed by each commit
+            revWalk.setRewriteParents(false);
+            revWalk.markStart(revWalk.parseCommit(headObjectId));
+            revWalk.sort(RevSort.COMMIT_TIME_DESC);
+            revWalk.setTreeFilter(AndTreeFilter.create(createPathFilter(pendingPaths.keySet()), TreeFilter.ANY_DIFF));
+            treeWalk.setRecursive(true);
+
+            RevCommit commit;
+            while (!pendingPaths.isEmpty() && (commit = revWalk.next()) != null) {
+                treeWalk.reset();
+                treeWalk.addTree(commit.getTree());
+                if (commit.getParentCount() == 0) {
+                    treeWalk.addTree(new EmptyTreeIterator());
+                }
+                for (RevCommit parent : commit.getParents()) {
+                    revWalk.parseHeaders(parent);
+                    treeWalk.addTree(parent.getTree());
+                }
+                treeWalk.setFilter(AndTreeFilter.create(createPathFilter(pendingPaths.keySet()), TreeFilter.ANY_DIFF));
+                while (treeWalk.next()) {
+                    if (isChangedInAllParents(treeWalk)) {
+                        retirePath(pendingPaths, treeWalk.getPathString(), commit, files, infoItems);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < infoItems.length; i++) {
+            if (infoItems[i] == null) {
+                File file = files.get(i);
+                infoItems[i] = new InfoItem();
+                infoItems[i].setPath(file.getPath());
+                infoItems[i].setURL(file.toPath().toUri().toASCIIString());
+            }
+        }
+        return Arrays.asList(infoItems);
+    }
+
+    /**
+     * @return the filter of the paths, the empty path of the work tree itself matching all paths
+     */
+    private static TreeFilter createPathFilter(Collection<String> paths) {
+        return paths.contains("") ? TreeFilter.ALL : PathFilterGroup.createFromStrings(paths);
+    }
+
+    private static boolean isChangedInAllParents(TreeWalk treeWalk) {
+        for (int i = 1; i < treeWalk.getTreeCount(); i++) {
+            if (treeWalk.getRawMode(0) == treeWalk.getRawMode(i) && treeWalk.idEqual(0, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Assigns the commit to the pending entry matching the changed path itself or one of its parent directories.
+     */
+    private void retirePath(
+            Map<String, List<Integer>> pendingPaths,
+            String path,
+            RevCommit commit,
+            List<File> files,
+            InfoItem[] infoItems) {
+        String candidate = path;
+        while (true) {
+            List<Integer> indexes = pendingPaths.remove(candidate);
+            if (indexes != null) {
+                for (int index : indexes) {
+                    infoItems[index] = getInfoItem(commit, files.get(index));
+                }
+            }
+            if (candidate.isEmpty()) {
+                return;
+            }
+            int separator = candidate.lastIndexOf('/');
+            candidate = separator < 0 ? "" : candidate.substring(0, separator);
+        }
+    }
+
     protected InfoItem getInfoItem(RevCommit fileCommit, File file) {
         InfoItem infoItem = new InfoItem();
         infoItem.setPath(file.getPath());
@@ -107,7 +219,8 @@ private RevCommit getMostRecentCommitForPath(Repository repository, ObjectId hea
             RevCommit headCommit = revWalk.parseCommit(headObjectId);
             revWalk.markStart(headCommit);
             revWalk.sort(RevSort.COMMIT_TIME_DESC);
-            revWalk.setTreeFilter(AndTreeFilter.create(PathFilter.create(path), TreeFilter.ANY_DIFF));
+            TreeFilter pathFilter = path.isEmpty() ? TreeFilter.ALL : PathFilter.create(path);
+            revWalk.setTreeFilter(AndTreeFilter.create(pathFilter, TreeFilter.ANY_DIFF));
             latestCommit = revWalk.next();
         }
         return latestCommit;
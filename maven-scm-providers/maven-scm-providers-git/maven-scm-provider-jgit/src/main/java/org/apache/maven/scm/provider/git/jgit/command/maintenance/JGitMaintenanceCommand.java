@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.maintenance;
+
+import java.util.Properties;
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.AbstractCommand;
+import org.apache.maven.scm.provider.ScmProviderRepository;
+import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.eclipse.jgit.api.Git;
+
+/**
+ * Garbage collects the repository, which packs all reachable objects into a single pack with a reachability bitmap.
+ * <p>
+ * JGit 5 can neither read nor write commit-graphs, so unlike with the git executable its commit walks still parse the
+ * commits, but from a single pack.
+ *
+ * @since 2.1.1
+ */
+public class JGitMaintenanceCommand extends AbstractCommand implements GitCommand {
+    /** {@inheritDoc} */
+    @Override
+    protected ScmResult executeCommand(
+            ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters) throws ScmException {
+        Git git = null;
+        try {
+            git = JGitUtils.openRepo(fileSet.getBasedir());
+
+            Properties statistics =
+                    git.gc().setProgressMonitor(JGitUtils.getMonitor()).call();
+
+            return new ScmResult("JGit gc", null, statistics.toString(), true);
+        } catch (Exception e) {
+            throw new ScmException("JGit maintenance failure!", e);
+        } finally {
+            JGitUtils.closeRepo(git);
+        }
+    }
+}
@@ -18,37 +18,106 @@
  */
 package org.apache.maven.scm.provider.git.jgit.command.status;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.command.status.AbstractStatusCommand;
+import org.apache.maven.scm.command.status.StatusScmRequest;
 import org.apache.maven.scm.command.status.StatusScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.IndexDiff;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 
 /**
+ * The status is limited to the files of the file set, or to its base directory if it has none, like
+ * <code>git status .</code> does.
+ * <p>
+ * As with <code>git status --untracked-files=no</code>, untracked files are not reported by default, and untracked
+ * directories are not even listed. {@link StatusScmRequest#setIncludeUntracked(boolean)} reports them with the
+ * {@link ScmFileStatus#UNKNOWN} status, and {@link StatusScmRequest#setIncludeIgnored(boolean)} reports the ignored
+ * ones too. Without these options, the <code>maven.scm.jgit.status.untracked</code> system property set to
+ * <code>all</code> and <code>maven.scm.jgit.status.ignored</code> set to <code>true</code> are used.
+ * <p>
+ * Like <code>git status</code>, the status refreshes the size and modification time stored in the index for the files
+ * found unmodified by reading their content, so the next status does not read them again. The
+ * <code>maven.scm.jgit.status.refreshIndex</code> system property set to <code>false</code> leaves the index as it is.
+ *
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
  * @author Dominik Bartholdi (imod)
  * @since 1.9
  */
 public class JGitStatusCommand extends AbstractStatusCommand implements GitCommand {
+    public static final String UNTRACKED_PROPERTY = "maven.scm.jgit.status.untracked";
+
+    public static final String IGNORED_PROPERTY = "maven.scm.jgit.status.ignored";
+
+    public static final String REFRESH_INDEX_PROPERTY = "maven.scm.jgit.status.refreshIndex";
+
     /**
      * {@inheritDoc}
      */
     protected StatusScmResult executeStatusCommand(ScmProviderRepository repo, ScmFileSet fileSet) throws ScmException {
+        return executeStatusCommand(repo, fileSet, new CommandParameters());
+    }
+
+    @Override
+    protected StatusScmResult executeStatusCommand(
+            ScmProviderRepository repo, ScmFileSet fileSet, CommandParameters parameters) throws ScmException {
+        if (parameters == null) {
+            parameters = new CommandParameters();
+        }
         Git git = null;
         try {
             git = JGitUtils.openRepo(fileSet.getBasedir());
-            Status status = git.status().call();
-            List<ScmFile> changedFiles = getFileStati(status);
+            Repository repository = git.getRepository();
+
+            boolean untracked = parameters.getBoolean(
+                    CommandParameter.STATUS_UNTRACKED, "all".equalsIgnoreCase(System.getProperty(UNTRACKED_PROPERTY)));
+            boolean ignored =
+                    parameters.getBoolean(CommandParameter.STATUS_IGNORED, Boolean.getBoolean(IGNORED_PROPERTY));
+            boolean refreshIndex = !"false".equalsIgnoreCase(System.getProperty(REFRESH_INDEX_PROPERTY));
+
+            Map<String, StatRecordingFileTreeIterator.Stat> stats = new HashMap<>();
+            IndexDiff diff =
+                    new IndexDiff(repository, Constants.HEAD, new StatRecordingFileTreeIterator(repository, stats));
+            TreeFilter filter = createFilter(repository, fileSet, untracked);
+            if (filter != null) {
+                diff.setFilter(filter);
+            }
+            diff.diff();
+
+            if (refreshIndex && !stats.isEmpty()) {
+                refreshIndex(repository, stats);
+            }
+
+            List<ScmFile> changedFiles = getFileStati(diff);
+            if (untracked) {
+                addAsScmFiles(changedFiles, diff.getUntracked(), ScmFileStatus.UNKNOWN);
+                if (ignored) {
+                    addAsScmFiles(changedFiles, diff.getIgnoredNotInIndex(), ScmFileStatus.UNKNOWN);
+                }
+            }
 
             return new StatusScmResult("JGit status", changedFiles);
         } catch (Exception e) {
@@ -58,7 +127,61 @@ protected StatusScmResult executeStatusCommand(ScmProviderRepository repo, ScmFi
         }
     }
 
-    private List<ScmFile> getFileStati(Status status) {
+    /**
+     * @return the filter of the paths to look at, <code>null</code> to look at the whole working tree
+     */
+    private TreeFilter createFilter(Repository repository, ScmFileSet fileSet, boolean untracked) {
+        List<String> paths = new ArrayList<>();
+        File workTree = repository.getWorkTree();
+        if (fileSet.getFileList().isEmpty()) {
+            String basedir = JGitUtils.toNormalizedFilePath(workTree.toPath()
+                    .relativize(fileSet.getBasedir().getAbsoluteFile().toPath())
+                    .toFile());
+            if (!basedir.isEmpty() && !basedir.startsWith("..")) {
+                paths.add(basedir);
+            }
+        } else {
+            for (File file : JGitUtils.getWorkingCopyRelativePaths(workTree, fileSet)) {
+                paths.add(JGitUtils.toNormalizedFilePath(file));
+            }
+        }
+
+        TreeFilter filter = paths.isEmpty() ? null : PathFilterGroup.createFromStrings(paths);
+        if (!untracked) {
+            filter = filter == null ? TrackedFilter.INSTANCE : AndTreeFilter.create(filter, TrackedFilter.INSTANCE);
+        }
+        return filter;
+    }
+
+    /**
+     * Stores the stats of the files found unmodified in the index, unless it changed meanwhile or another process holds
+     * its lock.
+     */
+    private void refreshIndex(Repository repository, Map<String, StatRecordingFileTreeIterator.Stat> stats) {
+        DirCache dirCache = null;
+        try {
+            dirCache = repository.lockDirCache();
+            for (Map.Entry<String, StatRecordingFileTreeIterator.Stat> stat : stats.entrySet()) {
+                DirCacheEntry entry = dirCache.getEntry(stat.getKey());
+                if (entry != null && entry.getObjectId().equals(stat.getValue().objectId)) {
+                    entry.setLength(stat.getValue().length);
+                    entry.setLastModified(stat.getValue().lastModified);
+                }
+            }
+            dirCache.write();
+            if (!dirCache.commit()) {
+                logger.debug("Could not refresh the index of " + repository.getWorkTree());
+            }
+        } catch (IOException e) {
+            logger.debug("Could not refresh the index of " + repository.getWorkTree(), e);
+        } finally {
+            if (dirCache != null) {
+                dirCache.unlock();
+            }
+        }
+    }
+
+    private List<ScmFile> getFileStati(IndexDiff status) {
         List<ScmFile> all = new ArrayList<>();
         addAsScmFiles(all, status.getAdded(), ScmFileStatus.ADDED);
         addAsScmFiles(all, status.getChanged(), ScmFileStatus.UPDATED);
@@ -73,4 +196,27 @@ private void addAsScmFiles(Collection<ScmFile> all, Collection<String> files, Sc
             all.add(new ScmFile(f, status));
         }
     }
+
+    /**
+     * Skips the paths neither in HEAD nor in the index, so untracked directories are not walked. It relies on
+     * {@link IndexDiff} walking HEAD first, then the index.
+     */
+    private static final class TrackedFilter extends TreeFilter {
+        static final TrackedFilter INSTANCE = new TrackedFilter();
+
+        @Override
+        public boolean include(TreeWalk walker) {
+            return walker.getRawMode(0) != 0 || walker.getRawMode(1) != 0;
+        }
+
+        @Override
+        public boolean shouldBeRecursive() {
+            return false;
+        }
+
+        @Override
+        public TreeFilter clone() {
+            return this;
+        }
+    }
 }
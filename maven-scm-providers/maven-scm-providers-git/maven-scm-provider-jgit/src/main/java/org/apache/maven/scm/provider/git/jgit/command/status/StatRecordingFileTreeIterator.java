@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.status;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.AbstractTreeIterator;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.util.FS;
+
+/**
+ * A working tree iterator recording the files found unmodified by reading their content, because their size or
+ * modification time differ from the ones stored in the index. Once the index is refreshed with them, the next status
+ * finds these files unmodified from their size and modification time only.
+ *
+ * @since 2.1.1
+ */
+class StatRecordingFileTreeIterator extends FileTreeIterator {
+    /**
+     * The size and modification time of an unmodified file.
+     */
+    static final class Stat {
+        final ObjectId objectId;
+
+        final long length;
+
+        final Instant lastModified;
+
+        Stat(ObjectId objectId, long length, Instant lastModified) {
+            this.objectId = objectId;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private final Map<String, Stat> stats;
+
+    StatRecordingFileTreeIterator(Repository repository, Map<String, Stat> stats) {
+        super(repository);
+        this.stats = stats;
+    }
+
+    private StatRecordingFileTreeIterator(
+            StatRecordingFileTreeIterator parent, File root, FS fs, FileModeStrategy fileModeStrategy) {
+        super(parent, root, fs, fileModeStrategy);
+        this.stats = parent.stats;
+    }
+
+    @Override
+    protected AbstractTreeIterator enterSubtree() {
+        return new StatRecordingFileTreeIterator(this, ((FileEntry) current()).getFile(), fs, fileModeStrategy);
+    }
+
+    @Override
+    public boolean isModified(DirCacheEntry entry, boolean forceContentCheck, ObjectReader reader) throws IOException {
+        boolean modified = super.isModified(entry, forceContentCheck, reader);
+        if (!modified
+                && entry.getStage() == DirCacheEntry.STAGE_0
+                && (entry.getRawMode() & FileMode.TYPE_MASK) == FileMode.TYPE_FILE
+                && (entry.isSmudged()
+                        || entry.getLength() != getEntryLength()
+                        || !entry.getLastModifiedInstant().equals(getEntryLastModifiedInstant()))) {
+            stats.put(
+                    entry.getPathString(),
+                    new Stat(entry.getObjectId(), getEntryLength(), getEntryLastModifiedInstant()));
+        }
+        return modified;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JGitRepositoryCacheTest {
+    @Rule
+    public TemporaryFolder tmpDirectory = new TemporaryFolder();
+
+    private File initRepository(String name) throws Exception {
+        File workTree = tmpDirectory.newFolder(name);
+        Git.init().setDirectory(workTree).call().close();
+        return workTree;
+    }
+
+    @Test
+    public void testRepositoryIsReused() throws Exception {
+        File workTree = initRepository("repo");
+        File subdirectory = new File(workTree, "sub");
+        subdirectory.mkdir();
+        JGitRepositoryCache cache = new JGitRepositoryCache(2, 60000);
+
+        Repository first = cache.open(workTree);
+        Repository second = cache.open(subdirectory);
+        assertSame(first, second);
+        cache.release(second);
+        cache.release(first);
+
+        Repository third = cache.open(workTree);
+        assertSame(first, third);
+        cache.release(third);
+        cache.clear();
+    }
+
+    @Test
+    public void testRepositoryIsReopenedAfterConfigChange() throws Exception {
+        File workTree = initRepository("repo");
+        JGitRepositoryCache cache = new JGitRepositoryCache(2, 60000);
+
+        Repository first = cache.open(workTree);
+        StoredConfig config = first.getConfig();
+        config.setString("user", null, "name", "Mark Struberg");
+        config.save();
+        cache.release(first);
+
+        Repository second = cache.open(workTree);
+        assertNotSame(first, second);
+        cache.release(second);
+        cache.clear();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRepositoryIsEvicted() throws Exception {
+        File workTree1 = initRepository("repo1");
+        File workTree2 = initRepository("repo2");
+        JGitRepositoryCache cache = new JGitRepositoryCache(1, 60000);
+
+        Repository first = cache.open(workTree1);
+        cache.release(first);
+        Repository second = cache.open(workTree2);
+        cache.release(second);
+
+        Repository third = cache.open(workTree2);
+        assertSame(second, third);
+        cache.release(third);
+
+        Repository fourth = cache.open(workTree1);
+        assertNotSame(first, fourth);
+        cache.release(fourth);
+        cache.clear();
+    }
+
+    @Test
+    public void testReferencedRepositoryIsNotEvicted() throws Exception {
+        File workTree1 = initRepository("repo1");
+        File workTree2 = initRepository("repo2");
+        JGitRepositoryCache cache = new JGitRepositoryCache(1, 60000);
+
+        Repository first = cache.open(workTree1);
+        Repository second = cache.open(workTree2);
+        Repository third = cache.open(workTree1);
+        assertSame(first, third);
+        cache.release(first);
+        cache.release(second);
+        cache.release(third);
+        cache.clear();
+    }
+
+    @Test
+    public void testIdleRepositoryIsClosed() throws Exception {
+        File workTree = initRepository("repo");
+        JGitRepositoryCache cache = new JGitRepositoryCache(2, 0);
+
+        Repository first = cache.open(workTree);
+        cache.release(first);
+        Thread.sleep(10);
+
+        Repository second = cache.open(workTree);
+        assertNotSame(first, second);
+        cache.release(second);
+        cache.clear();
+    }
+
+    @Test
+    public void testIdleRepositoryIsClosedWithoutFurtherOpen() throws Exception {
+        File workTree = initRepository("repo");
+        JGitRepositoryCache cache = new JGitRepositoryCache(2, 10);
+
+        Repository repository = cache.open(workTree);
+        cache.release(repository);
+        assertEquals(1, cache.size());
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (cache.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        File workTree = initRepository("repo");
+        JGitRepositoryCache cache = new JGitRepositoryCache(0, 60000);
+
+        Repository first = cache.open(workTree);
+        Repository second = cache.open(workTree);
+        assertNotSame(first, second);
+        cache.release(first);
+        cache.release(second);
+    }
+}
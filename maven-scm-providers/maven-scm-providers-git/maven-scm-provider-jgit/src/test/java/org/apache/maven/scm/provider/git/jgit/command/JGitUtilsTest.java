@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+public class JGitUtilsTest {
+    @Rule
+    public TemporaryFolder tmpDirectory = new TemporaryFolder();
+
+    @Test
+    public void testTagIndexContainsAnnotatedAndLightweightTags() throws Exception {
+        try (Git git = Git.init().setDirectory(tmpDirectory.getRoot()).call()) {
+            RevCommit first =
+                    git.commit().setAllowEmpty(true).setMessage("first").call();
+            git.tag().setName("lightweight").setAnnotated(false).call();
+            git.tag().setName("annotated").setMessage("annotated tag").call();
+            RevCommit second =
+                    git.commit().setAllowEmpty(true).setMessage("second").call();
+            RevCommit untagged =
+                    git.commit().setAllowEmpty(true).setMessage("untagged").call();
+            git.tag().setName("other").setObjectId(second).setAnnotated(false).call();
+
+            Map<ObjectId, List<String>> tagIndex = JGitUtils.getTagIndex(git.getRepository());
+
+            assertEquals(Arrays.asList("annotated", "lightweight"), JGitUtils.getTags(tagIndex, first));
+            assertEquals(Collections.singletonList("other"), JGitUtils.getTags(tagIndex, second));
+            assertEquals(Collections.emptyList(), JGitUtils.getTags(tagIndex, untagged));
+            assertEquals(JGitUtils.getTags(git.getRepository(), first), JGitUtils.getTags(tagIndex, first));
+        }
+    }
+
+    @Test
+    public void testWalkRevCommitsBetweenDates() throws Exception {
+        try (Git git = Git.init().setDirectory(tmpDirectory.getRoot()).call()) {
+            List<String> messages = new ArrayList<>();
+            for (int day = 1; day <= 5; day++) {
+                PersonIdent ident = new PersonIdent("author", "author@example.com", day(day), TimeZone.getDefault());
+                git.commit()
+                        .setAllowEmpty(true)
+                        .setMessage("day " + day)
+                        .setAuthor(ident)
+                        .setCommitter(ident)
+                        .call();
+            }
+
+            JGitUtils.walkRevCommits(
+                    git.getRepository(), null, null, null, day(2), day(4), -1, c -> messages.add(c.getShortMessage()));
+            assertEquals(Arrays.asList("day 4", "day 3", "day 2"), messages);
+
+            messages.clear();
+            JGitUtils.walkRevCommits(
+                    git.getRepository(), null, null, null, day(4), null, -1, c -> messages.add(c.getShortMessage()));
+            assertEquals(Arrays.asList("day 5", "day 4"), messages);
+
+            messages.clear();
+            JGitUtils.walkRevCommits(
+                    git.getRepository(), null, null, null, null, day(2), -1, c -> messages.add(c.getShortMessage()));
+            assertEquals(Arrays.asList("day 2", "day 1"), messages);
+
+            // the walk stops at the first commit older than the start date
+            for (RevSort[] sortings : new RevSort[][] {{RevSort.TOPO, RevSort.COMMIT_TIME_DESC}, {RevSort.REVERSE}}) {
+                CountingRevFilter filter = new CountingRevFilter(JGitUtils.createCommitTimeFilter(day(4), day(5)));
+                try (RevWalk walk = new RevWalk(git.getRepository())) {
+                    for (RevSort sorting : sortings) {
+                        walk.sort(sorting, true);
+                    }
+                    walk.setRevFilter(filter);
+                    walk.markStart(walk.parseCommit(git.getRepository().resolve("HEAD")));
+                    int count = 0;
+                    for (RevCommit commit : walk) {
+                        count++;
+                    }
+                    assertEquals(2, count);
+                }
+                assertEquals(3, filter.included);
+            }
+        }
+    }
+
+    @Test
+    public void testStagedChangesAreTheFilesOfTheNextCommit() throws Exception {
+        File root = tmpDirectory.getRoot();
+        try (Git git = Git.init().setDirectory(root).call()) {
+            writeFile(new File(root, "kept.txt"), "kept");
+            writeFile(new File(root, "deleted.txt"), "deleted");
+            writeFile(new File(root, "sub/modified.txt"), "before");
+            git.add().addFilepattern(".").call();
+            assertEquals(3, JGitUtils.getStagedChanges(git.getRepository()).size());
+            git.commit().setMessage("first").call();
+            assertEquals(0, JGitUtils.getStagedChanges(git.getRepository()).size());
+
+            writeFile(new File(root, "sub/modified.txt"), "after");
+            writeFile(new File(root, "sub/added.txt"), "added");
+            writeFile(new File(root, "unstaged.txt"), "unstaged");
+            git.add().addFilepattern("sub").call();
+            git.rm().addFilepattern("deleted.txt").call();
+
+            List<DiffEntry> staged = JGitUtils.getStagedChanges(git.getRepository());
+            List<String> paths = new ArrayList<>();
+            for (ScmFile file : JGitUtils.getCheckedInFiles(git.getRepository(), staged, new File(root, "sub"))) {
+                assertEquals(ScmFileStatus.CHECKED_IN, file.getStatus());
+                paths.add(file.getPath().replace(File.separatorChar, '/'));
+            }
+            Collections.sort(paths);
+            assertEquals(Arrays.asList("../deleted.txt", "added.txt", "modified.txt"), paths);
+
+            RevCommit second = git.commit().setMessage("second").call();
+            assertEquals(
+                    3, JGitUtils.getFilesInCommit(git.getRepository(), second).size());
+        }
+    }
+
+    private static void writeFile(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Date day(int day) {
+        return new Date(TimeUnit.DAYS.toMillis(10000 + day));
+    }
+
+    private static final class CountingRevFilter extends RevFilter {
+        private final RevFilter filter;
+
+        private int included;
+
+        private CountingRevFilter(RevFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean include(RevWalk walker, RevCommit cmit) throws IOException {
+            included++;
+            return filter.include(walker, cmit);
+        }
+
+        @Override
+        public RevFilter clone() {
+            return this;
+        }
+    }
+}
@@ -20,10 +20,29 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
+import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
 import org.apache.maven.scm.provider.git.command.changelog.GitChangeLogCommandTckTest;
+import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.util.FileUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
@@ -42,4 +61,50 @@ protected void deleteDirectory(File directory) throws IOException {
             FileUtils.delete(directory, FileUtils.RECURSIVE | FileUtils.RETRY);
         }
     }
+
+    @Test
+    public void testChangeLogFiles() throws Exception {
+        try (Git git = Git.open(getWorkingCopy())) {
+            File readme = new File(getWorkingCopy(), "readme.txt");
+            Files.move(readme.toPath(), new File(getWorkingCopy(), "readme.md").toPath());
+            Files.write(new File(getWorkingCopy(), "pom.xml").toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+            git.add().addFilepattern(".").call();
+            git.rm()
+                    .addFilepattern("readme.txt")
+                    .addFilepattern("src/test/java/Test.java")
+                    .call();
+            git.commit().setMessage("rename, modify and delete").call();
+        }
+
+        ChangeLogScmRequest request = new ChangeLogScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy()));
+        request.setStartRevision(new ScmRevision("HEAD~1"));
+        ChangeLogScmResult result = getScmManager().changeLog(request);
+        assertResultIsSuccess(result);
+        List<ChangeSet> changeSets = result.getChangeLog().getChangeSets();
+        assertEquals(1, changeSets.size());
+
+        Map<String, ChangeFile> files = new HashMap<>();
+        for (ChangeFile file : changeSets.get(0).getFiles()) {
+            assertEquals(changeSets.get(0).getRevision(), file.getRevision());
+            files.put(file.getName(), file);
+        }
+        assertEquals(3, files.size());
+        assertEquals(ScmFileStatus.MODIFIED, files.get("pom.xml").getAction());
+        assertEquals(ScmFileStatus.DELETED, files.get("src/test/java/Test.java").getAction());
+        assertEquals(ScmFileStatus.RENAMED, files.get("readme.md").getAction());
+        assertEquals("readme.txt", files.get("readme.md").getOriginalName());
+        assertNull(files.get("pom.xml").getOriginalName());
+
+        // the root commit adds all its files
+        result = getScmManager()
+                .changeLog(new ChangeLogScmRequest(getScmRepository(), new ScmFileSet(getWorkingCopy())));
+        assertResultIsSuccess(result);
+        changeSets = result.getChangeLog().getChangeSets();
+        ChangeSet root = changeSets.get(changeSets.size() - 1);
+        assertFalse(root.getFiles().isEmpty());
+        assertTrue(root.containsFilename("pom.xml"));
+        for (ChangeFile file : root.getFiles()) {
+            assertEquals(ScmFileStatus.ADDED, file.getAction());
+        }
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.export.ExportScmResult;
+import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.apache.maven.scm.provider.git.command.export.GitExportCommandTckTest;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
+import org.apache.maven.scm.provider.git.util.GitMirrorCache;
+import org.apache.maven.scm.provider.git.util.GitUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.util.FileUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JGitExportCommandTckTest extends GitExportCommandTckTest {
+    /**
+     * {@inheritDoc}
+     */
+    public String getScmUrl() throws Exception {
+        return GitScmTestUtils.getScmUrl(getRepositoryRoot(), "jgit");
+    }
+
+    @Override
+    protected void deleteDirectory(File directory) throws IOException {
+        if (directory.exists()) {
+            FileUtils.delete(directory, FileUtils.RECURSIVE | FileUtils.RETRY);
+        }
+    }
+
+    @Test
+    public void testExportWithFilters() throws Exception {
+        try (Git git = Git.open(getWorkingCopy())) {
+            StoredConfig config = git.getRepository().getConfig();
+            config.setBoolean(ConfigConstants.CONFIG_CORE_SECTION, null, ConfigConstants.CONFIG_KEY_AUTOCRLF, true);
+            config.save();
+
+            Files.write(new File(getWorkingCopy(), "lines.txt").toPath(), "1\n2\n".getBytes(StandardCharsets.UTF_8));
+            git.add().addFilepattern("lines.txt").call();
+            git.commit().setMessage("multiple lines").call();
+        }
+        File exportDirectory = getTestFile("target/scm-test/export");
+
+        deleteDirectory(exportDirectory);
+        ExportScmResult result = getScmManager()
+                .export(getScmRepository(), new ScmFileSet(getWorkingCopy()), null, exportDirectory.getPath());
+        assertResultIsSuccess(result);
+        assertFalse(read(new File(exportDirectory, "lines.txt")).contains("\r\n"));
+
+        System.setProperty(JGitExportCommand.APPLY_FILTERS_PROPERTY, "true");
+        System.setProperty(JGitExportCommand.THREADS_PROPERTY, "1");
+        try {
+            deleteDirectory(exportDirectory);
+            result = getScmManager()
+                    .export(getScmRepository(), new ScmFileSet(getWorkingCopy()), null, exportDirectory.getPath());
+            assertResultIsSuccess(result);
+            assertEquals("1\r\n2\r\n", read(new File(exportDirectory, "lines.txt")));
+        } finally {
+            System.clearProperty(JGitExportCommand.APPLY_FILTERS_PROPERTY);
+            System.clearProperty(JGitExportCommand.THREADS_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testExportFromMirrorOfRemoteWithAnotherDefaultBranch() throws Exception {
+        // the default branch of the remote differs from the one of a newly initialized mirror
+        try (Git git = Git.open(getRepositoryRoot())) {
+            git.branchRename().setOldName(Constants.MASTER).setNewName("main").call();
+            RefUpdate update = git.getRepository().updateRef(Constants.HEAD);
+            update.disableRefLog();
+            update.link(Constants.R_HEADS + "main");
+        }
+
+        File cacheDirectory = getTestFile("target/scm-test/export-mirror-cache");
+        deleteDirectory(cacheDirectory);
+        GitUtil.getSettings().setMirrorCacheDirectory(cacheDirectory.getPath());
+        try {
+            File mirror = GitMirrorCache.getConfigured().getMirrorDirectory((GitScmProviderRepository)
+                    getScmRepository().getProviderRepository());
+            File exportDirectory = getTestFile("target/scm-test/export");
+
+            // once creating the mirror, once fetching it
+            for (int i = 0; i < 2; i++) {
+                deleteDirectory(exportDirectory);
+                assertTrue(exportDirectory.mkdirs());
+
+                ExportScmResult result = getScmManager().export(getScmRepository(), new ScmFileSet(exportDirectory));
+
+                assertResultIsSuccess(result);
+                assertEquals(4, result.getExportedFiles().size());
+                assertTrue(new File(exportDirectory, "pom.xml").isFile());
+                try (Git git = Git.open(mirror)) {
+                    assertEquals(
+                            Constants.R_HEADS + "main",
+                            git.getRepository()
+                                    .exactRef(Constants.HEAD)
+                                    .getTarget()
+                                    .getName());
+                }
+            }
+        } finally {
+            GitUtil.getSettings().setMirrorCacheDirectory(null);
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.status;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.status.StatusScmResult;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JGitStatusCommandTest {
+    @Rule
+    public TemporaryFolder tmpDirectory = new TemporaryFolder();
+
+    private File root;
+
+    @Before
+    public void setUp() throws Exception {
+        root = tmpDirectory.getRoot();
+        try (Git git = Git.init().setDirectory(root).call()) {
+            writeFile("a/tracked.txt", "a");
+            writeFile("b/tracked.txt", "b");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("first").call();
+        }
+        writeFile(".gitignore", "*.log\n");
+        writeFile("a/tracked.txt", "changed");
+        writeFile("b/tracked.txt", "changed");
+        writeFile("a/untracked.txt", "untracked");
+        writeFile("c/untracked.txt", "untracked");
+        writeFile("a/ignored.log", "ignored");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(JGitStatusCommand.UNTRACKED_PROPERTY);
+        System.clearProperty(JGitStatusCommand.IGNORED_PROPERTY);
+        System.clearProperty(JGitStatusCommand.REFRESH_INDEX_PROPERTY);
+    }
+
+    @Test
+    public void testUntrackedFilesAreNotReportedByDefault() throws Exception {
+        assertEquals(asList("modified a/tracked.txt", "modified b/tracked.txt"), status(new ScmFileSet(root)));
+    }
+
+    @Test
+    public void testUntrackedAndIgnoredFiles() throws Exception {
+        System.setProperty(JGitStatusCommand.UNTRACKED_PROPERTY, "all");
+        assertEquals(
+                asList(
+                        "modified a/tracked.txt",
+                        "modified b/tracked.txt",
+                        "unknown .gitignore",
+                        "unknown a/untracked.txt",
+                        "unknown c/untracked.txt"),
+                status(new ScmFileSet(root)));
+
+        System.setProperty(JGitStatusCommand.IGNORED_PROPERTY, "true");
+        assertTrue(status(new ScmFileSet(root)).contains("unknown a/ignored.log"));
+    }
+
+    @Test
+    public void testUntrackedAndIgnoredFilesFromParameters() throws Exception {
+        System.setProperty(JGitStatusCommand.UNTRACKED_PROPERTY, "all");
+        CommandParameters parameters = new CommandParameters();
+        parameters.setString(CommandParameter.STATUS_UNTRACKED, "false");
+        assertEquals(
+                asList("modified a/tracked.txt", "modified b/tracked.txt"), status(new ScmFileSet(root), parameters));
+
+        parameters.remove(CommandParameter.STATUS_UNTRACKED);
+        parameters.setString(CommandParameter.STATUS_UNTRACKED, "true");
+        parameters.setString(CommandParameter.STATUS_IGNORED, "true");
+        assertTrue(status(new ScmFileSet(root), parameters).contains("unknown a/ignored.log"));
+    }
+
+    @Test
+    public void testStatusIsLimitedToTheFileSet() throws Exception {
+        System.setProperty(JGitStatusCommand.UNTRACKED_PROPERTY, "all");
+        assertEquals(
+                asList("modified a/tracked.txt", "unknown a/untracked.txt"),
+                status(new ScmFileSet(new File(root, "a"))));
+        assertEquals(
+                asList("modified b/tracked.txt"),
+                status(new ScmFileSet(root, Collections.singletonList(new File("b/tracked.txt")))));
+    }
+
+    @Test
+    public void testIndexIsRefreshedForUnmodifiedFiles() throws Exception {
+        writeFile("a/tracked.txt", "a");
+        File file = new File(root, "a/tracked.txt");
+        assertTrue(file.setLastModified(file.lastModified() - 60000));
+
+        System.setProperty(JGitStatusCommand.REFRESH_INDEX_PROPERTY, "false");
+        assertEquals(asList("modified b/tracked.txt"), status(new ScmFileSet(root)));
+        assertFalse(isIndexStatOf(file));
+
+        System.clearProperty(JGitStatusCommand.REFRESH_INDEX_PROPERTY);
+        assertEquals(asList("modified b/tracked.txt"), status(new ScmFileSet(root)));
+        assertTrue(isIndexStatOf(file));
+    }
+
+    private boolean isIndexStatOf(File file) throws IOException {
+        try (Git git = Git.open(root)) {
+            DirCache dirCache = git.getRepository().readDirCache();
+            return dirCache.getEntry("a/tracked.txt").getLastModifiedInstant().toEpochMilli() == file.lastModified();
+        }
+    }
+
+    private List<String> status(ScmFileSet fileSet) throws Exception {
+        return status(fileSet, new CommandParameters());
+    }
+
+    private List<String> status(ScmFileSet fileSet, CommandParameters parameters) throws Exception {
+        StatusScmResult result = new JGitStatusCommand().executeStatusCommand(null, fileSet, parameters);
+        assertTrue(result.isSuccess());
+        List<String> files = new ArrayList<>();
+        for (ScmFile file : result.getChangedFiles()) {
+            files.add(file.getStatus() + " " + file.getPath());
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private static List<String> asList(String... files) {
+        List<String> list = new ArrayList<>();
+        Collections.addAll(list, files);
+        return list;
+    }
+
+    private void writeFile(String path, String content) throws IOException {
+        File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
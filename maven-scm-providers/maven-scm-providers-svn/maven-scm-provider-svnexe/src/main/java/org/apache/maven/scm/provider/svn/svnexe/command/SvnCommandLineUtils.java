@@ -25,6 +25,7 @@
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.scm.process.ProcessRunners;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.util.SvnUtil;
 import org.codehaus.plexus.util.Os;
@@ -127,7 +128,7 @@ public static int execute(Commandline cl, StreamConsumer consumer, CommandLineUt
         // SCM-482: force English resource bundle
         cl.addEnvironment("LC_MESSAGES", "en");
 
-        int exitCode = CommandLineUtils.executeCommandLine(cl, consumer, stderr);
+        int exitCode = ProcessRunners.execute(cl, consumer, stderr);
 
         exitCode = checkIfCleanUpIsNeeded(exitCode, cl, consumer, stderr);
 
@@ -137,7 +138,7 @@ public static int execute(Commandline cl, StreamConsumer consumer, CommandLineUt
     public static int execute(
             Commandline cl, CommandLineUtils.StringStreamConsumer stdout, CommandLineUtils.StringStreamConsumer stderr)
             throws CommandLineException {
-        int exitCode = CommandLineUtils.executeCommandLine(cl, stdout, stderr);
+        int exitCode = ProcessRunners.execute(cl, stdout, stderr);
 
         exitCode = checkIfCleanUpIsNeeded(exitCode, cl, stdout, stderr);
 
@@ -156,7 +157,7 @@ private static int checkIfCleanUpIsNeeded(
             }
 
             if (executeCleanUp(cl.getWorkingDirectory(), consumer, stderr) == 0) {
-                exitCode = CommandLineUtils.executeCommandLine(cl, consumer, stderr);
+                exitCode = ProcessRunners.execute(cl, consumer, stderr);
             }
         }
         return exitCode;
@@ -178,7 +179,7 @@ public static int executeCleanUp(File workinDirectory, StreamConsumer stdout, St
             }
         }
 
-        return CommandLineUtils.executeCommandLine(cl, stdout, stderr);
+        return ProcessRunners.execute(cl, stdout, stderr);
     }
 
     public static String cryptPassword(Commandline cl) {
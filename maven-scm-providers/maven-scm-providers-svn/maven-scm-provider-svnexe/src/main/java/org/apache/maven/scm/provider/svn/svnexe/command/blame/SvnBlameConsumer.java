@@ -19,16 +19,16 @@
 package org.apache.maven.scm.provider.svn.svnexe.command.blame;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.maven.scm.command.blame.BlameLine;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
 
 /**
  * @author Evgeny Mandrikov
@@ -46,15 +46,8 @@ public class SvnBlameConsumer extends AbstractConsumer {
 
     private static final Pattern DATE_PATTERN = Pattern.compile("<date>(.*)T(.*)\\.(.*)Z</date>");
 
-    private final SimpleDateFormat dateFormat;
-
     private final List<BlameLine> lines = new ArrayList<>();
 
-    public SvnBlameConsumer() {
-        dateFormat = new SimpleDateFormat(SVN_TIMESTAMP_PATTERN);
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-    }
-
     private int lineNumber;
 
     private String revision;
@@ -83,7 +76,7 @@ public void consumeLine(String line) {
 
     protected Date parseDateTime(String dateTimeStr) {
         try {
-            return dateFormat.parse(dateTimeStr);
+            return DateParser.parse(dateTimeStr, SVN_TIMESTAMP_PATTERN, null, ZoneOffset.UTC);
         } catch (ParseException e) {
             logger.error("skip ParseException: " + e.getMessage() + " during parsing date " + dateTimeStr, e);
             return null;
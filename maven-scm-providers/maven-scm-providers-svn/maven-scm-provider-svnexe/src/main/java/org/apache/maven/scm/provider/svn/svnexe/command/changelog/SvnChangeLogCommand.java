@@ -37,6 +37,7 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.SvnTagBranchUtils;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
@@ -67,7 +68,8 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
                 parameters.getString(CommandParameter.CHANGELOG_DATE_PATTERN, null),
                 parameters.getScmVersion(CommandParameter.START_SCM_VERSION, null),
                 parameters.getScmVersion(CommandParameter.END_SCM_VERSION, null),
-                parameters.getInt(CommandParameter.LIMIT, -1));
+                parameters.getInt(CommandParameter.LIMIT, -1),
+                parameters.getChangeSetConsumer(CommandParameter.CHANGESET_CONSUMER, null));
     }
 
     /** {@inheritDoc} */
@@ -80,7 +82,8 @@ protected ChangeLogScmResult executeChangeLogCommand(
             ScmVersion endVersion,
             String datePattern)
             throws ScmException {
-        return executeChangeLogCommand(repo, fileSet, null, null, null, datePattern, startVersion, endVersion, null);
+        return executeChangeLogCommand(
+                repo, fileSet, null, null, null, datePattern, startVersion, endVersion, null, null);
     }
 
     /** {@inheritDoc} */
@@ -94,7 +97,7 @@ protected ChangeLogScmResult executeChangeLogCommand(
             ScmBranch branch,
             String datePattern)
             throws ScmException {
-        return executeChangeLogCommand(repo, fileSet, startDate, endDate, branch, datePattern, null, null, null);
+        return executeChangeLogCommand(repo, fileSet, startDate, endDate, branch, datePattern, null, null, null, null);
     }
 
     @Override
@@ -112,7 +115,8 @@ protected ChangeLogScmResult executeChangeLogCommand(ChangeLogScmRequest request
                 datePattern,
                 startVersion,
                 endVersion,
-                request.getLimit());
+                request.getLimit(),
+                request.getChangeSetConsumer());
     }
 
     private ChangeLogScmResult executeChangeLogCommand(
@@ -124,7 +128,8 @@ private ChangeLogScmResult executeChangeLogCommand(
             String datePattern,
             ScmVersion startVersion,
             ScmVersion endVersion,
-            Integer limit)
+            Integer limit,
+            ChangeSetConsumer changeSetConsumer)
             throws ScmException {
         Commandline cl = createCommandLine(
                 (SvnScmProviderRepository) repo,
@@ -136,7 +141,7 @@ private ChangeLogScmResult executeChangeLogCommand(
                 endVersion,
                 limit);
 
-        SvnChangeLogConsumer consumer = new SvnChangeLogConsumer(datePattern);
+        SvnChangeLogConsumer consumer = new SvnChangeLogConsumer(datePattern, changeSetConsumer);
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -27,6 +27,7 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.svn.SvnChangeSet;
 import org.apache.maven.scm.util.AbstractConsumer;
 
@@ -124,11 +125,26 @@ public class SvnChangeLogConsumer extends AbstractConsumer {
 
     private final String userDateFormat;
 
+    /**
+     * Receives the change sets instead of {@link #entries}, if set
+     */
+    private final ChangeSetConsumer changeSetConsumer;
+
     /**
      * Default constructor.
      */
     public SvnChangeLogConsumer(String userDateFormat) {
+        this(userDateFormat, null);
+    }
+
+    /**
+     * @param userDateFormat the date format
+     * @param changeSetConsumer receives each parsed change set, or <code>null</code> to collect them
+     * @since 2.1.1
+     */
+    public SvnChangeLogConsumer(String userDateFormat, ChangeSetConsumer changeSetConsumer) {
         this.userDateFormat = userDateFormat;
+        this.changeSetConsumer = changeSetConsumer;
     }
 
     public List<ChangeSet> getModifications() {
@@ -280,7 +296,11 @@ private void processGetComment(String line) {
         if (line.equals(COMMENT_END_TOKEN)) {
             currentChange.setComment(currentComment.toString());
 
-            entries.add(currentChange);
+            if (changeSetConsumer != null) {
+                changeSetConsumer.consumeChangeSet(currentChange);
+            } else {
+                entries.add(currentChange);
+            }
 
             status = GET_HEADER;
         } else {
@@ -18,13 +18,13 @@
  */
 package org.apache.maven.scm.provider.svn.svnexe.command.info;
 
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.maven.scm.command.info.InfoItem;
 import org.apache.maven.scm.util.AbstractConsumer;
+import org.apache.maven.scm.util.DateParser;
 
 /**
  * @author <a href="mailto:kenney@apache.org">Kenney Westerhof</a>
@@ -35,8 +35,6 @@ public class SvnInfoConsumer extends AbstractConsumer {
 
     private InfoItem currentItem = new InfoItem();
 
-    private static final DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z");
-
     /** {@inheritDoc} */
     public void consumeLine(String s) {
         if (s.equals("")) {
@@ -90,6 +88,6 @@ static TemporalAccessor parseDate(String dateText) {
         if (startSuffix != -1) {
             dateText = dateText.substring(0, startSuffix);
         }
-        return DT_FORMATTER.parse(dateText.trim());
+        return DateParser.parseIsoDateTime(dateText.trim());
     }
 }
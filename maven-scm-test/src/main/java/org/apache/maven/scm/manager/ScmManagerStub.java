@@ -35,6 +35,7 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -315,6 +316,13 @@ public DiffScmResult diff(
         return this.getProviderByRepository(repository).diff(repository, fileSet, startVersion, endVersion);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public DiffScmResult diff(DiffScmRequest diffScmRequest) throws ScmException {
+        return this.getProviderByRepository(diffScmRequest.getScmRepository()).diff(diffScmRequest);
+    }
+
     /**
      * {@inheritDoc}
      */
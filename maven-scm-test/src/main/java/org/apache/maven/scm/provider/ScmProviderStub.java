@@ -40,6 +40,7 @@
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
+import org.apache.maven.scm.command.diff.DiffScmRequest;
 import org.apache.maven.scm.command.diff.DiffScmResult;
 import org.apache.maven.scm.command.edit.EditScmResult;
 import org.apache.maven.scm.command.export.ExportScmResult;
@@ -556,6 +557,13 @@ public DiffScmResult diff(
         return getDiffScmResult();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public DiffScmResult diff(DiffScmRequest diffScmRequest) throws ScmException {
+        return getDiffScmResult();
+    }
+
     /**
      * @return getUpdateScmResult() always
      */